@@ -0,0 +1,131 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.CatalogServiceApplication;
+import com.example.catalogservice.model.Product;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+/**
+ * Utilidades comunes para los benchmarks: arranque de la aplicación y datos de prueba.
+ *
+ * Los datos se generan con una semilla fija para que todas las ejecuciones
+ * midan exactamente la misma carga.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+final class BenchmarkSupport {
+
+    /**
+     * Propiedades que desactivan el banner y las herramientas de desarrollo.
+     */
+    private static final String[] TOOLING_PROPERTIES = {
+            "--spring.main.banner-mode=off",
+            "--spring.devtools.restart.enabled=false",
+            "--spring.devtools.livereload.enabled=false"
+    };
+
+    /**
+     * Propiedades que eliminan el ruido de logging.
+     */
+    private static final String[] QUIET_PROPERTIES = {
+            "--spring.jpa.show-sql=false",
+            "--spring.jpa.properties.hibernate.format_sql=false",
+            "--logging.level.root=WARN",
+            "--logging.level.com.example.catalogservice=WARN",
+            "--logging.level.org.hibernate.SQL=WARN",
+            "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+    };
+
+    private static final String[] CATEGORIES = {
+            "Electrónica", "Libros", "Alimentación", "Hogar", "Muebles", "Videojuegos", "Deportes", "Juguetes"
+    };
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Arranca la aplicación completa con la configuración por defecto más los argumentos indicados.
+     *
+     * @param type Tipo de aplicación (NONE para benchmarks sin HTTP)
+     * @param args Argumentos adicionales (--propiedad=valor)
+     * @return Contexto de Spring arrancado
+     */
+    static ConfigurableApplicationContext start(WebApplicationType type, String... args) {
+        return run(type, Stream.of(TOOLING_PROPERTIES, QUIET_PROPERTIES, args));
+    }
+
+    /**
+     * Arranca la aplicación sin silenciar el log, para medir también su coste.
+     *
+     * El log se sigue escribiendo en la salida estándar: el benchmark debe
+     * redirigirla si no quiere mezclarla con la de JMH.
+     *
+     * @param type Tipo de aplicación
+     * @param args Argumentos adicionales (--propiedad=valor)
+     * @return Contexto de Spring arrancado
+     */
+    static ConfigurableApplicationContext startWithLogging(WebApplicationType type, String... args) {
+        return run(type, Stream.of(TOOLING_PROPERTIES, args));
+    }
+
+    private static ConfigurableApplicationContext run(WebApplicationType type, Stream<String[]> args) {
+        String[] allArgs = args.flatMap(Arrays::stream).toArray(String[]::new);
+        return new SpringApplicationBuilder(CatalogServiceApplication.class)
+                .web(type)
+                .run(allArgs);
+    }
+
+    /**
+     * Genera productos sin ID con datos deterministas.
+     *
+     * @param count Número de productos
+     * @return Lista de productos listos para persistir
+     */
+    static List<Product> products(int count) {
+        Random random = new Random(42);
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .sku(sku(i))
+                    .name("Producto de prueba " + i)
+                    .description("Descripción del producto de prueba número " + i + " para benchmarks")
+                    .price(BigDecimal.valueOf(100 + random.nextInt(99_900), 2))
+                    .stock(random.nextInt(100))
+                    .category(CATEGORIES[random.nextInt(CATEGORIES.length)])
+                    .createdAt(LocalDateTime.of(2024, 3, 15, 10, 30))
+                    .build());
+        }
+        return products;
+    }
+
+    /**
+     * Genera productos con ID asignado, para benchmarks que no usan base de datos.
+     *
+     * @param count Número de productos
+     * @return Lista de productos con IDs 1..count
+     */
+    static List<Product> productsWithIds(int count) {
+        List<Product> products = products(count);
+        for (int i = 0; i < count; i++) {
+            products.get(i).setId(i + 1L);
+        }
+        return products;
+    }
+
+    /**
+     * SKU del producto de prueba con el índice indicado.
+     */
+    static String sku(int index) {
+        return String.format("BENCH-%07d", index);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.index.ProductIndex;
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.search.ColumnarProductIndex;
+import com.example.catalogservice.search.ProductScanQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de los recorridos del índice columnar.
+ *
+ * El índice se llena con productos generados en bloques, sin base de datos ni
+ * Spring, para que el catálogo pueda ser de millones de productos sin que
+ * quepan todos a la vez en el heap como objetos. Conviene ejecutarlo con
+ * -prof gc para comprobar que un recorrido apenas reserva memoria.
+ *
+ * Ejemplo:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=ColumnarScan -Djmh.args="-p catalogSize=5000000 -prof gc"
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ColumnarScanBenchmark {
+
+    private static final int CHUNK_SIZE = 100_000;
+
+    @Param({"1000000"})
+    private int catalogSize;
+
+    private ColumnarProductIndex index;
+    private ProductScanQuery categoryByPrice;
+    private ProductScanQuery inStockByStock;
+
+    @Setup
+    public void setUp() {
+        index = new ColumnarProductIndex(new SimpleMeterRegistry());
+        ProductIndex.Rebuild rebuild = index.startRebuild();
+        for (int from = 0; from < catalogSize; from += CHUNK_SIZE) {
+            List<Product> chunk = BenchmarkSupport.products(Math.min(CHUNK_SIZE, catalogSize - from));
+            for (int i = 0; i < chunk.size(); i++) {
+                rebuild.accept(ProductResponse.fromEntity(chunk.get(i)).toBuilder()
+                        .id(from + i + 1L)
+                        .build());
+            }
+        }
+        rebuild.complete();
+
+        categoryByPrice = new ProductScanQuery("Electrónica", null, new BigDecimal("250"), 1,
+                ProductScanQuery.SortField.PRICE, false, 50);
+        inStockByStock = new ProductScanQuery(null, null, null, 1,
+                ProductScanQuery.SortField.STOCK, true, 1000);
+    }
+
+    @Benchmark
+    public ColumnarProductIndex.ScanResult categoryUnderPriceSortedByPrice() {
+        return index.scan(categoryByPrice);
+    }
+
+    @Benchmark
+    public ColumnarProductIndex.ScanResult inStockSortedByStockDescending() {
+        return index.scan(inStockByStock);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de carga HTTP de búsquedas por ID con la mitad de productos inexistentes.
+ *
+ * Cada petición pide al azar un producto existente o un ID que nunca ha
+ * existido (de un rango mucho mayor que la caché, para que no se repitan),
+ * con y sin el filtro de existencia. Sin el filtro, cada ID inexistente
+ * cuesta una transacción y una consulta a la base de datos; con él, se
+ * responde 404 sin salir de la aplicación.
+ *
+ * Ejemplo:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=MissingProductLoad -Djmh.args="-t 64"
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(32)
+@Fork(1)
+public class MissingProductLoadBenchmark {
+
+    /**
+     * IDs inexistentes distintos que se pueden pedir.
+     */
+    private static final long MISSING_RANGE = 10_000_000L;
+
+    @Param({"false", "true"})
+    private boolean lookupFilter;
+
+    @Param({"0.5"})
+    private double missRatio;
+
+    @Param({"5000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private String baseUrl;
+    private long minId;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkSupport.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--catalog.lookup-filter.enabled=" + lookupFilter,
+                "--catalog.http.limit.enabled=false");
+        minId = Long.MAX_VALUE;
+        for (Product product : context.getBean(ProductRepository.class)
+                .saveAll(BenchmarkSupport.products(catalogSize))) {
+            minId = Math.min(minId, product.getId());
+            maxId = Math.max(maxId, product.getId());
+        }
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        baseUrl = "http://localhost:" + port + "/api/products/";
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = random.nextDouble() < missRatio
+                ? maxId + 1 + random.nextLong(MISSING_RANGE)
+                : random.nextLong(minId, maxId + 1);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + id))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200 && response.statusCode() != 404) {
+            throw new IllegalStateException("Respuesta inesperada: " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del mapeo entidad → DTO y del envoltorio ApiResponse.
+ *
+ * Ambos se ejecutan en cada petición de lectura, por lo que cualquier
+ * regresión aquí se multiplica por el número de productos devueltos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ProductMappingBenchmark {
+
+    private Product product;
+    private ProductResponse response;
+
+    @Setup
+    public void setUp() {
+        product = BenchmarkSupport.productsWithIds(1).get(0);
+        response = ProductResponse.fromEntity(product);
+    }
+
+    @Benchmark
+    public ProductResponse fromEntity() {
+        return ProductResponse.fromEntity(product);
+    }
+
+    @Benchmark
+    public ApiResponse<ProductResponse> wrapSuccess() {
+        return ApiResponse.success("Producto encontrado correctamente", response);
+    }
+
+    @Benchmark
+    public ApiResponse<ProductResponse> fromEntityAndWrap() {
+        return ApiResponse.success("Producto encontrado correctamente", ProductResponse.fromEntity(product));
+    }
+}
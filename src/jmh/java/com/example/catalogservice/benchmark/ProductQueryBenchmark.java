@@ -0,0 +1,178 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductQuery;
+import com.example.catalogservice.repository.ProductRepository;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la consulta de productos por criterios (GET /products/query) contra H2.
+ *
+ * Cada forma de consulta se mide en la página que sigue a los primeros 500
+ * productos, para incluir la condición de posición de la paginación keyset.
+ * Antes de medir se captura el SQL que genera Hibernate, con sus parámetros,
+ * y se ejecuta con EXPLAIN: si H2 recorre la tabla completa u ordena en
+ * memoria en lugar de leer un índice ya ordenado, el benchmark falla.
+ *
+ * Ejemplo:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=ProductQuery -Djmh.args="-p catalogSize=200000"
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductQueryBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"category-price", "category-price-desc", "price-desc", "category-id-desc", "updated-since",
+            "updated-desc"})
+    private String shape;
+
+    @Param({"50000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductQuery query;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws SQLException {
+        context = BenchmarkSupport.start(WebApplicationType.NONE);
+        productRepository = context.getBean(ProductRepository.class);
+        productRepository.saveAll(BenchmarkSupport.products(catalogSize));
+        // Uno de cada diez productos modificado, con fechas distintas
+        context.getBean(JdbcTemplate.class).update(
+                "update products set updated_at = dateadd(second, id, timestamp '2024-03-01 00:00:00') "
+                        + "where mod(id, 10) = 0");
+
+        ProductQuery firstPage = firstPage(500);
+        List<ProductResponse> skipped = productRepository.findResponses(firstPage);
+        ProductResponse last = skipped.get(skipped.size() - 1);
+        query = new ProductQuery(firstPage.category(), firstPage.minPrice(), firstPage.maxPrice(),
+                firstPage.inStockOnly(), firstPage.updatedSince(), firstPage.sort(), firstPage.descending(),
+                firstPage.sort().valueOf(last), last.getId(), PAGE_SIZE);
+
+        checkPlan(firstPage);
+        checkPlan(query);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductResponse> nextPage() {
+        return productRepository.findResponses(query);
+    }
+
+    private ProductQuery firstPage(int limit) {
+        return switch (shape) {
+            case "category-price" -> new ProductQuery("Electrónica", new BigDecimal("10"), new BigDecimal("800"),
+                    true, null, ProductQuery.SortKey.PRICE, false, null, null, limit);
+            case "category-price-desc" -> new ProductQuery("Electrónica", null, new BigDecimal("800"),
+                    true, null, ProductQuery.SortKey.PRICE, true, null, null, limit);
+            case "price-desc" -> new ProductQuery(null, null, null,
+                    false, null, ProductQuery.SortKey.PRICE, true, null, null, limit);
+            case "category-id-desc" -> new ProductQuery("Libros", null, null,
+                    false, null, ProductQuery.SortKey.ID, true, null, null, limit);
+            case "updated-since" -> new ProductQuery(null, null, null,
+                    false, LocalDateTime.of(2024, 3, 1, 0, 0), ProductQuery.SortKey.UPDATED_AT, false, null, null, limit);
+            case "updated-desc" -> new ProductQuery(null, null, null,
+                    false, null, ProductQuery.SortKey.UPDATED_AT, true, null, null, limit);
+            default -> throw new IllegalArgumentException("Forma de consulta desconocida: " + shape);
+        };
+    }
+
+    /**
+     * Ejecuta la consulta capturando su SQL y comprueba el plan con EXPLAIN.
+     */
+    private void checkPlan(ProductQuery productQuery) throws SQLException {
+        DataSource dataSource = context.getBean(DataSource.class);
+        if (!(dataSource instanceof ProxyDataSource proxy)) {
+            throw new IllegalStateException("El DataSource no está envuelto con datasource-proxy");
+        }
+        CapturingListener capture = new CapturingListener();
+        proxy.getProxyConfig().getQueryListener().addListener(capture);
+        try {
+            productRepository.findResponses(productQuery);
+        } finally {
+            proxy.getProxyConfig().getQueryListener().getListeners().remove(capture);
+        }
+
+        String plan;
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement explain = connection.prepareStatement("EXPLAIN " + capture.query.getQuery())) {
+            for (ParameterSetOperation operation : capture.query.getParametersList().get(0)) {
+                Object[] args = operation.getArgs();
+                explain.setObject((Integer) args[0], args[1]);
+            }
+            try (ResultSet result = explain.executeQuery()) {
+                result.next();
+                plan = result.getString(1).replaceAll("\\s+", " ");
+            }
+        }
+        System.out.println("Plan (" + shape + "): " + plan);
+        if (plan.contains(".tableScan") || !plan.contains("index sorted")) {
+            throw new IllegalStateException("La consulta '" + shape + "' no se resuelve leyendo un índice ordenado: "
+                    + plan);
+        }
+    }
+
+    /**
+     * Guarda la última sentencia SELECT ejecutada.
+     */
+    private static class CapturingListener implements QueryExecutionListener {
+
+        private QueryInfo query;
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            for (QueryInfo info : queryInfoList) {
+                if (info.getQuery().stripLeading().regionMatches(true, 0, "select", 0, 6)) {
+                    query = info;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de las consultas de ProductRepository contra H2 en memoria.
+ *
+ * Arranca el contexto de Spring sin servidor web, carga el catálogo de prueba
+ * y mide las búsquedas que usan los endpoints de lectura. Las claves se eligen
+ * al azar con semilla fija para no medir siempre la misma fila.
+ *
+ * Incluye la misma búsqueda con entidad gestionada y con proyección para
+ * comparar su coste; con "-prof gc" se obtiene además la tasa de asignación.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProductRepositoryBenchmark {
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private long firstId;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkSupport.start(WebApplicationType.NONE);
+        productRepository = context.getBean(ProductRepository.class);
+        productRepository.saveAll(BenchmarkSupport.products(catalogSize));
+        firstId = productRepository.findBySku(BenchmarkSupport.sku(0)).orElseThrow().getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        context.close();
+    }
+
+    /**
+     * Estado por hilo con el generador de claves aleatorias.
+     */
+    @State(Scope.Thread)
+    public static class Keys {
+        private final SplittableRandom random = new SplittableRandom(7);
+
+        int nextIndex(int bound) {
+            return random.nextInt(bound);
+        }
+    }
+
+    @Benchmark
+    public Optional<Product> findById(Keys keys) {
+        return productRepository.findById(firstId + keys.nextIndex(catalogSize));
+    }
+
+    @Benchmark
+    public Optional<Product> findBySku(Keys keys) {
+        return productRepository.findBySku(BenchmarkSupport.sku(keys.nextIndex(catalogSize)));
+    }
+
+    @Benchmark
+    public Optional<ProductResponse> findResponseById(Keys keys) {
+        return productRepository.findResponseById(firstId + keys.nextIndex(catalogSize));
+    }
+
+    @Benchmark
+    public Optional<ProductResponse> findResponseBySku(Keys keys) {
+        return productRepository.findResponseBySku(BenchmarkSupport.sku(keys.nextIndex(catalogSize)));
+    }
+
+    @Benchmark
+    public List<ProductResponse> keysetPage(Keys keys) {
+        return productRepository.findResponsesAfterId(firstId + keys.nextIndex(catalogSize), Limit.of(50));
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.wire.WireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la serialización de listas de productos envueltas en ApiResponse.
+ *
+ * El ObjectMapper se construye con Jackson2ObjectMapperBuilder, igual que el
+ * que usa Spring MVC (módulo JavaTime, fechas como texto ISO). La salida se
+ * descarta para medir solo el coste de serializar, sin copias de buffers.
+ *
+ * El parámetro format compara JSON con CBOR. Al preparar el estado se imprime
+ * el tamaño de la respuesta serializada en ese formato.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class ProductSerializationBenchmark {
+
+    @Param({"1", "1000", "100000"})
+    private int size;
+
+    @Param({"json", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private WireFormat wireFormat;
+    private ApiResponse<List<ProductResponse>> response;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        wireFormat = WireFormat.valueOf(format.toUpperCase());
+        List<ProductResponse> products = BenchmarkSupport.productsWithIds(size).stream()
+                .map(ProductResponse::fromEntity)
+                .toList();
+        response = ApiResponse.success("Productos obtenidos correctamente", products);
+        System.out.println("Tamaño (" + format + ", " + size + " productos): "
+                + wireFormat.toBytes(objectMapper, response).length + " bytes");
+    }
+
+    @Benchmark
+    public void serializeList() throws IOException {
+        wireFormat.write(objectMapper, response, OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public byte[] serializeListToBytes() throws IOException {
+        return wireFormat.toBytes(objectMapper, response);
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de carga HTTP que compara la configuración por defecto con el perfil prod.
+ *
+ * A diferencia del resto de benchmarks, el log no se silencia: el perfil por
+ * defecto escribe cada sentencia SQL y sus parámetros, y medir ese coste es
+ * parte de la comparación. La salida estándar se redirige a un fichero
+ * temporal para no mezclarla con la de JMH. El perfil prod usa una base de
+ * datos H2 en fichero dentro de un directorio temporal, la caché de segundo
+ * nivel de Hibernate y el log asíncrono y muestreado.
+ *
+ * Las consultas por categoría y las búsquedas combinadas no pasan por la caché
+ * de respuestas JSON, así que cada petición llega a Hibernate.
+ *
+ * Ejemplo:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=ProductionProfileLoad -Djmh.args="-t 16"
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(8)
+@Fork(1)
+public class ProductionProfileLoadBenchmark {
+
+    @Param({"default", "prod"})
+    private String profile;
+
+    @Param({"/api/products/category/Libros?limit=50", "/api/products/query?category=Libros&sort=price&limit=50"})
+    private String path;
+
+    @Param({"5000"})
+    private int catalogSize;
+
+    private Path dataDir;
+    private PrintStream stdout;
+    private PrintStream logOutput;
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void startApplication() throws IOException {
+        dataDir = Files.createTempDirectory("catalog-prod-bench");
+        stdout = System.out;
+        logOutput = new PrintStream(new FileOutputStream(dataDir.resolve("app.log").toFile()), false,
+                StandardCharsets.UTF_8);
+        System.setOut(logOutput);
+
+        context = BenchmarkSupport.startWithLogging(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--spring.profiles.active=" + ("prod".equals(profile) ? "prod" : ""),
+                "--catalog.data-dir=" + dataDir,
+                "--catalog.snapshot.restore=false");
+        context.getBean(ProductRepository.class)
+                .saveAll(BenchmarkSupport.products(catalogSize));
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws IOException {
+        client.close();
+        context.close();
+        System.setOut(stdout);
+        logOutput.close();
+        stdout.println("Log de la aplicación: " + Files.size(dataDir.resolve("app.log")) / 1024 + " KB");
+        FileSystemUtils.deleteRecursively(dataDir);
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200 && response.statusCode() != 503) {
+            throw new IllegalStateException("Respuesta inesperada: " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
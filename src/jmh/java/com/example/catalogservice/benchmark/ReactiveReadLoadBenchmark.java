@@ -0,0 +1,103 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.repository.ProductRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de carga HTTP que compara la API de lectura bloqueante con la reactiva.
+ *
+ * Lanza la misma consulta por categoría contra /api/products (la consulta ocupa
+ * el hilo de Tomcat) y contra /api/reactive/products (la consulta se ejecuta en
+ * el pool de consultas y el hilo de Tomcat se libera), con más peticiones
+ * concurrentes que hilos de Tomcat. El modo SampleTime da la distribución de
+ * latencias, incluido el p99.
+ *
+ * Ejemplo:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=ReactiveReadLoad -Djmh.args="-t 512"
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(256)
+@Fork(1)
+public class ReactiveReadLoadBenchmark {
+
+    @Param({"/api/products", "/api/reactive/products"})
+    private String api;
+
+    @Param({"/category/Libros?limit=50"})
+    private String path;
+
+    @Param({"32"})
+    private int tomcatThreads;
+
+    @Param({"5000"})
+    private int catalogSize;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        context = BenchmarkSupport.start(WebApplicationType.SERVLET,
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + tomcatThreads,
+                "--catalog.reactive.enabled=true");
+        context.getBean(ProductRepository.class)
+                .saveAll(BenchmarkSupport.products(catalogSize));
+
+        String port = context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + api + path))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        client.close();
+        context.close();
+    }
+
+    @Benchmark
+    public int request() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200 && response.statusCode() != 503) {
+            throw new IllegalStateException("Respuesta inesperada: " + response.statusCode());
+        }
+        return response.statusCode();
+    }
+}
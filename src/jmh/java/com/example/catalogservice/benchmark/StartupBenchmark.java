@@ -0,0 +1,136 @@
+package com.example.catalogservice.benchmark;
+
+import com.example.catalogservice.index.ProductIndexManager;
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.snapshot.CatalogSnapshot;
+import com.example.catalogservice.snapshot.RestoringCatalog;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark del tiempo de arranque hasta que el catálogo completo es consultable.
+ *
+ * Cada invocación arranca la aplicación completa (sin servidor web) y espera
+ * a que los índices en memoria estén construidos:
+ *
+ * - database: el catálogo se carga con un script SQL de un INSERT por fila
+ *   (como data.sql) y los índices se construyen recorriendo la base de datos
+ * - snapshot: el catálogo se restaura desde una instantánea binaria; la base
+ *   de datos se sigue cargando en segundo plano
+ * - snapshot-db: como snapshot, pero esperando también a que termine la carga
+ *   de la base de datos
+ *
+ * El modo SingleShotTime mide arranques en frío, sin calentamiento del JIT
+ * dentro de la misma JVM más allá de las iteraciones de warmup.
+ *
+ * Ejemplo:
+ *   mvn -Pbenchmark test-compile exec:exec -Djmh.include=Startup -Djmh.args="-p catalogSize=50000"
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+
+    @Param({"database", "snapshot", "snapshot-db"})
+    private String mode;
+
+    @Param({"10000"})
+    private int catalogSize;
+
+    private Path directory;
+    private String[] args;
+    private ConfigurableApplicationContext context;
+
+    @Setup(Level.Trial)
+    public void prepareCatalog() throws IOException {
+        directory = Files.createTempDirectory("catalog-startup");
+        List<Product> products = BenchmarkSupport.productsWithIds(catalogSize);
+        if (mode.startsWith("snapshot")) {
+            Path snapshot = directory.resolve("catalog-snapshot.bin");
+            CatalogSnapshot.write(snapshot, consumer -> products.stream()
+                    .map(ProductResponse::fromEntity)
+                    .forEach(consumer));
+            args = new String[]{
+                    "--catalog.snapshot.file=" + snapshot,
+                    "--catalog.snapshot.restore=true"
+            };
+        } else {
+            Path script = directory.resolve("data.sql");
+            writeInsertScript(script, products);
+            args = new String[]{
+                    "--spring.sql.init.data-locations=file:" + script,
+                    "--catalog.snapshot.restore=false"
+            };
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void stopApplication() {
+        if (context != null) {
+            context.close();
+            context = null;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteCatalog() throws IOException {
+        FileSystemUtils.deleteRecursively(directory);
+    }
+
+    @Benchmark
+    public long startUntilCatalogReady() throws InterruptedException {
+        context = BenchmarkSupport.start(WebApplicationType.NONE, args);
+        ProductIndexManager indexManager = context.getBean(ProductIndexManager.class);
+        RestoringCatalog restoringCatalog = context.getBean(RestoringCatalog.class);
+        while (!indexManager.isBuilt() || ("snapshot-db".equals(mode) && restoringCatalog.isRestoring())) {
+            Thread.sleep(1);
+        }
+        return context.getStartupDate();
+    }
+
+    /**
+     * Escribe un script con un INSERT por producto, como el data.sql de la aplicación.
+     */
+    private static void writeInsertScript(Path script, List<Product> products) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(script, StandardCharsets.UTF_8)) {
+            for (Product product : products) {
+                writer.write(String.format(Locale.ROOT,
+                        "INSERT INTO products (id, sku, name, description, price, stock, category, created_at) "
+                                + "VALUES (%d, '%s', '%s', '%s', %s, %d, '%s', CURRENT_TIMESTAMP());%n",
+                        product.getId(), product.getSku(), product.getName(), product.getDescription(),
+                        product.getPrice().toPlainString(), product.getStock(), product.getCategory()));
+            }
+            writer.write("ALTER SEQUENCE " + Product.ID_SEQUENCE + " RESTART WITH " + (products.size() + 1) + ";\n");
+        }
+    }
+}
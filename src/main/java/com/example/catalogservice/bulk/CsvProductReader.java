@@ -0,0 +1,175 @@
+package com.example.catalogservice.bulk;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lector de productos en formato CSV (RFC 4180).
+ *
+ * La primera línea es obligatoria y contiene los nombres de las columnas
+ * (sku, name, description, price, stock, category) en cualquier orden; las
+ * columnas desconocidas se ignoran. Admite campos entre comillas con comas,
+ * comillas dobles escapadas ("") y saltos de línea.
+ *
+ * El fichero se lee carácter a carácter sobre un BufferedReader: solo se
+ * mantiene en memoria el registro actual.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public class CsvProductReader implements ProductRecordReader {
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("sku", "name", "price");
+
+    private final BufferedReader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+
+    /**
+     * Línea física en la que empieza el siguiente registro.
+     */
+    private long line = 1;
+    private boolean finished;
+
+    public CsvProductReader(BufferedReader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("El fichero CSV está vacío");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new IllegalArgumentException("Falta la columna obligatoria '" + required + "' en la cabecera CSV");
+            }
+        }
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        List<String> fields;
+        long recordLine;
+        do {
+            recordLine = line;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+            // Las líneas vacías se ignoran
+        } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+        String sku = field(fields, "sku");
+        try {
+            return new ProductImportRow(recordLine, sku, field(fields, "name"), field(fields, "description"),
+                    decimal(field(fields, "price")), integer(field(fields, "stock")), field(fields, "category"), null);
+        } catch (NumberFormatException ex) {
+            return ProductImportRow.invalid(recordLine, sku, "Valor numérico inválido: " + ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String field(List<String> fields, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static BigDecimal decimal(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new NumberFormatException("'" + value + "'");
+        }
+    }
+
+    private static Integer integer(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value.trim());
+        } catch (NumberFormatException ex) {
+            throw new NumberFormatException("'" + value + "'");
+        }
+    }
+
+    /**
+     * Lee un registro completo, que puede ocupar varias líneas si tiene campos entre comillas.
+     *
+     * @return Campos del registro, o null al final del fichero
+     */
+    private List<String> readRecord() throws IOException {
+        if (finished) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        int c;
+        while ((c = reader.read()) != -1) {
+            any = true;
+            char ch = (char) c;
+            if (quoted) {
+                if (ch == '"') {
+                    reader.mark(1);
+                    int following = reader.read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        if (following != -1) {
+                            reader.reset();
+                        }
+                    }
+                } else {
+                    if (ch == '\n') {
+                        line++;
+                    }
+                    field.append(ch);
+                }
+            } else if (ch == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (ch == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (ch == '\n') {
+                line++;
+                fields.add(stripCarriageReturn(field));
+                return fields;
+            } else {
+                field.append(ch);
+            }
+        }
+
+        finished = true;
+        if (!any) {
+            return null;
+        }
+        fields.add(stripCarriageReturn(field));
+        return fields;
+    }
+
+    private static String stripCarriageReturn(StringBuilder field) {
+        int length = field.length();
+        return length > 0 && field.charAt(length - 1) == '\r' ? field.substring(0, length - 1) : field.toString();
+    }
+}
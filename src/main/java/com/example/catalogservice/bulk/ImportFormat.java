@@ -0,0 +1,65 @@
+package com.example.catalogservice.bulk;
+
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Formatos de fichero admitidos por la importación masiva.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public enum ImportFormat {
+
+    CSV(MediaType.parseMediaType("text/csv"), CsvProductReader::new),
+    NDJSON(MediaType.parseMediaType("application/x-ndjson"), NdjsonProductReader::new);
+
+    private final MediaType mediaType;
+    private final ReaderFactory readerFactory;
+
+    ImportFormat(MediaType mediaType, ReaderFactory readerFactory) {
+        this.mediaType = mediaType;
+        this.readerFactory = readerFactory;
+    }
+
+    /**
+     * Determina el formato a partir del Content-Type de la petición.
+     *
+     * @param contentType Valor de la cabecera Content-Type
+     * @return Formato correspondiente
+     * @throws IllegalArgumentException si el tipo no está soportado
+     */
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            MediaType requested = MediaType.parseMediaType(contentType);
+            for (ImportFormat format : values()) {
+                if (format.mediaType.isCompatibleWith(requested)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Formato de importación no soportado: " + contentType
+                + " (se admite text/csv o application/x-ndjson)");
+    }
+
+    /**
+     * Crea un lector de este formato sobre el fichero indicado.
+     *
+     * @param reader Lector de texto del fichero
+     * @return Lector de productos
+     * @throws IOException si falla la lectura de la cabecera
+     */
+    public ProductRecordReader open(BufferedReader reader) throws IOException {
+        return readerFactory.apply(reader);
+    }
+
+    /**
+     * Constructor de un lector de productos.
+     */
+    @FunctionalInterface
+    private interface ReaderFactory {
+        ProductRecordReader apply(BufferedReader reader) throws IOException;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.catalogservice.bulk;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Lector de productos en formato NDJSON (un objeto JSON por línea).
+ *
+ * Cada línea se interpreta por separado, así que una línea mal formada solo
+ * invalida ese registro y la importación continúa con la siguiente. Se usan
+ * los mismos nombres de campo que en ProductResponse.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public class NdjsonProductReader implements ProductRecordReader {
+
+    /**
+     * Los decimales se leen como BigDecimal para no perder precisión en los precios.
+     */
+    private static final ObjectMapper MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+
+    private final BufferedReader reader;
+    private long line;
+
+    public NdjsonProductReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ProductImportRow next() throws IOException {
+        String text;
+        do {
+            text = reader.readLine();
+            if (text == null) {
+                return null;
+            }
+            line++;
+        } while (text.isBlank());
+
+        JsonNode node;
+        try {
+            node = MAPPER.readTree(text);
+        } catch (JsonProcessingException ex) {
+            return ProductImportRow.invalid(line, null, "JSON inválido: " + ex.getOriginalMessage());
+        }
+        if (!node.isObject()) {
+            return ProductImportRow.invalid(line, null, "Se esperaba un objeto JSON");
+        }
+
+        String sku = text(node, "sku");
+        JsonNode price = node.get("price");
+        JsonNode stock = node.get("stock");
+        if (price != null && !price.isNull() && !price.isNumber()) {
+            return ProductImportRow.invalid(line, sku, "El precio debe ser numérico");
+        }
+        if (stock != null && !stock.isNull() && !stock.canConvertToInt()) {
+            return ProductImportRow.invalid(line, sku, "El stock debe ser un número entero");
+        }
+        return new ProductImportRow(line, sku, text(node, "name"), text(node, "description"),
+                price == null || price.isNull() ? null : price.decimalValue(),
+                stock == null || stock.isNull() ? null : stock.intValue(),
+                text(node, "category"), null);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+}
@@ -0,0 +1,270 @@
+package com.example.catalogservice.bulk;
+
+import com.example.catalogservice.concurrency.DatabaseAdmissionControl;
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductRepository;
+import com.example.catalogservice.snapshot.RestoringCatalog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Borrados y actualizaciones masivas de productos con sentencias sobre conjuntos.
+ *
+ * En lugar de cargar y modificar cada entidad (existsById + findById + delete
+ * por fila), cada operación recorre la selección en trozos de
+ * {@code catalog.bulk.chunk-size} productos. Por cada trozo, en una transacción
+ * propia:
+ *
+ * 1. Se leen las proyecciones del trozo (paginación keyset por ID).
+ * 2. Se ejecuta un único DELETE o UPDATE con "id IN (...)".
+ * 3. Se publica un único {@link ProductChangedEvent} con los productos afectados,
+ *    de modo que cachés e índices se invalidan de una vez por trozo.
+ *
+ * Los trozos acotan el tamaño de las transacciones y el tiempo que se
+ * mantienen los bloqueos. Si una operación falla a mitad, los trozos ya
+ * confirmados no se deshacen; borrar o fijar un valor se puede repetir sin
+ * efectos adicionales.
+ *
+ * Toda la operación se ejecuta con un único turno del control de admisión.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ProductBulkService {
+
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final DatabaseAdmissionControl admissionControl;
+    private final RestoringCatalog restoringCatalog;
+    private final int chunkSize;
+
+    public ProductBulkService(ProductRepository productRepository,
+                              TransactionTemplate transactionTemplate,
+                              ApplicationEventPublisher eventPublisher,
+                              DatabaseAdmissionControl admissionControl,
+                              RestoringCatalog restoringCatalog,
+                              @Value("${catalog.bulk.chunk-size:1000}") int chunkSize) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.admissionControl = admissionControl;
+        this.restoringCatalog = restoringCatalog;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Elimina los productos seleccionados.
+     *
+     * @param selection Productos a eliminar
+     * @return Número de productos eliminados
+     */
+    public long delete(ProductSelection selection) {
+        log.info("Eliminación masiva de productos por {}", selection);
+        long deleted = forEachChunk(selection, products -> {
+            int count = productRepository.deleteByIdIn(ids(products));
+            eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.DELETED, products));
+            return count;
+        });
+        log.info("Eliminación masiva completada: {} producto(s) eliminados", deleted);
+        return deleted;
+    }
+
+    /**
+     * Suma una cantidad al stock de los productos seleccionados. El stock nunca queda por debajo de cero.
+     *
+     * @param selection Productos a actualizar
+     * @param delta Cantidad a sumar (negativa para restar)
+     * @return Número de productos modificados
+     */
+    public long addStock(ProductSelection selection, int delta) {
+        if (delta == 0) {
+            throw new IllegalArgumentException("El ajuste de stock no puede ser cero");
+        }
+        log.info("Ajuste masivo de stock ({}) por {}", delta, selection);
+        return update(selection, (ids, now) -> productRepository.addStockByIdIn(ids, delta, now));
+    }
+
+    /**
+     * Fija el stock de los productos seleccionados.
+     *
+     * @param selection Productos a actualizar
+     * @param stock Nuevo stock
+     * @return Número de productos modificados
+     */
+    public long setStock(ProductSelection selection, int stock) {
+        if (stock < 0) {
+            throw new IllegalArgumentException("El stock no puede ser negativo");
+        }
+        log.info("Actualización masiva de stock a {} por {}", stock, selection);
+        return update(selection, (ids, now) -> productRepository.setStockByIdIn(ids, stock, now));
+    }
+
+    /**
+     * Fija el precio de los productos seleccionados.
+     *
+     * @param selection Productos a actualizar
+     * @param price Nuevo precio
+     * @return Número de productos modificados
+     */
+    public long setPrice(ProductSelection selection, BigDecimal price) {
+        if (price.signum() <= 0) {
+            throw new IllegalArgumentException("El precio debe ser mayor que cero");
+        }
+        BigDecimal rounded = price.setScale(2, RoundingMode.HALF_UP);
+        log.info("Actualización masiva de precio a {} por {}", rounded, selection);
+        return update(selection, (ids, now) -> productRepository.setPriceByIdIn(ids, rounded, now));
+    }
+
+    /**
+     * Sube o baja el precio de los productos seleccionados en un porcentaje, redondeando a céntimos.
+     *
+     * @param selection Productos a actualizar
+     * @param percent Porcentaje a aplicar (-10 para una rebaja del 10 %)
+     * @return Número de productos modificados
+     */
+    public long adjustPrice(ProductSelection selection, BigDecimal percent) {
+        if (percent.signum() == 0) {
+            throw new IllegalArgumentException("El ajuste de precio no puede ser cero");
+        }
+        if (percent.compareTo(ONE_HUNDRED.negate()) <= 0) {
+            throw new IllegalArgumentException("El ajuste de precio debe ser mayor que -100 %");
+        }
+        BigDecimal factor = BigDecimal.ONE.add(percent.movePointLeft(2));
+        log.info("Ajuste masivo de precio ({} %) por {}", percent, selection);
+        return update(selection, (ids, now) -> productRepository.scalePriceByIdIn(ids, factor, now));
+    }
+
+    /**
+     * Aplica un UPDATE a cada trozo y publica los productos que realmente cambiaron.
+     *
+     * Todas las filas modificadas en un trozo reciben el mismo updatedAt, que
+     * sirve para releer solo esas filas. Se trunca a microsegundos, la precisión
+     * de la columna.
+     */
+    private long update(ProductSelection selection, ChunkUpdate update) {
+        long updated = forEachChunk(selection, products -> {
+            List<Long> ids = ids(products);
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            int count = update.apply(ids, now);
+            if (count > 0) {
+                eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.UPDATED,
+                        productRepository.findResponsesByIdInAndUpdatedAt(ids, now)));
+            }
+            return count;
+        });
+        log.info("Actualización masiva completada: {} producto(s) modificados", updated);
+        return updated;
+    }
+
+    /**
+     * Recorre la selección en trozos, cada uno en su propia transacción.
+     *
+     * Para categoría y prefijo se avanza por ID (keyset): el trozo siguiente
+     * empieza después del último ID del anterior, tanto si sus filas se
+     * borraron como si se actualizaron.
+     *
+     * Se rechaza mientras se carga la instantánea del catálogo: la selección
+     * solo vería los productos ya cargados en la base de datos.
+     */
+    private long forEachChunk(ProductSelection selection, ChunkOperation operation) {
+        restoringCatalog.checkWritable();
+        return admitted(() -> {
+            long total = 0;
+            if (selection.ids() != null) {
+                List<Long> ids = selection.ids().stream().distinct().sorted().toList();
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                    total += inTransaction(() -> {
+                        List<ProductResponse> products = productRepository.findResponsesByIdIn(chunk);
+                        return products.isEmpty() ? 0 : operation.apply(products);
+                    });
+                }
+                return total;
+            }
+
+            String prefix = selection.skuPrefix() == null ? null : escapeLike(selection.skuPrefix());
+            long[] afterId = {0L};
+            while (true) {
+                int count = inTransaction(() -> {
+                    List<ProductResponse> products = selection.category() != null
+                            ? productRepository.findResponsesByCategoryAfterId(selection.category(), afterId[0], Limit.of(chunkSize))
+                            : productRepository.findResponsesBySkuPrefixAfterId(prefix, afterId[0], Limit.of(chunkSize));
+                    if (products.isEmpty()) {
+                        return -1;
+                    }
+                    afterId[0] = products.get(products.size() - 1).getId();
+                    return operation.apply(products);
+                });
+                if (count < 0) {
+                    return total;
+                }
+                total += count;
+            }
+        });
+    }
+
+    private int inTransaction(Supplier<Integer> chunk) {
+        Integer count = transactionTemplate.execute(status -> chunk.get());
+        return count == null ? 0 : count;
+    }
+
+    private long admitted(Supplier<Long> operation) {
+        try {
+            return admissionControl.execute(operation::get);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static List<Long> ids(List<ProductResponse> products) {
+        List<Long> ids = new ArrayList<>(products.size());
+        for (ProductResponse product : products) {
+            ids.add(product.getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Escapa los comodines de LIKE para que el prefijo se compare literalmente.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Operación sobre un trozo de productos ya leídos.
+     */
+    @FunctionalInterface
+    private interface ChunkOperation {
+        int apply(List<ProductResponse> products);
+    }
+
+    /**
+     * UPDATE sobre un trozo de IDs con la marca de tiempo a escribir.
+     */
+    @FunctionalInterface
+    private interface ChunkUpdate {
+        int apply(List<Long> ids, LocalDateTime updatedAt);
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.catalogservice.bulk;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Escritura masiva de productos con sentencias MERGE agrupadas en lotes JDBC.
+ *
+ * Cada lote se inserta o actualiza por SKU en una sola ida y vuelta a la base
+ * de datos. Las filas que ya existen con los mismos datos no se modifican (ni
+ * cambia su updatedAt), lo que hace barato reimportar un catálogo completo en
+ * el que solo cambian unas pocas filas.
+ *
+ * Los IDs de las filas nuevas se reservan de la secuencia de productos con la
+ * misma regla que usa Hibernate (pooled-lo): cada valor de la secuencia es el
+ * primero de un bloque de {@link Product#ID_ALLOCATION_SIZE} IDs. Así ambos
+ * caminos de escritura pueden convivir sin colisiones.
+ *
+ * Como el MERGE no pasa por JPA, tras cada lote se publica un
+ * {@link ProductChangedEvent} con el estado final de los productos afectados
+ * para que cachés e índices se actualicen.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBulkWriter {
+
+    private static final String MERGE_SQL = """
+            MERGE INTO products p
+            USING (VALUES (CAST(? AS BIGINT), CAST(? AS VARCHAR(50)), CAST(? AS VARCHAR(100)),
+                           CAST(? AS VARCHAR(2000)), CAST(? AS NUMERIC(38, 2)), CAST(? AS INTEGER),
+                           CAST(? AS VARCHAR(255))))
+                  AS s(id, sku, name, description, price, stock, category)
+            ON p.sku = s.sku
+            WHEN MATCHED AND (p.name IS DISTINCT FROM s.name
+                              OR p.description IS DISTINCT FROM s.description
+                              OR p.price IS DISTINCT FROM s.price
+                              OR p.stock IS DISTINCT FROM s.stock
+                              OR p.category IS DISTINCT FROM s.category) THEN
+                UPDATE SET name = s.name, description = s.description, price = s.price, stock = s.stock,
+                           category = s.category, updated_at = LOCALTIMESTAMP, version = p.version + 1
+            WHEN NOT MATCHED THEN
+                INSERT (id, sku, name, description, price, stock, category, created_at, version)
+                VALUES (s.id, s.sku, s.name, s.description, s.price, s.stock, s.category, LOCALTIMESTAMP, 0)
+            """;
+
+    private static final int[] MERGE_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.INTEGER, Types.VARCHAR
+    };
+
+    /**
+     * Número máximo de SKUs por consulta IN al releer los productos modificados.
+     */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Inserta o actualiza por SKU un lote de filas ya validadas, en una única transacción.
+     *
+     * @param rows Filas a escribir (sin SKUs repetidos)
+     * @return Número de productos insertados, actualizados y sin cambios
+     */
+    @Transactional
+    public UpsertResult upsert(List<ProductImportRow> rows) {
+        long[] ids = allocateIds(rows.size());
+
+        List<Object[]> batchArgs = new ArrayList<>(rows.size());
+        Map<String, Long> assignedIds = new HashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            ProductImportRow row = rows.get(i);
+            batchArgs.add(new Object[]{
+                    ids[i], row.sku(), row.name(), row.description(), row.price(),
+                    row.stock() == null ? 0 : row.stock(), row.category()
+            });
+            assignedIds.put(row.sku(), ids[i]);
+        }
+        int[] counts = jdbcTemplate.batchUpdate(MERGE_SQL, batchArgs, MERGE_TYPES);
+
+        // Un recuento de 0 indica que el SKU existía con los mismos datos; los drivers que
+        // no informan del recuento (SUCCESS_NO_INFO) se tratan como filas modificadas
+        List<String> changedSkus = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                changedSkus.add(rows.get(i).sku());
+            }
+        }
+
+        List<ProductResponse> created = new ArrayList<>();
+        List<ProductResponse> updated = new ArrayList<>();
+        for (int from = 0; from < changedSkus.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<String> chunk = changedSkus.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, changedSkus.size()));
+            for (ProductResponse product : productRepository.findResponsesBySkuIn(chunk)) {
+                // Si el producto tiene el ID reservado para esta fila, se acaba de insertar
+                if (product.getId().equals(assignedIds.get(product.getSku()))) {
+                    created.add(product);
+                } else {
+                    updated.add(product);
+                }
+            }
+        }
+
+        if (!created.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.CREATED, created));
+        }
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.UPDATED, updated));
+        }
+        log.debug("Lote de importación escrito: {} insertados, {} actualizados, {} sin cambios",
+                created.size(), updated.size(), rows.size() - changedSkus.size());
+        return new UpsertResult(created.size(), updated.size(), rows.size() - changedSkus.size());
+    }
+
+    /**
+     * Reserva IDs de la secuencia de productos en bloques de {@link Product#ID_ALLOCATION_SIZE}.
+     */
+    private long[] allocateIds(int count) {
+        long[] ids = new long[count];
+        for (int i = 0; i < count; i += Product.ID_ALLOCATION_SIZE) {
+            Long low = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + Product.ID_SEQUENCE, Long.class);
+            for (int j = 0; j < Product.ID_ALLOCATION_SIZE && i + j < count; j++) {
+                ids[i + j] = low + j;
+            }
+        }
+        return ids;
+    }
+
+    /**
+     * Resultado de escribir un lote.
+     *
+     * @param inserted Productos nuevos
+     * @param updated Productos existentes modificados
+     * @param unchanged Productos existentes que ya tenían los mismos datos
+     */
+    public record UpsertResult(int inserted, int updated, int unchanged) {
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.catalogservice.bulk;
+
+import com.example.catalogservice.model.response.ImportJobResponse;
+import com.example.catalogservice.model.response.ImportRowErrorResponse;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado de un trabajo de importación, actualizado por el hilo que lo ejecuta
+ * y consultado desde las peticiones de progreso.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public class ProductImportJob {
+
+    /**
+     * Estados de un trabajo de importación.
+     */
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final ImportFormat format;
+    private final long totalBytes;
+    private final int maxReportedErrors;
+
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong inserted = new AtomicLong();
+    private final AtomicLong updated = new AtomicLong();
+    private final AtomicLong unchanged = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<ImportRowErrorResponse> errors = new ArrayList<>();
+
+    private volatile Status status = Status.PENDING;
+    private volatile String message;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+
+    ProductImportJob(ImportFormat format, long totalBytes, int maxReportedErrors) {
+        this.format = format;
+        this.totalBytes = totalBytes;
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    ImportFormat getFormat() {
+        return format;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        bytesRead.set(totalBytes);
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String reason) {
+        message = reason;
+        finishedAt = LocalDateTime.now();
+        status = Status.FAILED;
+    }
+
+    void setBytesRead(long bytes) {
+        bytesRead.set(bytes);
+    }
+
+    void addRowsRead(long rows) {
+        rowsRead.addAndGet(rows);
+    }
+
+    void addResult(int insertedRows, int updatedRows, int unchangedRows) {
+        inserted.addAndGet(insertedRows);
+        updated.addAndGet(updatedRows);
+        unchanged.addAndGet(unchangedRows);
+    }
+
+    /**
+     * Registra una fila rechazada. Solo se guardan los primeros errores; el resto solo se cuenta.
+     *
+     * @param line Línea del fichero
+     * @param sku SKU de la fila (puede ser null)
+     * @param error Descripción del error
+     */
+    void addError(long line, String sku, String error) {
+        failed.incrementAndGet();
+        synchronized (errors) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(new ImportRowErrorResponse(line, sku, error));
+            }
+        }
+    }
+
+    /**
+     * Instantánea del estado actual del trabajo.
+     *
+     * @return Estado para la respuesta REST
+     */
+    public ImportJobResponse toResponse() {
+        List<ImportRowErrorResponse> reportedErrors;
+        synchronized (errors) {
+            reportedErrors = errors.isEmpty() ? null : List.copyOf(errors);
+        }
+        double progress = totalBytes == 0 ? (status == Status.COMPLETED ? 100 : 0)
+                : Math.min(100.0, Math.round(bytesRead.get() * 1000.0 / totalBytes) / 10.0);
+        return ImportJobResponse.builder()
+                .id(id)
+                .status(status.name())
+                .format(format.name())
+                .progress(progress)
+                .rowsRead(rowsRead.get())
+                .inserted(inserted.get())
+                .updated(updated.get())
+                .unchanged(unchanged.get())
+                .failed(failed.get())
+                .errors(reportedErrors)
+                .message(message)
+                .startedAt(startedAt)
+                .finishedAt(finishedAt)
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.catalogservice.bulk;
+
+import com.example.catalogservice.model.Product;
+
+import java.math.BigDecimal;
+
+/**
+ * Fila leída de un fichero de importación.
+ *
+ * Si la fila no se pudo interpretar (JSON mal formado, número inválido...),
+ * los campos pueden ser null y {@code error} describe el problema.
+ *
+ * @param line Número de línea (o registro) en el fichero, empezando en 1
+ * @param sku Código SKU
+ * @param name Nombre
+ * @param description Descripción
+ * @param price Precio
+ * @param stock Stock disponible
+ * @param category Categoría
+ * @param error Error de lectura, o null si la fila se leyó correctamente
+ * @author Tutorial
+ * @version 1.0
+ */
+public record ProductImportRow(long line, String sku, String name, String description, BigDecimal price,
+                               Integer stock, String category, String error) {
+
+    /**
+     * Crea una fila que no se pudo interpretar.
+     *
+     * @param line Número de línea
+     * @param sku SKU, si llegó a leerse
+     * @param error Descripción del problema
+     * @return Fila con error
+     */
+    public static ProductImportRow invalid(long line, String sku, String error) {
+        return new ProductImportRow(line, sku, null, null, null, null, null, error);
+    }
+
+    /**
+     * Construye la entidad equivalente, usada para validar las restricciones de Product.
+     *
+     * @return Producto sin ID
+     */
+    public Product toProduct() {
+        return Product.builder()
+                .sku(sku)
+                .name(name)
+                .description(description)
+                .price(price)
+                .stock(stock == null ? 0 : stock)
+                .category(category)
+                .build();
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.catalogservice.bulk;
+
+import com.example.catalogservice.concurrency.DatabaseAdmissionControl;
+import com.example.catalogservice.exception.ServiceOverloadedException;
+import com.example.catalogservice.model.Product;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Servicio de importación masiva de productos desde ficheros CSV o NDJSON.
+ *
+ * El fichero recibido se vuelca a disco y se procesa en segundo plano como un
+ * trabajo cuyo progreso puede consultarse. El procesamiento es en streaming:
+ *
+ * 1. Se leen filas hasta completar un lote (catalog.import.batch-size).
+ * 2. Las filas del lote se validan en paralelo con las restricciones de Product.
+ * 3. Las válidas se escriben con ProductBulkWriter (MERGE por SKU en lote JDBC),
+ *    cada lote en su propia transacción y con turno del control de admisión.
+ *
+ * En memoria solo hay un lote a la vez, y de los errores por fila solo se
+ * guardan los primeros (catalog.import.max-reported-errors).
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class ProductImportService {
+
+    /**
+     * Intentos de escribir un lote cuando el control de admisión rechaza el acceso.
+     */
+    private static final int MAX_WRITE_ATTEMPTS = 5;
+
+    private final ProductBulkWriter bulkWriter;
+    private final DatabaseAdmissionControl admissionControl;
+    private final Validator validator;
+    private final int batchSize;
+    private final int maxReportedErrors;
+    private final Duration jobRetention;
+    private final ExecutorService executor;
+    private final Map<String, ProductImportJob> jobs = new ConcurrentHashMap<>();
+    private final Counter insertedRows;
+    private final Counter updatedRows;
+    private final Counter unchangedRows;
+    private final Counter failedRows;
+
+    public ProductImportService(ProductBulkWriter bulkWriter,
+                                DatabaseAdmissionControl admissionControl,
+                                Validator validator,
+                                MeterRegistry meterRegistry,
+                                @Value("${catalog.import.batch-size:1000}") int batchSize,
+                                @Value("${catalog.import.max-reported-errors:100}") int maxReportedErrors,
+                                @Value("${catalog.import.concurrency:1}") int concurrency,
+                                @Value("${catalog.import.job-retention:1h}") Duration jobRetention) {
+        this.bulkWriter = bulkWriter;
+        this.admissionControl = admissionControl;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.maxReportedErrors = maxReportedErrors;
+        this.jobRetention = jobRetention;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "product-import-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.insertedRows = rowCounter(meterRegistry, "inserted");
+        this.updatedRows = rowCounter(meterRegistry, "updated");
+        this.unchangedRows = rowCounter(meterRegistry, "unchanged");
+        this.failedRows = rowCounter(meterRegistry, "failed");
+    }
+
+    /**
+     * Guarda el fichero recibido y encola su importación.
+     *
+     * @param body Contenido del fichero
+     * @param format Formato del fichero
+     * @return Trabajo creado (en estado PENDING)
+     * @throws IOException si no se puede guardar el fichero temporal
+     */
+    public ProductImportJob submit(InputStream body, ImportFormat format) throws IOException {
+        removeExpiredJobs();
+
+        Path file = Files.createTempFile("product-import-", "." + format.name().toLowerCase());
+        long size;
+        try {
+            size = Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+
+        ProductImportJob job = new ProductImportJob(format, size, maxReportedErrors);
+        jobs.put(job.getId(), job);
+        executor.execute(() -> run(job, file));
+        log.info("Importación {} encolada: fichero {} de {} bytes", job.getId(), format, size);
+        return job;
+    }
+
+    /**
+     * Busca un trabajo de importación.
+     *
+     * @param id ID del trabajo
+     * @return Trabajo, si existe y no ha caducado
+     */
+    public Optional<ProductImportJob> getJob(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    private void run(ProductImportJob job, Path file) {
+        job.start();
+        log.info("Iniciando importación {}", job.getId());
+        try (CountingInputStream input = new CountingInputStream(Files.newInputStream(file));
+             ProductRecordReader reader = job.getFormat().open(
+                     new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8), 64 * 1024))) {
+
+            List<ProductImportRow> batch = new ArrayList<>(batchSize);
+            ProductImportRow row;
+            while ((row = reader.next()) != null) {
+                batch.add(row);
+                if (batch.size() == batchSize) {
+                    process(job, batch);
+                    job.setBytesRead(input.count);
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                process(job, batch);
+            }
+            job.complete();
+            log.info("Importación {} completada: {}", job.getId(), job.toResponse());
+        } catch (Exception ex) {
+            log.error("Importación {} fallida", job.getId(), ex);
+            job.fail(ex.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ex) {
+                log.warn("No se pudo borrar el fichero temporal {}", file, ex);
+            }
+        }
+    }
+
+    private void process(ProductImportJob job, List<ProductImportRow> batch) throws InterruptedException {
+        job.addRowsRead(batch.size());
+
+        // La validación es CPU pura y es la parte más costosa por fila: se reparte entre núcleos
+        List<String> errors = batch.parallelStream().map(this::validate).toList();
+
+        // Si un SKU se repite dentro del lote, prevalece la última aparición
+        Map<String, ProductImportRow> valid = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ProductImportRow row = batch.get(i);
+            if (errors.get(i) != null) {
+                job.addError(row.line(), row.sku(), errors.get(i));
+                failedRows.increment();
+            } else {
+                valid.remove(row.sku());
+                valid.put(row.sku(), row);
+            }
+        }
+        if (valid.isEmpty()) {
+            return;
+        }
+
+        ProductBulkWriter.UpsertResult result = write(new ArrayList<>(valid.values()));
+        job.addResult(result.inserted(), result.updated(), result.unchanged());
+        insertedRows.increment(result.inserted());
+        updatedRows.increment(result.updated());
+        unchangedRows.increment(result.unchanged());
+    }
+
+    /**
+     * Escribe un lote con turno del control de admisión. Un trabajo en segundo
+     * plano no debe fallar por una saturación puntual, así que reintenta.
+     */
+    private ProductBulkWriter.UpsertResult write(List<ProductImportRow> rows) throws InterruptedException {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return admissionControl.execute(() -> bulkWriter.upsert(rows));
+            } catch (ServiceOverloadedException ex) {
+                if (attempt == MAX_WRITE_ATTEMPTS) {
+                    throw ex;
+                }
+                log.warn("Base de datos saturada durante la importación, reintento {} de {}", attempt, MAX_WRITE_ATTEMPTS);
+                Thread.sleep(ex.getRetryAfterSeconds() * 1000L);
+            } catch (RuntimeException | Error ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    /**
+     * Valida una fila.
+     *
+     * @return Descripción de los errores, o null si es válida
+     */
+    private String validate(ProductImportRow row) {
+        if (row.error() != null) {
+            return row.error();
+        }
+        Set<ConstraintViolation<Product>> violations = validator.validate(row.toProduct());
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void removeExpiredJobs() {
+        LocalDateTime limit = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(limit));
+    }
+
+    private static Counter rowCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("catalog.import.rows")
+                .description("Filas procesadas por la importación masiva")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * InputStream que cuenta los bytes leídos, para calcular el progreso.
+     */
+    private static final class CountingInputStream extends FilterInputStream {
+
+        private volatile long count;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b != -1) {
+                count++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = super.read(b, off, len);
+            if (n > 0) {
+                count += n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.catalogservice.bulk;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Lector incremental de productos a importar.
+ *
+ * Cada llamada a {@link #next()} lee solo el siguiente registro del fichero,
+ * de modo que la memoria usada no depende del tamaño del fichero.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public interface ProductRecordReader extends Closeable {
+
+    /**
+     * Lee el siguiente registro.
+     *
+     * @return Fila leída (posiblemente con error), o null al llegar al final
+     * @throws IOException si falla la lectura del fichero
+     */
+    ProductImportRow next() throws IOException;
+}
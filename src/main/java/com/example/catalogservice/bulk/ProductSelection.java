@@ -0,0 +1,42 @@
+package com.example.catalogservice.bulk;
+
+import java.util.List;
+
+/**
+ * Conjunto de productos sobre el que actúa una operación masiva.
+ *
+ * Se selecciona exactamente por uno de los criterios: lista de IDs, categoría
+ * o prefijo de SKU.
+ *
+ * @param ids IDs de los productos (null si no se selecciona por ID)
+ * @param category Categoría (null si no se selecciona por categoría)
+ * @param skuPrefix Prefijo del SKU (null si no se selecciona por prefijo)
+ * @author Tutorial
+ * @version 1.0
+ */
+public record ProductSelection(List<Long> ids, String category, String skuPrefix) {
+
+    public ProductSelection {
+        int criteria = (ids != null ? 1 : 0) + (category != null ? 1 : 0) + (skuPrefix != null ? 1 : 0);
+        if (criteria != 1) {
+            throw new IllegalArgumentException("Se debe indicar exactamente un criterio: ids, category o skuPrefix");
+        }
+        if (ids != null && (ids.isEmpty() || ids.contains(null))) {
+            throw new IllegalArgumentException("La lista de IDs no puede estar vacía ni contener valores nulos");
+        }
+        if (category != null && category.isBlank()) {
+            throw new IllegalArgumentException("La categoría no puede estar vacía");
+        }
+        if (skuPrefix != null && skuPrefix.isBlank()) {
+            throw new IllegalArgumentException("El prefijo de SKU no puede estar vacío");
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (ids != null) {
+            return ids.size() + " ID(s)";
+        }
+        return category != null ? "categoría '" + category + "'" : "prefijo de SKU '" + skuPrefix + "'";
+    }
+}
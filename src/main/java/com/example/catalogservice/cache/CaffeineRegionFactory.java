@@ -0,0 +1,84 @@
+package com.example.catalogservice.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.RegionFactoryTemplate;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Fábrica de regiones de la caché de segundo nivel de Hibernate sobre Caffeine.
+ *
+ * Hibernate la instancia por nombre de clase (hibernate.cache.region.factory_class),
+ * fuera del contexto de Spring, así que se configura con propiedades de Hibernate:
+ *
+ * - hibernate.cache.caffeine.maximum-size: entradas máximas por región (entidades y consultas)
+ * - hibernate.cache.caffeine.ttl: tiempo de vida de cada entrada (formato ISO-8601)
+ *
+ * La región de marcas de tiempo no tiene límite ni caducidad: Hibernate la
+ * consulta para saber si un resultado de la caché de consultas es anterior al
+ * último cambio de sus tablas, y perder una entrada daría resultados obsoletos.
+ * Solo tiene una entrada por tabla.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Slf4j
+public class CaffeineRegionFactory extends RegionFactoryTemplate {
+
+    public static final String MAXIMUM_SIZE = "hibernate.cache.caffeine.maximum-size";
+    public static final String TTL = "hibernate.cache.caffeine.ttl";
+
+    private long maximumSize = 10_000;
+    private Duration ttl = Duration.ofMinutes(10);
+
+    @Override
+    protected void prepareForUse(SessionFactoryOptions settings, Map<String, Object> configValues) {
+        Object size = configValues.get(MAXIMUM_SIZE);
+        if (size != null) {
+            maximumSize = Long.parseLong(size.toString().trim());
+        }
+        Object timeToLive = configValues.get(TTL);
+        if (timeToLive != null) {
+            ttl = Duration.parse(timeToLive.toString().trim());
+        }
+        log.info("Caché de segundo nivel de Hibernate sobre Caffeine (entradas por región: {}, TTL: {})",
+                maximumSize, ttl);
+    }
+
+    @Override
+    protected void releaseFromUse() {
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        return bounded();
+    }
+
+    @Override
+    protected StorageAccess createQueryResultsRegionStorageAccess(String regionName,
+                                                                  SessionFactoryImplementor sessionFactory) {
+        return bounded();
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName,
+                                                                SessionFactoryImplementor sessionFactory) {
+        return new CaffeineStorageAccess(Caffeine.newBuilder().build());
+    }
+
+    private CaffeineStorageAccess bounded() {
+        return new CaffeineStorageAccess(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build());
+    }
+}
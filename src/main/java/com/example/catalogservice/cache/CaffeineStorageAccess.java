@@ -0,0 +1,59 @@
+package com.example.catalogservice.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+/**
+ * Almacenamiento de una región de la caché de segundo nivel en una caché de Caffeine.
+ *
+ * La coherencia (bloqueos suaves de READ_WRITE, marcas de tiempo de la caché
+ * de consultas) la gestiona Hibernate por encima; aquí solo se guardan y leen
+ * las entradas.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class CaffeineStorageAccess implements DomainDataStorageAccess {
+
+    private final Cache<Object, Object> cache;
+
+    CaffeineStorageAccess(Cache<Object, Object> cache) {
+        this.cache = cache;
+    }
+
+    @Override
+    public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+        return cache.getIfPresent(key);
+    }
+
+    @Override
+    public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+        if (value == null) {
+            cache.invalidate(key);
+        } else {
+            cache.put(key, value);
+        }
+    }
+
+    @Override
+    public boolean contains(Object key) {
+        return cache.asMap().containsKey(key);
+    }
+
+    @Override
+    public void evictData() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void evictData(Object key) {
+        cache.invalidate(key);
+    }
+
+    @Override
+    public void release() {
+        cache.invalidateAll();
+        cache.cleanUp();
+    }
+}
@@ -0,0 +1,311 @@
+package com.example.catalogservice.cache;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+
+/**
+ * Caché de lectura en memoria para productos, situada delante de ProductRepository.
+ *
+ * Mantiene dos estructuras acotadas por tamaño y por tiempo de vida:
+ * - Índice por ID: ID del producto → producto
+ * - Índice por SKU: SKU → ID del producto (el producto se resuelve en el índice por ID)
+ *
+ * Las cargas se hacen con {@code Cache.get(key, loader)}, que es atómico por clave:
+ * una invalidación que llega mientras se carga un producto espera a que termine
+ * la carga y la descarta, evitando que quede en caché un valor obsoleto.
+ *
+ * Los productos leídos fuera de esa carga atómica (consultas por lotes,
+ * lecturas asíncronas) se guardan con {@link #putIfNotInvalidated}: cada
+ * invalidación marca su franja de IDs con un número de secuencia, y el
+ * producto solo se guarda si su franja no se ha invalidado desde que se tomó
+ * la marca, antes de la consulta. Así una escritura confirmada entre la
+ * lectura y el guardado no deja en caché la versión anterior.
+ *
+ * Los productos se almacenan como proyecciones (ProductResponse), no como
+ * entidades. Se comparten entre peticiones, por lo que deben tratarse como de
+ * solo lectura.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductCache {
+
+    /**
+     * Franjas de IDs con número de invalidación propio (potencia de dos).
+     */
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final Cache<Long, ProductResponse> byId;
+    private final Cache<String, Long> bySku;
+    private final AtomicLong invalidationSequence = new AtomicLong();
+    private final AtomicLongArray lastInvalidation = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    public ProductCache(MeterRegistry meterRegistry,
+                        @Value("${catalog.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${catalog.cache.ttl:10m}") Duration ttl) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.bySku = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "products.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, bySku, "products.by-sku");
+        log.info("Caché de productos configurada (tamaño máximo: {}, TTL: {})", maximumSize, ttl);
+    }
+
+    /**
+     * Obtiene un producto por ID, cargándolo con el loader si no está en caché.
+     *
+     * Los productos inexistentes no se almacenan.
+     *
+     * @param id ID del producto
+     * @param loader Función que consulta la base de datos
+     * @return Optional con el producto si existe
+     */
+    public Optional<ProductResponse> getById(Long id, Function<Long, Optional<ProductResponse>> loader) {
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Obtiene un producto por SKU, cargándolo con el loader si no está en caché.
+     *
+     * @param sku SKU del producto
+     * @param loader Función que consulta la base de datos
+     * @return Optional con el producto si existe
+     */
+    public Optional<ProductResponse> getBySku(String sku, Function<String, Optional<ProductResponse>> loader) {
+        // La carga es atómica para el SKU, no para el ID: el producto se guarda con la marca previa
+        long stamp = invalidationStamp();
+        Long id = bySku.get(sku, key -> loader.apply(key)
+                .map(product -> {
+                    storeIfNotInvalidated(product, stamp);
+                    return product.getId();
+                })
+                .orElse(null));
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        ProductResponse product = byId.getIfPresent(id);
+        // El producto pudo ser expulsado o cambiar de SKU desde que se indexó
+        if (product == null || !sku.equals(product.getSku())) {
+            bySku.invalidate(sku);
+            long reloadStamp = invalidationStamp();
+            return loader.apply(sku).map(loaded -> {
+                putIfNotInvalidated(loaded, reloadStamp);
+                return loaded;
+            });
+        }
+        return Optional.of(product);
+    }
+
+    /**
+     * Devuelve un producto si ya está en caché, sin consultar la base de datos.
+     *
+     * @param id ID del producto
+     * @return Optional con el producto si está en caché
+     */
+    public Optional<ProductResponse> getIfPresent(Long id) {
+        return Optional.ofNullable(byId.getIfPresent(id));
+    }
+
+    /**
+     * Devuelve un producto por SKU si ya está en caché, sin consultar la base de datos.
+     *
+     * @param sku SKU del producto
+     * @return Optional con el producto si está en caché y sigue teniendo ese SKU
+     */
+    public Optional<ProductResponse> getIfPresentBySku(String sku) {
+        Long id = bySku.getIfPresent(sku);
+        ProductResponse product = id == null ? null : byId.getIfPresent(id);
+        return product != null && sku.equals(product.getSku()) ? Optional.of(product) : Optional.empty();
+    }
+
+    /**
+     * Devuelve los productos de la lista que ya están en caché, sin consultar la base de datos.
+     *
+     * @param ids IDs a buscar
+     * @return Mapa ID → producto con los aciertos
+     */
+    public Map<Long, ProductResponse> getAllPresentById(Collection<Long> ids) {
+        return byId.getAllPresent(ids);
+    }
+
+    /**
+     * Devuelve los productos de la lista de SKUs que ya están en caché.
+     *
+     * @param skus SKUs a buscar
+     * @return Mapa SKU → producto con los aciertos
+     */
+    public Map<String, ProductResponse> getAllPresentBySku(Collection<String> skus) {
+        Map<String, Long> ids = bySku.getAllPresent(skus);
+        Map<Long, ProductResponse> products = byId.getAllPresent(ids.values());
+        Map<String, ProductResponse> result = new HashMap<>(ids.size());
+        ids.forEach((sku, id) -> {
+            ProductResponse product = products.get(id);
+            if (product != null && sku.equals(product.getSku())) {
+                result.put(sku, product);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Marca de invalidación actual, a tomar antes de consultar los productos
+     * que se guardarán con {@link #putIfNotInvalidated}.
+     *
+     * @return Número de la última invalidación
+     */
+    public long invalidationStamp() {
+        return invalidationSequence.get();
+    }
+
+    /**
+     * Almacena un producto en ambos índices, salvo que se haya invalidado
+     * (o vaciado la caché) después de tomar la marca.
+     *
+     * @param product Producto leído de la base de datos
+     * @param stamp Marca tomada con {@link #invalidationStamp()} antes de leerlo
+     */
+    public void putIfNotInvalidated(ProductResponse product, long stamp) {
+        if (storeIfNotInvalidated(product, stamp) && product.getSku() != null) {
+            bySku.put(product.getSku(), product.getId());
+        }
+    }
+
+    /**
+     * Elimina un producto de ambos índices.
+     *
+     * @param id ID del producto
+     * @param sku SKU del producto (puede ser null)
+     */
+    public void evict(Long id, String sku) {
+        markInvalidated(List.of(id));
+        byId.invalidate(id);
+        if (sku != null) {
+            bySku.invalidate(sku);
+        }
+    }
+
+    /**
+     * Vacía la caché por completo.
+     */
+    public void clear() {
+        long sequence = invalidationSequence.incrementAndGet();
+        for (int stripe = 0; stripe < INVALIDATION_STRIPES; stripe++) {
+            lastInvalidation.accumulateAndGet(stripe, sequence, Math::max);
+        }
+        byId.invalidateAll();
+        bySku.invalidateAll();
+    }
+
+    /**
+     * Invalida los productos afectados por cualquier escritura confirmada.
+     *
+     * fallbackExecution permite procesar también los eventos publicados fuera
+     * de una transacción. Se ejecuta antes que el resto de cachés derivadas
+     * para que estas no vuelvan a cargarse con datos ya invalidados.
+     *
+     * @param event Evento de cambio
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        List<Long> ids = new ArrayList<>(event.products().size());
+        List<String> skus = new ArrayList<>(event.products().size());
+        for (ProductResponse product : event.products()) {
+            ids.add(product.getId());
+            if (product.getSku() != null) {
+                skus.add(product.getSku());
+            }
+        }
+        markInvalidated(ids);
+        byId.invalidateAll(ids);
+        bySku.invalidateAll(skus);
+        log.debug("Caché de productos invalidada para {} producto(s) ({})", event.products().size(), event.type());
+    }
+
+    /**
+     * Guarda el producto en el índice por ID si su franja no se ha invalidado desde la marca.
+     *
+     * La comprobación se hace dentro de compute, que se excluye con la
+     * invalidación de la misma clave: como las franjas se marcan antes de
+     * invalidar, una invalidación concurrente o ya se ve marcada o borra después
+     * lo guardado.
+     *
+     * @return true si se ha guardado
+     */
+    private boolean storeIfNotInvalidated(ProductResponse product, long stamp) {
+        int stripe = stripe(product.getId());
+        ProductResponse stored = byId.asMap().compute(product.getId(),
+                (id, current) -> lastInvalidation.get(stripe) > stamp ? current : product);
+        return stored == product;
+    }
+
+    private void markInvalidated(Collection<Long> ids) {
+        long sequence = invalidationSequence.incrementAndGet();
+        for (Long id : ids) {
+            lastInvalidation.accumulateAndGet(stripe(id), sequence, Math::max);
+        }
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (INVALIDATION_STRIPES - 1);
+    }
+
+    /**
+     * Estadísticas acumuladas del índice por ID (aciertos, fallos, expulsiones).
+     *
+     * @return Estadísticas de Caffeine
+     */
+    public CacheStats idStats() {
+        return byId.stats();
+    }
+
+    /**
+     * Estadísticas acumuladas del índice por SKU (aciertos, fallos, expulsiones).
+     *
+     * @return Estadísticas de Caffeine
+     */
+    public CacheStats skuStats() {
+        return bySku.stats();
+    }
+
+    /**
+     * Número aproximado de productos en caché.
+     *
+     * @return Número de entradas del índice por ID
+     */
+    public long size() {
+        return byId.estimatedSize();
+    }
+}
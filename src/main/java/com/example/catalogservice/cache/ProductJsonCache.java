@@ -0,0 +1,336 @@
+package com.example.catalogservice.cache;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.wire.WireFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.luben.zstd.Zstd;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Caché de respuestas ya serializadas (y opcionalmente comprimidas) con ETag.
+ *
+ * Los clientes consultan constantemente los mismos productos sin cambios. En
+ * lugar de volver a pasar por Jackson en cada petición, se guardan los bytes
+ * de la respuesta completa (ApiResponse incluido) y un ETag fuerte:
+ *
+ * - Producto: el ETag es {@code "{id}-{version}"}, con la versión de la fila
+ *   que se incrementa en cada escritura (la misma que se compara con If-Match).
+ * - Páginas del listado: el ETag se deriva de una versión global del catálogo
+ *   que se incrementa con cada cambio confirmado. Una página solo se reutiliza
+ *   mientras la versión con la que se generó siga siendo la actual.
+ *
+ * Con una entrada en caché, una petición con If-None-Match coincidente se
+ * responde con 304 sin tocar la base de datos ni el serializador.
+ *
+ * Cada formato de respuesta (JSON, CBOR) es una entrada distinta con su propio
+ * ETag, y cada entrada guarda sus copias comprimidas con gzip y zstd para no
+ * comprimir de nuevo en cada petición. Si la biblioteca nativa de zstd no se
+ * puede cargar, solo se guarda la copia gzip.
+ *
+ * Nota: el campo timestamp de ApiResponse refleja el momento en que se
+ * serializó la respuesta, no el de cada petición.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductJsonCache {
+
+    /**
+     * Por debajo de este tamaño gzip no compensa: la cabecera ocupa más que el ahorro.
+     */
+    private static final int GZIP_MIN_SIZE = 256;
+
+    private final ObjectMapper objectMapper;
+    private final boolean gzipEnabled;
+    private final boolean zstdEnabled;
+    private final int zstdLevel;
+    private final Cache<ProductKey, SerializedResponse> products;
+    private final Cache<String, VersionedResponse> pages;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Prefijo que distingue los ETags de páginas entre arranques del servicio.
+     */
+    private final String bootId = Long.toHexString(System.currentTimeMillis());
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    public ProductJsonCache(ObjectMapper objectMapper,
+                            MeterRegistry meterRegistry,
+                            @Value("${catalog.json-cache.max-size:64MB}") DataSize maxSize,
+                            @Value("${catalog.json-cache.max-pages:1000}") long maxPages,
+                            @Value("${catalog.json-cache.gzip:true}") boolean gzipEnabled,
+                            @Value("${catalog.json-cache.zstd:true}") boolean zstdEnabled,
+                            @Value("${catalog.json-cache.zstd-level:3}") int zstdLevel) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.gzipEnabled = gzipEnabled;
+        this.zstdEnabled = zstdEnabled && zstdAvailable(zstdLevel);
+        this.zstdLevel = zstdLevel;
+        this.products = Caffeine.newBuilder()
+                .maximumWeight(maxSize.toBytes())
+                .<ProductKey, SerializedResponse>weigher((key, response) -> response.weight())
+                .recordStats()
+                .build();
+        this.pages = Caffeine.newBuilder()
+                .maximumSize(maxPages)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, products, "products.json");
+        CaffeineCacheMetrics.monitor(meterRegistry, pages, "products.json-pages");
+        log.info("Caché de respuestas serializadas configurada (tamaño máximo: {}, páginas: {}, gzip: {}, zstd: {})",
+                maxSize, maxPages, gzipEnabled, this.zstdEnabled);
+    }
+
+    /**
+     * Devuelve la respuesta serializada de un producto si ya está en caché.
+     *
+     * @param id ID del producto
+     * @param format Formato de la respuesta
+     * @return Respuesta serializada, sin consultar la base de datos
+     */
+    public Optional<SerializedResponse> getCachedProduct(Long id, WireFormat format) {
+        return Optional.ofNullable(products.getIfPresent(new ProductKey(id, format)));
+    }
+
+    /**
+     * Devuelve la respuesta serializada de un producto, generándola si es necesario.
+     *
+     * @param id ID del producto
+     * @param format Formato de la respuesta
+     * @param loader Función que obtiene el producto (caché de productos o base de datos)
+     * @param message Mensaje de la respuesta ApiResponse
+     * @return Respuesta serializada, o vacío si el producto no existe
+     */
+    public Optional<SerializedResponse> getProduct(Long id, WireFormat format,
+                                                   Function<Long, Optional<ProductResponse>> loader, String message) {
+        return Optional.ofNullable(products.get(new ProductKey(id, format), key -> loader.apply(key.id())
+                .map(product -> serialize(format.etag(productEtag(product)), format,
+                        ApiResponse.success(message, product), "product"))
+                .orElse(null)));
+    }
+
+    /**
+     * ETag de la versión actual del listado de productos.
+     *
+     * @param format Formato de la respuesta
+     * @return ETag fuerte entre comillas
+     */
+    public String currentPageEtag(WireFormat format) {
+        return pageEtag(catalogVersion.get(), format);
+    }
+
+    /**
+     * Devuelve una página del listado serializada, generándola si la versión del catálogo cambió.
+     *
+     * La versión se lee antes de consultar los datos: si hay un cambio mientras
+     * se genera la página, esta queda marcada con la versión anterior y no se
+     * reutilizará.
+     *
+     * @param key Clave de la página (cursor y límite)
+     * @param format Formato de la respuesta
+     * @param pageSupplier Función que obtiene la respuesta a serializar
+     * @return Respuesta serializada
+     */
+    public SerializedResponse getPage(String key, WireFormat format, Supplier<ApiResponse<?>> pageSupplier) {
+        long version = catalogVersion.get();
+        String formatKey = format.name() + "|" + key;
+        VersionedResponse cached = pages.getIfPresent(formatKey);
+        if (cached != null && cached.version() == version) {
+            return cached.response();
+        }
+        SerializedResponse response = serialize(pageEtag(version, format), format, pageSupplier.get(), "page");
+        pages.put(formatKey, new VersionedResponse(version, response));
+        return response;
+    }
+
+    /**
+     * Invalida las respuestas de los productos modificados y avanza la versión del catálogo.
+     *
+     * Se ejecuta después de ProductCache, que es de donde se recargan las respuestas.
+     *
+     * @param event Evento de cambio confirmado
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 10)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        catalogVersion.incrementAndGet();
+        List<ProductKey> keys = new ArrayList<>(event.products().size() * WireFormat.values().length);
+        for (ProductResponse product : event.products()) {
+            for (WireFormat format : WireFormat.values()) {
+                keys.add(new ProductKey(product.getId(), format));
+            }
+        }
+        products.invalidateAll(keys);
+    }
+
+    /**
+     * Vacía la caché por completo.
+     */
+    public void clear() {
+        catalogVersion.incrementAndGet();
+        products.invalidateAll();
+        pages.invalidateAll();
+    }
+
+    /**
+     * Número aproximado de respuestas de producto serializadas en caché (una por formato).
+     *
+     * @return Número de entradas
+     */
+    public long size() {
+        return products.estimatedSize();
+    }
+
+    /**
+     * Calcula el ETag fuerte de un producto a partir de su ID y versión.
+     *
+     * @param product Producto
+     * @return ETag entre comillas
+     */
+    public static String productEtag(ProductResponse product) {
+        return productEtag(product.getId(), product.getVersion() == null ? 0 : product.getVersion());
+    }
+
+    /**
+     * Calcula el ETag fuerte de una versión de un producto.
+     *
+     * @param id ID del producto
+     * @param version Versión del producto
+     * @return ETag entre comillas
+     */
+    public static String productEtag(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    /**
+     * Extrae de una cabecera If-Match las versiones de un producto que acepta el cliente.
+     *
+     * Vale el ETag de cualquier formato (JSON o CBOR) y codificación (gzip,
+     * zstd). Los ETags débiles y los de otros productos se ignoran: If-Match
+     * exige comparación fuerte.
+     *
+     * @param id ID del producto
+     * @param ifMatch Valor de la cabecera
+     * @return Versiones aceptadas (vacía si ningún ETag es válido), o null si la cabecera es "*"
+     */
+    public static List<Long> versionsFromIfMatch(Long id, String ifMatch) {
+        String prefix = "\"" + id + "-";
+        List<Long> versions = new ArrayList<>();
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return null;
+            }
+            if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.length() <= prefix.length() + 1) {
+                continue;
+            }
+            // Los sufijos del formato ("-cbor") y de la codificación ("-gz") van detrás de la versión
+            String rest = tag.substring(prefix.length(), tag.length() - 1);
+            int end = rest.indexOf('-');
+            try {
+                versions.add(Long.parseLong(end < 0 ? rest : rest.substring(0, end)));
+            } catch (NumberFormatException ex) {
+                // ETag que no corresponde a ninguna versión
+            }
+        }
+        return versions;
+    }
+
+    private String pageEtag(long version, WireFormat format) {
+        return format.etag("\"p" + bootId + "-" + version + "\"");
+    }
+
+    private SerializedResponse serialize(String etag, WireFormat format, Object value, String type) {
+        long start = System.nanoTime();
+        try {
+            byte[] body = format.toBytes(objectMapper, value);
+            return new SerializedResponse(etag, format, body, gzip(body), zstd(body));
+        } catch (IOException ex) {
+            throw new IllegalStateException("No se pudo serializar la respuesta", ex);
+        } finally {
+            serializationTimer(type, format).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer serializationTimer(String type, WireFormat format) {
+        return Timer.builder("catalog.json.serialization")
+                .description("Tiempo de serialización (y compresión) de las respuestas cacheadas")
+                .tag("type", type)
+                .tag("format", format.name().toLowerCase())
+                .register(meterRegistry);
+    }
+
+    private byte[] gzip(byte[] body) {
+        if (!gzipEnabled || body.length < GZIP_MIN_SIZE) {
+            return null;
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        byte[] compressed = buffer.toByteArray();
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    private byte[] zstd(byte[] body) {
+        if (!zstdEnabled || body.length < GZIP_MIN_SIZE) {
+            return null;
+        }
+        byte[] compressed = Zstd.compress(body, zstdLevel);
+        return compressed.length < body.length ? compressed : null;
+    }
+
+    /**
+     * Comprueba que la biblioteca nativa de zstd se puede cargar en esta plataforma.
+     */
+    private static boolean zstdAvailable(int level) {
+        try {
+            Zstd.compress(new byte[1], level);
+            return true;
+        } catch (LinkageError ex) {
+            log.warn("No se pudo cargar zstd, las respuestas solo se comprimirán con gzip: {}", ex.toString());
+            return false;
+        }
+    }
+
+    /**
+     * Clave de la respuesta de un producto en un formato.
+     */
+    private record ProductKey(Long id, WireFormat format) {
+    }
+
+    /**
+     * Página serializada junto a la versión del catálogo con la que se generó.
+     */
+    private record VersionedResponse(long version, SerializedResponse response) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.catalogservice.cache;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.ProductResponse;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Invalida la caché de segundo nivel de Hibernate con cada cambio de productos confirmado.
+ *
+ * Hibernate mantiene la caché al día con lo que escribe él mismo, pero la
+ * importación masiva y la descarga de stock vendido escriben con JDBC
+ * directamente. Ambas publican un {@link ProductChangedEvent}, así que al
+ * recibirlo se expulsan los productos afectados y los resultados de la caché
+ * de consultas. La restauración de la instantánea, que también escribe con
+ * JDBC, está desactivada en el perfil prod.
+ *
+ * Solo existe con la caché de segundo nivel activada (perfil prod).
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class SecondLevelCacheEvictor {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Expulsa de la caché de segundo nivel los productos del evento y los resultados de consultas.
+     *
+     * @param event Evento de cambio confirmado
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        for (ProductResponse product : event.products()) {
+            cache.evictEntityData(Product.class, product.getId());
+        }
+        cache.evictQueryRegions();
+        log.debug("Caché de segundo nivel invalidada para {} producto(s) ({})", event.products().size(), event.type());
+    }
+
+    /**
+     * Vacía las regiones de productos y de consultas.
+     *
+     * Se usa cuando no se sabe qué productos han cambiado (por ejemplo, al
+     * perder mensajes del bus de invalidación).
+     */
+    public void evictAll() {
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Product.class);
+        cache.evictQueryRegions();
+        log.debug("Caché de segundo nivel de productos vaciada");
+    }
+}
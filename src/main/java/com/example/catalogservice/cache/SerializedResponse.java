@@ -0,0 +1,117 @@
+package com.example.catalogservice.cache;
+
+import com.example.catalogservice.wire.ContentCoding;
+import com.example.catalogservice.wire.WireFormat;
+
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Respuesta ya serializada, lista para escribirse tal cual en el cuerpo HTTP.
+ *
+ * @param etag ETag fuerte (entre comillas) que identifica esta representación del contenido sin comprimir;
+ *             cada codificación tiene el suyo ({@link #etag(ContentCoding)})
+ * @param format Formato en el que está serializado el cuerpo
+ * @param body Cuerpo sin comprimir
+ * @param gzipBody Cuerpo comprimido con gzip, o null si no compensa comprimirlo
+ * @param zstdBody Cuerpo comprimido con zstd, o null si no compensa o está desactivado
+ * @author Tutorial
+ * @version 1.0
+ */
+public record SerializedResponse(String etag, WireFormat format, byte[] body, byte[] gzipBody, byte[] zstdBody) {
+
+    /**
+     * Codificaciones de las que hay copia comprimida.
+     *
+     * @return Conjunto de codificaciones (sin IDENTITY)
+     */
+    public Set<ContentCoding> codings() {
+        Set<ContentCoding> codings = EnumSet.noneOf(ContentCoding.class);
+        if (gzipBody != null) {
+            codings.add(ContentCoding.GZIP);
+        }
+        if (zstdBody != null) {
+            codings.add(ContentCoding.ZSTD);
+        }
+        return codings;
+    }
+
+    /**
+     * Cuerpo en la codificación indicada.
+     *
+     * @param coding Codificación, que debe estar en {@link #codings()} o ser IDENTITY
+     * @return Bytes a enviar
+     */
+    public byte[] body(ContentCoding coding) {
+        return switch (coding) {
+            case IDENTITY -> body;
+            case GZIP -> gzipBody;
+            case ZSTD -> zstdBody;
+        };
+    }
+
+    /**
+     * ETag del cuerpo en la codificación indicada.
+     *
+     * @param coding Codificación con la que se envía el cuerpo
+     * @return ETag entre comillas
+     */
+    public String etag(ContentCoding coding) {
+        return coding.etag(etag);
+    }
+
+    /**
+     * Busca en una cabecera If-None-Match un ETag de esta versión.
+     *
+     * Acepta listas de ETags separadas por comas, el comodín "*" y ETags débiles
+     * (W/"..."), que según RFC 9110 se comparan de forma débil en If-None-Match.
+     *
+     * @param ifNoneMatch Valor de la cabecera (puede ser null)
+     * @return ETag que ya tiene el cliente, a devolver en la respuesta 304, o vacío si no tiene esta versión
+     */
+    public Optional<String> matchingEtag(String ifNoneMatch) {
+        return matchingEtag(etag, ifNoneMatch);
+    }
+
+    /**
+     * Busca en una cabecera If-None-Match un ETag de la versión dada, en cualquier codificación.
+     *
+     * El cliente tiene la versión actual aunque la guardara con otra
+     * codificación; la respuesta 304 lleva el ETag de su copia, que es la que valida.
+     *
+     * @param etag ETag fuerte de la versión actual, sin comprimir
+     * @param ifNoneMatch Valor de la cabecera (puede ser null)
+     * @return ETag que ya tiene el cliente, o vacío si no tiene esa versión
+     */
+    public static Optional<String> matchingEtag(String etag, String ifNoneMatch) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return Optional.empty();
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return Optional.of(etag);
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            for (ContentCoding coding : ContentCoding.values()) {
+                if (tag.equals(coding.etag(etag))) {
+                    return Optional.of(tag);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Tamaño aproximado en memoria de la entrada, usado como peso en la caché.
+     *
+     * @return Número de bytes de los cuerpos
+     */
+    public int weight() {
+        return body.length + (gzipBody == null ? 0 : gzipBody.length) + (zstdBody == null ? 0 : zstdBody.length)
+                + etag.length();
+    }
+}
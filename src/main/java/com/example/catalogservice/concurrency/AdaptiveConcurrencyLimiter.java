@@ -0,0 +1,200 @@
+package com.example.catalogservice.concurrency;
+
+import com.example.catalogservice.concurrency.RequestCost.Priority;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Límite de concurrencia de las peticiones HTTP que se adapta a la latencia medida.
+ *
+ * Un límite fijo obliga a elegir entre desaprovechar la base de datos cuando
+ * va rápida o dejar que las peticiones se acumulen cuando va lenta. Este
+ * límite (en unidades de coste, ver {@link RequestCost}) se recalcula cada
+ * {@code catalog.http.limit.window} a partir de la latencia por unidad de
+ * coste de las peticiones terminadas en ese intervalo:
+ *
+ * - Si supera {@code latency-tolerance} veces la latencia de referencia, hay
+ *   cola en algún sitio y el límite se reduce en proporción (como mínimo
+ *   multiplicándolo por {@code backoff-ratio}).
+ * - Si no, y las peticiones en curso llegaron a la mitad del límite, este
+ *   crece en su raíz cuadrada para probar si cabe más trabajo.
+ *
+ * La latencia de referencia es la menor observada, que sube un 2% en cada
+ * intervalo: así acompaña a cambios permanentes (más datos, otra máquina)
+ * pero no a una degradación repentina.
+ *
+ * Lo que no cabe se rechaza al momento en lugar de esperar: con el límite ya
+ * ocupado, esperar solo alarga la cola. Una petición se admite siempre que no
+ * haya ninguna otra en curso, para que un límite bajo no bloquee del todo los
+ * endpoints más costosos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class AdaptiveConcurrencyLimiter {
+
+    /**
+     * Crecimiento por intervalo de la latencia de referencia.
+     */
+    private static final double BASELINE_DRIFT = 0.02;
+
+    /**
+     * Reducción máxima del límite en un solo intervalo.
+     */
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final boolean enabled;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final int minWindowSamples;
+    private final double latencyTolerance;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private volatile double limit;
+
+    // Estadísticas del intervalo en curso; protegidas por el monitor de la instancia
+    private long windowStart = System.nanoTime();
+    private int windowSamples;
+    private double windowLatencySum;
+    private double baselineLatency = Double.NaN;
+
+    public AdaptiveConcurrencyLimiter(MeterRegistry meterRegistry,
+                                      @Value("${catalog.http.limit.enabled:true}") boolean enabled,
+                                      @Value("${catalog.http.limit.initial-limit:50}") int initialLimit,
+                                      @Value("${catalog.http.limit.min-limit:10}") int minLimit,
+                                      @Value("${catalog.http.limit.max-limit:500}") int maxLimit,
+                                      @Value("${catalog.http.limit.window:PT1S}") Duration window,
+                                      @Value("${catalog.http.limit.min-window-samples:20}") int minWindowSamples,
+                                      @Value("${catalog.http.limit.latency-tolerance:2.0}") double latencyTolerance,
+                                      @Value("${catalog.http.limit.backoff-ratio:0.9}") double backoffRatio) {
+        this.enabled = enabled;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = window.toNanos();
+        this.minWindowSamples = minWindowSamples;
+        this.latencyTolerance = latencyTolerance;
+        this.backoffRatio = backoffRatio;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+
+        Gauge.builder("catalog.http.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Límite de concurrencia actual de las peticiones HTTP, en unidades de coste")
+                .register(meterRegistry);
+        Gauge.builder("catalog.http.limit.inflight", inFlight, AtomicInteger::get)
+                .description("Coste de las peticiones HTTP en curso")
+                .register(meterRegistry);
+        log.info("Límite de concurrencia adaptativo {} (inicial: {}, entre {} y {})",
+                enabled ? "activado" : "desactivado", this.limit, minLimit, maxLimit);
+    }
+
+    /**
+     * Intenta admitir una petición.
+     *
+     * @param weight Coste de la petición
+     * @param priority Prioridad de la petición
+     * @return Permiso a liberar al terminar, o vacío si la petición no cabe en el límite
+     */
+    public Optional<Permit> tryAcquire(int weight, Priority priority) {
+        int allowed = (int) (limit * priority.share());
+        while (true) {
+            int current = inFlight.get();
+            if (enabled && current > 0 && current + weight > allowed) {
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + weight)) {
+                peakInFlight.accumulateAndGet(current + weight, Math::max);
+                return Optional.of(new Permit(weight, System.nanoTime()));
+            }
+        }
+    }
+
+    /**
+     * Límite actual.
+     *
+     * @return Límite en unidades de coste
+     */
+    public double getLimit() {
+        return limit;
+    }
+
+    private void release(Permit permit, boolean sample) {
+        inFlight.addAndGet(-permit.weight);
+        if (sample && enabled) {
+            onSample((double) (System.nanoTime() - permit.startNanos) / permit.weight);
+        }
+    }
+
+    private synchronized void onSample(double latency) {
+        windowLatencySum += latency;
+        windowSamples++;
+        long now = System.nanoTime();
+        if (now - windowStart < windowNanos || windowSamples < minWindowSamples) {
+            return;
+        }
+
+        double shortLatency = windowLatencySum / windowSamples;
+        int peak = peakInFlight.getAndSet(inFlight.get());
+        windowStart = now;
+        windowSamples = 0;
+        windowLatencySum = 0;
+
+        baselineLatency = Double.isNaN(baselineLatency)
+                ? shortLatency
+                : Math.min(shortLatency, baselineLatency * (1 + BASELINE_DRIFT));
+        double target = baselineLatency * latencyTolerance;
+
+        double current = limit;
+        double updated = current;
+        if (shortLatency > target) {
+            updated = current * Math.max(MIN_GRADIENT, Math.min(backoffRatio, target / shortLatency));
+        } else if (peak * 2 >= current) {
+            updated = current + Math.sqrt(current);
+        }
+        updated = Math.max(minLimit, Math.min(maxLimit, updated));
+        if (updated != current) {
+            limit = updated;
+            log.debug("Límite de concurrencia {} → {} (latencia por unidad {} µs, referencia {} µs, pico {})",
+                    (int) current, (int) updated, (long) (shortLatency / 1_000), (long) (baselineLatency / 1_000),
+                    peak);
+        }
+    }
+
+    /**
+     * Turno concedido a una petición; se libera una sola vez al terminar.
+     */
+    public final class Permit {
+
+        private final int weight;
+        private final long startNanos;
+
+        private Permit(int weight, long startNanos) {
+            this.weight = weight;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Libera el turno y usa la duración de la petición para ajustar el límite.
+         */
+        public void release() {
+            AdaptiveConcurrencyLimiter.this.release(this, true);
+        }
+
+        /**
+         * Libera el turno sin ajustar el límite, para peticiones cuya duración no
+         * depende del servidor (respuestas en streaming que consume el cliente).
+         */
+        public void releaseWithoutSample() {
+            AdaptiveConcurrencyLimiter.this.release(this, false);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.catalogservice.concurrency;
+
+import com.example.catalogservice.concurrency.AdaptiveConcurrencyLimiter.Permit;
+import com.example.catalogservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.time.Duration;
+
+/**
+ * Aplica el límite de concurrencia adaptativo a los endpoints anotados con {@link RequestCost}.
+ *
+ * Las peticiones que no caben se rechazan antes de llegar al controlador con
+ * {@link ServiceOverloadedException} (503 con Retry-After). El turno se
+ * libera al terminar la petición; en las respuestas asíncronas (exportación
+ * en streaming), cuando termina de enviarse la respuesta.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String PERMIT_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final long retryAfterSeconds;
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter limiter,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${catalog.http.limit.retry-after:1s}") Duration retryAfter) {
+        this.limiter = limiter;
+        this.meterRegistry = meterRegistry;
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // En el segundo despacho de una petición asíncrona el turno ya se concedió en el primero
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        RequestCost cost = costOf(method);
+        if (cost == null) {
+            return true;
+        }
+
+        Permit permit = limiter.tryAcquire(cost.value().weight(), cost.priority()).orElse(null);
+        if (permit == null) {
+            Counter.builder("catalog.http.limit.rejected")
+                    .description("Peticiones rechazadas por el límite de concurrencia adaptativo")
+                    .tag("endpoint", method.getMethod().getName())
+                    .tag("priority", cost.priority().name())
+                    .register(meterRegistry)
+                    .increment();
+            log.debug("Petición {} {} rechazada por el límite de concurrencia ({})", request.getMethod(),
+                    request.getRequestURI(), (int) limiter.getLimit());
+            throw new ServiceOverloadedException("Servicio saturado, inténtelo de nuevo más tarde", retryAfterSeconds);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE, permit);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        Permit permit = takePermit(request);
+        if (permit != null) {
+            request.getAsyncContext().addListener(new ReleaseOnCompletion(permit));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Permit permit = takePermit(request);
+        if (permit != null) {
+            permit.release();
+        }
+    }
+
+    private static RequestCost costOf(HandlerMethod method) {
+        RequestCost cost = method.getMethodAnnotation(RequestCost.class);
+        return cost != null ? cost : AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), RequestCost.class);
+    }
+
+    private static Permit takePermit(HttpServletRequest request) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        return permit;
+    }
+
+    /**
+     * Libera el turno de una petición asíncrona cuando termina (también tras un error o un timeout).
+     */
+    private static class ReleaseOnCompletion implements AsyncListener {
+
+        private final Permit permit;
+
+        ReleaseOnCompletion(Permit permit) {
+            this.permit = permit;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            permit.releaseWithoutSample();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
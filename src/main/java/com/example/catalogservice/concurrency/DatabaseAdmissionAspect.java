@@ -0,0 +1,35 @@
+package com.example.catalogservice.concurrency;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Aspecto que aplica {@link DatabaseAdmissionControl} a los métodos transaccionales de los servicios.
+ *
+ * Se ejecuta con la máxima precedencia para envolver al interceptor de
+ * transacciones: el permiso se obtiene antes de pedir la conexión y se libera
+ * después de devolverla al pool. Las llamadas directas al repositorio se
+ * protegen en {@link RepositoryAdmissionPostProcessor}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class DatabaseAdmissionAspect {
+
+    private final DatabaseAdmissionControl admissionControl;
+
+    @Around("within(com.example.catalogservice.service..*) "
+            + "&& @annotation(org.springframework.transaction.annotation.Transactional)")
+    public Object admit(ProceedingJoinPoint joinPoint) throws Throwable {
+        return admissionControl.execute(joinPoint::proceed);
+    }
+}
@@ -0,0 +1,128 @@
+package com.example.catalogservice.concurrency;
+
+import com.example.catalogservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Control de admisión al acceso a base de datos.
+ *
+ * Con hilos virtuales el número de peticiones en curso deja de estar limitado
+ * por el pool de Tomcat, y miles de hilos pueden intentar obtener una conexión
+ * a la vez. Este semáforo, dimensionado igual que el pool de conexiones,
+ * deja pasar solo tantos accesos como conexiones hay; el resto espera de forma
+ * ordenada (semáforo justo) y, si no obtiene turno a tiempo, se rechaza con
+ * {@link ServiceOverloadedException} en lugar de quedar bloqueado en el pool.
+ *
+ * El permiso es reentrante por hilo: una operación que ya lo tiene (por ejemplo,
+ * un método @Transactional que llama varias veces al repositorio) no vuelve a
+ * pedirlo, lo que evita bloqueos mutuos con la conexión que ya retiene.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class DatabaseAdmissionControl {
+
+    private final boolean enabled;
+    private final int maxConcurrent;
+    private final Duration timeout;
+    private final Semaphore permits;
+    private final Timer waitTimer;
+    private final Counter rejected;
+    private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    public DatabaseAdmissionControl(MeterRegistry meterRegistry,
+                                    @Value("${catalog.db.admission.enabled:true}") boolean enabled,
+                                    @Value("${catalog.db.admission.max-concurrent:10}") int maxConcurrent,
+                                    @Value("${catalog.db.admission.timeout:2s}") Duration timeout) {
+        this.enabled = enabled;
+        this.maxConcurrent = maxConcurrent;
+        this.timeout = timeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitTimer = Timer.builder("catalog.db.admission.wait")
+                .description("Espera hasta obtener turno de acceso a base de datos")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("catalog.db.admission.rejected")
+                .description("Accesos a base de datos rechazados por saturación")
+                .register(meterRegistry);
+        Gauge.builder("catalog.db.admission.in.flight", this, DatabaseAdmissionControl::inFlight)
+                .description("Operaciones de base de datos en curso")
+                .register(meterRegistry);
+        Gauge.builder("catalog.db.admission.waiting", this, DatabaseAdmissionControl::waiting)
+                .description("Hilos esperando turno de acceso a base de datos")
+                .register(meterRegistry);
+        log.info("Control de admisión a base de datos {} (máximo concurrente: {}, espera máxima: {})",
+                enabled ? "activado" : "desactivado", maxConcurrent, timeout);
+    }
+
+    /**
+     * Ejecuta una operación de base de datos tras obtener un permiso de acceso.
+     *
+     * @param operation Operación a ejecutar
+     * @return Resultado de la operación
+     * @throws ServiceOverloadedException si no se obtiene permiso dentro del tiempo de espera
+     */
+    public <T> T execute(DatabaseOperation<T> operation) throws Throwable {
+        int[] held = depth.get();
+        if (!enabled || held[0] > 0) {
+            return operation.run();
+        }
+
+        long waitStart = System.nanoTime();
+        boolean acquired = permits.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        waitTimer.record(System.nanoTime() - waitStart, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            rejected.increment();
+            log.warn("Acceso a base de datos rechazado: {} operaciones en curso y {} en espera",
+                    maxConcurrent, permits.getQueueLength());
+            throw new ServiceOverloadedException("Base de datos saturada, inténtelo de nuevo más tarde",
+                    Math.max(1, timeout.toSeconds()));
+        }
+        held[0]++;
+        try {
+            return operation.run();
+        } finally {
+            held[0]--;
+            permits.release();
+        }
+    }
+
+    /**
+     * Número de operaciones de base de datos en curso.
+     *
+     * @return Permisos actualmente concedidos
+     */
+    public int inFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * Número aproximado de hilos esperando permiso.
+     *
+     * @return Longitud de la cola del semáforo
+     */
+    public int waiting() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Operación de base de datos protegida por el control de admisión.
+     *
+     * @param <T> Tipo del resultado
+     */
+    @FunctionalInterface
+    public interface DatabaseOperation<T> {
+        T run() throws Throwable;
+    }
+}
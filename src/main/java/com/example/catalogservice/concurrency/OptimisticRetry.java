@@ -0,0 +1,104 @@
+package com.example.catalogservice.concurrency;
+
+import com.example.catalogservice.exception.ConcurrentUpdateException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Política de reintentos para escrituras con control de concurrencia optimista.
+ *
+ * Una escritura optimista lee la versión actual, calcula el cambio y lo aplica
+ * solo si la versión no ha cambiado (compare-and-set). Si otra escritura se
+ * adelantó, se vuelve a intentar desde la lectura en lugar de bloquear la fila
+ * durante toda la operación.
+ *
+ * Cada intento se ejecuta en su propia transacción y con su propio turno de
+ * {@link DatabaseAdmissionControl}: la espera entre intentos (exponencial,
+ * con jitter para que los intentos que chocaron no vuelvan a coincidir) no
+ * retiene ninguna conexión. Tras {@code catalog.write.max-attempts} intentos
+ * se responde 409 con {@link ConcurrentUpdateException}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseAdmissionControl admissionControl;
+    private final int maxAttempts;
+    private final long backoffNanos;
+    private final Counter conflicts;
+    private final Counter exhausted;
+
+    public OptimisticRetry(TransactionTemplate transactionTemplate,
+                           DatabaseAdmissionControl admissionControl,
+                           MeterRegistry meterRegistry,
+                           @Value("${catalog.write.max-attempts:5}") int maxAttempts,
+                           @Value("${catalog.write.retry-backoff:PT0.005S}") Duration backoff) {
+        this.transactionTemplate = transactionTemplate;
+        this.admissionControl = admissionControl;
+        this.maxAttempts = maxAttempts;
+        this.backoffNanos = backoff.toNanos();
+        this.conflicts = Counter.builder("catalog.write.conflicts")
+                .description("Escrituras optimistas que chocaron con otra escritura y se reintentaron")
+                .register(meterRegistry);
+        this.exhausted = Counter.builder("catalog.write.conflicts.exhausted")
+                .description("Escrituras optimistas rechazadas tras agotar los reintentos")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta una escritura optimista, reintentándola mientras choque con otras escrituras.
+     *
+     * @param operation Descripción de la operación para el mensaje de error ("eliminar el producto 5")
+     * @param attempt Intento: devuelve el resultado, o vacío si la versión leída ya no era la actual
+     * @param <T> Tipo del resultado
+     * @return Resultado del primer intento que se aplica
+     * @throws ConcurrentUpdateException si ningún intento llega a aplicarse
+     */
+    public <T> T execute(String operation, Supplier<Optional<T>> attempt) {
+        for (int attempts = 1; ; attempts++) {
+            Optional<T> result;
+            try {
+                result = admitted(() -> transactionTemplate.execute(status -> attempt.get()));
+            } catch (OptimisticLockingFailureException ex) {
+                result = Optional.empty();
+            }
+            if (result.isPresent()) {
+                return result.get();
+            }
+
+            conflicts.increment();
+            if (attempts >= maxAttempts) {
+                exhausted.increment();
+                throw new ConcurrentUpdateException(operation, attempts);
+            }
+            log.debug("Conflicto al {} (intento {}), reintentando", operation, attempts);
+            long delay = backoffNanos << Math.min(attempts - 1, 10);
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(delay / 2, delay + delay / 2 + 1));
+        }
+    }
+
+    private <T> T admitted(Supplier<T> operation) {
+        try {
+            return admissionControl.execute(operation::get);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.example.catalogservice.concurrency;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.model.response.ProductResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Agrupación de las consultas de lectura más repetidas del servicio de productos.
+ *
+ * Cuando un producto se destaca, miles de peticiones simultáneas piden el mismo
+ * ID (o el mismo SKU, o la misma página de una categoría). Con un fallo de
+ * caché, cada una abriría su propia transacción y su propia conexión para leer
+ * la misma fila. Con {@link SingleFlight} se ejecuta una sola consulta por
+ * clave y el resto comparte su resultado, incluido el "no existe".
+ *
+ * Cuando se confirma un cambio se desvinculan las consultas en curso afectadas,
+ * para que las peticiones posteriores al cambio no reciban un resultado leído
+ * antes de él.
+ *
+ * Se desactiva con {@code catalog.single-flight.enabled=false}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductLookupFlights {
+
+    private final boolean enabled;
+    private final SingleFlight<Long, Optional<ProductResponse>> byId;
+    private final SingleFlight<String, Optional<ProductResponse>> bySku;
+    private final SingleFlight<CategoryPage, List<ProductResponse>> byCategory;
+
+    public ProductLookupFlights(MeterRegistry meterRegistry,
+                                @Value("${catalog.single-flight.enabled:true}") boolean enabled,
+                                @Value("${catalog.single-flight.timeout:2s}") Duration timeout) {
+        this.enabled = enabled;
+        this.byId = new SingleFlight<>("id", timeout, meterRegistry);
+        this.bySku = new SingleFlight<>("sku", timeout, meterRegistry);
+        this.byCategory = new SingleFlight<>("category", timeout, meterRegistry);
+        log.info("Agrupación de consultas concurrentes {} (espera máxima: {})",
+                enabled ? "activada" : "desactivada", timeout);
+    }
+
+    /**
+     * Busca un producto por ID compartiendo la consulta con las peticiones simultáneas.
+     *
+     * @param id ID del producto
+     * @param loader Consulta del producto
+     * @return Resultado de la consulta
+     */
+    public Optional<ProductResponse> byId(Long id, Supplier<Optional<ProductResponse>> loader) {
+        return enabled ? byId.execute(id, loader) : loader.get();
+    }
+
+    /**
+     * Busca un producto por SKU compartiendo la consulta con las peticiones simultáneas.
+     *
+     * @param sku SKU del producto
+     * @param loader Consulta del producto
+     * @return Resultado de la consulta
+     */
+    public Optional<ProductResponse> bySku(String sku, Supplier<Optional<ProductResponse>> loader) {
+        return enabled ? bySku.execute(sku, loader) : loader.get();
+    }
+
+    /**
+     * Obtiene una página de una categoría compartiendo la consulta con las peticiones simultáneas.
+     *
+     * @param category Categoría
+     * @param afterId ID a partir del cual continuar
+     * @param limit Número máximo de productos
+     * @param loader Consulta de la página
+     * @return Productos de la página (lista compartida, de solo lectura)
+     */
+    public List<ProductResponse> byCategory(String category, Long afterId, int limit,
+                                            Supplier<List<ProductResponse>> loader) {
+        return enabled ? byCategory.execute(new CategoryPage(category, afterId, limit), loader) : loader.get();
+    }
+
+    /**
+     * Obtiene una página de una categoría sin bloquear, compartiendo la consulta
+     * con las peticiones simultáneas (también con las síncronas).
+     *
+     * @param category Categoría
+     * @param afterId ID a partir del cual continuar
+     * @param limit Número máximo de productos
+     * @param loader Lanza la consulta de la página
+     * @return Productos de la página (lista compartida, de solo lectura)
+     */
+    public CompletableFuture<List<ProductResponse>> byCategoryAsync(
+            String category, Long afterId, int limit, Supplier<CompletableFuture<List<ProductResponse>>> loader) {
+        return enabled ? byCategory.executeAsync(new CategoryPage(category, afterId, limit), loader) : loader.get();
+    }
+
+    /**
+     * Desvincula las consultas en curso afectadas por un cambio confirmado.
+     *
+     * Las páginas de categoría se desvinculan todas: un producto puede entrar o
+     * salir de cualquier página, y en un momento dado hay muy pocas en curso.
+     *
+     * @param event Evento de cambio
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 5)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        for (ProductResponse product : event.products()) {
+            byId.forget(product.getId());
+            if (product.getSku() != null) {
+                bySku.forget(product.getSku());
+            }
+        }
+        byCategory.forgetAll();
+    }
+
+    /**
+     * Clave de una página de categoría.
+     */
+    private record CategoryPage(String category, Long afterId, int limit) {
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.catalogservice.concurrency;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registra {@link DatabaseAdmissionControl} como interceptor de los repositorios de Spring Data.
+ *
+ * Los proxies de los repositorios los construye Spring Data, no el mecanismo
+ * de auto-proxy de AOP, así que un aspecto no llega a interceptarlos. La vía
+ * soportada es añadir el interceptor a la fábrica del repositorio antes de
+ * que cree el proxy. Se añade el primero para que envuelva también a la
+ * transacción propia del método del repositorio.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+public class RepositoryAdmissionPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DatabaseAdmissionControl> admissionControl;
+
+    public RepositoryAdmissionPostProcessor(ObjectProvider<DatabaseAdmissionControl> admissionControl) {
+        this.admissionControl = admissionControl;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            MethodInterceptor interceptor = invocation ->
+                    admissionControl.getObject().execute(invocation::proceed);
+            factoryBean.addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(0, interceptor)));
+        }
+        return bean;
+    }
+}
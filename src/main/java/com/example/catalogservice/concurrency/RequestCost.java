@@ -0,0 +1,95 @@
+package com.example.catalogservice.concurrency;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coste y prioridad de un endpoint frente al límite de concurrencia adaptativo.
+ *
+ * Solo se limitan los endpoints anotados (en el método o en el controlador).
+ * El coste indica cuánto del límite ocupa una petición mientras está en curso;
+ * la prioridad, qué parte del límite puede usar: cuando el límite baja porque
+ * la base de datos responde más despacio, las peticiones de menor prioridad
+ * dejan de admitirse antes que las críticas.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequestCost {
+
+    /**
+     * Clase de coste del endpoint.
+     *
+     * @return Coste de una petición
+     */
+    CostClass value();
+
+    /**
+     * Prioridad del endpoint.
+     *
+     * @return Prioridad de una petición
+     */
+    Priority priority() default Priority.NORMAL;
+
+    /**
+     * Clases de coste, en unidades del límite de concurrencia.
+     */
+    enum CostClass {
+        /**
+         * Lectura o escritura de un producto por su clave.
+         */
+        LOOKUP(1),
+        /**
+         * Página, búsqueda, recuento o lote de productos.
+         */
+        QUERY(5),
+        /**
+         * Recorrido completo del catálogo.
+         */
+        EXPORT(20);
+
+        private final int weight;
+
+        CostClass(int weight) {
+            this.weight = weight;
+        }
+
+        public int weight() {
+            return weight;
+        }
+    }
+
+    /**
+     * Prioridades, con la fracción del límite que puede ocupar cada una.
+     */
+    enum Priority {
+        /**
+         * Puede usar todo el límite.
+         */
+        CRITICAL(1.0),
+        /**
+         * Deja libre una parte del límite para las peticiones críticas.
+         */
+        NORMAL(0.8),
+        /**
+         * Trabajo diferible: es lo primero que se rechaza.
+         */
+        SHEDDABLE(0.5);
+
+        private final double share;
+
+        Priority(double share) {
+            this.share = share;
+        }
+
+        public double share() {
+            return share;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.example.catalogservice.concurrency;
+
+import com.example.catalogservice.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las consultas idénticas concurrentes para que se ejecuten una sola vez.
+ *
+ * La primera petición con una clave (la líder) ejecuta la consulta en su propio
+ * hilo y publica el resultado en un CompletableFuture. Las que llegan con la
+ * misma clave mientras tanto no consultan nada: esperan ese resultado y lo
+ * comparten, sin abrir transacción ni pedir conexión. En cuanto la consulta
+ * termina la clave se libera, de modo que no se guarda ningún resultado: esto
+ * no es una caché, solo evita trabajo duplicado simultáneo.
+ *
+ * Los errores de la líder se propagan tal cual a todas las que esperaban. Si
+ * una petición no recibe el resultado dentro del tiempo de espera se rechaza
+ * con {@link ServiceOverloadedException}; la consulta sigue en curso para el resto.
+ *
+ * Los resultados se comparten entre hilos y deben tratarse como de solo lectura.
+ *
+ * @param <K> Tipo de la clave de la consulta
+ * @param <V> Tipo del resultado
+ * @author Tutorial
+ * @version 1.0
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final Duration timeout;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+    private final Counter timedOut;
+
+    /**
+     * @param name Nombre de la consulta, usado como etiqueta de las métricas
+     * @param timeout Espera máxima por el resultado de otra petición
+     * @param meterRegistry Registro de métricas
+     */
+    public SingleFlight(String name, Duration timeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.timeout = timeout;
+        this.executed = Counter.builder("catalog.single-flight.executed")
+                .description("Consultas ejecutadas por una petición líder")
+                .tag("lookup", name)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("catalog.single-flight.coalesced")
+                .description("Peticiones que compartieron el resultado de una consulta ya en curso")
+                .tag("lookup", name)
+                .register(meterRegistry);
+        this.timedOut = Counter.builder("catalog.single-flight.timeouts")
+                .description("Peticiones rechazadas esperando el resultado de una consulta en curso")
+                .tag("lookup", name)
+                .register(meterRegistry);
+        Gauge.builder("catalog.single-flight.in.flight", inFlight, ConcurrentHashMap::size)
+                .description("Consultas distintas en curso")
+                .tag("lookup", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Ejecuta la consulta, o se une a la que ya está en curso con la misma clave.
+     *
+     * @param key Clave que identifica la consulta
+     * @param loader Consulta a ejecutar si no hay ninguna en curso
+     * @return Resultado de la consulta
+     * @throws ServiceOverloadedException si el resultado compartido no llega a tiempo
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            return await(key, existing);
+        }
+
+        executed.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Versión asíncrona de {@link #execute}: ni la líder ni las que se unen a
+     * su consulta esperan bloqueadas, todas reciben un future con el resultado.
+     *
+     * Las consultas síncronas y asíncronas con la misma clave se agrupan entre sí.
+     *
+     * @param key Clave que identifica la consulta
+     * @param loader Lanza la consulta si no hay ninguna en curso
+     * @return Resultado de la consulta
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            coalesced.increment();
+            // Copia: quien la reciba no puede completar ni cancelar la consulta compartida
+            return existing.copy();
+        }
+
+        executed.increment();
+        CompletableFuture<V> loading;
+        try {
+            loading = loader.get();
+        } catch (RuntimeException | Error ex) {
+            loading = CompletableFuture.failedFuture(ex);
+        }
+        loading.whenComplete((value, ex) -> {
+            inFlight.remove(key, flight);
+            if (ex != null) {
+                flight.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null
+                        ? ex.getCause() : ex);
+            } else {
+                flight.complete(value);
+            }
+        });
+        return flight.copy();
+    }
+
+    /**
+     * Desvincula la consulta en curso de una clave: las siguientes peticiones
+     * lanzarán una nueva en lugar de esperar un resultado que puede ser anterior
+     * a un cambio ya confirmado. Las que ya esperaban reciben el resultado igualmente.
+     *
+     * @param key Clave de la consulta
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /**
+     * Desvincula todas las consultas en curso.
+     */
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private V await(K key, CompletableFuture<V> flight) {
+        try {
+            return flight.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("La consulta compartida falló", cause);
+        } catch (TimeoutException ex) {
+            timedOut.increment();
+            throw new ServiceOverloadedException("La consulta " + name + " (" + key + ") no terminó a tiempo, "
+                    + "inténtelo de nuevo más tarde", Math.max(1, timeout.toSeconds()));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando la consulta " + name, ex);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.catalogservice.config;
+
+import com.example.catalogservice.concurrency.ConcurrencyLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registro del límite de concurrencia adaptativo delante de los controladores.
+ *
+ * El interceptor se aplica a todas las rutas, pero solo limita los endpoints
+ * anotados con {@link com.example.catalogservice.concurrency.RequestCost}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Configuration
+@RequiredArgsConstructor
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(concurrencyLimitInterceptor);
+    }
+}
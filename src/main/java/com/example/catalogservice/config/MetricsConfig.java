@@ -0,0 +1,35 @@
+package com.example.catalogservice.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de métricas de la aplicación.
+ *
+ * Spring Boot registra de serie las métricas de peticiones HTTP
+ * (http.server.requests), invocaciones de repositorios
+ * (spring.data.repository.invocations), pool de conexiones (hikaricp.*),
+ * Tomcat y JVM. Esta clase añade el aspecto que procesa {@code @Timed}, usado
+ * en la capa de servicio.
+ *
+ * Las métricas se publican en /api/actuator/prometheus.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Aspecto que mide los métodos (o clases) anotados con {@code @Timed}.
+     *
+     * @param meterRegistry Registro de métricas
+     * @return Aspecto de Micrometer
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
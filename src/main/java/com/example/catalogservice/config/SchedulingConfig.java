@@ -0,0 +1,18 @@
+package com.example.catalogservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas periódicas (@Scheduled) de la aplicación.
+ *
+ * Spring Boot configura un planificador con un único hilo; las tareas deben
+ * ser cortas para no retrasarse entre sí.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,33 @@
+package com.example.catalogservice.config;
+
+import com.example.catalogservice.wire.CborHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Configuración de los formatos de respuesta alternativos a JSON.
+ *
+ * El convertidor CBOR se añade al final de la lista: Spring MVC ofrece los
+ * formatos en el orden de sus convertidores, y así un cliente que envía
+ * "Accept: *&#47;*" (o ninguna cabecera) sigue recibiendo JSON. Solo quien pide
+ * "application/cbor" recibe CBOR.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Configuration
+@RequiredArgsConstructor
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new CborHttpMessageConverter(objectMapper));
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.catalogservice.controller;
+
+import com.example.catalogservice.controller.doc.CatalogSnapshotControllerDoc;
+import com.example.catalogservice.exception.ResourceNotFoundException;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.CatalogSnapshotResponse;
+import com.example.catalogservice.snapshot.CatalogSnapshotService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Controlador REST para las instantáneas del catálogo.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSnapshotController implements CatalogSnapshotControllerDoc {
+
+    private final CatalogSnapshotService catalogSnapshotService;
+
+    @Override
+    public ResponseEntity<ApiResponse<CatalogSnapshotResponse>> writeSnapshot() {
+        log.info("REST request para escribir una instantánea del catálogo");
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Instantánea escrita correctamente", catalogSnapshotService.write()));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse<CatalogSnapshotResponse>> getSnapshot() {
+        log.debug("REST request para consultar la instantánea del catálogo");
+
+        CatalogSnapshotResponse snapshot = catalogSnapshotService.getCurrent();
+        if (snapshot == null) {
+            throw new ResourceNotFoundException("Instantánea", "estado", "ninguna");
+        }
+        return ResponseEntity.ok(ApiResponse.success("Instantánea obtenida correctamente", snapshot));
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.catalogservice.controller;
+
+import com.example.catalogservice.bulk.ProductBulkService;
+import com.example.catalogservice.bulk.ProductSelection;
+import com.example.catalogservice.controller.doc.ProductBulkControllerDoc;
+import com.example.catalogservice.model.request.ProductBulkDeleteRequest;
+import com.example.catalogservice.model.request.ProductBulkUpdateRequest;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.BulkOperationResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Controlador REST para las operaciones masivas sobre productos.
+ */
+@RestController
+@RequestMapping("/products")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductBulkController implements ProductBulkControllerDoc {
+
+    private final ProductBulkService productBulkService;
+
+    @Override
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> deleteProducts(ProductBulkDeleteRequest request) {
+        ProductSelection selection = request.toSelection();
+        log.info("REST request para eliminar productos por {}", selection);
+
+        long deleted = productBulkService.delete(selection);
+
+        return ResponseEntity.ok(ApiResponse.success("Productos eliminados correctamente",
+                BulkOperationResponse.builder().affected(deleted).build()));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse<BulkOperationResponse>> updateProducts(ProductBulkUpdateRequest request) {
+        ProductSelection selection = request.toSelection();
+        log.info("REST request para actualizar productos por {}", selection);
+
+        long changes = Stream.of(request.getStock(), request.getStockDelta(), request.getPrice(), request.getPricePercent())
+                .filter(Objects::nonNull)
+                .count();
+        if (changes != 1) {
+            throw new IllegalArgumentException("Se debe indicar exactamente un cambio: stock, stockDelta, price o pricePercent");
+        }
+
+        long updated;
+        if (request.getStock() != null) {
+            updated = productBulkService.setStock(selection, request.getStock());
+        } else if (request.getStockDelta() != null) {
+            updated = productBulkService.addStock(selection, request.getStockDelta());
+        } else if (request.getPrice() != null) {
+            updated = productBulkService.setPrice(selection, request.getPrice());
+        } else {
+            updated = productBulkService.adjustPrice(selection, request.getPricePercent());
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("Productos actualizados correctamente",
+                BulkOperationResponse.builder().affected(updated).build()));
+    }
+}
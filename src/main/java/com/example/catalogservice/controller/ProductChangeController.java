@@ -0,0 +1,58 @@
+package com.example.catalogservice.controller;
+
+import com.example.catalogservice.controller.doc.ProductChangeControllerDoc;
+import com.example.catalogservice.feed.ProductChangeFeed;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ProductChangesResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.Duration;
+
+/**
+ * Controlador REST para el feed de cambios de productos.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class ProductChangeController implements ProductChangeControllerDoc {
+
+    /**
+     * Número máximo de cambios por respuesta.
+     */
+    private static final int MAX_LIMIT = 1000;
+
+    private final ProductChangeFeed productChangeFeed;
+
+    @Override
+    public ResponseEntity<ApiResponse<ProductChangesResponse>> getChanges(Long since, int limit, int wait) {
+        log.debug("REST request para obtener cambios de productos desde el offset {}", since);
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(ApiResponse.success("Cambios obtenidos correctamente",
+                        productChangeFeed.poll(since, limit, Duration.ofSeconds(wait))));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamChanges(Long since, Long lastEventId) {
+        Long from = lastEventId != null ? Long.valueOf(lastEventId + 1) : since;
+        log.info("REST request para recibir cambios de productos por SSE desde el offset {}", from);
+
+        StreamingResponseBody body = outputStream -> productChangeFeed.stream(from, outputStream);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .cacheControl(CacheControl.noStore())
+                .body(body);
+    }
+}
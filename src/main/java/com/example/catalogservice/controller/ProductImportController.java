@@ -0,0 +1,55 @@
+package com.example.catalogservice.controller;
+
+import com.example.catalogservice.bulk.ImportFormat;
+import com.example.catalogservice.bulk.ProductImportJob;
+import com.example.catalogservice.bulk.ProductImportService;
+import com.example.catalogservice.controller.doc.ProductImportControllerDoc;
+import com.example.catalogservice.exception.ResourceNotFoundException;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ImportJobResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Controlador REST para la importación masiva de productos.
+ */
+@RestController
+@RequestMapping("/products")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductImportController implements ProductImportControllerDoc {
+
+    private final ProductImportService productImportService;
+
+    @Override
+    public ResponseEntity<ApiResponse<ImportJobResponse>> importProducts(String contentType, InputStream body)
+            throws IOException {
+        log.info("REST request para importar productos ({})", contentType);
+
+        ImportFormat format = ImportFormat.fromContentType(contentType);
+        ProductImportJob job = productImportService.submit(body, format);
+
+        return ResponseEntity.accepted()
+                .location(ServletUriComponentsBuilder.fromCurrentRequest()
+                        .path("/{jobId}")
+                        .buildAndExpand(job.getId())
+                        .toUri())
+                .body(ApiResponse.success("Importación encolada", job.toResponse()));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse<ImportJobResponse>> getImportJob(String jobId) {
+        log.debug("REST request para consultar la importación: {}", jobId);
+
+        return productImportService.getJob(jobId)
+                .map(job -> ResponseEntity.ok(ApiResponse.success("Estado de la importación", job.toResponse())))
+                .orElseThrow(() -> new ResourceNotFoundException("Importación", "id", jobId));
+    }
+}
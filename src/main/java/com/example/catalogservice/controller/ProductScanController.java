@@ -0,0 +1,91 @@
+package com.example.catalogservice.controller;
+
+import com.example.catalogservice.controller.doc.ProductScanControllerDoc;
+import com.example.catalogservice.exception.ServiceOverloadedException;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.model.response.ProductScanResponse;
+import com.example.catalogservice.search.ColumnarProductIndex;
+import com.example.catalogservice.search.ProductScanQuery;
+import com.example.catalogservice.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador REST para las consultas sobre el índice columnar.
+ */
+@RestController
+@ConditionalOnProperty(name = "catalog.columnar.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ProductScanController implements ProductScanControllerDoc {
+
+    /**
+     * Número máximo de productos por respuesta.
+     */
+    private static final int MAX_LIMIT = 1000;
+
+    private final ColumnarProductIndex columnarProductIndex;
+    private final ProductService productService;
+
+    @Override
+    public ResponseEntity<ApiResponse<ProductScanResponse>> scanProducts(String category, BigDecimal minPrice,
+                                                                        BigDecimal maxPrice, Integer minStock,
+                                                                        String sort, String direction, int limit,
+                                                                        boolean idsOnly) {
+        log.debug("REST request para recorrer el índice columnar: categoría={}, precio=[{}, {}], stock>={}, orden={} {}",
+                category, minPrice, maxPrice, minStock, sort, direction);
+
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_LIMIT);
+        }
+        if (!"asc".equalsIgnoreCase(direction) && !"desc".equalsIgnoreCase(direction)) {
+            throw new IllegalArgumentException("La dirección debe ser 'asc' o 'desc'");
+        }
+        if (!columnarProductIndex.isReady()) {
+            throw new ServiceOverloadedException("El índice columnar aún se está construyendo", 1);
+        }
+
+        ProductScanQuery query = new ProductScanQuery(category, minPrice, maxPrice, minStock,
+                ProductScanQuery.SortField.fromParameter(sort), "desc".equalsIgnoreCase(direction), limit);
+        long start = System.nanoTime();
+        ColumnarProductIndex.ScanResult result = columnarProductIndex.scan(query);
+        long scanMicros = (System.nanoTime() - start) / 1_000;
+
+        List<Long> ids = Arrays.stream(result.ids()).boxed().toList();
+        ProductScanResponse.ProductScanResponseBuilder response = ProductScanResponse.builder()
+                .total(result.total())
+                .ids(ids)
+                .scanMicros(scanMicros);
+        if (!idsOnly) {
+            response.products(productsInOrder(ids));
+        }
+
+        return ResponseEntity.ok(ApiResponse.success("Productos obtenidos correctamente", response.build()));
+    }
+
+    /**
+     * Carga los productos de una lista de IDs en el mismo orden. Se omiten los
+     * borrados entre el recorrido y la carga.
+     */
+    private List<ProductResponse> productsInOrder(List<Long> ids) {
+        Map<Long, ProductResponse> found = productService.getProductsByIds(ids);
+        List<ProductResponse> products = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            ProductResponse product = found.get(id);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.catalogservice.controller;
+
+import com.example.catalogservice.model.response.ProductResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Añade la versión del esquema de ProductResponse a las respuestas del controlador de productos.
+ *
+ * La cabecera es la misma en JSON y en CBOR: los clientes que guardan o
+ * transforman las respuestas (sobre todo las binarias, que no se pueden
+ * inspeccionar a simple vista) pueden comprobar que entienden el esquema
+ * antes de leerlas.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@ControllerAdvice(assignableTypes = {ProductController.class, ReactiveProductController.class})
+public class ProductSchemaVersionAdvice implements ResponseBodyAdvice<Object> {
+
+    /**
+     * Cabecera con la versión del esquema de ProductResponse.
+     */
+    public static final String SCHEMA_VERSION_HEADER = "X-Schema-Version";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        response.getHeaders().set(SCHEMA_VERSION_HEADER, String.valueOf(ProductResponse.SCHEMA_VERSION));
+        return body;
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.catalogservice.controller;
+
+import com.example.catalogservice.cache.ProductCache;
+import com.example.catalogservice.concurrency.ProductLookupFlights;
+import com.example.catalogservice.controller.doc.ReactiveProductControllerDoc;
+import com.example.catalogservice.exception.ResourceNotFoundException;
+import com.example.catalogservice.index.ProductExistenceFilter;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.CursorPageResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.reactive.FlowIterator;
+import com.example.catalogservice.reactive.ReactiveProductRepository;
+import com.example.catalogservice.util.CursorCodec;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Controlador REST de la API reactiva de lectura de productos.
+ */
+@RestController
+@RequestMapping("/reactive/products")
+@ConditionalOnProperty(name = "catalog.reactive.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveProductController implements ReactiveProductControllerDoc {
+
+    /**
+     * Tamaño máximo de página permitido en la paginación por cursor.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Productos que se piden al publicador por adelantado al escribir en streaming.
+     */
+    private static final int STREAM_BATCH_SIZE = 256;
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final ReactiveProductRepository reactiveProductRepository;
+    private final ProductCache productCache;
+    private final ProductLookupFlights lookupFlights;
+    private final ProductExistenceFilter existenceFilter;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public CompletableFuture<ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>>> getAllProducts(
+            String cursor, int limit) {
+        log.debug("REST request reactiva para obtener productos (cursor: {}, límite: {})", cursor, limit);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        Long afterId = firstPageIfAbsent(CursorCodec.decodeId(cursor));
+
+        // Se pide un elemento extra para saber si hay más páginas sin lanzar un COUNT
+        return reactiveProductRepository.findResponsesAfterId(afterId, limit + 1)
+                .thenApply(products -> ResponseEntity.ok(ApiResponse.success(
+                        "Productos obtenidos correctamente", ProductController.toCursorPage(products, limit))));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        log.info("REST request reactiva para exportar todos los productos en streaming");
+        return ndjson(reactiveProductRepository.streamResponses());
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<ApiResponse<ProductResponse>>> getProductById(Long id) {
+        log.debug("REST request reactiva para obtener un producto con ID: {}", id);
+
+        // Un acierto de caché o un ID descartado por el filtro de existencia se responden en el
+        // mismo hilo, sin pasar por el pool de consultas
+        Optional<ProductResponse> cached = productCache.getIfPresent(id);
+        long stamp = productCache.invalidationStamp();
+        CompletableFuture<Optional<ProductResponse>> product = cached.isPresent()
+                ? CompletableFuture.completedFuture(cached)
+                : !existenceFilter.mightContainId(id)
+                ? CompletableFuture.completedFuture(Optional.empty())
+                : reactiveProductRepository.findResponseById(id).thenApply(found -> {
+                    found.ifPresent(value -> productCache.putIfNotInvalidated(value, stamp));
+                    return found;
+                });
+
+        return product.thenApply(found -> found
+                .map(value -> ResponseEntity.ok(ApiResponse.success("Producto encontrado correctamente", value)))
+                .orElseThrow(() -> new ResourceNotFoundException("Producto", "id", id)));
+    }
+
+    @Override
+    public CompletableFuture<ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>>> getProductsByCategory(
+            String category, String cursor, int limit) {
+        log.debug("REST request reactiva para obtener productos de la categoría: {} (cursor: {}, límite: {})",
+                category, cursor, limit);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        Long afterId = firstPageIfAbsent(CursorCodec.decodeId(cursor));
+
+        // Las páginas idénticas simultáneas comparten la consulta, igual que en la API bloqueante
+        return lookupFlights.byCategoryAsync(category, afterId, limit + 1,
+                        () -> reactiveProductRepository.findResponsesByCategoryAfterId(category, afterId, limit + 1))
+                .thenApply(products -> ResponseEntity.ok(ApiResponse.success(
+                        "Productos obtenidos correctamente", ProductController.toCursorPage(products, limit))));
+    }
+
+    @Override
+    public ResponseEntity<StreamingResponseBody> streamProductsByCategory(String category) {
+        log.info("REST request reactiva para exportar en streaming los productos de la categoría: {}", category);
+        return ndjson(reactiveProductRepository.streamResponsesByCategory(category));
+    }
+
+    /**
+     * La paginación por clave empieza en el ID 0 cuando no hay cursor.
+     */
+    private static Long firstPageIfAbsent(Long afterId) {
+        return afterId == null ? 0L : afterId;
+    }
+
+    /**
+     * Escribe un publicador de productos en NDJSON, pidiéndole más productos solo
+     * a medida que se escriben en la respuesta.
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Flow.Publisher<ProductResponse> products) {
+        ObjectWriter writer = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (FlowIterator<ProductResponse> iterator = FlowIterator.subscribe(products, STREAM_BATCH_SIZE);
+                 JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                int written = 0;
+                while (iterator.hasNext()) {
+                    writer.writeValue(generator, iterator.next());
+                    generator.writeRaw('\n');
+                    if (++written % STREAM_BATCH_SIZE == 0) {
+                        generator.flush();
+                    }
+                }
+                log.debug("Exportación reactiva finalizada: {} productos", written);
+            }
+        };
+
+        // El cuerpo en streaming no pasa por ProductSchemaVersionAdvice
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(ProductSchemaVersionAdvice.SCHEMA_VERSION_HEADER, String.valueOf(ProductResponse.SCHEMA_VERSION))
+                .body(body);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.catalogservice.controller;
+
+import com.example.catalogservice.controller.doc.StockReservationControllerDoc;
+import com.example.catalogservice.model.request.StockReservationRequest;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ReservationResponse;
+import com.example.catalogservice.model.response.StockResponse;
+import com.example.catalogservice.stock.Reservation;
+import com.example.catalogservice.stock.StockReservationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Controlador REST para las reservas de stock.
+ */
+@RestController
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationController implements StockReservationControllerDoc {
+
+    private final StockReservationService stockReservationService;
+
+    @Override
+    public ResponseEntity<ApiResponse<ReservationResponse>> reserve(StockReservationRequest request) {
+        log.debug("REST request para reservar {} unidad(es) del producto {}", request.getQuantity(), request.getProductId());
+
+        Duration ttl = request.getTtlSeconds() == null ? null : Duration.ofSeconds(request.getTtlSeconds());
+        Reservation reservation = stockReservationService.reserve(request.getProductId(), request.getQuantity(), ttl);
+
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Reserva creada correctamente", ReservationResponse.from(reservation, "RESERVED")));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse<ReservationResponse>> commit(String id) {
+        log.debug("REST request para confirmar la reserva {}", id);
+
+        Reservation reservation = stockReservationService.commit(id);
+
+        return ResponseEntity.ok(ApiResponse.success("Reserva confirmada correctamente",
+                ReservationResponse.from(reservation, "COMMITTED")));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse<ReservationResponse>> release(String id) {
+        log.debug("REST request para liberar la reserva {}", id);
+
+        Reservation reservation = stockReservationService.release(id);
+
+        return ResponseEntity.ok(ApiResponse.success("Reserva liberada correctamente",
+                ReservationResponse.from(reservation, "RELEASED")));
+    }
+
+    @Override
+    public ResponseEntity<ApiResponse<StockResponse>> getStock(Long id) {
+        log.debug("REST request para consultar el stock del producto {}", id);
+
+        return ResponseEntity.ok(ApiResponse.success("Stock obtenido correctamente", stockReservationService.getStock(id)));
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.catalogservice.controller.doc;
+
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.CatalogSnapshotResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+
+/**
+ * Interfaz para documentar los endpoints de instantáneas del catálogo.
+ */
+public interface CatalogSnapshotControllerDoc {
+
+    /**
+     * Endpoint para escribir una instantánea del catálogo.
+     *
+     * @return Información de la instantánea escrita
+     */
+    @Operation(
+            summary = "Escribir instantánea del catálogo",
+            description = "Escribe en catalog.snapshot.file una instantánea binaria con todos los productos. " +
+                    "Al arrancar con catalog.snapshot.restore=true, la aplicación se restaura desde ella sin " +
+                    "esperar a cargar la base de datos ni a recorrerla para construir los índices"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "Instantánea escrita",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Instantánea escrita correctamente",
+                        "data": {
+                            "file": "/srv/catalog/catalog-snapshot.bin",
+                            "products": 200000,
+                            "sizeBytes": 31457280,
+                            "createdAt": "2024-03-01T10:30:00",
+                            "durationMs": 1840,
+                            "restoring": false
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "La instantánea anterior aún se está cargando en la base de datos",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/snapshot")
+    ResponseEntity<ApiResponse<CatalogSnapshotResponse>> writeSnapshot();
+
+    /**
+     * Endpoint para consultar la instantánea actual.
+     *
+     * @return Información de la última instantánea escrita o restaurada
+     */
+    @Operation(
+            summary = "Consultar instantánea del catálogo",
+            description = "Devuelve la última instantánea escrita o restaurada al arrancar, e indica si aún se " +
+                    "está cargando en la base de datos"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Instantánea encontrada",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "No se ha escrito ni restaurado ninguna instantánea",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/snapshot")
+    ResponseEntity<ApiResponse<CatalogSnapshotResponse>> getSnapshot();
+}
@@ -0,0 +1,120 @@
+package com.example.catalogservice.controller.doc;
+
+import com.example.catalogservice.model.request.ProductBulkDeleteRequest;
+import com.example.catalogservice.model.request.ProductBulkUpdateRequest;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.BulkOperationResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Interfaz para documentar los endpoints de operaciones masivas sobre productos.
+ */
+public interface ProductBulkControllerDoc {
+
+    /**
+     * Endpoint para eliminar varios productos en una sola operación.
+     *
+     * @param request Selección de productos a eliminar
+     * @return Número de productos eliminados
+     */
+    @Operation(
+            summary = "Eliminar productos de forma masiva",
+            description = "Elimina los productos seleccionados por lista de IDs, por categoría o por prefijo " +
+                    "de SKU (exactamente un criterio). Se ejecuta por trozos con sentencias DELETE sobre " +
+                    "conjuntos de filas, cada trozo en su propia transacción"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos eliminados",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Productos eliminados correctamente",
+                        "data": {
+                            "affected": 2
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Selección vacía, ambigua o demasiado grande",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/bulk/delete")
+    ResponseEntity<ApiResponse<BulkOperationResponse>> deleteProducts(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Criterio de selección: ids, category o skuPrefix",
+                    required = true,
+                    content = @Content(examples = @ExampleObject(value = """
+                    { "category": "Descatalogado" }
+                    """))
+            )
+            @Valid @RequestBody ProductBulkDeleteRequest request
+    );
+
+    /**
+     * Endpoint para actualizar el stock o el precio de varios productos en una sola operación.
+     *
+     * @param request Selección de productos y cambio a aplicar
+     * @return Número de productos modificados
+     */
+    @Operation(
+            summary = "Actualizar stock o precio de forma masiva",
+            description = "Aplica un único cambio (stock, stockDelta, price o pricePercent) a los productos " +
+                    "seleccionados por lista de IDs, por categoría o por prefijo de SKU. Los productos que ya " +
+                    "tienen el valor resultante no se modifican ni se cuentan"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos actualizados",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Productos actualizados correctamente",
+                        "data": {
+                            "affected": 3
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Selección o cambio no válidos",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/bulk/update")
+    ResponseEntity<ApiResponse<BulkOperationResponse>> updateProducts(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Criterio de selección y cambio a aplicar",
+                    required = true,
+                    content = @Content(examples = @ExampleObject(value = """
+                    { "skuPrefix": "LAPTOP-", "pricePercent": -10 }
+                    """))
+            )
+            @Valid @RequestBody ProductBulkUpdateRequest request
+    );
+}
@@ -0,0 +1,139 @@
+package com.example.catalogservice.controller.doc;
+
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ProductChangesResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Interfaz para documentar los endpoints del feed de cambios de productos.
+ */
+public interface ProductChangeControllerDoc {
+
+    /**
+     * Endpoint para leer cambios de productos con long-polling.
+     *
+     * @param since Primer offset a devolver (opcional)
+     * @param limit Número máximo de cambios
+     * @param wait Segundos de espera si no hay cambios
+     * @return Cambios y offset desde el que continuar
+     */
+    @Operation(
+            summary = "Leer cambios de productos (long-polling)",
+            description = "Devuelve las creaciones, modificaciones y borrados de productos a partir del offset " +
+                    "'since', en orden. Si aún no hay ninguno, espera hasta 'wait' segundos a que llegue alguno. " +
+                    "Sin 'since' se empieza por el final del registro: sirve para obtener el offset actual " +
+                    "antes de una carga completa. Si cambia 'logId', hay que sincronizar desde cero"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Cambios obtenidos (la lista puede venir vacía si venció la espera)",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Cambios obtenidos correctamente",
+                        "data": {
+                            "logId": "5c1f7a0e-8a2b-4d7e-b1f4-0f7c2d9e6a31",
+                            "changes": [
+                                {
+                                    "offset": 41,
+                                    "type": "UPDATED",
+                                    "productId": 9,
+                                    "sku": "MONITOR-001",
+                                    "changedAt": "2024-03-01T10:30:00",
+                                    "product": {
+                                        "id": 9,
+                                        "sku": "MONITOR-001",
+                                        "name": "Monitor LG UltraGear 27\\"",
+                                        "price": 329.99,
+                                        "stock": 7,
+                                        "category": "Electrónica"
+                                    }
+                                },
+                                {
+                                    "offset": 42,
+                                    "type": "DELETED",
+                                    "productId": 3,
+                                    "sku": "HEADPHONES-001",
+                                    "changedAt": "2024-03-01T10:30:02"
+                                }
+                            ],
+                            "nextOffset": 43
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Offset fuera del registro (hay que sincronizar de nuevo) o límite inválido",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping(value = "/products/changes", produces = MediaType.APPLICATION_JSON_VALUE)
+    ResponseEntity<ApiResponse<ProductChangesResponse>> getChanges(
+            @Parameter(description = "Primer offset a devolver (el 'nextOffset' de la respuesta anterior)", example = "0")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Número máximo de cambios (1-1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit,
+            @Parameter(description = "Segundos de espera si no hay cambios (máximo catalog.changes.max-wait)", example = "25")
+            @RequestParam(defaultValue = "25") int wait
+    );
+
+    /**
+     * Endpoint para recibir los cambios de productos como Server-Sent Events.
+     *
+     * @param since Primer offset a enviar (opcional)
+     * @param lastEventId Último offset recibido antes de reconectar (opcional)
+     * @return Stream de eventos que no termina hasta que el cliente se desconecta
+     */
+    @Operation(
+            summary = "Recibir cambios de productos (Server-Sent Events)",
+            description = "Envía cada cambio como un evento con el offset como 'id' y el cambio en JSON como " +
+                    "'data'. Al conectar se envía un evento 'log' con el ID del registro; si el offset ya no " +
+                    "está disponible se envía un evento 'reset' y se cierra el stream. Se selecciona enviando " +
+                    "'Accept: text/event-stream'. Los clientes EventSource reanudan solos con Last-Event-ID"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Stream de cambios",
+                    content = @Content(
+                            mediaType = "text/event-stream",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    retry: 3000
+                    event: log
+                    data: 5c1f7a0e-8a2b-4d7e-b1f4-0f7c2d9e6a31
+
+                    id: 42
+                    data: {"type":"DELETED","productId":3,"sku":"HEADPHONES-001","changedAt":"2024-03-01T10:30:02"}
+                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping(value = "/products/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    ResponseEntity<StreamingResponseBody> streamChanges(
+            @Parameter(description = "Primer offset a enviar", example = "0")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Último offset recibido (lo envía EventSource al reconectar)")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId
+    );
+}
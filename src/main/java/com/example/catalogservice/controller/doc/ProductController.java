@@ -1,19 +1,48 @@
 package com.example.catalogservice.controller;
 
+import com.example.catalogservice.cache.ProductJsonCache;
+import com.example.catalogservice.cache.SerializedResponse;
+import com.example.catalogservice.concurrency.RequestCost;
+import com.example.catalogservice.concurrency.RequestCost.CostClass;
+import com.example.catalogservice.concurrency.RequestCost.Priority;
 import com.example.catalogservice.controller.doc.ProductControllerDoc;
-import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.request.ProductBatchRequest;
+import com.example.catalogservice.model.request.ProductUpdateRequest;
 import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.CategoryFacetResponse;
+import com.example.catalogservice.model.response.CursorPageResponse;
+import com.example.catalogservice.model.response.PageResponse;
+import com.example.catalogservice.model.response.ProductBatchResponse;
 import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductQuery;
 import com.example.catalogservice.service.ProductService;
+import com.example.catalogservice.util.CursorCodec;
+import com.example.catalogservice.wire.ContentCoding;
+import com.example.catalogservice.wire.WireFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 /**
  * Controlador REST para gestionar productos.
@@ -26,45 +55,335 @@ import java.util.stream.Collectors;
 @Slf4j
 public class ProductController implements ProductControllerDoc {
 
+    /**
+     * Tamaño máximo de página permitido en la paginación por cursor.
+     */
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    /**
+     * Tamaño máximo de página en los resultados de búsqueda.
+     */
+    private static final int MAX_SEARCH_PAGE_SIZE = 100;
+
+    /**
+     * Cada cuántas filas se vacía el buffer al exportar en streaming.
+     */
+    private static final int STREAM_FLUSH_INTERVAL = 500;
+
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final ProductJsonCache productJsonCache;
 
     @Override
-    public ResponseEntity<ApiResponse<ProductResponse>> getProductById(Long id) {
+    @RequestCost(value = CostClass.LOOKUP, priority = Priority.CRITICAL)
+    public ResponseEntity<byte[]> getProductById(Long id, String ifNoneMatch, String accept, String acceptEncoding) {
         log.info("REST request para obtener un producto con ID: {}", id);
+        WireFormat format = WireFormat.negotiate(accept);
 
-        return productService.getProductById(id)
-                .map(product -> {
-                    ProductResponse response = ProductResponse.fromEntity(product);
-                    return ResponseEntity.ok(ApiResponse.success("Producto encontrado correctamente", response));
-                })
+        // Si el cliente ya tiene la versión en caché se responde sin consultar nada más
+        Optional<SerializedResponse> cached = productJsonCache.getCachedProduct(id, format);
+        Optional<String> matched = cached.flatMap(response -> response.matchingEtag(ifNoneMatch));
+        if (matched.isPresent()) {
+            return notModified(matched.get());
+        }
+
+        SerializedResponse response = cached
+                .or(() -> productJsonCache.getProduct(id, format, productService::getProductById,
+                        "Producto encontrado correctamente"))
                 .orElseThrow(() -> new com.example.catalogservice.exception.ResourceNotFoundException("Producto", "id", id));
+        matched = response.matchingEtag(ifNoneMatch);
+        if (matched.isPresent()) {
+            return notModified(matched.get());
+        }
+        return serialized(response, acceptEncoding);
+    }
+
+    @Override
+    @RequestCost(value = CostClass.LOOKUP, priority = Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<ProductResponse>> getProductBySku(String sku) {
+        log.info("REST request para obtener un producto con SKU: {}", sku);
+
+        return productService.getProductBySku(sku)
+                .map(product -> ResponseEntity.ok(ApiResponse.success("Producto encontrado correctamente", product)))
+                .orElseThrow(() -> new com.example.catalogservice.exception.ResourceNotFoundException("Producto", "sku", sku));
+    }
+
+    @Override
+    @RequestCost(CostClass.QUERY)
+    public ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> searchProducts(String q, int page, int size) {
+        log.info("REST request para buscar productos (texto: {}, página: {}, tamaño: {})", q, page, size);
+
+        if (q == null || q.isBlank()) {
+            throw new IllegalArgumentException("El texto de búsqueda no puede estar vacío");
+        }
+        if (page < 0) {
+            throw new IllegalArgumentException("La página no puede ser negativa");
+        }
+        if (size < 1 || size > MAX_SEARCH_PAGE_SIZE) {
+            throw new IllegalArgumentException("El tamaño de página debe estar entre 1 y " + MAX_SEARCH_PAGE_SIZE);
+        }
+
+        return ResponseEntity.ok(
+                ApiResponse.success("Búsqueda realizada correctamente", productService.searchProducts(q, page, size))
+        );
+    }
+
+    @Override
+    @RequestCost(CostClass.QUERY)
+    public ResponseEntity<byte[]> getAllProducts(String cursor, int limit, String ifNoneMatch, String accept,
+                                                 String acceptEncoding) {
+        log.info("REST request para obtener productos (cursor: {}, límite: {})", cursor, limit);
+        WireFormat format = WireFormat.negotiate(accept);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        Long afterId = CursorCodec.decodeId(cursor);
+
+        // Mientras el catálogo no cambie, el ETag de cualquier página sigue siendo válido
+        Optional<String> matched = SerializedResponse.matchingEtag(productJsonCache.currentPageEtag(format), ifNoneMatch);
+        if (matched.isPresent()) {
+            return notModified(matched.get());
+        }
+
+        // Se pide un elemento extra para saber si hay más páginas sin lanzar un COUNT
+        SerializedResponse response = productJsonCache.getPage(afterId + "|" + limit, format, () -> ApiResponse.success(
+                "Productos obtenidos correctamente",
+                toCursorPage(productService.getProductsPage(afterId, limit + 1), limit)));
+        return serialized(response, acceptEncoding);
+    }
+
+    @Override
+    @RequestCost(CostClass.QUERY)
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> getProductsByCategory(
+            String category, String cursor, int limit) {
+        log.info("REST request para obtener productos de la categoría: {} (cursor: {}, límite: {})", category, cursor, limit);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        Long afterId = CursorCodec.decodeId(cursor);
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Productos obtenidos correctamente",
+                toCursorPage(productService.getProductsByCategory(category, afterId, limit + 1), limit)));
+    }
+
+    @Override
+    @RequestCost(CostClass.QUERY)
+    public ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> queryProducts(
+            String category, BigDecimal minPrice, BigDecimal maxPrice, boolean inStock, LocalDateTime updatedSince,
+            String sort, String direction, String cursor, int limit) {
+        log.info("REST request para consultar productos (categoría: {}, precio: {} - {}, solo con stock: {}, "
+                + "modificados desde: {}, orden: {} {}, cursor: {}, límite: {})",
+                category, minPrice, maxPrice, inStock, updatedSince, sort, direction, cursor, limit);
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("El límite debe estar entre 1 y " + MAX_PAGE_SIZE);
+        }
+        if (!"asc".equalsIgnoreCase(direction) && !"desc".equalsIgnoreCase(direction)) {
+            throw new IllegalArgumentException("La dirección debe ser 'asc' o 'desc'");
+        }
+        ProductQuery.SortKey sortKey = ProductQuery.SortKey.fromParameter(sort);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+
+        // El cursor guarda el orden con el que se generó para no mezclar posiciones de órdenes distintos
+        Comparable<?> afterValue = null;
+        Long afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = CursorCodec.decode(cursor, 4);
+            if (!sortKey.attribute().equals(position[0]) || descending != "desc".equals(position[1])) {
+                throw new IllegalArgumentException("El cursor no corresponde al orden solicitado");
+            }
+            afterValue = sortKey.parse(position[2]);
+            afterId = (Long) ProductQuery.SortKey.ID.parse(position[3]);
+        }
+
+        // Se pide un elemento extra para saber si hay más páginas sin lanzar un COUNT
+        List<ProductResponse> products = productService.queryProducts(new ProductQuery(category, minPrice, maxPrice,
+                inStock, updatedSince, sortKey, descending, afterValue, afterId, limit + 1));
+        boolean hasMore = products.size() > limit;
+        List<ProductResponse> items = hasMore ? products.subList(0, limit) : products;
+        ProductResponse last = hasMore ? items.get(items.size() - 1) : null;
+
+        return ResponseEntity.ok(ApiResponse.success("Productos obtenidos correctamente",
+                CursorPageResponse.<ProductResponse>builder()
+                        .items(items)
+                        .hasMore(hasMore)
+                        .nextCursor(last == null ? null : CursorCodec.encode(sortKey.attribute(),
+                                descending ? "desc" : "asc", sortKey.valueOf(last), last.getId()))
+                        .limit(limit)
+                        .build()));
+    }
+
+    @Override
+    @RequestCost(CostClass.QUERY)
+    public ResponseEntity<ApiResponse<List<CategoryFacetResponse>>> getCategoryFacets(
+            BigDecimal minPrice, BigDecimal maxPrice, boolean inStock) {
+        log.info("REST request para obtener facetas de categoría (precio: {} - {}, solo con stock: {})",
+                minPrice, maxPrice, inStock);
+
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor que el máximo");
+        }
+
+        return ResponseEntity.ok(ApiResponse.success(
+                "Facetas obtenidas correctamente",
+                productService.getCategoryFacets(minPrice, maxPrice, inStock)));
     }
 
     @Override
-    public ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts() {
-        log.info("REST request para obtener todos los productos");
+    @RequestCost(value = CostClass.EXPORT, priority = Priority.SHEDDABLE)
+    public ResponseEntity<StreamingResponseBody> streamAllProducts() {
+        log.info("REST request para exportar todos los productos en streaming");
+
+        ObjectWriter writer = objectMapper.writerFor(ProductResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                // El separador se escribe manualmente para terminar cada línea, incluida la última
+                generator.setRootValueSeparator(null);
+                int[] written = {0};
+                productService.streamAllProducts(product -> {
+                    try {
+                        writer.writeValue(generator, product);
+                        generator.writeRaw('\n');
+                        if (++written[0] % STREAM_FLUSH_INTERVAL == 0) {
+                            generator.flush();
+                        }
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+                log.debug("Exportación en streaming finalizada: {} productos", written[0]);
+            }
+        };
+
+        // El cuerpo en streaming no pasa por ProductSchemaVersionAdvice
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header(ProductSchemaVersionAdvice.SCHEMA_VERSION_HEADER, String.valueOf(ProductResponse.SCHEMA_VERSION))
+                .body(body);
+    }
+
+    @Override
+    @RequestCost(CostClass.QUERY)
+    public ResponseEntity<ApiResponse<ProductBatchResponse>> getProductsBatch(ProductBatchRequest request) {
+        List<Long> ids = request.getIds() == null ? List.of() : new ArrayList<>(new LinkedHashSet<>(request.getIds()));
+        List<String> skus = request.getSkus() == null ? List.of() : new ArrayList<>(new LinkedHashSet<>(request.getSkus()));
+        log.info("REST request para obtener un lote de productos ({} IDs, {} SKUs)", ids.size(), skus.size());
+
+        if (ids.isEmpty() && skus.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicarse al menos un ID o un SKU");
+        }
+
+        Map<Long, ProductResponse> productsById = ids.isEmpty() ? Map.of() : productService.getProductsByIds(ids);
+        Map<String, ProductResponse> productsBySku = skus.isEmpty() ? Map.of() : productService.getProductsBySkus(skus);
 
-        List<Product> products = productService.getAllProducts();
-        List<ProductResponse> responseList = products.stream()
-                .map(ProductResponse::fromEntity)
-                .collect(Collectors.toList());
+        // Se respeta el orden de la petición tanto en los resultados como en los faltantes
+        Map<Long, ProductResponse> byId = new LinkedHashMap<>();
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            ProductResponse product = productsById.get(id);
+            if (product != null) {
+                byId.put(id, product);
+            } else {
+                missingIds.add(id);
+            }
+        }
+
+        Map<String, ProductResponse> bySku = new LinkedHashMap<>();
+        List<String> missingSkus = new ArrayList<>();
+        for (String sku : skus) {
+            ProductResponse product = productsBySku.get(sku);
+            if (product != null) {
+                bySku.put(sku, product);
+            } else {
+                missingSkus.add(sku);
+            }
+        }
+
+        ProductBatchResponse response = ProductBatchResponse.builder()
+                .byId(byId)
+                .bySku(bySku)
+                .missingIds(missingIds)
+                .missingSkus(missingSkus)
+                .build();
 
         return ResponseEntity.ok(
-                ApiResponse.success("Productos obtenidos correctamente", responseList)
+                ApiResponse.success("Lote de productos resuelto correctamente", response)
         );
     }
 
     @Override
-    public ResponseEntity<ApiResponse<Void>> deleteProduct(Long id) {
+    @RequestCost(value = CostClass.LOOKUP, priority = Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<ProductResponse>> updateProduct(Long id, String ifMatch,
+                                                                      ProductUpdateRequest request) {
+        log.info("REST request para actualizar un producto con ID: {}", id);
+
+        ProductResponse product = productService.updateProduct(id, request, expectedVersions(id, ifMatch));
+
+        return ResponseEntity.ok()
+                .eTag(ProductJsonCache.productEtag(product))
+                .body(ApiResponse.success("Producto actualizado correctamente", product));
+    }
+
+    @Override
+    @RequestCost(value = CostClass.LOOKUP, priority = Priority.CRITICAL)
+    public ResponseEntity<ApiResponse<Void>> deleteProduct(Long id, String ifMatch) {
         log.info("REST request para eliminar un producto con ID: {}", id);
 
-        productService.deleteProduct(id);
+        productService.deleteProduct(id, expectedVersions(id, ifMatch));
 
         return ResponseEntity.ok(
                 ApiResponse.success("Producto eliminado correctamente")
         );
     }
 
+    /**
+     * Versiones aceptadas según la cabecera If-Match; null si no hay cabecera o es "*".
+     */
+    private static List<Long> expectedVersions(Long id, String ifMatch) {
+        return ifMatch == null ? null : ProductJsonCache.versionsFromIfMatch(id, ifMatch);
+    }
 
-}
+    /**
+     * Construye una página por cursor a partir de una consulta que pidió limit + 1 elementos.
+     */
+    static CursorPageResponse<ProductResponse> toCursorPage(List<ProductResponse> products, int limit) {
+        boolean hasMore = products.size() > limit;
+        List<ProductResponse> items = hasMore ? products.subList(0, limit) : products;
+
+        return CursorPageResponse.<ProductResponse>builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? CursorCodec.encode(items.get(items.size() - 1).getId()) : null)
+                .limit(limit)
+                .build();
+    }
 
+    /**
+     * Construye la respuesta HTTP a partir de bytes ya serializados, comprimidos si el cliente lo acepta.
+     */
+    private ResponseEntity<byte[]> serialized(SerializedResponse response, String acceptEncoding) {
+        ContentCoding coding = ContentCoding.negotiate(acceptEncoding, response.codings());
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(response.format().mediaType())
+                .eTag(response.etag(coding))
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (coding != ContentCoding.IDENTITY) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, coding.token());
+        }
+        return builder.body(response.body(coding));
+    }
+
+    private ResponseEntity<byte[]> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+                .build();
+    }
+}
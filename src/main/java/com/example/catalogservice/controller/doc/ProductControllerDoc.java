@@ -1,6 +1,12 @@
 package com.example.catalogservice.controller.doc;
 
+import com.example.catalogservice.model.request.ProductBatchRequest;
+import com.example.catalogservice.model.request.ProductUpdateRequest;
 import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.CategoryFacetResponse;
+import com.example.catalogservice.model.response.CursorPageResponse;
+import com.example.catalogservice.model.response.PageResponse;
+import com.example.catalogservice.model.response.ProductBatchResponse;
 import com.example.catalogservice.model.response.ProductResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -8,11 +14,23 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -20,18 +38,27 @@ import java.util.List;
  */
 public interface ProductControllerDoc {
     /**
-     * Endpoint para obtener todos los productos.
+     * Endpoint para obtener los productos paginados por cursor.
      *
-     * @return Lista de todos los productos en el catálogo
+     * @param cursor Cursor opaco devuelto por la página anterior (opcional)
+     * @param limit Número máximo de productos por página
+     * @param ifNoneMatch ETag de la página que ya tiene el cliente (opcional)
+     * @param accept Formatos aceptados por el cliente (JSON por defecto, o CBOR)
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (opcional)
+     * @return Página de productos serializada y cursor para continuar, o 304 si no cambió
      */
     @Operation(
-            summary = "Obtener todos los productos",
-            description = "Retorna una lista de todos los productos disponibles en el catálogo"
+            summary = "Obtener productos paginados",
+            description = "Retorna una página de productos ordenados por ID. Para obtener la siguiente página " +
+                    "se envía el valor de 'nextCursor' recibido en el parámetro 'cursor'. " +
+                    "La respuesta incluye un ETag que cambia con cualquier modificación del catálogo. " +
+                    "Con 'Accept: application/cbor' se responde en CBOR, y con Accept-Encoding gzip o zstd " +
+                    "el cuerpo se envía comprimido"
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "200",
-                    description = "Productos encontrados correctamente",
+                    description = "Productos obtenidos correctamente",
                     content = @Content(
                             mediaType = "application/json",
                             schema = @Schema(implementation = ProductResponse.class),
@@ -40,38 +67,111 @@ public interface ProductControllerDoc {
                                     value = """
                     {
                         "success": true,
-                        "message": "Productos encontrados correctamente",
-                        "data": [
-                            {
-                                "id": 1,
-                                "sku": "LAPTOP-001",
-                                "name": "Laptop HP Pavilion",
-                                "description": "Laptop HP Pavilion con procesador Intel Core i5, 8GB RAM y 512GB SSD",
-                                "price": 799.99,
-                                "stock": 15,
-                                "category": "Electrónica",
-                                "createdAt": "2024-03-15T10:30:00"
-                            }
-                        ]
+                        "message": "Productos obtenidos correctamente",
+                        "data": {
+                            "items": [
+                                {
+                                    "id": 1,
+                                    "sku": "LAPTOP-001",
+                                    "name": "Laptop HP Pavilion",
+                                    "description": "Laptop HP Pavilion con procesador Intel Core i5, 8GB RAM y 512GB SSD",
+                                    "price": 799.99,
+                                    "stock": 15,
+                                    "category": "Electrónica",
+                                    "createdAt": "2024-03-15T10:30:00"
+                                }
+                            ],
+                            "nextCursor": "djF8MQ",
+                            "hasMore": true,
+                            "limit": 1
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "La página no cambió desde el ETag indicado en If-None-Match"
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor o límite inválido",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                    {
+                        "success": false,
+                        "message": "Cursor de paginación inválido",
+                        "errorCode": "INVALID_ARGUMENT"
                     }
                     """
                             )
                     )
             )
     })
-    @GetMapping
-    ResponseEntity<ApiResponse<List<ProductResponse>>> getAllProducts();
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE})
+    ResponseEntity<byte[]> getAllProducts(
+            @Parameter(description = "Cursor de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-1000)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "ETag recibido en una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    );
+
+    /**
+     * Endpoint para descargar el catálogo completo en formato NDJSON.
+     *
+     * @return Cuerpo que escribe un producto por línea a medida que se lee de la base de datos
+     */
+    @Operation(
+            summary = "Exportar todos los productos (streaming)",
+            description = "Escribe el catálogo completo en formato NDJSON (un producto JSON por línea) " +
+                    "a medida que se lee de la base de datos, sin cargarlo entero en memoria. " +
+                    "Se selecciona enviando 'Accept: application/x-ndjson'"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos exportados correctamente",
+                    content = @Content(
+                            mediaType = "application/x-ndjson",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {"id":1,"sku":"LAPTOP-001","name":"Laptop HP Pavilion","price":799.99,"stock":15,"category":"Electrónica"}
+                    {"id":2,"sku":"PHONE-001","name":"Smartphone Samsung Galaxy S21","price":699.99,"stock":25,"category":"Electrónica"}
+                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping(produces = "application/x-ndjson")
+    ResponseEntity<StreamingResponseBody> streamAllProducts();
 
 
     /**
      * Endpoint para obtener un producto por su ID.
      *
      * @param id ID del producto a buscar
-     * @return Producto encontrado o error 404 si no existe
+     * @param ifNoneMatch ETag del producto que ya tiene el cliente (opcional)
+     * @param accept Formatos aceptados por el cliente (JSON por defecto, o CBOR)
+     * @param acceptEncoding Codificaciones aceptadas por el cliente (opcional)
+     * @return Producto encontrado serializado, 304 si no cambió o error 404 si no existe
      */
     @Operation(
             summary = "Obtener producto por ID",
-            description = "Busca y retorna un producto según su ID"
+            description = "Busca y retorna un producto según su ID. La respuesta incluye un ETag " +
+                    "derivado de la fecha de modificación; si se envía en If-None-Match y el producto " +
+                    "no ha cambiado se responde 304 sin cuerpo. Con 'Accept: application/cbor' se responde " +
+                    "en CBOR, y con Accept-Encoding gzip o zstd el cuerpo se envía comprimido"
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -101,6 +201,10 @@ public interface ProductControllerDoc {
                             )
                     )
             ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "304",
+                    description = "El producto no cambió desde el ETag indicado en If-None-Match"
+            ),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
                     responseCode = "404",
                     description = "Producto no encontrado",
@@ -120,24 +224,474 @@ public interface ProductControllerDoc {
             )
     })
     @GetMapping("/{id}")
-    ResponseEntity<ApiResponse<ProductResponse>> getProductById(
+    ResponseEntity<byte[]> getProductById(
+            @Parameter(
+                    description = "ID del producto",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long id,
+            @Parameter(description = "ETag recibido en una respuesta anterior")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    );
+
+    /**
+     * Endpoint para buscar productos por texto.
+     *
+     * @param q Texto de búsqueda
+     * @param page Número de página (empezando en 0)
+     * @param size Tamaño de página
+     * @return Página de productos ordenados por relevancia
+     */
+    @Operation(
+            summary = "Buscar productos",
+            description = "Busca el texto en el SKU, nombre, categoría y descripción de los productos. " +
+                    "Cada palabra debe aparecer en el producto; la última puede estar incompleta " +
+                    "(búsqueda por prefijo para autocompletado). Los resultados se ordenan por relevancia"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Búsqueda realizada correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Búsqueda realizada correctamente",
+                        "data": {
+                            "items": [
+                                {
+                                    "id": 1,
+                                    "sku": "LAPTOP-001",
+                                    "name": "Laptop HP Pavilion",
+                                    "price": 799.99,
+                                    "stock": 15,
+                                    "category": "Electrónica"
+                                }
+                            ],
+                            "page": 0,
+                            "size": 20,
+                            "totalElements": 1,
+                            "totalPages": 1
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Texto vacío o paginación inválida",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                    {
+                        "success": false,
+                        "message": "El texto de búsqueda no puede estar vacío",
+                        "errorCode": "INVALID_ARGUMENT"
+                    }
+                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping("/search")
+    ResponseEntity<ApiResponse<PageResponse<ProductResponse>>> searchProducts(
+            @Parameter(description = "Texto de búsqueda", required = true, example = "lap")
+            @RequestParam String q,
+            @Parameter(description = "Número de página (empezando en 0)", example = "0")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página (1-100)", example = "20")
+            @RequestParam(defaultValue = "20") int size
+    );
+
+    /**
+     * Endpoint para obtener los productos de una categoría paginados por cursor.
+     *
+     * @param category Categoría de los productos
+     * @param cursor Cursor opaco devuelto por la página anterior (opcional)
+     * @param limit Número máximo de productos por página
+     * @return Página de productos de la categoría y cursor para continuar
+     */
+    @Operation(
+            summary = "Obtener productos por categoría",
+            description = "Retorna una página de productos de la categoría ordenados por ID. Para obtener " +
+                    "la siguiente página se envía el valor de 'nextCursor' recibido en el parámetro 'cursor'"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos obtenidos correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor o límite inválido",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/category/{category}")
+    ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> getProductsByCategory(
+            @Parameter(description = "Categoría", required = true, example = "Electrónica")
+            @PathVariable String category,
+            @Parameter(description = "Cursor de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-1000)", example = "50")
+            @RequestParam(defaultValue = "50") int limit
+    );
+
+    /**
+     * Endpoint para consultar productos combinando filtros y orden, paginados por cursor.
+     *
+     * @param category Categoría exacta (opcional)
+     * @param minPrice Precio mínimo incluido (opcional)
+     * @param maxPrice Precio máximo incluido (opcional)
+     * @param inStock Solo productos con stock
+     * @param updatedSince Solo productos modificados desde este instante (opcional)
+     * @param sort Columna de ordenación
+     * @param direction Dirección de ordenación (asc o desc)
+     * @param cursor Cursor opaco devuelto por la página anterior (opcional)
+     * @param limit Número máximo de productos por página
+     * @return Página de productos y cursor para continuar
+     */
+    @Operation(
+            summary = "Consultar productos por criterios",
+            description = "Retorna una página de productos que cumplen todos los filtros indicados, ordenados " +
+                    "por id, price o updatedAt (a igualdad, por ID). Para obtener la siguiente página se envía " +
+                    "el valor de 'nextCursor' en el parámetro 'cursor' con los mismos filtros y orden. Al " +
+                    "ordenar por updatedAt solo se incluyen los productos modificados alguna vez. Cada " +
+                    "combinación de filtro y orden se resuelve con un índice de la tabla"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos obtenidos correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Productos obtenidos correctamente",
+                        "data": {
+                            "items": [
+                                {
+                                    "id": 4,
+                                    "sku": "KEYBOARD-001",
+                                    "name": "Teclado mecánico Keychron K2",
+                                    "price": 89.99,
+                                    "stock": 30,
+                                    "category": "Electrónica"
+                                }
+                            ],
+                            "nextCursor": "djF8cHJpY2V8YXNjfDg5Ljk5fDQ",
+                            "hasMore": true,
+                            "limit": 1
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Filtros, orden, cursor o límite inválidos",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/query")
+    ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>> queryProducts(
+            @Parameter(description = "Categoría", example = "Electrónica")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Precio mínimo", example = "10.00")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Precio máximo", example = "500.00")
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Solo productos con stock")
+            @RequestParam(defaultValue = "false") boolean inStock,
+            @Parameter(description = "Solo productos modificados desde este instante (ISO-8601)", example = "2024-03-01T00:00:00")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime updatedSince,
+            @Parameter(description = "Columna de ordenación: id, price o updatedAt", example = "price")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Dirección de ordenación: asc o desc", example = "asc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Cursor de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-1000)", example = "50")
+            @RequestParam(defaultValue = "50") int limit
+    );
+
+    /**
+     * Endpoint para obtener el número de productos por categoría.
+     *
+     * @param minPrice Precio mínimo incluido (opcional)
+     * @param maxPrice Precio máximo incluido (opcional)
+     * @param inStock Contar solo productos con stock
+     * @return Recuento por categoría, de mayor a menor
+     */
+    @Operation(
+            summary = "Facetas por categoría",
+            description = "Retorna cuántos productos hay en cada categoría, opcionalmente filtrando por " +
+                    "rango de precio y disponibilidad. Los recuentos se mantienen precalculados en memoria"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Facetas obtenidas correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Facetas obtenidas correctamente",
+                        "data": [
+                            { "category": "Electrónica", "count": 2 },
+                            { "category": "Libros", "count": 2 },
+                            { "category": "Hogar", "count": 1 }
+                        ]
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Rango de precios inválido",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/facets/categories")
+    ResponseEntity<ApiResponse<List<CategoryFacetResponse>>> getCategoryFacets(
+            @Parameter(description = "Precio mínimo", example = "10.00")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Precio máximo", example = "500.00")
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Contar solo productos con stock")
+            @RequestParam(defaultValue = "false") boolean inStock
+    );
+
+    /**
+     * Endpoint para obtener un producto por su código SKU.
+     *
+     * @param sku Código SKU del producto a buscar
+     * @return Producto encontrado o error 404 si no existe
+     */
+    @Operation(
+            summary = "Obtener producto por SKU",
+            description = "Busca y retorna un producto según su código SKU"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Producto encontrado correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Producto no encontrado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                    {
+                        "success": false,
+                        "message": "Producto no encontrado con sku: 'NOPE-001'",
+                        "errorCode": "RESOURCE_NOT_FOUND"
+                    }
+                    """
+                            )
+                    )
+            )
+    })
+    @GetMapping("/sku/{sku}")
+    ResponseEntity<ApiResponse<ProductResponse>> getProductBySku(
+            @Parameter(
+                    description = "Código SKU del producto",
+                    required = true,
+                    example = "LAPTOP-001"
+            )
+            @PathVariable String sku
+    );
+
+    /**
+     * Endpoint para obtener varios productos por ID y/o SKU en una sola petición.
+     *
+     * @param request IDs y SKUs a resolver
+     * @return Productos encontrados indexados por identificador y lista de identificadores sin producto
+     */
+    @Operation(
+            summary = "Obtener productos por lotes",
+            description = "Resuelve hasta " + ProductBatchRequest.MAX_BATCH_SIZE + " IDs y " +
+                    ProductBatchRequest.MAX_BATCH_SIZE + " SKUs en una sola petición. Los identificadores " +
+                    "que no existen se informan en 'missingIds' / 'missingSkus' sin hacer fallar el lote"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Lote resuelto correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductBatchResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Lote de productos resuelto correctamente",
+                        "data": {
+                            "byId": {
+                                "1": {
+                                    "id": 1,
+                                    "sku": "LAPTOP-001",
+                                    "name": "Laptop HP Pavilion",
+                                    "price": 799.99,
+                                    "stock": 15,
+                                    "category": "Electrónica"
+                                }
+                            },
+                            "bySku": {},
+                            "missingIds": [999],
+                            "missingSkus": ["NOPE-001"]
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Lote vacío o demasiado grande",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/batch")
+    ResponseEntity<ApiResponse<ProductBatchResponse>> getProductsBatch(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "IDs y/o SKUs a buscar",
+                    required = true
+            )
+            @Valid @RequestBody ProductBatchRequest request
+    );
+
+    /**
+     * Endpoint para sustituir los datos de un producto.
+     *
+     * @param id ID del producto a actualizar
+     * @param ifMatch ETag de la versión que el cliente modificó (opcional)
+     * @param request Nuevos datos del producto
+     * @return Producto actualizado, con su nuevo ETag
+     */
+    @Operation(
+            summary = "Actualizar producto",
+            description = "Sustituye nombre, descripción, precio, stock y categoría de un producto. " +
+                    "Con la cabecera If-Match (el ETag recibido al leer el producto) el cambio solo se aplica " +
+                    "si nadie ha modificado el producto desde entonces; si no, se responde 412 con el ETag actual"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Producto actualizado correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponse.class),
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Producto actualizado correctamente",
+                        "data": {
+                            "id": 1,
+                            "sku": "LAPTOP-001",
+                            "name": "Laptop HP Pavilion",
+                            "description": "Laptop HP Pavilion con procesador Intel Core i5, 8GB RAM y 512GB SSD",
+                            "price": 749.99,
+                            "stock": 15,
+                            "category": "Electrónica",
+                            "createdAt": "2024-03-15T10:30:00",
+                            "updatedAt": "2024-03-16T09:12:45",
+                            "version": 1
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Datos del producto inválidos",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Producto no encontrado",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "El producto cambió desde la versión indicada en If-Match",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de error",
+                                    value = """
+                    {
+                        "success": false,
+                        "message": "El producto 1 ha cambiado: la versión actual es 2",
+                        "errorCode": "PRECONDITION_FAILED"
+                    }
+                    """
+                            )
+                    )
+            )
+    })
+    @PutMapping("/{id}")
+    ResponseEntity<ApiResponse<ProductResponse>> updateProduct(
             @Parameter(
                     description = "ID del producto",
                     required = true,
                     example = "1"
             )
-            @PathVariable Long id
+            @PathVariable Long id,
+            @Parameter(description = "ETag de la versión leída del producto", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Nuevos datos del producto",
+                    required = true
+            )
+            @Valid @RequestBody ProductUpdateRequest request
     );
 
     /**
      * Endpoint para eliminar un producto.
      *
      * @param id ID del producto a eliminar
+     * @param ifMatch ETag de la versión que el cliente quiere borrar (opcional)
      * @return Confirmación de eliminación
      */
     @Operation(
             summary = "Eliminar producto",
-            description = "Elimina un producto del catálogo"
+            description = "Elimina un producto del catálogo. Con la cabecera If-Match solo se elimina " +
+                    "si el producto sigue en la versión indicada"
     )
     @ApiResponses(value = {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(
@@ -173,6 +727,16 @@ public interface ProductControllerDoc {
                     """
                             )
                     )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "El producto se modificaba continuamente y no se pudo eliminar",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "412",
+                    description = "El producto cambió desde la versión indicada en If-Match",
+                    content = @Content(mediaType = "application/json")
             )
     })
     @DeleteMapping("/{id}")
@@ -182,6 +746,8 @@ public interface ProductControllerDoc {
                     required = true,
                     example = "1"
             )
-            @PathVariable Long id
+            @PathVariable Long id,
+            @Parameter(description = "ETag de la versión leída del producto", example = "\"1-0\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
     );
 }
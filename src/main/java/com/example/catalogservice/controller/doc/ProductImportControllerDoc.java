@@ -0,0 +1,132 @@
+package com.example.catalogservice.controller.doc;
+
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ImportJobResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Interfaz para documentar los endpoints de importación masiva de productos.
+ */
+public interface ProductImportControllerDoc {
+
+    /**
+     * Endpoint para importar un fichero de productos.
+     *
+     * @param contentType Formato del fichero (text/csv o application/x-ndjson)
+     * @param body Contenido del fichero
+     * @return Trabajo de importación creado
+     * @throws IOException si no se puede recibir el fichero
+     */
+    @Operation(
+            summary = "Importar productos",
+            description = "Recibe un fichero CSV (con cabecera sku,name,description,price,stock,category) o " +
+                    "NDJSON y lo importa en segundo plano, insertando o actualizando por SKU. " +
+                    "El progreso se consulta en la URL indicada en la cabecera Location"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "202",
+                    description = "Importación encolada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Importación encolada",
+                        "data": {
+                            "id": "5b0c1f9e-8a43-4c1e-9d59-0f0c8e3f2a11",
+                            "status": "PENDING",
+                            "format": "CSV",
+                            "progress": 0.0,
+                            "rowsRead": 0,
+                            "inserted": 0,
+                            "updated": 0,
+                            "unchanged": 0,
+                            "failed": 0
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no soportado",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    ResponseEntity<ApiResponse<ImportJobResponse>> importProducts(
+            @Parameter(hidden = true)
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream body
+    ) throws IOException;
+
+    /**
+     * Endpoint para consultar el progreso de una importación.
+     *
+     * @param jobId ID del trabajo de importación
+     * @return Estado y progreso del trabajo
+     */
+    @Operation(
+            summary = "Consultar importación",
+            description = "Retorna el estado, el progreso y los primeros errores por fila de una importación"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Estado de la importación",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Estado de la importación",
+                        "data": {
+                            "id": "5b0c1f9e-8a43-4c1e-9d59-0f0c8e3f2a11",
+                            "status": "COMPLETED",
+                            "format": "CSV",
+                            "progress": 100.0,
+                            "rowsRead": 3,
+                            "inserted": 1,
+                            "updated": 1,
+                            "unchanged": 0,
+                            "failed": 1,
+                            "errors": [
+                                { "line": 4, "sku": "X", "message": "sku: El código debe tener entre 3 y 50 caracteres" }
+                            ]
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Importación no encontrada o caducada",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/import/{jobId}")
+    ResponseEntity<ApiResponse<ImportJobResponse>> getImportJob(
+            @Parameter(description = "ID de la importación", required = true)
+            @PathVariable String jobId
+    );
+}
@@ -0,0 +1,111 @@
+package com.example.catalogservice.controller.doc;
+
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ProductScanResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.math.BigDecimal;
+
+/**
+ * Interfaz para documentar los endpoints de consulta del índice columnar.
+ */
+public interface ProductScanControllerDoc {
+
+    /**
+     * Endpoint para filtrar y ordenar productos sobre el índice columnar.
+     *
+     * @param category Categoría exacta (opcional)
+     * @param minPrice Precio mínimo (opcional)
+     * @param maxPrice Precio máximo (opcional)
+     * @param minStock Stock mínimo (opcional)
+     * @param sort Columna de ordenación
+     * @param direction Dirección de ordenación (asc o desc)
+     * @param limit Número máximo de productos
+     * @param idsOnly Devolver solo los IDs
+     * @return Total de productos que cumplen los filtros y la primera página
+     */
+    @Operation(
+            summary = "Filtrar productos sobre el índice columnar",
+            description = "Recorre la copia columnar del catálogo (fuera del heap) filtrando por categoría, " +
+                    "rango de precio y stock mínimo, y devuelve los primeros 'limit' productos en el orden " +
+                    "pedido junto con el total de coincidencias. Con idsOnly=true no se cargan los productos. " +
+                    "Solo está disponible con catalog.columnar.enabled=true"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos obtenidos",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Productos obtenidos correctamente",
+                        "data": {
+                            "total": 18342,
+                            "ids": [9, 4],
+                            "products": [
+                                {
+                                    "id": 9,
+                                    "sku": "MONITOR-001",
+                                    "name": "Monitor LG UltraGear 27\\"",
+                                    "price": 329.99,
+                                    "stock": 7,
+                                    "category": "Electrónica"
+                                },
+                                {
+                                    "id": 4,
+                                    "sku": "KEYBOARD-001",
+                                    "name": "Teclado mecánico Keychron K2",
+                                    "price": 89.99,
+                                    "stock": 30,
+                                    "category": "Electrónica"
+                                }
+                            ],
+                            "scanMicros": 2150
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Columna de ordenación, dirección o límite inválidos",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "El índice columnar aún se está construyendo",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/products/scan")
+    ResponseEntity<ApiResponse<ProductScanResponse>> scanProducts(
+            @Parameter(description = "Categoría exacta", example = "Electrónica")
+            @RequestParam(required = false) String category,
+            @Parameter(description = "Precio mínimo (incluido)", example = "50")
+            @RequestParam(required = false) BigDecimal minPrice,
+            @Parameter(description = "Precio máximo (incluido)", example = "500")
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @Parameter(description = "Stock mínimo (incluido); 1 para solo productos disponibles", example = "1")
+            @RequestParam(required = false) Integer minStock,
+            @Parameter(description = "Columna de ordenación: id, price, stock, createdAt o updatedAt", example = "price")
+            @RequestParam(defaultValue = "id") String sort,
+            @Parameter(description = "Dirección de ordenación: asc o desc", example = "desc")
+            @RequestParam(defaultValue = "asc") String direction,
+            @Parameter(description = "Número máximo de productos (1-1000)", example = "50")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Devolver solo los IDs, sin cargar los productos", example = "false")
+            @RequestParam(defaultValue = "false") boolean idsOnly
+    );
+}
@@ -0,0 +1,190 @@
+package com.example.catalogservice.controller.doc;
+
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.CursorPageResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Interfaz para documentar los endpoints de la API reactiva de lectura de productos.
+ */
+public interface ReactiveProductControllerDoc {
+
+    /**
+     * Endpoint asíncrono para obtener los productos paginados por cursor.
+     *
+     * @param cursor Cursor opaco devuelto por la página anterior (opcional)
+     * @param limit Número máximo de productos por página
+     * @return Página de productos y cursor para continuar
+     */
+    @Operation(
+            summary = "Obtener productos (asíncrono)",
+            description = "Igual que GET /products, pero la consulta se ejecuta en el pool de consultas " +
+                    "reactivas y el hilo de la petición se libera mientras tanto. Solo está disponible con " +
+                    "catalog.reactive.enabled=true"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos obtenidos correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor o límite inválido",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Demasiadas consultas en espera",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    CompletableFuture<ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>>> getAllProducts(
+            @Parameter(description = "Cursor de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-1000)", example = "50")
+            @RequestParam(defaultValue = "50") int limit
+    );
+
+    /**
+     * Endpoint para recorrer el catálogo completo en streaming con control de flujo.
+     *
+     * @return Catálogo completo en NDJSON
+     */
+    @Operation(
+            summary = "Exportar todos los productos (streaming reactivo)",
+            description = "Escribe el catálogo completo en NDJSON leyéndolo por páginas solo a medida que " +
+                    "el cliente lo consume. A diferencia de GET /products en NDJSON, no mantiene una " +
+                    "conexión a la base de datos durante toda la exportación"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos exportados correctamente",
+                    content = @Content(mediaType = "application/x-ndjson")
+            )
+    })
+    @GetMapping(produces = "application/x-ndjson")
+    ResponseEntity<StreamingResponseBody> streamAllProducts();
+
+    /**
+     * Endpoint asíncrono para obtener un producto por ID.
+     *
+     * @param id ID del producto
+     * @return Producto encontrado
+     */
+    @Operation(
+            summary = "Obtener un producto por ID (asíncrono)",
+            description = "Responde desde la caché de productos si está disponible; si no, consulta la base " +
+                    "de datos en el pool de consultas reactivas"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Producto encontrado",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Producto no encontrado",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Demasiadas consultas en espera",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/{id}")
+    CompletableFuture<ResponseEntity<ApiResponse<ProductResponse>>> getProductById(
+            @Parameter(description = "ID del producto", required = true, example = "1")
+            @PathVariable Long id
+    );
+
+    /**
+     * Endpoint asíncrono para obtener los productos de una categoría paginados por cursor.
+     *
+     * @param category Categoría de los productos
+     * @param cursor Cursor opaco devuelto por la página anterior (opcional)
+     * @param limit Número máximo de productos por página
+     * @return Página de productos de la categoría y cursor para continuar
+     */
+    @Operation(
+            summary = "Obtener productos por categoría (asíncrono)",
+            description = "Igual que GET /products/category/{category}, pero sin ocupar el hilo de la " +
+                    "petición durante la consulta"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos obtenidos correctamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = ProductResponse.class)
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "400",
+                    description = "Cursor o límite inválido",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "503",
+                    description = "Demasiadas consultas en espera",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping(value = "/category/{category}", produces = MediaType.APPLICATION_JSON_VALUE)
+    CompletableFuture<ResponseEntity<ApiResponse<CursorPageResponse<ProductResponse>>>> getProductsByCategory(
+            @Parameter(description = "Categoría", required = true, example = "Electrónica")
+            @PathVariable String category,
+            @Parameter(description = "Cursor de la página anterior")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Tamaño de página (1-1000)", example = "50")
+            @RequestParam(defaultValue = "50") int limit
+    );
+
+    /**
+     * Endpoint para recorrer una categoría completa en streaming con control de flujo.
+     *
+     * @param category Categoría de los productos
+     * @return Productos de la categoría en NDJSON
+     */
+    @Operation(
+            summary = "Exportar los productos de una categoría (streaming reactivo)",
+            description = "Escribe todos los productos de la categoría en NDJSON, ordenados por ID, " +
+                    "leyéndolos por páginas a medida que el cliente los consume"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Productos exportados correctamente",
+                    content = @Content(mediaType = "application/x-ndjson")
+            )
+    })
+    @GetMapping(value = "/category/{category}", produces = "application/x-ndjson")
+    ResponseEntity<StreamingResponseBody> streamProductsByCategory(
+            @Parameter(description = "Categoría", required = true, example = "Electrónica")
+            @PathVariable String category
+    );
+}
@@ -0,0 +1,184 @@
+package com.example.catalogservice.controller.doc;
+
+import com.example.catalogservice.model.request.StockReservationRequest;
+import com.example.catalogservice.model.response.ApiResponse;
+import com.example.catalogservice.model.response.ReservationResponse;
+import com.example.catalogservice.model.response.StockResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+/**
+ * Interfaz para documentar los endpoints de reservas de stock.
+ */
+public interface StockReservationControllerDoc {
+
+    /**
+     * Endpoint para reservar unidades de un producto.
+     *
+     * @param request Producto, cantidad y TTL de la reserva
+     * @return Reserva creada
+     */
+    @Operation(
+            summary = "Reservar stock",
+            description = "Reserva unidades de un producto durante el TTL indicado (10 minutos por defecto). " +
+                    "Las unidades reservadas no se pueden vender a otro cliente hasta que la reserva se " +
+                    "confirme, se libere o caduque"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "201",
+                    description = "Reserva creada",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Reserva creada correctamente",
+                        "data": {
+                            "id": "0b6f1c52-4f0e-4a51-9d0e-3c1a5d8e7f20",
+                            "productId": 9,
+                            "quantity": 2,
+                            "status": "RESERVED",
+                            "expiresAt": "2024-03-01T10:40:00"
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Producto no encontrado",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "409",
+                    description = "Stock insuficiente",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/reservations")
+    ResponseEntity<ApiResponse<ReservationResponse>> reserve(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Producto, cantidad y TTL en segundos (opcional)",
+                    required = true
+            )
+            @Valid @RequestBody StockReservationRequest request
+    );
+
+    /**
+     * Endpoint para confirmar una reserva (venta).
+     *
+     * @param id ID de la reserva
+     * @return Reserva confirmada
+     */
+    @Operation(
+            summary = "Confirmar reserva",
+            description = "Convierte la reserva en venta. Las unidades se descuentan del stock del producto " +
+                    "en el siguiente volcado periódico"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Reserva confirmada",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Reserva no encontrada, ya cerrada o caducada",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @PostMapping("/reservations/{id}/commit")
+    ResponseEntity<ApiResponse<ReservationResponse>> commit(
+            @Parameter(description = "ID de la reserva", required = true)
+            @PathVariable String id
+    );
+
+    /**
+     * Endpoint para liberar una reserva.
+     *
+     * @param id ID de la reserva
+     * @return Reserva liberada
+     */
+    @Operation(
+            summary = "Liberar reserva",
+            description = "Cancela la reserva y devuelve sus unidades al stock disponible"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Reserva liberada",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Reserva no encontrada o ya cerrada",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @DeleteMapping("/reservations/{id}")
+    ResponseEntity<ApiResponse<ReservationResponse>> release(
+            @Parameter(description = "ID de la reserva", required = true)
+            @PathVariable String id
+    );
+
+    /**
+     * Endpoint para consultar el stock disponible de un producto.
+     *
+     * @param id ID del producto
+     * @return Stock en base de datos, reservado, pendiente de volcar y disponible
+     */
+    @Operation(
+            summary = "Consultar stock disponible",
+            description = "Retorna el stock teniendo en cuenta las reservas en curso y las ventas aún no " +
+                    "descontadas en la base de datos"
+    )
+    @ApiResponses(value = {
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "200",
+                    description = "Stock del producto",
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(
+                                    name = "Ejemplo de respuesta",
+                                    value = """
+                    {
+                        "success": true,
+                        "message": "Stock obtenido correctamente",
+                        "data": {
+                            "productId": 9,
+                            "stock": 100,
+                            "reserved": 4,
+                            "pending": 2,
+                            "available": 94
+                        }
+                    }
+                    """
+                            )
+                    )
+            ),
+            @io.swagger.v3.oas.annotations.responses.ApiResponse(
+                    responseCode = "404",
+                    description = "Producto no encontrado",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    @GetMapping("/products/{id}/stock")
+    ResponseEntity<ApiResponse<StockResponse>> getStock(
+            @Parameter(description = "ID del producto", required = true)
+            @PathVariable Long id
+    );
+}
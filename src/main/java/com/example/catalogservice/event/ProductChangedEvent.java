@@ -0,0 +1,57 @@
+package com.example.catalogservice.event;
+
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.ProductResponse;
+
+import java.util.List;
+
+/**
+ * Evento de aplicación que notifica cambios en uno o varios productos.
+ *
+ * Se publica desde cualquier ruta de escritura (callbacks JPA de la entidad u
+ * operaciones masivas) para que los componentes que mantienen información en
+ * memoria (cachés, índices) se actualicen. Los productos viajan como copias
+ * (ProductResponse), nunca como entidades gestionadas.
+ *
+ * Los cambios hechos por otra instancia del servicio llegan por el bus de
+ * invalidación y se vuelven a publicar en local marcados como remotos, para
+ * que no se reenvíen al bus.
+ *
+ * @param type Tipo de cambio
+ * @param products Estado de los productos afectados (para DELETED, el último estado conocido)
+ * @param remote true si el cambio lo hizo otra instancia del servicio
+ * @author Tutorial
+ * @version 1.0
+ */
+public record ProductChangedEvent(ChangeType type, List<ProductResponse> products, boolean remote) {
+
+    /**
+     * Crea un evento para un cambio hecho por esta instancia.
+     *
+     * @param type Tipo de cambio
+     * @param products Estado de los productos afectados
+     */
+    public ProductChangedEvent(ChangeType type, List<ProductResponse> products) {
+        this(type, products, false);
+    }
+
+    /**
+     * Tipos de cambio que puede sufrir un producto.
+     */
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    /**
+     * Crea un evento para un único producto a partir de la entidad.
+     *
+     * @param type Tipo de cambio
+     * @param product Entidad modificada
+     * @return Evento con una copia del estado del producto
+     */
+    public static ProductChangedEvent of(ChangeType type, Product product) {
+        return new ProductChangedEvent(type, List.of(ProductResponse.fromEntity(product)));
+    }
+}
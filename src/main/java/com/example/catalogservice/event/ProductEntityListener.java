@@ -0,0 +1,43 @@
+package com.example.catalogservice.event;
+
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.example.catalogservice.model.Product;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * Listener JPA que publica un {@link ProductChangedEvent} en cada escritura de un producto.
+ *
+ * Hibernate obtiene esta clase del contexto de Spring, por lo que puede recibir
+ * dependencias por constructor. Los callbacks se ejecutan durante el flush,
+ * dentro de la transacción; los consumidores que usan @TransactionalEventListener
+ * reciben el evento solo cuando la transacción se confirma.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductEntityListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    public void onPersist(Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.of(ChangeType.CREATED, product));
+    }
+
+    @PostUpdate
+    public void onUpdate(Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.of(ChangeType.UPDATED, product));
+    }
+
+    @PostRemove
+    public void onRemove(Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.of(ChangeType.DELETED, product));
+    }
+}
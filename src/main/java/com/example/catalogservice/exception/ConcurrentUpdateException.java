@@ -0,0 +1,33 @@
+package com.example.catalogservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción que indica que una escritura siguió chocando con escrituras
+ * concurrentes del mismo producto después de agotar los reintentos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+@Getter
+public class ConcurrentUpdateException extends RuntimeException {
+
+    /**
+     * Intentos realizados.
+     */
+    private final int attempts;
+
+    /**
+     * Constructor para crear una excepción de conflicto de concurrencia.
+     *
+     * @param operation Descripción de la operación
+     * @param attempts Intentos realizados
+     */
+    public ConcurrentUpdateException(String operation, int attempts) {
+        super(String.format("No se pudo %s tras %d intentos por escrituras concurrentes", operation, attempts));
+        this.attempts = attempts;
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.catalogservice.exception;
 
+import com.example.catalogservice.cache.ProductJsonCache;
 import com.example.catalogservice.model.response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.web.HttpMediaTypeNotSupportedException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -32,15 +36,20 @@ public class GlobalExceptionHandler {
     /**
      * Maneja las excepciones de tipo ResourceNotFoundException.
      * 
+     * Se registran solo en debug: pedir un recurso inexistente es un error
+     * del cliente, y con clientes que repiten IDs antiguos el log a nivel
+     * ERROR costaría más que la propia respuesta.
+     * 
      * @param ex La excepción capturada
      * @return Respuesta HTTP con estado 404 y detalles del error
      */
     @ExceptionHandler(ResourceNotFoundException.class)
     public ResponseEntity<ApiResponse<Object>> handleResourceNotFoundException(ResourceNotFoundException ex) {
-        log.error("Recurso no encontrado: {}", ex.getMessage());
+        String message = ex.getMessage();
+        log.debug("Recurso no encontrado: {}", message);
         
         ApiResponse<Object> response = ApiResponse.error(
-                ex.getMessage(),
+                message,
                 "RESOURCE_NOT_FOUND"
         );
         
@@ -65,6 +74,85 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Maneja las excepciones de tipo InsufficientStockException.
+     * 
+     * @param ex La excepción capturada
+     * @return Respuesta HTTP con estado 409 y detalles del error
+     */
+    @ExceptionHandler(InsufficientStockException.class)
+    public ResponseEntity<ApiResponse<Object>> handleInsufficientStockException(InsufficientStockException ex) {
+        log.warn("Reserva rechazada: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error(
+                ex.getMessage(),
+                "INSUFFICIENT_STOCK"
+        );
+        
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja las excepciones de tipo PreconditionFailedException.
+     * 
+     * @param ex La excepción capturada
+     * @return Respuesta HTTP con estado 412 y el ETag de la versión actual
+     */
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ApiResponse<Object>> handlePreconditionFailedException(PreconditionFailedException ex) {
+        log.warn("Escritura condicional rechazada: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error(
+                ex.getMessage(),
+                "PRECONDITION_FAILED"
+        );
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                .eTag(ProductJsonCache.productEtag(ex.getProductId(), ex.getCurrentVersion()))
+                .body(response);
+    }
+
+    /**
+     * Maneja los conflictos de concurrencia optimista que no se resolvieron reintentando.
+     * 
+     * @param ex La excepción capturada
+     * @return Respuesta HTTP con estado 409 y detalles del error
+     */
+    @ExceptionHandler({ConcurrentUpdateException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<ApiResponse<Object>> handleConcurrentUpdateException(RuntimeException ex) {
+        log.warn("Conflicto de escritura concurrente: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error(
+                ex.getMessage(),
+                "CONCURRENT_UPDATE"
+        );
+        
+        return new ResponseEntity<>(response, HttpStatus.CONFLICT);
+    }
+
+    /**
+     * Maneja las excepciones de tipo ServiceOverloadedException.
+     * 
+     * Se registran como advertencia: el rechazo es un comportamiento previsto
+     * bajo sobrecarga, no un fallo de la aplicación.
+     * 
+     * @param ex La excepción capturada
+     * @return Respuesta HTTP con estado 503 y cabecera Retry-After
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleServiceOverloadedException(ServiceOverloadedException ex) {
+        log.warn("Petición rechazada por sobrecarga: {}", ex.getMessage());
+        
+        ApiResponse<Object> response = ApiResponse.error(
+                ex.getMessage(),
+                "SERVICE_OVERLOADED"
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     /**
      * Maneja las excepciones de validación de campos.
      * 
@@ -91,6 +179,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Maneja las peticiones con un Content-Type que el endpoint no acepta.
+     *
+     * @param ex La excepción capturada
+     * @return Respuesta HTTP con estado 415 y cabecera Accept con los tipos admitidos
+     */
+    @ExceptionHandler(HttpMediaTypeNotSupportedException.class)
+    public ResponseEntity<ApiResponse<Object>> handleMediaTypeNotSupportedException(HttpMediaTypeNotSupportedException ex) {
+        log.error("Tipo de contenido no soportado: {}", ex.getMessage());
+
+        ApiResponse<Object> response = ApiResponse.error(
+                "Tipo de contenido no soportado: " + ex.getContentType(),
+                "UNSUPPORTED_MEDIA_TYPE"
+        );
+
+        return ResponseEntity.status(HttpStatus.UNSUPPORTED_MEDIA_TYPE)
+                .headers(ex.getHeaders())
+                .body(response);
+    }
+
     /**
      * Maneja cualquier otra excepción no contemplada específicamente.
      * 
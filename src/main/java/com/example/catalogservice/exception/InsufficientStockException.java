@@ -0,0 +1,46 @@
+package com.example.catalogservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción que indica que no hay stock disponible suficiente para una reserva.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+@Getter
+public class InsufficientStockException extends RuntimeException {
+
+    /**
+     * ID del producto.
+     */
+    private final Long productId;
+
+    /**
+     * Cantidad solicitada.
+     */
+    private final int requested;
+
+    /**
+     * Cantidad disponible en el momento de la reserva.
+     */
+    private final long available;
+
+    /**
+     * Constructor para crear una excepción de stock insuficiente.
+     *
+     * @param productId ID del producto
+     * @param requested Cantidad solicitada
+     * @param available Cantidad disponible
+     */
+    public InsufficientStockException(Long productId, int requested, long available) {
+        super(String.format("Stock insuficiente para el producto %d: solicitado %d, disponible %d",
+                productId, requested, available));
+        this.productId = productId;
+        this.requested = requested;
+        this.available = available;
+    }
+}
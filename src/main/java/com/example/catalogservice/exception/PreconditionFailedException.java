@@ -0,0 +1,42 @@
+package com.example.catalogservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción que indica que una escritura condicional (If-Match) no se aplicó
+ * porque el producto ya no está en la versión que esperaba el cliente.
+ *
+ * El cliente debe releer el producto (la respuesta incluye el ETag actual),
+ * volver a aplicar su cambio sobre el estado nuevo y reintentar.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@ResponseStatus(value = HttpStatus.PRECONDITION_FAILED)
+@Getter
+public class PreconditionFailedException extends RuntimeException {
+
+    /**
+     * ID del producto.
+     */
+    private final Long productId;
+
+    /**
+     * Versión actual del producto.
+     */
+    private final long currentVersion;
+
+    /**
+     * Constructor para crear una excepción de precondición fallida.
+     *
+     * @param productId ID del producto
+     * @param currentVersion Versión actual del producto
+     */
+    public PreconditionFailedException(Long productId, long currentVersion) {
+        super(String.format("El producto %d ha cambiado: la versión actual es %d", productId, currentVersion));
+        this.productId = productId;
+        this.currentVersion = currentVersion;
+    }
+}
@@ -12,6 +12,10 @@ import org.springframework.web.bind.annotation.ResponseStatus;
  * hace que Spring Boot genere automáticamente una respuesta HTTP
  * con el estado 404 NOT_FOUND cuando se lance esta excepción.
  * 
+ * Buscar algo que no existe es un resultado normal, no un fallo: la
+ * excepción no captura la traza de la pila (lo más caro de crearla) y el
+ * mensaje solo se formatea si alguien lo pide.
+ * 
  * @author Tutorial
  * @version 1.0
  */
@@ -42,10 +46,20 @@ public class ResourceNotFoundException extends RuntimeException {
      * @param fieldValue Valor del campo
      */
     public ResourceNotFoundException(String resourceName, String fieldName, Object fieldValue) {
-        // Formateamos un mensaje descriptivo para la excepción
-        super(String.format("%s no encontrado con %s: '%s'", resourceName, fieldName, fieldValue));
+        // Sin traza ni excepciones suprimidas
+        super(null, null, false, false);
         this.resourceName = resourceName;
         this.fieldName = fieldName;
         this.fieldValue = fieldValue;
     }
+
+    /**
+     * Mensaje descriptivo de la excepción, formateado al pedirlo.
+     *
+     * @return Mensaje con el recurso, el campo y el valor buscados
+     */
+    @Override
+    public String getMessage() {
+        return resourceName + " no encontrado con " + fieldName + ": '" + fieldValue + "'";
+    }
 } 
\ No newline at end of file
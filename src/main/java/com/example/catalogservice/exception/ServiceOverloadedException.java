@@ -0,0 +1,37 @@
+package com.example.catalogservice.exception;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Excepción que indica que el servicio rechaza trabajo por estar saturado.
+ *
+ * Se lanza cuando una petición no consigue turno para acceder a un recurso
+ * limitado (por ejemplo, el pool de conexiones) dentro del tiempo permitido.
+ * Rechazar rápido es preferible a encolar indefinidamente: el cliente puede
+ * reintentar pasado el tiempo indicado en retryAfterSeconds.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+@Getter
+public class ServiceOverloadedException extends RuntimeException {
+
+    /**
+     * Segundos que el cliente debería esperar antes de reintentar.
+     */
+    private final long retryAfterSeconds;
+
+    /**
+     * Constructor para crear una excepción de servicio saturado.
+     *
+     * @param message Descripción del recurso saturado
+     * @param retryAfterSeconds Segundos sugeridos antes de reintentar
+     */
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
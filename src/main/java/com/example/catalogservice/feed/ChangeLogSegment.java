@@ -0,0 +1,158 @@
+package com.example.catalogservice.feed;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Fichero del registro de cambios proyectado en memoria (mmap).
+ *
+ * Formato de cada entrada: longitud del contenido (int), CRC32 del contenido
+ * (int), offset (long) y contenido. El resto del fichero está a cero, así que
+ * una longitud 0 marca el final. Al abrir un segmento existente se recorre
+ * hasta la primera entrada incompleta o con CRC incorrecto (escritura cortada
+ * por una caída).
+ *
+ * Un único escritor (bajo el bloqueo de {@link ProductChangeLog}) y varios
+ * lectores: las entradas se escriben antes de publicar el nuevo offset final,
+ * que es volatile en el registro, de modo que un lector nunca ve una entrada
+ * a medias.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class ChangeLogSegment {
+
+    static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES;
+
+    private final long baseOffset;
+    private final Path file;
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Posición en el fichero de cada entrada, indexada por (offset - baseOffset).
+     */
+    private volatile int[] positions = new int[1024];
+    private int count;
+    private int writePosition;
+
+    private ChangeLogSegment(long baseOffset, Path file, MappedByteBuffer buffer) {
+        this.baseOffset = baseOffset;
+        this.file = file;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Abre (o crea) un segmento y localiza el final de las entradas válidas.
+     *
+     * @param file Fichero del segmento
+     * @param baseOffset Offset de la primera entrada
+     * @param size Tamaño del fichero
+     * @return Segmento listo para leer y escribir
+     * @throws IOException si no se puede proyectar el fichero
+     */
+    static ChangeLogSegment open(Path file, long baseOffset, int size) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // La proyección sigue siendo válida después de cerrar el canal
+            ChangeLogSegment segment = new ChangeLogSegment(baseOffset, file,
+                    channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(size, channel.size())));
+            segment.recover();
+            return segment;
+        }
+    }
+
+    private void recover() {
+        int position = 0;
+        while (position + HEADER_SIZE <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_SIZE + length > buffer.capacity()
+                    || buffer.getLong(position + 8) != baseOffset + count) {
+                break;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position + HEADER_SIZE, payload);
+            if (buffer.getInt(position + 4) != crc(payload)) {
+                break;
+            }
+            addPosition(position);
+            position += HEADER_SIZE + length;
+        }
+        writePosition = position;
+    }
+
+    /**
+     * Escribe una entrada si cabe en el segmento.
+     *
+     * @param payload Contenido
+     * @return false si el segmento está lleno
+     */
+    boolean append(byte[] payload) {
+        if (writePosition + HEADER_SIZE + payload.length > buffer.capacity()) {
+            return false;
+        }
+        int position = writePosition;
+        buffer.put(position + HEADER_SIZE, payload);
+        buffer.putLong(position + 8, baseOffset + count);
+        buffer.putInt(position + 4, crc(payload));
+        // La longitud se escribe la última: hasta entonces la entrada no existe al recuperar
+        buffer.putInt(position, payload.length);
+        addPosition(position);
+        writePosition = position + HEADER_SIZE + payload.length;
+        return true;
+    }
+
+    /**
+     * Lee el contenido de una entrada ya publicada.
+     *
+     * @param offset Offset de la entrada
+     * @return Contenido
+     */
+    byte[] read(long offset) {
+        int position = positions[(int) (offset - baseOffset)];
+        byte[] payload = new byte[buffer.getInt(position)];
+        buffer.get(position + HEADER_SIZE, payload);
+        return payload;
+    }
+
+    long baseOffset() {
+        return baseOffset;
+    }
+
+    /**
+     * Offset siguiente a la última entrada del segmento.
+     */
+    long endOffset() {
+        return baseOffset + count;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    /**
+     * Fuerza a disco las páginas modificadas.
+     */
+    void force() {
+        buffer.force();
+    }
+
+    private void addPosition(int position) {
+        int[] current = positions;
+        if (count == current.length) {
+            current = Arrays.copyOf(current, current.length * 2);
+        }
+        current[count++] = position;
+        positions = current;
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+}
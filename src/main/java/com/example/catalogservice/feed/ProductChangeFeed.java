@@ -0,0 +1,203 @@
+package com.example.catalogservice.feed;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.model.response.ProductChangeResponse;
+import com.example.catalogservice.model.response.ProductChangesResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feed de cambios de productos para que otros servicios se sincronicen de forma incremental.
+ *
+ * Cada {@link ProductChangedEvent} confirmado (creaciones y modificaciones
+ * desde los callbacks JPA de la entidad, borrados, operaciones masivas,
+ * importaciones y volcados de stock) se añade al {@link ProductChangeLog}
+ * como una entrada JSON por producto. Se escucha después de confirmar la
+ * transacción, así que solo llegan al feed los cambios que llegaron a la base
+ * de datos. Los cambios de otras instancias que llegan por el bus de
+ * invalidación también se añaden, así que el feed de cada instancia recoge
+ * los cambios de todo el catálogo.
+ *
+ * Los consumidores leen desde un offset, bien con long-polling (la petición
+ * espera hasta que haya cambios o pase el tiempo indicado), bien con
+ * Server-Sent Events. Ambos modos esperan en el propio hilo de la petición:
+ * con {@code spring.threads.virtual.enabled=true} cada consumidor en espera
+ * solo ocupa un hilo virtual.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductChangeFeed {
+
+    /**
+     * Número máximo de cambios que se escriben de una vez en un stream SSE.
+     */
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private static final byte[] SSE_HEARTBEAT = ":\n\n".getBytes(StandardCharsets.US_ASCII);
+
+    private final ProductChangeLog changeLog;
+    private final ObjectMapper objectMapper;
+    private final Duration maxWait;
+    private final Duration heartbeat;
+
+    private final Counter appendedCounter;
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    public ProductChangeFeed(ProductChangeLog changeLog,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${catalog.changes.max-wait:PT30S}") Duration maxWait,
+                             @Value("${catalog.changes.heartbeat:PT15S}") Duration heartbeat) {
+        this.changeLog = changeLog;
+        this.objectMapper = objectMapper;
+        this.maxWait = maxWait;
+        this.heartbeat = heartbeat;
+        this.appendedCounter = Counter.builder("catalog.changes.appended")
+                .description("Cambios de productos añadidos al registro de cambios")
+                .register(meterRegistry);
+        Gauge.builder("catalog.changes.offset", changeLog, ProductChangeLog::getNextOffset)
+                .description("Offset que recibirá el próximo cambio")
+                .register(meterRegistry);
+        Gauge.builder("catalog.changes.subscribers", subscribers, AtomicInteger::get)
+                .description("Consumidores conectados por Server-Sent Events")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Añade al registro los productos de un cambio confirmado.
+     *
+     * Se ejecuta después de las cachés y los índices, para que un consumidor
+     * que reaccione al cambio consultando la API ya vea el nuevo estado.
+     *
+     * @param event Evento de cambio confirmado
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 30)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        LocalDateTime now = LocalDateTime.now();
+        List<byte[]> payloads = new ArrayList<>(event.products().size());
+        try {
+            for (ProductResponse product : event.products()) {
+                payloads.add(objectMapper.writeValueAsBytes(ProductChangeResponse.builder()
+                        .type(event.type())
+                        .productId(product.getId())
+                        .sku(product.getSku())
+                        .changedAt(now)
+                        .product(event.type() == ProductChangedEvent.ChangeType.DELETED ? null : product)
+                        .build()));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el cambio de producto", ex);
+        }
+        long first = changeLog.append(payloads);
+        appendedCounter.increment(payloads.size());
+        log.debug("{} cambio(s) {} añadidos al registro desde el offset {}", payloads.size(), event.type(), first);
+    }
+
+    /**
+     * Devuelve los cambios a partir de un offset, esperando si aún no hay ninguno.
+     *
+     * @param since Primer offset a devolver (null para empezar por el final del registro)
+     * @param limit Número máximo de cambios
+     * @param wait Tiempo máximo de espera si no hay cambios (se limita a {@code catalog.changes.max-wait})
+     * @return Cambios y offset desde el que continuar
+     */
+    public ProductChangesResponse poll(Long since, int limit, Duration wait) {
+        long from = since != null ? since : changeLog.getNextOffset();
+        long waitMillis = Math.min(Math.max(wait.toMillis(), 0), maxWait.toMillis());
+        List<ProductChangeLog.Entry> entries = changeLog.read(from, limit);
+        if (entries.isEmpty() && waitMillis > 0 && changeLog.await(from, waitMillis)) {
+            entries = changeLog.read(from, limit);
+        }
+
+        List<ProductChangeResponse> changes = new ArrayList<>(entries.size());
+        try {
+            for (ProductChangeLog.Entry entry : entries) {
+                ProductChangeResponse change = objectMapper.readValue(entry.payload(), ProductChangeResponse.class);
+                change.setOffset(entry.offset());
+                changes.add(change);
+            }
+        } catch (IOException ex) {
+            throw new IllegalStateException("Entrada ilegible en el registro de cambios", ex);
+        }
+        long nextOffset = entries.isEmpty() ? from : entries.get(entries.size() - 1).offset() + 1;
+        return ProductChangesResponse.builder()
+                .logId(changeLog.getLogId())
+                .changes(changes)
+                .nextOffset(nextOffset)
+                .build();
+    }
+
+    /**
+     * Escribe los cambios como Server-Sent Events hasta que el cliente se desconecta.
+     *
+     * Cada evento lleva el offset como {@code id} y la entrada del registro tal
+     * cual como {@code data}, sin deserializarla. Un cliente EventSource que se
+     * reconecta envía el último id en la cabecera Last-Event-ID y continúa
+     * desde el siguiente. Cuando no hay cambios se envía un comentario cada
+     * {@code catalog.changes.heartbeat} para detectar clientes desconectados.
+     *
+     * @param since Primer offset a enviar (null para empezar por el final del registro)
+     * @param outputStream Cuerpo de la respuesta
+     * @throws IOException cuando el cliente se desconecta
+     */
+    public void stream(Long since, OutputStream outputStream) throws IOException {
+        long next = since != null ? since : changeLog.getNextOffset();
+        subscribers.incrementAndGet();
+        try {
+            outputStream.write(("retry: 3000\nevent: log\ndata: " + changeLog.getLogId() + "\n\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            outputStream.flush();
+            while (!Thread.currentThread().isInterrupted()) {
+                List<ProductChangeLog.Entry> entries;
+                try {
+                    entries = changeLog.read(next, STREAM_BATCH_SIZE);
+                } catch (IllegalArgumentException ex) {
+                    // El consumidor se quedó atrás más de lo que conserva el registro
+                    outputStream.write(("event: reset\ndata: " + ex.getMessage() + "\n\n").getBytes(StandardCharsets.UTF_8));
+                    outputStream.flush();
+                    return;
+                }
+                if (entries.isEmpty()) {
+                    if (!changeLog.await(next, heartbeat.toMillis())) {
+                        outputStream.write(SSE_HEARTBEAT);
+                        outputStream.flush();
+                    }
+                    continue;
+                }
+                for (ProductChangeLog.Entry entry : entries) {
+                    outputStream.write(("id: " + entry.offset() + "\ndata: ").getBytes(StandardCharsets.US_ASCII));
+                    outputStream.write(entry.payload());
+                    outputStream.write('\n');
+                    outputStream.write('\n');
+                }
+                outputStream.flush();
+                next = entries.get(entries.size() - 1).offset() + 1;
+            }
+        } finally {
+            subscribers.decrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.example.catalogservice.feed;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Registro local de solo escritura al final (append-only) con offsets lógicos monótonos.
+ *
+ * Las entradas se guardan en segmentos de tamaño fijo proyectados en memoria
+ * ({@link ChangeLogSegment}), cada uno en un fichero con el offset de su
+ * primera entrada como nombre. Al llenarse un segmento se fuerza a disco y se
+ * abre el siguiente; por encima de {@code catalog.changes.max-segments} se
+ * borran los más antiguos, y los offsets que contenían dejan de estar
+ * disponibles.
+ *
+ * El registro se identifica con un ID aleatorio guardado junto a los
+ * segmentos. Si se borra el directorio (o no se configura y se usa uno
+ * temporal por arranque) el ID cambia y los offsets vuelven a empezar: los
+ * consumidores que vean otro ID deben volver a sincronizarse desde cero.
+ *
+ * Un único escritor a la vez (bloqueo) y lectores sin bloqueo: el offset
+ * final es volatile y se publica después de escribir las entradas.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductChangeLog {
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String ID_FILE = "log.id";
+
+    private final Path directory;
+    private final boolean temporary;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final String logId;
+
+    private final ConcurrentSkipListMap<Long, ChangeLogSegment> segments = new ConcurrentSkipListMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition appended = lock.newCondition();
+
+    private ChangeLogSegment active;
+    private volatile long firstOffset;
+    private volatile long nextOffset;
+
+    public ProductChangeLog(@Value("${catalog.changes.dir:}") String directory,
+                            @Value("${catalog.changes.segment-size:64MB}") DataSize segmentSize,
+                            @Value("${catalog.changes.max-segments:8}") int maxSegments) {
+        if (segmentSize.toBytes() > Integer.MAX_VALUE || segmentSize.toBytes() < 4096) {
+            throw new IllegalArgumentException("catalog.changes.segment-size debe estar entre 4KB y 2GB");
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("catalog.changes.max-segments debe ser mayor que 0");
+        }
+        this.segmentSize = (int) segmentSize.toBytes();
+        this.maxSegments = maxSegments;
+        this.temporary = directory.isBlank();
+        try {
+            this.directory = temporary ? Files.createTempDirectory("catalog-changes") : Path.of(directory);
+            Files.createDirectories(this.directory);
+            this.logId = readOrCreateId();
+            recover();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo abrir el registro de cambios en " + directory, ex);
+        }
+        log.info("Registro de cambios {} abierto en {}: offsets {} a {} en {} segmento(s){}", logId, this.directory,
+                firstOffset, nextOffset, segments.size(), temporary ? " (temporal, se borra al parar)" : "");
+    }
+
+    /**
+     * Añade entradas al final del registro y despierta a los lectores en espera.
+     *
+     * @param payloads Contenido de cada entrada, en orden
+     * @return Offset asignado a la primera entrada
+     */
+    public long append(List<byte[]> payloads) {
+        for (byte[] payload : payloads) {
+            if (ChangeLogSegment.HEADER_SIZE + payload.length > segmentSize) {
+                throw new IllegalArgumentException("Entrada de " + payload.length
+                        + " bytes mayor que el segmento del registro de cambios");
+            }
+        }
+        lock.lock();
+        try {
+            long first = nextOffset;
+            for (byte[] payload : payloads) {
+                if (!active.append(payload)) {
+                    roll();
+                    active.append(payload);
+                }
+            }
+            nextOffset = active.endOffset();
+            appended.signalAll();
+            return first;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir en el registro de cambios", ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lee entradas a partir de un offset.
+     *
+     * @param from Primer offset a leer
+     * @param limit Número máximo de entradas
+     * @return Entradas en orden de offset (vacío si aún no hay ninguna en {@code from})
+     * @throws IllegalArgumentException si {@code from} ya no está disponible o es posterior al final
+     */
+    public List<Entry> read(long from, int limit) {
+        long end = nextOffset;
+        checkOffset(from, end);
+        List<Entry> entries = new ArrayList<>((int) Math.min(limit, end - from));
+        long offset = from;
+        while (offset < end && entries.size() < limit) {
+            Map.Entry<Long, ChangeLogSegment> floor = segments.floorEntry(offset);
+            if (floor == null) {
+                // El segmento se borró por retención mientras se leía
+                checkOffset(offset, end);
+                throw new IllegalStateException("Offset " + offset + " sin segmento en el registro de cambios");
+            }
+            ChangeLogSegment segment = floor.getValue();
+            long segmentEnd = Math.min(end, segment.endOffset());
+            for (; offset < segmentEnd && entries.size() < limit; offset++) {
+                entries.add(new Entry(offset, segment.read(offset)));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Espera a que exista la entrada {@code from} o a que pase el tiempo indicado.
+     *
+     * @param from Offset esperado
+     * @param timeout Tiempo máximo de espera en milisegundos
+     * @return true si la entrada ya existe
+     */
+    public boolean await(long from, long timeout) {
+        if (nextOffset > from) {
+            return true;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(timeout);
+        lock.lock();
+        try {
+            while (nextOffset <= from && remaining > 0) {
+                remaining = appended.awaitNanos(remaining);
+            }
+            return nextOffset > from;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * ID del registro: cambia si el registro se crea de nuevo y los offsets vuelven a empezar.
+     */
+    public String getLogId() {
+        return logId;
+    }
+
+    /**
+     * Primer offset aún disponible (los anteriores se borraron por retención).
+     */
+    public long getFirstOffset() {
+        return firstOffset;
+    }
+
+    /**
+     * Offset que recibirá la próxima entrada.
+     */
+    public long getNextOffset() {
+        return nextOffset;
+    }
+
+    @PreDestroy
+    public void close() {
+        lock.lock();
+        try {
+            if (active != null) {
+                active.force();
+            }
+            if (temporary) {
+                FileSystemUtils.deleteRecursively(directory);
+            }
+        } catch (IOException ex) {
+            log.warn("No se pudo borrar el registro de cambios temporal {}", directory, ex);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void checkOffset(long from, long end) {
+        if (from < firstOffset) {
+            throw new IllegalArgumentException("El offset " + from + " ya no está disponible en el registro de cambios"
+                    + " (primer offset: " + firstOffset + "); es necesario sincronizar de nuevo");
+        }
+        if (from > end) {
+            throw new IllegalArgumentException("El offset " + from + " es posterior al final del registro de cambios ("
+                    + end + ")");
+        }
+    }
+
+    private void roll() throws IOException {
+        active.force();
+        long base = active.endOffset();
+        active = ChangeLogSegment.open(segmentFile(base), base, segmentSize);
+        segments.put(base, active);
+        while (segments.size() > maxSegments) {
+            ChangeLogSegment oldest = segments.pollFirstEntry().getValue();
+            firstOffset = segments.firstKey();
+            // Los lectores que aún lo usen conservan la proyección hasta que se libere
+            Files.deleteIfExists(oldest.file());
+            log.debug("Segmento {} del registro de cambios borrado por retención", oldest.file().getFileName());
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Long> bases;
+        try (Stream<Path> files = Files.list(directory)) {
+            bases = files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.valueOf(name.substring(0, name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+        for (Long base : bases) {
+            if (active != null && base != active.endOffset()) {
+                // Hueco: el segmento anterior se cortó en una caída; se descarta lo posterior
+                log.warn("Segmento {} del registro de cambios descartado: se esperaba el offset {}",
+                        base, active.endOffset());
+                Files.deleteIfExists(segmentFile(base));
+                continue;
+            }
+            active = ChangeLogSegment.open(segmentFile(base), base, segmentSize);
+            segments.put(base, active);
+        }
+        if (active == null) {
+            active = ChangeLogSegment.open(segmentFile(0), 0, segmentSize);
+            segments.put(0L, active);
+        }
+        firstOffset = segments.firstKey();
+        nextOffset = active.endOffset();
+    }
+
+    private String readOrCreateId() throws IOException {
+        Path idFile = directory.resolve(ID_FILE);
+        if (Files.exists(idFile)) {
+            return Files.readString(idFile, StandardCharsets.UTF_8).trim();
+        }
+        String id = UUID.randomUUID().toString();
+        Files.writeString(idFile, id, StandardCharsets.UTF_8);
+        return id;
+    }
+
+    private Path segmentFile(long baseOffset) {
+        return directory.resolve(String.format("%020d%s", baseOffset, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * Entrada leída del registro.
+     *
+     * @param offset Offset de la entrada
+     * @param payload Contenido
+     */
+    public record Entry(long offset, byte[] payload) {
+    }
+}
@@ -0,0 +1,344 @@
+package com.example.catalogservice.index;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.model.response.ProductResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+
+/**
+ * Filtro de Bloom con los IDs y SKUs de los productos existentes.
+ *
+ * Responde "seguro que no existe" o "puede existir": si un ID o SKU nunca se
+ * añadió, alguno de sus bits está a cero y la búsqueda se resuelve sin caché
+ * ni base de datos. Los clientes que piden productos inexistentes (rastreadores,
+ * enlaces antiguos) dejan de costar una transacción y una consulta cada uno.
+ *
+ * No da falsos negativos: los productos creados se añaden cuando se confirma
+ * su transacción, como en el resto de índices. Durante una reconstrucción se
+ * añaden al filtro publicado y, además, al nuevo al terminar: añadir dos
+ * veces el mismo elemento a un filtro de Bloom no cambia nada. Sí da falsos positivos, que solo
+ * cuestan la consulta que se habría hecho de todos modos:
+ * - Por diseño, con probabilidad {@code catalog.lookup-filter.false-positive-rate}.
+ * - Por los productos eliminados: un filtro de Bloom no puede quitar elementos.
+ * - Por los productos añadidos por encima de la capacidad con que se construyó.
+ *
+ * Cuando los eliminados superan {@code catalog.lookup-filter.max-stale-ratio}
+ * de las entradas, los añadidos superan la capacidad, o ha pasado
+ * {@code catalog.lookup-filter.rebuild-interval} (por si alguna escritura no
+ * generó evento), el filtro pide su reconstrucción a ProductIndexManager.
+ *
+ * Los bits se guardan en un AtomicLongArray: se consultan sin bloqueo desde
+ * las peticiones mientras se añaden productos desde los eventos.
+ *
+ * Con varias instancias, un producto creado en otra instancia se ve aquí
+ * cuando llega su invalidación (métrica {@code catalog.invalidation.lag}).
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductExistenceFilter implements ProductIndex {
+
+    private static final LongBinaryOperator OR = (word, mask) -> word | mask;
+
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long minCapacity;
+    private final double maxStaleRatio;
+    private final long rebuildIntervalNanos;
+    private final Counter idNegatives;
+    private final Counter skuNegatives;
+    private volatile Filters filters;
+
+    public ProductExistenceFilter(MeterRegistry meterRegistry,
+                                  @Value("${catalog.lookup-filter.enabled:true}") boolean enabled,
+                                  @Value("${catalog.lookup-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                  @Value("${catalog.lookup-filter.min-capacity:100000}") long minCapacity,
+                                  @Value("${catalog.lookup-filter.max-stale-ratio:0.2}") double maxStaleRatio,
+                                  @Value("${catalog.lookup-filter.rebuild-interval:PT1H}") Duration rebuildInterval) {
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.minCapacity = minCapacity;
+        this.maxStaleRatio = maxStaleRatio;
+        this.rebuildIntervalNanos = rebuildInterval.toNanos();
+        this.idNegatives = Counter.builder("catalog.lookup-filter.negatives")
+                .description("Búsquedas de productos inexistentes resueltas por el filtro sin consultar la base de datos")
+                .tag("key", "id")
+                .register(meterRegistry);
+        this.skuNegatives = Counter.builder("catalog.lookup-filter.negatives")
+                .description("Búsquedas de productos inexistentes resueltas por el filtro sin consultar la base de datos")
+                .tag("key", "sku")
+                .register(meterRegistry);
+        Gauge.builder("catalog.lookup-filter.entries", this,
+                        filter -> filter.filters == null ? 0 : filter.filters.entries())
+                .description("Productos añadidos al filtro de existencia")
+                .register(meterRegistry);
+        Gauge.builder("catalog.lookup-filter.false-positive-rate", this,
+                        filter -> filter.filters == null ? 1 : filter.filters.estimatedFalsePositiveRate())
+                .description("Probabilidad estimada de que el filtro no descarte un producto inexistente")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "filtro de existencia";
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        if (!enabled) {
+            return new Rebuild() {
+                @Override
+                public void accept(ProductResponse product) {
+                }
+
+                @Override
+                public void complete() {
+                }
+            };
+        }
+
+        HashBuffer ids = new HashBuffer();
+        HashBuffer skus = new HashBuffer();
+        return new Rebuild() {
+            @Override
+            public void accept(ProductResponse product) {
+                ids.add(hashId(product.getId()));
+                if (product.getSku() != null) {
+                    skus.add(hashSku(product.getSku()));
+                }
+            }
+
+            @Override
+            public void complete() {
+                // Se dimensiona al terminar, cuando ya se sabe cuántos productos hay, con margen para crecer
+                long capacity = Math.max(minCapacity, 2L * ids.size);
+                Filters rebuilt = new Filters(new Bloom(capacity, falsePositiveRate),
+                        new Bloom(capacity, falsePositiveRate), ids.size, System.nanoTime());
+                ids.forEach(rebuilt.ids::put);
+                skus.forEach(rebuilt.skus::put);
+                filters = rebuilt;
+                log.debug("Filtro de existencia publicado: {} productos, capacidad {}, {} KB",
+                        ids.size, capacity, rebuilt.ids.sizeInBytes() * 2 / 1024);
+            }
+        };
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        Filters current = filters;
+        if (current == null) {
+            return;
+        }
+        for (ProductResponse product : event.products()) {
+            if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+                current.removed.incrementAndGet();
+                continue;
+            }
+            if (current.ids.put(hashId(product.getId()))) {
+                current.added.incrementAndGet();
+            }
+            if (product.getSku() != null) {
+                current.skus.put(hashSku(product.getSku()));
+            }
+        }
+    }
+
+    /**
+     * El filtro publicado sigue descartando productos mientras se reconstruye:
+     * los creados en ese intervalo deben añadirse ya, no al publicar el nuevo.
+     */
+    @Override
+    public boolean appliesDuringRebuild() {
+        return true;
+    }
+
+    @Override
+    public boolean isReady() {
+        return filters != null;
+    }
+
+    @Override
+    public boolean needsRebuild() {
+        Filters current = filters;
+        if (current == null) {
+            return false;
+        }
+        return current.removed.get() > current.entries() * maxStaleRatio
+                || current.entries() > current.ids.capacity
+                || System.nanoTime() - current.builtAt > rebuildIntervalNanos;
+    }
+
+    /**
+     * Indica si puede existir un producto con el ID indicado.
+     *
+     * @param id ID del producto
+     * @return false si seguro que no existe; true si puede existir o el filtro aún no está construido
+     */
+    public boolean mightContainId(Long id) {
+        Filters current = filters;
+        if (current == null || current.ids.mightContain(hashId(id))) {
+            return true;
+        }
+        idNegatives.increment();
+        return false;
+    }
+
+    /**
+     * Indica si puede existir un producto con el SKU indicado.
+     *
+     * @param sku SKU del producto
+     * @return false si seguro que no existe; true si puede existir o el filtro aún no está construido
+     */
+    public boolean mightContainSku(String sku) {
+        Filters current = filters;
+        if (current == null || current.skus.mightContain(hashSku(sku))) {
+            return true;
+        }
+        skuNegatives.increment();
+        return false;
+    }
+
+    static long hashId(long id) {
+        return mix(id);
+    }
+
+    static long hashSku(String sku) {
+        // FNV-1a de 64 bits sobre los caracteres, mezclado para repartir mejor los bits altos
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < sku.length(); i++) {
+            hash ^= sku.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * Finalizador de SplitMix64.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Filtros publicados y los cambios recibidos desde que se construyeron.
+     */
+    private record Filters(Bloom ids, Bloom skus, long built, long builtAt, AtomicLong added, AtomicLong removed) {
+
+        Filters(Bloom ids, Bloom skus, long built, long builtAt) {
+            this(ids, skus, built, builtAt, new AtomicLong(), new AtomicLong());
+        }
+
+        long entries() {
+            return built + added.get();
+        }
+
+        double estimatedFalsePositiveRate() {
+            return Math.max(ids.estimatedFalsePositiveRate(), skus.estimatedFalsePositiveRate());
+        }
+    }
+
+    /**
+     * Filtro de Bloom sobre hashes de 64 bits.
+     *
+     * Las k posiciones de cada elemento se obtienen por doble hashing
+     * (h1 + i·h2), que conserva la tasa de falsos positivos de k funciones
+     * independientes con un solo hash por elemento.
+     */
+    private static final class Bloom {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        private final long capacity;
+
+        Bloom(long capacity, double falsePositiveRate) {
+            double ln2 = Math.log(2);
+            long bits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (ln2 * ln2));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) >>> 6));
+            this.words = new AtomicLongArray(wordCount);
+            this.bitCount = (long) wordCount << 6;
+            this.hashCount = Math.max(1, (int) Math.round((double) bitCount / capacity * ln2));
+            this.capacity = capacity;
+        }
+
+        /**
+         * Añade un elemento.
+         *
+         * @return true si ha cambiado algún bit (el elemento no estaba)
+         */
+        boolean put(long hash) {
+            long step = mix(hash) | 1;
+            boolean changed = false;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                if ((words.get(word) & mask) == 0) {
+                    words.accumulateAndGet(word, mask, OR);
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        boolean mightContain(long hash) {
+            long step = mix(hash) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double estimatedFalsePositiveRate() {
+            long set = 0;
+            for (int i = 0; i < words.length(); i++) {
+                set += Long.bitCount(words.get(i));
+            }
+            return Math.pow((double) set / bitCount, hashCount);
+        }
+
+        long sizeInBytes() {
+            return (long) words.length() * Long.BYTES;
+        }
+    }
+
+    /**
+     * Hashes acumulados durante una reconstrucción, antes de dimensionar el filtro.
+     */
+    private static final class HashBuffer {
+
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long hash) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = hash;
+        }
+
+        void forEach(LongConsumer consumer) {
+            for (int i = 0; i < size; i++) {
+                consumer.accept(values[i]);
+            }
+        }
+    }
+}
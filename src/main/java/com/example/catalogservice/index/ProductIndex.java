@@ -0,0 +1,89 @@
+package com.example.catalogservice.index;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.model.response.ProductResponse;
+
+import java.util.function.Consumer;
+
+/**
+ * Estructura en memoria derivada del catálogo que se mantiene sincronizada con la base de datos.
+ *
+ * Cada implementación se construye completa al arrancar (a partir de un
+ * recorrido en streaming de todos los productos) y después se actualiza de
+ * forma incremental con los eventos de cambio. ProductIndexManager coordina
+ * ambas fases para que ningún cambio se pierda durante la reconstrucción.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public interface ProductIndex {
+
+    /**
+     * Nombre del índice, usado en logs.
+     *
+     * @return Nombre descriptivo
+     */
+    String name();
+
+    /**
+     * Inicia una reconstrucción completa del índice.
+     *
+     * Los productos se acumulan en una estructura nueva, sin afectar a las
+     * consultas en curso, y esta solo se publica al llamar a {@link Rebuild#complete()}.
+     *
+     * @return Receptor de los productos del catálogo
+     */
+    Rebuild startRebuild();
+
+    /**
+     * Aplica un cambio confirmado sobre el índice ya construido.
+     *
+     * Debe ser idempotente: el mismo evento puede llegar después de que la
+     * reconstrucción ya haya visto el estado final del producto.
+     *
+     * @param event Evento de cambio
+     */
+    void apply(ProductChangedEvent event);
+
+    /**
+     * Indica si el índice ya se construyó y puede atender consultas.
+     *
+     * @return true tras la primera reconstrucción completa
+     */
+    boolean isReady();
+
+    /**
+     * Indica si el índice ha perdido precisión con los cambios incrementales y
+     * conviene reconstruirlo. ProductIndexManager lo consulta periódicamente.
+     *
+     * @return true si debe reconstruirse
+     */
+    default boolean needsRebuild() {
+        return false;
+    }
+
+    /**
+     * Indica si los cambios deben aplicarse también a la estructura publicada
+     * mientras el índice se reconstruye, además de encolarse para la nueva.
+     *
+     * Lo necesitan los índices que no pueden dar respuestas desfasadas durante
+     * la reconstrucción (un filtro que descarta productos no puede ignorar los
+     * recién creados); {@link #apply} debe tolerar recibir el mismo evento dos veces.
+     *
+     * @return true si los cambios se aplican durante la reconstrucción
+     */
+    default boolean appliesDuringRebuild() {
+        return false;
+    }
+
+    /**
+     * Reconstrucción en curso de un índice.
+     */
+    interface Rebuild extends Consumer<ProductResponse> {
+
+        /**
+         * Publica la estructura reconstruida, sustituyendo a la anterior.
+         */
+        void complete();
+    }
+}
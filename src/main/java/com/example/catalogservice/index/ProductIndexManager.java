@@ -0,0 +1,248 @@
+package com.example.catalogservice.index;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.service.ProductService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Coordina la construcción y el mantenimiento de todos los índices en memoria del catálogo.
+ *
+ * Al arrancar la aplicación lanza en segundo plano un único recorrido en
+ * streaming de la base de datos que alimenta a la vez a todos los índices.
+ * Mientras dura la reconstrucción, los eventos de cambio se guardan en una
+ * cola y se aplican justo después de publicar los índices nuevos, de modo que
+ * no se pierde ninguna escritura concurrente. Los índices que lo piden
+ * ({@link ProductIndex#appliesDuringRebuild()}) los reciben además al momento
+ * sobre la estructura que siguen publicando.
+ *
+ * Si al arrancar los índices ya se construyeron desde otra fuente (la
+ * instantánea del catálogo, con {@link #rebuildFrom}), no se vuelven a
+ * construir desde la base de datos.
+ *
+ * Cada {@code catalog.index.check-interval} se reconstruyen, solos, los
+ * índices que indican que han perdido precisión ({@link ProductIndex#needsRebuild()});
+ * el resto sigue recibiendo los cambios sin esperar a que termine.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductIndexManager {
+
+    private final List<ProductIndex> indexes;
+    private final ProductService productService;
+
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "product-index-rebuild");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+
+    /**
+     * Protege el paso entre "reconstruyendo" y "actualización incremental".
+     * Se usa un ReentrantLock para no bloquear el hilo portador de los hilos virtuales.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+    private final List<ProductChangedEvent> pendingEvents = new ArrayList<>();
+
+    /**
+     * Índices en reconstrucción, cuyos eventos se encolan. Hasta la primera
+     * reconstrucción todos están vacíos.
+     */
+    private List<ProductIndex> rebuilding;
+    private boolean built;
+
+    public ProductIndexManager(List<ProductIndex> indexes, ProductService productService) {
+        this.indexes = indexes;
+        this.productService = productService;
+        this.rebuilding = indexes;
+    }
+
+    /**
+     * Lanza la construcción inicial de los índices cuando la aplicación ya atiende peticiones.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (isBuilt()) {
+            log.debug("Índices de productos ya construidos antes de arrancar; no se recorre la base de datos");
+            return;
+        }
+        rebuildAsync();
+    }
+
+    /**
+     * Indica si los índices ya se construyeron al menos una vez.
+     *
+     * @return true tras la primera reconstrucción completa
+     */
+    public boolean isBuilt() {
+        lock.lock();
+        try {
+            return built;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Lanza una reconstrucción completa en segundo plano.
+     *
+     * @return false si ya había una reconstrucción en curso
+     */
+    public boolean rebuildAsync() {
+        return rebuildAsync(indexes);
+    }
+
+    /**
+     * Reconstruye en segundo plano los índices que han perdido precisión.
+     */
+    @Scheduled(fixedDelayString = "${catalog.index.check-interval:PT1M}")
+    public void rebuildStaleIndexes() {
+        if (!isBuilt()) {
+            return;
+        }
+        List<ProductIndex> stale = indexes.stream().filter(ProductIndex::needsRebuild).toList();
+        if (!stale.isEmpty() && rebuildAsync(stale)) {
+            log.info("Reconstruyendo índices de productos desactualizados: {}",
+                    stale.stream().map(ProductIndex::name).toList());
+        }
+    }
+
+    private boolean rebuildAsync(List<ProductIndex> targets) {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.execute(() -> {
+            try {
+                rebuild("base de datos", productService::streamAllProducts, targets);
+            } catch (RuntimeException ex) {
+                log.error("Error reconstruyendo los índices de productos", ex);
+                // Si falla, los eventos encolados se aplican sobre los índices anteriores
+                finishRebuild(List.of());
+            } finally {
+                rebuildRunning.set(false);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Reconstruye los índices en el hilo actual a partir de otra fuente de productos.
+     *
+     * Los cambios que lleguen mientras tanto se encolan y se aplican al
+     * terminar, igual que en la reconstrucción desde la base de datos.
+     *
+     * @param source Nombre de la fuente, para los logs
+     * @param products Recorrido de todos los productos de la fuente
+     * @throws IllegalStateException si ya hay una reconstrucción en curso
+     */
+    public void rebuildFrom(String source, Consumer<Consumer<ProductResponse>> products) {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            throw new IllegalStateException("Ya hay una reconstrucción de los índices en curso");
+        }
+        try {
+            rebuild(source, products, indexes);
+        } catch (RuntimeException ex) {
+            finishRebuild(List.of());
+            throw ex;
+        } finally {
+            rebuildRunning.set(false);
+        }
+    }
+
+    /**
+     * Recibe los cambios confirmados y los aplica a todos los índices (o los encola).
+     *
+     * @param event Evento de cambio
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 20)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        lock.lock();
+        try {
+            for (ProductIndex index : indexes) {
+                if (!rebuilding.contains(index) || index.appliesDuringRebuild()) {
+                    apply(index, event);
+                }
+            }
+            if (!rebuilding.isEmpty()) {
+                pendingEvents.add(event);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void rebuild(String source, Consumer<Consumer<ProductResponse>> products, List<ProductIndex> targets) {
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            rebuilding = targets;
+        } finally {
+            lock.unlock();
+        }
+
+        List<ProductIndex.Rebuild> rebuilds = targets.stream().map(ProductIndex::startRebuild).toList();
+        long[] count = {0};
+        products.accept(product -> {
+            for (ProductIndex.Rebuild rebuild : rebuilds) {
+                rebuild.accept(product);
+            }
+            count[0]++;
+        });
+        int replayed = finishRebuild(rebuilds);
+
+        log.info("Índices de productos {} reconstruidos desde {}: {} productos en {} ms ({} cambios aplicados después)",
+                targets.stream().map(ProductIndex::name).toList(), source, count[0],
+                (System.nanoTime() - start) / 1_000_000, replayed);
+    }
+
+    private int finishRebuild(List<ProductIndex.Rebuild> rebuilds) {
+        lock.lock();
+        try {
+            rebuilds.forEach(ProductIndex.Rebuild::complete);
+            int replayed = pendingEvents.size();
+            for (ProductChangedEvent event : pendingEvents) {
+                rebuilding.forEach(index -> apply(index, event));
+            }
+            pendingEvents.clear();
+            rebuilding = List.of();
+            built |= !rebuilds.isEmpty();
+            return replayed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(ProductIndex index, ProductChangedEvent event) {
+        try {
+            index.apply(event);
+        } catch (RuntimeException ex) {
+            log.error("Error aplicando un cambio de tipo {} al índice {}", event.type(), index.name(), ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
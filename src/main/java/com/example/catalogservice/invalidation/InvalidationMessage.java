@@ -0,0 +1,94 @@
+package com.example.catalogservice.invalidation;
+
+import com.example.catalogservice.model.response.ProductResponse;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.List;
+
+/**
+ * Mensaje del bus de invalidación: un lote de productos que ha cambiado una instancia.
+ *
+ * Cada instancia numera sus mensajes con una secuencia propia, sin huecos,
+ * para que los receptores detecten los que se han perdido. Los mensajes sin
+ * entradas son latidos: repiten la secuencia del último mensaje enviado para
+ * que un mensaje perdido se detecte aunque la instancia no vuelva a escribir.
+ *
+ * @param origin Identificador de la instancia que lo envía
+ * @param sequence Secuencia del mensaje dentro de su origen (la del último mensaje en un latido)
+ * @param sentAt Instante de envío, en milisegundos desde epoch
+ * @param entries Productos cambiados (vacío en un latido)
+ * @author Tutorial
+ * @version 1.0
+ */
+public record InvalidationMessage(String origin, long sequence, long sentAt, List<Entry> entries) {
+
+    /**
+     * Indica si el mensaje es un latido sin cambios.
+     *
+     * @return true si no lleva entradas
+     */
+    @JsonIgnore
+    public boolean isHeartbeat() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Producto cambiado, con la versión que tenía tras el cambio.
+     *
+     * @param id ID del producto
+     * @param sku SKU del producto
+     * @param category Categoría del producto
+     * @param version Versión del registro tras el cambio
+     * @param deleted true si el producto se ha eliminado
+     */
+    public record Entry(Long id, String sku, String category, long version, boolean deleted) {
+
+        /**
+         * Versión que se anota para los productos eliminados: ningún cambio posterior puede superarla.
+         */
+        public static final long DELETED_VERSION = Long.MAX_VALUE;
+
+        /**
+         * Crea la entrada de un producto a partir de su último estado conocido.
+         *
+         * @param product Estado del producto
+         * @param deleted true si el producto se ha eliminado
+         * @return Entrada del mensaje
+         */
+        public static Entry of(ProductResponse product, boolean deleted) {
+            return new Entry(product.getId(), product.getSku(), product.getCategory(), versionOf(product), deleted);
+        }
+
+        /**
+         * Versión efectiva de la entrada al compararla con la ya aplicada.
+         *
+         * @return {@link #DELETED_VERSION} para un borrado; la versión del producto en otro caso
+         */
+        public long effectiveVersion() {
+            return deleted ? DELETED_VERSION : version;
+        }
+
+        /**
+         * Proyección mínima del producto eliminado, suficiente para invalidar cachés e índices.
+         *
+         * @return Producto con ID, SKU y categoría
+         */
+        public ProductResponse toDeletedProduct() {
+            return ProductResponse.builder().id(id).sku(sku).category(category).build();
+        }
+    }
+
+    /**
+     * Versión de un producto para comparar cambios.
+     *
+     * Es la versión del registro, que aumenta con cada escritura: a diferencia
+     * de updatedAt, no depende del reloj de la instancia que escribió ni puede
+     * repetirse entre dos escrituras seguidas.
+     *
+     * @param product Estado del producto
+     * @return Versión del registro; 0 si no se conoce
+     */
+    public static long versionOf(ProductResponse product) {
+        return product.getVersion() != null ? product.getVersion() : 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.catalogservice.invalidation;
+
+import java.util.function.Consumer;
+
+/**
+ * Medio por el que las instancias del servicio se envían los mensajes de invalidación.
+ *
+ * El transporte no garantiza la entrega: puede perder, duplicar o reordenar
+ * mensajes de orígenes distintos. {@link ProductInvalidationBus} descarta los
+ * duplicados y detecta los mensajes perdidos con la secuencia de cada origen.
+ * Lo que sí debe respetar es el orden de los mensajes de un mismo origen.
+ *
+ * La implementación se elige con {@code catalog.invalidation.transport}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public interface InvalidationTransport {
+
+    /**
+     * Envía un mensaje al resto de instancias.
+     *
+     * @param message Mensaje a enviar
+     * @throws RuntimeException si no se pudo enviar; el bus lo reintenta en el siguiente envío
+     */
+    void publish(InvalidationMessage message);
+
+    /**
+     * Empieza a entregar los mensajes que envíen otras instancias a partir de este momento.
+     *
+     * El transporte puede omitir los mensajes del propio origen; si los
+     * entrega, el receptor los descarta.
+     *
+     * @param origin Identificador de la instancia que se suscribe
+     * @param receiver Receptor de los mensajes
+     */
+    void subscribe(String origin, Consumer<InvalidationMessage> receiver);
+}
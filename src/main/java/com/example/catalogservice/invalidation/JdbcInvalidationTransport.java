@@ -0,0 +1,163 @@
+package com.example.catalogservice.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Transporte de invalidación a través de una tabla de la base de datos compartida.
+ *
+ * Todas las instancias del servicio ya comparten la base de datos, así que no
+ * hace falta ningún broker: cada mensaje es una fila de
+ * {@code product_invalidations} y cada instancia consulta periódicamente las
+ * filas nuevas de otros orígenes ({@code catalog.invalidation.poll-interval}).
+ * Las filas se borran pasado {@code catalog.invalidation.retention}.
+ *
+ * El número de fila lo asigna la base de datos al insertar, pero dos
+ * inserciones simultáneas pueden confirmarse en orden inverso: una consulta
+ * puede ver la fila 11 antes de que aparezca la 10. Por eso cada consulta
+ * vuelve a mirar las últimas {@code catalog.invalidation.poll-lookback} filas
+ * y entrega solo las que aún no había entregado.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.invalidation.transport", havingValue = "jdbc")
+@Slf4j
+public class JdbcInvalidationTransport implements InvalidationTransport {
+
+    private static final String CREATE_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS product_invalidations (
+                seq BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                origin VARCHAR(36) NOT NULL,
+                sent_at BIGINT NOT NULL,
+                payload VARCHAR(1000000) NOT NULL
+            )
+            """;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO product_invalidations (origin, sent_at, payload) VALUES (?, ?, ?)";
+
+    private static final String POLL_SQL =
+            "SELECT seq, payload FROM product_invalidations WHERE seq > ? AND origin <> ? ORDER BY seq LIMIT ?";
+
+    private static final String PURGE_SQL = "DELETE FROM product_invalidations WHERE sent_at < ?";
+
+    /**
+     * Número máximo de mensajes que se leen en cada consulta.
+     */
+    private static final int POLL_BATCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration pollInterval;
+    private final Duration retention;
+    private final int pollLookback;
+    private final ScheduledExecutorService poller;
+
+    // Solo se usan desde el hilo de consulta
+    private final NavigableSet<Long> delivered = new TreeSet<>();
+    private long lastSeq;
+    private String origin;
+    private Consumer<InvalidationMessage> receiver;
+
+    public JdbcInvalidationTransport(JdbcTemplate jdbcTemplate,
+                                     ObjectMapper objectMapper,
+                                     @Value("${catalog.invalidation.poll-interval:PT0.2S}") Duration pollInterval,
+                                     @Value("${catalog.invalidation.retention:PT1H}") Duration retention,
+                                     @Value("${catalog.invalidation.poll-lookback:100}") int pollLookback) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.pollInterval = pollInterval;
+        this.retention = retention;
+        this.pollLookback = pollLookback;
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, message.origin(), message.sentAt(), objectMapper.writeValueAsString(message));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el mensaje de invalidación", ex);
+        }
+    }
+
+    /**
+     * Empieza a consultar la tabla desde la última fila existente, sin leer los mensajes propios.
+     */
+    @Override
+    public void subscribe(String origin, Consumer<InvalidationMessage> receiver) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(seq), 0) FROM product_invalidations", Long.class);
+        poller.execute(() -> {
+            this.origin = origin;
+            this.receiver = receiver;
+            this.lastSeq = max != null ? max : 0;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollInterval.toMillis(), pollInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        long purgeMillis = Math.max(retention.toMillis() / 10, 1000);
+        poller.scheduleWithFixedDelay(this::purge, purgeMillis, purgeMillis, TimeUnit.MILLISECONDS);
+        log.info("Bus de invalidación por base de datos iniciado desde la fila {} (consulta cada {})",
+                max, pollInterval);
+    }
+
+    @PreDestroy
+    public void close() {
+        poller.shutdownNow();
+    }
+
+    private void poll() {
+        try {
+            long from = Math.max(0, lastSeq - pollLookback);
+            List<Row> rows = jdbcTemplate.query(POLL_SQL,
+                    (rs, rowNum) -> new Row(rs.getLong("seq"), rs.getString("payload")),
+                    from, origin, POLL_BATCH_SIZE);
+            for (Row row : rows) {
+                if (!delivered.add(row.seq())) {
+                    continue;
+                }
+                lastSeq = Math.max(lastSeq, row.seq());
+                receiver.accept(objectMapper.readValue(row.payload(), InvalidationMessage.class));
+            }
+            delivered.headSet(lastSeq - pollLookback, true).clear();
+        } catch (Exception ex) {
+            // Un fallo puntual no debe cancelar la tarea periódica
+            log.warn("Error consultando los mensajes de invalidación", ex);
+        }
+    }
+
+    private void purge() {
+        try {
+            int purged = jdbcTemplate.update(PURGE_SQL, System.currentTimeMillis() - retention.toMillis());
+            if (purged > 0) {
+                log.debug("{} mensajes de invalidación antiguos eliminados", purged);
+            }
+        } catch (Exception ex) {
+            log.warn("Error eliminando los mensajes de invalidación antiguos", ex);
+        }
+    }
+
+    private record Row(long seq, String payload) {
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.catalogservice.invalidation;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.Consumer;
+
+/**
+ * Transporte de invalidación entre contextos de Spring de la misma JVM.
+ *
+ * Pensado para pruebas y benchmarks que levantan varias instancias del
+ * servicio en un mismo proceso: los mensajes se entregan directamente, en el
+ * hilo que los envía, a todos los suscriptores del mismo canal
+ * ({@code catalog.invalidation.loopback-channel}).
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.invalidation.transport", havingValue = "loopback")
+@Slf4j
+public class LoopbackInvalidationTransport implements InvalidationTransport {
+
+    private static final Map<String, Set<Consumer<InvalidationMessage>>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final Set<Consumer<InvalidationMessage>> subscribers;
+    private volatile Consumer<InvalidationMessage> receiver;
+
+    public LoopbackInvalidationTransport(@Value("${catalog.invalidation.loopback-channel:catalog}") String channel) {
+        this.subscribers = CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArraySet<>());
+    }
+
+    @Override
+    public void publish(InvalidationMessage message) {
+        for (Consumer<InvalidationMessage> subscriber : subscribers) {
+            try {
+                subscriber.accept(message);
+            } catch (RuntimeException ex) {
+                // El fallo de un receptor no debe impedir la entrega al resto ni el envío
+                log.warn("Error entregando un mensaje de invalidación por el canal local", ex);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(String origin, Consumer<InvalidationMessage> receiver) {
+        this.receiver = receiver;
+        subscribers.add(receiver);
+    }
+
+    @PreDestroy
+    public void close() {
+        Consumer<InvalidationMessage> current = receiver;
+        if (current != null) {
+            subscribers.remove(current);
+        }
+    }
+}
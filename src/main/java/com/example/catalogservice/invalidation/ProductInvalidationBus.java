@@ -0,0 +1,384 @@
+package com.example.catalogservice.invalidation;
+
+import com.example.catalogservice.cache.ProductCache;
+import com.example.catalogservice.cache.ProductJsonCache;
+import com.example.catalogservice.cache.SecondLevelCacheEvictor;
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.example.catalogservice.index.ProductIndexManager;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bus de invalidación entre instancias del servicio desplegadas en paralelo.
+ *
+ * Cada instancia mantiene en memoria cachés e índices de productos que solo
+ * se enteran de los cambios que hace ella misma. El bus los propaga:
+ *
+ * - Envío: cada {@link ProductChangedEvent} local confirmado se anota como
+ *   pendiente (ID, SKU, categoría y versión del registro de cada producto). Cada {@code catalog.invalidation.batch-interval} los
+ *   pendientes se envían en mensajes de hasta
+ *   {@code catalog.invalidation.max-batch-size} productos; varios cambios del
+ *   mismo producto dentro del intervalo viajan como uno solo.
+ * - Recepción: se descartan los productos cuya versión ya se había aplicado,
+ *   se releen de la base de datos los demás y se publica un
+ *   ProductChangedEvent remoto, así que cachés, índices y contadores de stock
+ *   se actualizan por el mismo camino que con un cambio local.
+ * - Mensajes perdidos: los mensajes de cada instancia llevan una secuencia
+ *   sin huecos, y sin cambios se envía un latido con la última secuencia
+ *   cada {@code catalog.invalidation.heartbeat-interval}. Si falta un mensaje
+ *   se releen todos los productos con updatedAt posterior al último mensaje
+ *   recibido de esa instancia (menos un margen para relojes desajustados), se
+ *   vacían las cachés y se reconstruyen los índices, que también cubre los
+ *   borrados perdidos.
+ *
+ * El retraso entre el envío y la aplicación se publica en la métrica
+ * {@code catalog.invalidation.lag}; incluye el desajuste entre los relojes
+ * de las instancias.
+ *
+ * Solo existe con {@code catalog.invalidation.transport} distinto de none.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@ConditionalOnExpression("'${catalog.invalidation.transport:none}' != 'none'")
+@Slf4j
+public class ProductInvalidationBus {
+
+    /**
+     * Número máximo de IDs por consulta IN al releer los productos invalidados.
+     */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    private final InvalidationTransport transport;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductCache productCache;
+    private final ProductJsonCache productJsonCache;
+    private final ObjectProvider<SecondLevelCacheEvictor> secondLevelCacheEvictor;
+    private final ProductIndexManager indexManager;
+    private final int maxBatchSize;
+    private final long heartbeatMillis;
+    private final Duration resyncMargin;
+
+    private final String origin = UUID.randomUUID().toString();
+
+    /**
+     * Versión aplicada de cada producto cambiado por otra instancia (ID → versión).
+     */
+    private final Cache<Long, Long> appliedVersions;
+
+    // Envío: cambios pendientes por ID, en orden de llegada
+    private final Map<Long, InvalidationMessage.Entry> pending = new LinkedHashMap<>();
+    private final Lock sendLock = new ReentrantLock();
+    private long sequence;
+    private long lastSentMillis;
+
+    // Recepción: último mensaje aplicado de cada instancia
+    private final Map<String, OriginState> origins = new HashMap<>();
+    private final Lock receiveLock = new ReentrantLock();
+
+    private final Counter publishedCounter;
+    private final Counter publishFailuresCounter;
+    private final Counter receivedCounter;
+    private final Counter skippedCounter;
+    private final Counter resyncCounter;
+    private final Timer lagTimer;
+
+    public ProductInvalidationBus(InvalidationTransport transport,
+                                  ProductRepository productRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ProductCache productCache,
+                                  ProductJsonCache productJsonCache,
+                                  ObjectProvider<SecondLevelCacheEvictor> secondLevelCacheEvictor,
+                                  ProductIndexManager indexManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${catalog.invalidation.max-batch-size:500}") int maxBatchSize,
+                                  @Value("${catalog.invalidation.heartbeat-interval:PT10S}") Duration heartbeat,
+                                  @Value("${catalog.invalidation.resync-margin:PT10S}") Duration resyncMargin,
+                                  @Value("${catalog.invalidation.tracked-versions:100000}") long trackedVersions) {
+        this.transport = transport;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        this.productCache = productCache;
+        this.productJsonCache = productJsonCache;
+        this.secondLevelCacheEvictor = secondLevelCacheEvictor;
+        this.indexManager = indexManager;
+        this.maxBatchSize = maxBatchSize;
+        this.heartbeatMillis = heartbeat.toMillis();
+        this.resyncMargin = resyncMargin;
+        this.appliedVersions = Caffeine.newBuilder().maximumSize(trackedVersions).build();
+
+        this.publishedCounter = Counter.builder("catalog.invalidation.published")
+                .description("Productos enviados al bus de invalidación")
+                .register(meterRegistry);
+        this.publishFailuresCounter = Counter.builder("catalog.invalidation.publish.failures")
+                .description("Envíos al bus de invalidación fallidos (se reintentan)")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("catalog.invalidation.received")
+                .description("Productos recibidos de otras instancias")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("catalog.invalidation.skipped")
+                .description("Productos recibidos cuya versión ya estaba aplicada")
+                .register(meterRegistry);
+        this.resyncCounter = Counter.builder("catalog.invalidation.resyncs")
+                .description("Resincronizaciones por mensajes de invalidación perdidos")
+                .register(meterRegistry);
+        this.lagTimer = Timer.builder("catalog.invalidation.lag")
+                .description("Tiempo desde que otra instancia envía un cambio hasta que se aplica")
+                .register(meterRegistry);
+        Gauge.builder("catalog.invalidation.pending", this, ProductInvalidationBus::pendingCount)
+                .description("Productos cambiados pendientes de enviar")
+                .register(meterRegistry);
+
+        transport.subscribe(origin, this::receive);
+        log.info("Bus de invalidación iniciado (origen: {}, transporte: {})",
+                origin, transport.getClass().getSimpleName());
+    }
+
+    /**
+     * Anota los productos de un cambio local confirmado para enviarlos en el próximo lote.
+     *
+     * Los cambios remotos no se reenvían. Un cambio local hace que se olvide
+     * la versión remota aplicada del producto: el estado local pasa a ser el
+     * más reciente.
+     *
+     * @param event Evento de cambio confirmado
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE + 40)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.remote()) {
+            return;
+        }
+        boolean deleted = event.type() == ChangeType.DELETED;
+        List<Long> ids = new ArrayList<>(event.products().size());
+        synchronized (pending) {
+            for (ProductResponse product : event.products()) {
+                pending.put(product.getId(), InvalidationMessage.Entry.of(product, deleted));
+                ids.add(product.getId());
+            }
+        }
+        appliedVersions.invalidateAll(ids);
+    }
+
+    /**
+     * Envía los cambios pendientes, o un latido si hace tiempo que no se envía nada.
+     *
+     * Si el transporte falla, los cambios vuelven a quedar pendientes (salvo
+     * que ya haya otro más reciente del mismo producto) y se reintentan en la
+     * siguiente ejecución. La secuencia solo avanza con los envíos correctos.
+     */
+    @Scheduled(fixedDelayString = "${catalog.invalidation.batch-interval:PT0.05S}")
+    public void flush() {
+        sendLock.lock();
+        try {
+            List<InvalidationMessage.Entry> entries;
+            synchronized (pending) {
+                entries = new ArrayList<>(pending.values());
+                pending.clear();
+            }
+
+            long now = System.currentTimeMillis();
+            if (entries.isEmpty()) {
+                if (now - lastSentMillis >= heartbeatMillis) {
+                    send(new InvalidationMessage(origin, sequence, now, List.of()));
+                }
+                return;
+            }
+
+            for (int from = 0; from < entries.size(); from += maxBatchSize) {
+                List<InvalidationMessage.Entry> batch =
+                        List.copyOf(entries.subList(from, Math.min(from + maxBatchSize, entries.size())));
+                if (!send(new InvalidationMessage(origin, sequence + 1, now, batch))) {
+                    requeue(entries.subList(from, entries.size()));
+                    return;
+                }
+                sequence++;
+                publishedCounter.increment(batch.size());
+            }
+        } finally {
+            sendLock.unlock();
+        }
+    }
+
+    /**
+     * Envía los cambios pendientes antes de parar, para que el resto de instancias no los pierdan.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * Aplica un mensaje recibido de otra instancia.
+     *
+     * @param message Mensaje recibido
+     */
+    void receive(InvalidationMessage message) {
+        if (origin.equals(message.origin())) {
+            return;
+        }
+        receiveLock.lock();
+        try {
+            OriginState state = origins.get(message.origin());
+            long expected = state == null ? message.sequence() : state.sequence() + (message.isHeartbeat() ? 0 : 1);
+            if (message.sequence() < expected) {
+                // Duplicado, o latido de una secuencia ya aplicada
+                return;
+            }
+            if (message.sequence() > expected) {
+                resync(message.origin(), state);
+            }
+            if (!message.isHeartbeat()) {
+                apply(message.entries());
+                lagTimer.record(Math.max(0, System.currentTimeMillis() - message.sentAt()), TimeUnit.MILLISECONDS);
+            }
+            origins.put(message.origin(), new OriginState(message.sequence(), message.sentAt()));
+        } catch (RuntimeException ex) {
+            // La secuencia de ese origen no avanza: el siguiente mensaje se verá
+            // como un hueco y provocará una resincronización
+            log.warn("Error aplicando un mensaje de invalidación de {}", message.origin(), ex);
+        } finally {
+            receiveLock.unlock();
+        }
+    }
+
+    /**
+     * Relee de la base de datos los productos cuya versión aún no se había aplicado.
+     */
+    private void apply(List<InvalidationMessage.Entry> entries) {
+        receivedCounter.increment(entries.size());
+        Map<Long, InvalidationMessage.Entry> stale = new LinkedHashMap<>();
+        for (InvalidationMessage.Entry entry : entries) {
+            Long applied = appliedVersions.getIfPresent(entry.id());
+            if (applied != null && applied >= entry.effectiveVersion()) {
+                skippedCounter.increment();
+            } else {
+                stale.put(entry.id(), entry);
+            }
+        }
+        if (stale.isEmpty()) {
+            return;
+        }
+
+        List<Long> reload = stale.values().stream()
+                .filter(entry -> !entry.deleted())
+                .map(InvalidationMessage.Entry::id)
+                .toList();
+        List<ProductResponse> updated = new ArrayList<>(reload.size());
+        for (int from = 0; from < reload.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            updated.addAll(productRepository.findResponsesByIdIn(
+                    reload.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, reload.size()))));
+        }
+
+        // Lo que ya no está en la base de datos se ha eliminado, aunque el mensaje hablara de una modificación
+        for (ProductResponse product : updated) {
+            stale.remove(product.getId());
+            appliedVersions.put(product.getId(), InvalidationMessage.versionOf(product));
+        }
+        List<ProductResponse> deleted = new ArrayList<>(stale.size());
+        for (InvalidationMessage.Entry entry : stale.values()) {
+            deleted.add(entry.toDeletedProduct());
+            appliedVersions.put(entry.id(), InvalidationMessage.Entry.DELETED_VERSION);
+        }
+
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.UPDATED, updated, true));
+        }
+        if (!deleted.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.DELETED, deleted, true));
+        }
+        log.debug("Invalidación remota aplicada: {} producto(s) modificados, {} eliminados",
+                updated.size(), deleted.size());
+    }
+
+    /**
+     * Se pone al día tras perder mensajes de una instancia.
+     *
+     * @param lostOrigin Instancia de la que se han perdido mensajes
+     * @param state Último mensaje aplicado de esa instancia
+     */
+    private void resync(String lostOrigin, OriginState state) {
+        resyncCounter.increment();
+        LocalDateTime since = LocalDateTime.ofInstant(
+                Instant.ofEpochMilli(state.sentAt()).minus(resyncMargin), ZoneId.systemDefault());
+        log.warn("Mensajes de invalidación perdidos de {} tras la secuencia {}; releyendo los cambios desde {}",
+                lostOrigin, state.sequence(), since);
+
+        List<ProductResponse> changed = productRepository.findResponsesChangedSince(since);
+        for (ProductResponse product : changed) {
+            appliedVersions.put(product.getId(), InvalidationMessage.versionOf(product));
+        }
+
+        // Los borrados perdidos no aparecen en la consulta: se vacían las cachés y se reconstruyen los índices
+        productCache.clear();
+        productJsonCache.clear();
+        secondLevelCacheEvictor.ifAvailable(SecondLevelCacheEvictor::evictAll);
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.UPDATED, changed, true));
+        }
+        indexManager.rebuildAsync();
+    }
+
+    private boolean send(InvalidationMessage message) {
+        try {
+            transport.publish(message);
+            lastSentMillis = message.sentAt();
+            return true;
+        } catch (RuntimeException ex) {
+            publishFailuresCounter.increment();
+            log.warn("No se pudo enviar el mensaje de invalidación {}; se reintentará", message.sequence(), ex);
+            return false;
+        }
+    }
+
+    private void requeue(List<InvalidationMessage.Entry> entries) {
+        synchronized (pending) {
+            for (InvalidationMessage.Entry entry : entries) {
+                pending.putIfAbsent(entry.id(), entry);
+            }
+        }
+    }
+
+    private int pendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private record OriginState(long sequence, long sentAt) {
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.catalogservice.metrics;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Envoltorio de la respuesta que cuenta los bytes escritos en el cuerpo.
+ *
+ * Los bytes se cuentan antes de la compresión que pueda aplicar Tomcat; las
+ * respuestas que ya salen comprimidas de ProductJsonCache cuentan su tamaño
+ * comprimido.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class CountingResponseWrapper extends HttpServletResponseWrapper {
+
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    CountingResponseWrapper(HttpServletResponse response) {
+        super(response);
+    }
+
+    /**
+     * Número de bytes escritos hasta el momento.
+     *
+     * @return Bytes del cuerpo
+     */
+    long getBytesWritten() {
+        return bytesWritten.get();
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new CountingOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(),
+                    Charset.forName(getCharacterEncoding())), true);
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    /**
+     * ServletOutputStream que delega en el original y suma los bytes escritos.
+     */
+    private class CountingOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        CountingOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            bytesWritten.incrementAndGet();
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            bytesWritten.addAndGet(len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
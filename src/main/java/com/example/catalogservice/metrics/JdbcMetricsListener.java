@@ -0,0 +1,69 @@
+package com.example.catalogservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryUtils;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mide cada sentencia JDBC ejecutada a través del DataSource.
+ *
+ * Registra el timer "catalog.jdbc.query" etiquetado por tipo de sentencia
+ * (select, insert, update, delete...) y resultado, y suma la consulta a los
+ * contadores de la petición HTTP en curso. La duración se mide con nanoTime
+ * porque la que calcula datasource-proxy tiene resolución de milisegundos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public class JdbcMetricsListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "catalog.startNanos";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Timers ya registrados, para no buscar en el registro en cada sentencia.
+     */
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public JdbcMetricsListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        String type = queryInfoList.isEmpty()
+                ? "other"
+                : QueryUtils.getQueryType(queryInfoList.get(0).getQuery()).name().toLowerCase(Locale.ROOT);
+
+        String batch = String.valueOf(execInfo.isBatch());
+        String outcome = execInfo.isSuccess() ? "success" : "error";
+        timers.computeIfAbsent(type + '|' + batch + '|' + outcome, key -> Timer.builder("catalog.jdbc.query")
+                        .description("Duración de las sentencias JDBC")
+                        .tag("type", type)
+                        .tag("batch", batch)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .record(elapsed, TimeUnit.NANOSECONDS);
+        RequestMetrics.recordQuery(elapsed);
+    }
+}
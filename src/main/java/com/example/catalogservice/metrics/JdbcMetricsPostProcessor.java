@@ -0,0 +1,56 @@
+package com.example.catalogservice.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Envuelve el DataSource con datasource-proxy para medir todas las sentencias JDBC.
+ *
+ * El proxy delega unwrap() en el pool, de modo que las métricas de Hikari
+ * (espera por conexión, conexiones activas...) se siguen registrando.
+ * El MeterRegistry se resuelve de forma perezosa para no forzar su creación
+ * durante el registro de post-procesadores.
+ *
+ * Si se configura una tasa de muestreo o un umbral de sentencias lentas se
+ * añade también {@link SampledSqlLogListener}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+public class JdbcMetricsPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final double sqlLogSampleRate;
+    private final Duration sqlLogSlowThreshold;
+
+    public JdbcMetricsPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                                    @Value("${catalog.sql-log.sample-rate:0}") double sqlLogSampleRate,
+                                    @Value("${catalog.sql-log.slow-threshold:0ms}") Duration sqlLogSlowThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.sqlLogSampleRate = sqlLogSampleRate;
+        this.sqlLogSlowThreshold = sqlLogSlowThreshold;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                    .name(beanName)
+                    .listener(new JdbcMetricsListener(meterRegistry.getObject()));
+            if (sqlLogSampleRate > 0 || !sqlLogSlowThreshold.isZero()) {
+                builder.listener(new SampledSqlLogListener(sqlLogSampleRate, sqlLogSlowThreshold));
+            }
+            return builder.build();
+        }
+        return bean;
+    }
+}
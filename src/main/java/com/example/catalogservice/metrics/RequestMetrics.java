@@ -0,0 +1,62 @@
+package com.example.catalogservice.metrics;
+
+/**
+ * Contadores de la petición HTTP en curso, asociados al hilo que la atiende.
+ *
+ * RequestMetricsFilter los inicia al entrar la petición y los lee al salir;
+ * JdbcMetricsListener suma cada consulta ejecutada por ese mismo hilo. Las
+ * consultas lanzadas desde otros hilos (reconstrucción de índices, respuestas
+ * en streaming) no se atribuyen a ninguna petición.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public final class RequestMetrics {
+
+    private static final ThreadLocal<RequestMetrics> CURRENT = new ThreadLocal<>();
+
+    private int queryCount;
+    private long queryTimeNanos;
+
+    private RequestMetrics() {
+    }
+
+    /**
+     * Inicia los contadores para la petición del hilo actual.
+     *
+     * @return Contadores de la petición
+     */
+    static RequestMetrics start() {
+        RequestMetrics metrics = new RequestMetrics();
+        CURRENT.set(metrics);
+        return metrics;
+    }
+
+    /**
+     * Desasocia los contadores del hilo actual.
+     */
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Registra una consulta JDBC en la petición del hilo actual, si la hay.
+     *
+     * @param elapsedNanos Duración de la consulta
+     */
+    static void recordQuery(long elapsedNanos) {
+        RequestMetrics metrics = CURRENT.get();
+        if (metrics != null) {
+            metrics.queryCount++;
+            metrics.queryTimeNanos += elapsedNanos;
+        }
+    }
+
+    public int getQueryCount() {
+        return queryCount;
+    }
+
+    public long getQueryTimeNanos() {
+        return queryTimeNanos;
+    }
+}
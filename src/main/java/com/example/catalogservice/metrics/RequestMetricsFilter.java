@@ -0,0 +1,130 @@
+package com.example.catalogservice.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtro que registra, por endpoint, el tamaño de la respuesta y el trabajo JDBC de cada petición.
+ *
+ * Complementa a "http.server.requests" (que Spring Boot registra de serie) con:
+ * - catalog.http.response.size: bytes del cuerpo de la respuesta
+ * - catalog.http.jdbc.queries: número de sentencias JDBC de la petición
+ * - catalog.http.jdbc.time: tiempo total en JDBC de la petición
+ *
+ * Comparando el tiempo JDBC con el tiempo total de la petición se distingue
+ * si una subida de latencia viene de la base de datos o del resto (serialización,
+ * espera por hilos o por el control de admisión).
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@Slf4j
+public class RequestMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestMetricsFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        CountingResponseWrapper countingResponse = new CountingResponseWrapper(response);
+        RequestMetrics metrics = RequestMetrics.start();
+        try {
+            filterChain.doFilter(request, countingResponse);
+        } finally {
+            RequestMetrics.end();
+            if (request.isAsyncStarted()) {
+                // Respuestas en streaming: el cuerpo se escribe en otro hilo, se mide al terminar
+                request.getAsyncContext().addListener(new AsyncCompletionListener(request, countingResponse, metrics));
+            } else {
+                record(request, countingResponse, metrics);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, CountingResponseWrapper response, RequestMetrics metrics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of(
+                "uri", pattern != null ? pattern.toString() : "UNKNOWN",
+                "method", request.getMethod(),
+                "status", String.valueOf(response.getStatus()));
+
+        DistributionSummary.builder("catalog.http.response.size")
+                .description("Tamaño del cuerpo de la respuesta")
+                .baseUnit("bytes")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(response.getBytesWritten());
+        DistributionSummary.builder("catalog.http.jdbc.queries")
+                .description("Sentencias JDBC ejecutadas por petición")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(metrics.getQueryCount());
+        Timer.builder("catalog.http.jdbc.time")
+                .description("Tiempo total en JDBC por petición")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(metrics.getQueryTimeNanos(), TimeUnit.NANOSECONDS);
+
+        if (log.isDebugEnabled()) {
+            log.debug("{} {} → {}: {} consultas JDBC ({} µs), {} bytes", request.getMethod(), request.getRequestURI(),
+                    response.getStatus(), metrics.getQueryCount(), metrics.getQueryTimeNanos() / 1_000,
+                    response.getBytesWritten());
+        }
+    }
+
+    /**
+     * Registra las métricas de una petición asíncrona cuando termina.
+     */
+    private class AsyncCompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final CountingResponseWrapper response;
+        private final RequestMetrics metrics;
+
+        AsyncCompletionListener(HttpServletRequest request, CountingResponseWrapper response, RequestMetrics metrics) {
+            this.request = request;
+            this.response = response;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, response, metrics);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
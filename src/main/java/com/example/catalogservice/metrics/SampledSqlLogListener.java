@@ -0,0 +1,82 @@
+package com.example.catalogservice.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registra en el log una muestra de las sentencias JDBC y todas las lentas.
+ *
+ * Sustituye en producción a org.hibernate.SQL y BasicBinder, que escriben cada
+ * sentencia y cada parámetro: con carga, el propio log se convierte en el
+ * cuello de botella. Aquí solo se escribe una fracción de las sentencias
+ * (sample-rate) y las que superan el umbral de lentitud, con sus parámetros.
+ * El log se escribe en el logger "catalog.sql", que en el perfil prod va a un
+ * appender asíncrono.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Slf4j(topic = "catalog.sql")
+public class SampledSqlLogListener implements QueryExecutionListener {
+
+    private static final String START_NANOS = "catalog.sqlLog.startNanos";
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    /**
+     * @param sampleRate Fracción de sentencias que se registran (0 a 1)
+     * @param slowThreshold Duración a partir de la cual una sentencia se registra siempre (0 = nunca)
+     */
+    public SampledSqlLogListener(double sampleRate, Duration slowThreshold) {
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.isZero() ? Long.MAX_VALUE : slowThreshold.toNanos();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        if (start == null || queryInfoList.isEmpty()) {
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        if (elapsed >= slowThresholdNanos) {
+            log.warn("Sentencia lenta ({} ms, {} lote(s)): {} | parámetros: {}",
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), execInfo.getBatchSize(),
+                    queryInfoList.get(0).getQuery(), parameters(queryInfoList.get(0)));
+        } else if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate && log.isInfoEnabled()) {
+            log.info("Muestra ({} µs): {} | parámetros: {}",
+                    TimeUnit.NANOSECONDS.toMicros(elapsed), queryInfoList.get(0).getQuery(),
+                    parameters(queryInfoList.get(0)));
+        }
+    }
+
+    /**
+     * Parámetros del primer juego de la sentencia (en un lote, el de la primera fila).
+     */
+    private static List<Object> parameters(QueryInfo queryInfo) {
+        if (queryInfo.getParametersList().isEmpty()) {
+            return List.of();
+        }
+        List<Object> values = new ArrayList<>();
+        for (ParameterSetOperation operation : queryInfo.getParametersList().get(0)) {
+            Object[] args = operation.getArgs();
+            values.add(args.length > 1 ? args[1] : null);
+        }
+        return values;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.catalogservice.model;
 
+import com.example.catalogservice.event.ProductEntityListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -9,6 +10,9 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -25,23 +29,60 @@ import java.time.LocalDateTime;
  * - @NoArgsConstructor: Constructor sin argumentos (requerido por JPA)
  * - @AllArgsConstructor: Constructor con todos los argumentos
  * 
+ * Los índices cubren los órdenes de la consulta por criterios (GET
+ * /products/query): por ID, precio o fecha de modificación, con o sin
+ * categoría, terminando siempre en el ID para la paginación keyset. H2 no
+ * recorre un índice en sentido inverso, por lo que cada orden tiene también
+ * su índice descendente.
+ * 
+ * La entidad puede guardarse en la caché de segundo nivel de Hibernate, que
+ * solo se activa en el perfil prod (READ_WRITE: las lecturas nunca ven una
+ * escritura sin confirmar).
+ * 
  * @author Tutorial
  * @version 1.0
  */
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category_id", columnList = "category, id"),
+        @Index(name = "idx_products_category_id_desc", columnList = "category desc, id desc"),
+        @Index(name = "idx_products_category_price", columnList = "category, price, id"),
+        @Index(name = "idx_products_category_price_desc", columnList = "category desc, price desc, id desc"),
+        @Index(name = "idx_products_price", columnList = "price, id"),
+        @Index(name = "idx_products_price_desc", columnList = "price desc, id desc"),
+        @Index(name = "idx_products_updated_at", columnList = "updated_at, id"),
+        @Index(name = "idx_products_updated_at_desc", columnList = "updated_at desc, id desc"),
+        @Index(name = "idx_products_id_desc", columnList = "id desc")
+})
+@EntityListeners(ProductEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Product {
 
+    /**
+     * Nombre de la secuencia de la que se obtienen los IDs de producto.
+     */
+    public static final String ID_SEQUENCE = "products_seq";
+
+    /**
+     * Número de IDs que se reservan con cada valor de la secuencia (optimizador pooled-lo).
+     * La importación masiva por JDBC reserva los IDs con la misma regla.
+     */
+    public static final int ID_ALLOCATION_SIZE = 50;
+
     /**
      * Identificador único del producto.
-     * Se genera automáticamente con una estrategia de identidad.
+     * Se genera a partir de una secuencia que reserva bloques de IDs: a
+     * diferencia de IDENTITY, Hibernate conoce el ID antes del INSERT y puede
+     * agrupar las inserciones en lotes JDBC.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = ID_SEQUENCE)
+    @SequenceGenerator(name = ID_SEQUENCE, sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
 
     /**
@@ -104,6 +145,18 @@ public class Product {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    /**
+     * Versión del registro para el control de concurrencia optimista.
+     *
+     * Cualquier escritura la incrementa: Hibernate al modificar la entidad, y
+     * las sentencias de actualización (JPQL o JDBC) en la propia sentencia.
+     * Las escrituras condicionales solo se aplican si no ha cambiado.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Método que se ejecuta antes de persistir o actualizar la entidad.
      * Actualiza el campo updatedAt con la fecha y hora actual.
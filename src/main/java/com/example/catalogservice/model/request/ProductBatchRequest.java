@@ -0,0 +1,42 @@
+package com.example.catalogservice.model.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con los identificadores a resolver en una consulta por lotes.
+ *
+ * Se pueden combinar IDs y SKUs en la misma petición; cada lista admite
+ * como máximo {@value #MAX_BATCH_SIZE} elementos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchRequest {
+
+    /**
+     * Número máximo de identificadores por lista.
+     */
+    public static final int MAX_BATCH_SIZE = 5000;
+
+    /**
+     * IDs de los productos a buscar.
+     */
+    @Size(max = MAX_BATCH_SIZE, message = "Se admiten como máximo " + MAX_BATCH_SIZE + " IDs por petición")
+    private List<Long> ids;
+
+    /**
+     * Códigos SKU de los productos a buscar.
+     */
+    @Size(max = MAX_BATCH_SIZE, message = "Se admiten como máximo " + MAX_BATCH_SIZE + " SKUs por petición")
+    private List<String> skus;
+}
@@ -0,0 +1,55 @@
+package com.example.catalogservice.model.request;
+
+import com.example.catalogservice.bulk.ProductSelection;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con la selección de productos a eliminar de forma masiva.
+ *
+ * Se debe indicar exactamente uno de los criterios: IDs, categoría o prefijo de SKU.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkDeleteRequest {
+
+    /**
+     * Número máximo de IDs por petición.
+     */
+    public static final int MAX_IDS = 50_000;
+
+    /**
+     * IDs de los productos a eliminar.
+     */
+    @Size(max = MAX_IDS, message = "Se admiten como máximo " + MAX_IDS + " IDs por petición")
+    private List<Long> ids;
+
+    /**
+     * Categoría cuyos productos se eliminan.
+     */
+    private String category;
+
+    /**
+     * Prefijo de SKU de los productos a eliminar.
+     */
+    private String skuPrefix;
+
+    /**
+     * Convierte la petición en la selección de productos.
+     *
+     * @return Selección validada
+     */
+    public ProductSelection toSelection() {
+        return new ProductSelection(ids, category, skuPrefix);
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.catalogservice.model.request;
+
+import com.example.catalogservice.bulk.ProductSelection;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * DTO con la selección de productos y el cambio a aplicarles de forma masiva.
+ *
+ * Se debe indicar exactamente uno de los criterios de selección (IDs,
+ * categoría o prefijo de SKU) y exactamente uno de los cambios (stock,
+ * stockDelta, price o pricePercent).
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBulkUpdateRequest {
+
+    /**
+     * IDs de los productos a actualizar.
+     */
+    @Size(max = ProductBulkDeleteRequest.MAX_IDS,
+            message = "Se admiten como máximo " + ProductBulkDeleteRequest.MAX_IDS + " IDs por petición")
+    private List<Long> ids;
+
+    /**
+     * Categoría cuyos productos se actualizan.
+     */
+    private String category;
+
+    /**
+     * Prefijo de SKU de los productos a actualizar.
+     */
+    private String skuPrefix;
+
+    /**
+     * Nuevo stock.
+     */
+    private Integer stock;
+
+    /**
+     * Cantidad a sumar al stock (negativa para restar; el stock no baja de cero).
+     */
+    private Integer stockDelta;
+
+    /**
+     * Nuevo precio.
+     */
+    private BigDecimal price;
+
+    /**
+     * Porcentaje a aplicar al precio (-10 para una rebaja del 10 %).
+     */
+    private BigDecimal pricePercent;
+
+    /**
+     * Convierte la petición en la selección de productos.
+     *
+     * @return Selección validada
+     */
+    public ProductSelection toSelection() {
+        return new ProductSelection(ids, category, skuPrefix);
+    }
+}
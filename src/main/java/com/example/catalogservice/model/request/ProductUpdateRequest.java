@@ -0,0 +1,60 @@
+package com.example.catalogservice.model.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO con los nuevos datos de un producto (reemplazo completo).
+ *
+ * El SKU identifica al producto y no se puede cambiar.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductUpdateRequest {
+
+    /**
+     * Nombre del producto.
+     */
+    @NotBlank(message = "El nombre del producto es obligatorio")
+    @Size(min = 3, max = 100, message = "El nombre debe tener entre 3 y 100 caracteres")
+    private String name;
+
+    /**
+     * Descripción detallada del producto.
+     */
+    @Size(max = 2000, message = "La descripción admite como máximo 2000 caracteres")
+    private String description;
+
+    /**
+     * Precio del producto.
+     */
+    @NotNull(message = "El precio es obligatorio")
+    @Positive(message = "El precio debe ser mayor que cero")
+    private BigDecimal price;
+
+    /**
+     * Cantidad de stock disponible.
+     */
+    @NotNull(message = "El stock es obligatorio")
+    @PositiveOrZero(message = "El stock no puede ser negativo")
+    private Integer stock;
+
+    /**
+     * Categoría a la que pertenece el producto.
+     */
+    private String category;
+}
@@ -0,0 +1,40 @@
+package com.example.catalogservice.model.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con los datos de una reserva de stock.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReservationRequest {
+
+    /**
+     * ID del producto a reservar.
+     */
+    @NotNull(message = "El ID del producto es obligatorio")
+    private Long productId;
+
+    /**
+     * Unidades a reservar.
+     */
+    @NotNull(message = "La cantidad es obligatoria")
+    @Positive(message = "La cantidad debe ser mayor que cero")
+    private Integer quantity;
+
+    /**
+     * Segundos hasta que la reserva se libera sola (opcional).
+     */
+    @Positive(message = "El TTL debe ser mayor que cero")
+    private Long ttlSeconds;
+}
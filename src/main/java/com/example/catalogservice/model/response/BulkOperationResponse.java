@@ -0,0 +1,24 @@
+package com.example.catalogservice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resultado de una operación masiva sobre productos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkOperationResponse {
+
+    /**
+     * Número de productos eliminados o modificados.
+     */
+    private Long affected;
+}
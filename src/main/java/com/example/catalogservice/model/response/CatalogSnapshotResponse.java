@@ -0,0 +1,52 @@
+package com.example.catalogservice.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con la información de una instantánea del catálogo.
+ *
+ * Es inmutable: el servicio guarda la última instantánea y la devuelve en
+ * cada consulta, con el estado de la carga copiado con toBuilder().
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Value
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CatalogSnapshotResponse {
+
+    /**
+     * Ruta del fichero de la instantánea.
+     */
+    private String file;
+
+    /**
+     * Número de productos de la instantánea.
+     */
+    private Long products;
+
+    /**
+     * Tamaño del fichero en bytes.
+     */
+    private Long sizeBytes;
+
+    /**
+     * Momento en que se escribió la instantánea.
+     */
+    private LocalDateTime createdAt;
+
+    /**
+     * Tiempo que llevó escribirla (o abrirla y construir los índices al arrancar), en milisegundos.
+     */
+    private Long durationMs;
+
+    /**
+     * Indica si la instantánea se está cargando en la base de datos.
+     */
+    private Boolean restoring;
+}
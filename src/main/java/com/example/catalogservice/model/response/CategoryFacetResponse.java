@@ -0,0 +1,32 @@
+package com.example.catalogservice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Número de productos de una categoría que cumplen los filtros de una consulta de facetas.
+ *
+ * También se usa como proyección JPQL en la consulta GROUP BY de respaldo,
+ * por lo que el orden de los campos forma parte de ese contrato.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryFacetResponse {
+
+    /**
+     * Nombre de la categoría.
+     */
+    private String category;
+
+    /**
+     * Número de productos de la categoría que cumplen los filtros.
+     */
+    private Long count;
+}
@@ -0,0 +1,49 @@
+package com.example.catalogservice.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida mediante paginación por cursor (keyset).
+ *
+ * A diferencia de la paginación por offset, el cliente no indica un número de
+ * página sino el cursor opaco devuelto en la respuesta anterior. La consulta
+ * continúa justo después del último elemento entregado, por lo que su coste
+ * no crece con la profundidad de la página.
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> {
+
+    /**
+     * Elementos de la página actual.
+     */
+    private List<T> items;
+
+    /**
+     * Cursor opaco para solicitar la siguiente página (null si no hay más).
+     */
+    private String nextCursor;
+
+    /**
+     * Indica si existen más elementos después de esta página.
+     */
+    private boolean hasMore;
+
+    /**
+     * Tamaño máximo de página solicitado.
+     */
+    private int limit;
+}
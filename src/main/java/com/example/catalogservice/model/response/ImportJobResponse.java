@@ -0,0 +1,83 @@
+package com.example.catalogservice.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Estado y progreso de un trabajo de importación masiva.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportJobResponse {
+
+    /**
+     * Identificador del trabajo.
+     */
+    private String id;
+
+    /**
+     * Estado: PENDING, RUNNING, COMPLETED o FAILED.
+     */
+    private String status;
+
+    /**
+     * Formato del fichero (CSV o NDJSON).
+     */
+    private String format;
+
+    /**
+     * Porcentaje del fichero procesado (0-100).
+     */
+    private double progress;
+
+    /**
+     * Filas leídas hasta el momento.
+     */
+    private long rowsRead;
+
+    /**
+     * Productos nuevos insertados.
+     */
+    private long inserted;
+
+    /**
+     * Productos existentes (mismo SKU) que se actualizaron.
+     */
+    private long updated;
+
+    /**
+     * Productos existentes que ya tenían los mismos datos.
+     */
+    private long unchanged;
+
+    /**
+     * Filas rechazadas por errores de formato o validación.
+     */
+    private long failed;
+
+    /**
+     * Primeros errores por fila (la lista está acotada; "failed" tiene el total).
+     */
+    private List<ImportRowErrorResponse> errors;
+
+    /**
+     * Motivo del fallo del trabajo completo, si lo hubo.
+     */
+    private String message;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime finishedAt;
+}
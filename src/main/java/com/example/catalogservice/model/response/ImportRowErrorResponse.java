@@ -0,0 +1,36 @@
+package com.example.catalogservice.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Error de una fila concreta de un fichero de importación.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ImportRowErrorResponse {
+
+    /**
+     * Línea del fichero en la que empieza la fila.
+     */
+    private long line;
+
+    /**
+     * SKU de la fila, si pudo leerse.
+     */
+    private String sku;
+
+    /**
+     * Descripción del error.
+     */
+    private String message;
+}
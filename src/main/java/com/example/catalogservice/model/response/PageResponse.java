@@ -0,0 +1,70 @@
+package com.example.catalogservice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página de resultados obtenida mediante paginación por número de página.
+ *
+ * Se usa en los resultados ordenados por relevancia, donde no existe una clave
+ * estable sobre la que construir un cursor.
+ *
+ * @param <T> Tipo de los elementos de la página
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageResponse<T> {
+
+    /**
+     * Elementos de la página actual.
+     */
+    private List<T> items;
+
+    /**
+     * Número de página (empezando en 0).
+     */
+    private int page;
+
+    /**
+     * Tamaño de página solicitado.
+     */
+    private int size;
+
+    /**
+     * Número total de elementos que coinciden.
+     */
+    private long totalElements;
+
+    /**
+     * Número total de páginas.
+     */
+    private int totalPages;
+
+    /**
+     * Construye una página calculando el número total de páginas.
+     *
+     * @param items Elementos de la página
+     * @param page Número de página
+     * @param size Tamaño de página
+     * @param totalElements Total de elementos
+     * @param <T> Tipo de los elementos
+     * @return Página construida
+     */
+    public static <T> PageResponse<T> of(List<T> items, int page, int size, long totalElements) {
+        return PageResponse.<T>builder()
+                .items(items)
+                .page(page)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages((int) ((totalElements + size - 1) / size))
+                .build();
+    }
+}
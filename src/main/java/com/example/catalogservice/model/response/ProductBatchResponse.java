@@ -0,0 +1,46 @@
+package com.example.catalogservice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DTO con el resultado de una consulta de productos por lotes.
+ *
+ * Los productos encontrados se devuelven indexados por el identificador con el
+ * que se pidieron, y los identificadores sin producto se listan aparte: un
+ * identificador inexistente no hace fallar el lote completo.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchResponse {
+
+    /**
+     * Productos encontrados, indexados por ID.
+     */
+    private Map<Long, ProductResponse> byId;
+
+    /**
+     * Productos encontrados, indexados por SKU.
+     */
+    private Map<String, ProductResponse> bySku;
+
+    /**
+     * IDs solicitados que no corresponden a ningún producto.
+     */
+    private List<Long> missingIds;
+
+    /**
+     * SKUs solicitados que no corresponden a ningún producto.
+     */
+    private List<String> missingSkus;
+}
@@ -0,0 +1,54 @@
+package com.example.catalogservice.model.response;
+
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO con un cambio de producto del registro de cambios.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductChangeResponse {
+
+    /**
+     * Posición del cambio en el registro (no se guarda en el contenido de la entrada).
+     */
+    private Long offset;
+
+    /**
+     * Tipo de cambio.
+     */
+    private ChangeType type;
+
+    /**
+     * ID del producto.
+     */
+    private Long productId;
+
+    /**
+     * SKU del producto.
+     */
+    private String sku;
+
+    /**
+     * Momento en que se registró el cambio.
+     */
+    private LocalDateTime changedAt;
+
+    /**
+     * Estado del producto tras el cambio (null en los borrados).
+     */
+    private ProductResponse product;
+}
@@ -0,0 +1,37 @@
+package com.example.catalogservice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con un lote de cambios de productos y el offset desde el que continuar.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangesResponse {
+
+    /**
+     * ID del registro de cambios: si cambia entre dos peticiones, los offsets
+     * anteriores ya no son válidos y hay que sincronizar de nuevo.
+     */
+    private String logId;
+
+    /**
+     * Cambios en orden de offset.
+     */
+    private List<ProductChangeResponse> changes;
+
+    /**
+     * Offset a pasar como {@code since} en la siguiente petición.
+     */
+    private Long nextOffset;
+}
@@ -3,8 +3,8 @@ package com.example.catalogservice.model.response;
 import com.example.catalogservice.model.Product;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
-import lombok.Data;
-import lombok.NoArgsConstructor;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,15 +20,34 @@ import java.time.LocalDateTime;
  * - Controlar qué campos son visibles para los clientes
  * - Optimizar la transferencia de datos (serializando solo lo necesario)
  * 
+ * También se usa como proyección en las consultas de lectura de
+ * ProductRepository ("select new ProductResponse(...)"), por lo que el orden
+ * de los campos, y con él el del constructor generado por @AllArgsConstructor,
+ * forma parte del contrato de esas consultas.
+ *
+ * Es inmutable: la misma instancia se guarda en ProductCache y se reparte a
+ * todas las peticiones, índices y eventos que la leen, así que nadie puede
+ * modificarla. Para obtener una variante se usa toBuilder(). Jackson la
+ * construye con el builder (@Jacksonized) al leer el feed de cambios.
+ * 
  * @author Tutorial
  * @version 1.0
  */
-@Data
-@Builder
-@NoArgsConstructor
+@Value
+@Builder(toBuilder = true)
+@Jacksonized
 @AllArgsConstructor
 public class ProductResponse {
 
+    /**
+     * Versión del esquema de este DTO, publicada en la cabecera X-Schema-Version.
+     *
+     * Se incrementa con cualquier cambio incompatible para los clientes (un campo
+     * que desaparece, cambia de nombre o de tipo), sea cual sea el formato de la
+     * respuesta. Añadir un campo nuevo no cambia la versión.
+     */
+    public static final int SCHEMA_VERSION = 1;
+
     /**
      * Identificador único del producto.
      */
@@ -74,6 +93,11 @@ public class ProductResponse {
      */
     private LocalDateTime updatedAt;
 
+    /**
+     * Versión del registro; cambia con cada escritura y forma el ETag del producto.
+     */
+    private Long version;
+
     /**
      * Método estático para convertir una entidad Product a un objeto ProductResponse.
      * Este patrón facilita la conversión entre la entidad y el DTO.
@@ -92,6 +116,7 @@ public class ProductResponse {
                 .category(product.getCategory())
                 .createdAt(product.getCreatedAt())
                 .updatedAt(product.getUpdatedAt())
+                .version(product.getVersion())
                 .build();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,43 @@
+package com.example.catalogservice.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO con el resultado de un recorrido del índice columnar.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ProductScanResponse {
+
+    /**
+     * Número de productos que cumplen los filtros (puede ser mayor que el límite).
+     */
+    private Long total;
+
+    /**
+     * IDs de los productos devueltos, en el orden pedido.
+     */
+    private List<Long> ids;
+
+    /**
+     * Productos en el mismo orden que {@code ids} (no se incluyen si se piden solo los IDs).
+     */
+    private List<ProductResponse> products;
+
+    /**
+     * Tiempo que llevó el recorrido, en microsegundos.
+     */
+    private Long scanMicros;
+}
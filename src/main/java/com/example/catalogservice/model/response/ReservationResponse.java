@@ -0,0 +1,65 @@
+package com.example.catalogservice.model.response;
+
+import com.example.catalogservice.stock.Reservation;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * DTO con el estado de una reserva de stock.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReservationResponse {
+
+    /**
+     * Identificador de la reserva.
+     */
+    private String id;
+
+    /**
+     * ID del producto reservado.
+     */
+    private Long productId;
+
+    /**
+     * Unidades reservadas.
+     */
+    private Integer quantity;
+
+    /**
+     * Estado: RESERVED, COMMITTED o RELEASED.
+     */
+    private String status;
+
+    /**
+     * Momento en que la reserva se libera sola si no se confirma.
+     */
+    private LocalDateTime expiresAt;
+
+    /**
+     * Crea la respuesta a partir de una reserva.
+     *
+     * @param reservation Reserva
+     * @param status Estado de la reserva tras la operación
+     * @return DTO con los datos de la reserva
+     */
+    public static ReservationResponse from(Reservation reservation, String status) {
+        return ReservationResponse.builder()
+                .id(reservation.id())
+                .productId(reservation.productId())
+                .quantity(reservation.quantity())
+                .status(status)
+                .expiresAt(LocalDateTime.ofInstant(reservation.expiresAt(), ZoneId.systemDefault()))
+                .build();
+    }
+}
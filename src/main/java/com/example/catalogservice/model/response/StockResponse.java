@@ -0,0 +1,44 @@
+package com.example.catalogservice.model.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el stock de un producto según las reservas en curso.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockResponse {
+
+    /**
+     * ID del producto.
+     */
+    private Long productId;
+
+    /**
+     * Stock registrado en la base de datos.
+     */
+    private Long stock;
+
+    /**
+     * Unidades reservadas sin confirmar.
+     */
+    private Long reserved;
+
+    /**
+     * Unidades vendidas pendientes de descontar en la base de datos.
+     */
+    private Long pending;
+
+    /**
+     * Unidades que se pueden reservar.
+     */
+    private Long available;
+}
@@ -0,0 +1,127 @@
+package com.example.catalogservice.reactive;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Suscriptor que expone un Flow.Publisher como un Iterator bloqueante.
+ *
+ * Sirve para escribir un publicador en una respuesta de servlet, donde la
+ * escritura es bloqueante: el hilo que escribe consume del iterador y solo se
+ * piden más elementos al publicador (la mitad del lote) cuando se ha escrito
+ * la otra mitad. Si el cliente lee despacio, la escritura se bloquea y el
+ * publicador deja de recibir demanda, así que en memoria nunca hay más de un
+ * lote pendiente.
+ *
+ * Los errores del publicador se relanzan desde hasNext(). Hay que cerrar el
+ * iterador si se deja de consumir antes del final, para cancelar la suscripción.
+ *
+ * @param <T> Tipo de los elementos
+ * @author Tutorial
+ * @version 1.0
+ */
+public final class FlowIterator<T> implements Iterator<T>, Flow.Subscriber<T>, AutoCloseable {
+
+    private static final Object COMPLETE = new Object();
+
+    private final LinkedBlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private final int batchSize;
+    private final int refillSize;
+    private volatile Flow.Subscription subscription;
+    private Object next;
+    private int consumedSinceRequest;
+
+    private FlowIterator(int batchSize) {
+        this.batchSize = batchSize;
+        this.refillSize = Math.max(1, batchSize / 2);
+    }
+
+    /**
+     * Se suscribe al publicador y devuelve el iterador sobre sus elementos.
+     *
+     * @param publisher Publicador
+     * @param batchSize Elementos pendientes de consumir como máximo
+     * @param <T> Tipo de los elementos
+     * @return Iterador suscrito
+     */
+    public static <T> FlowIterator<T> subscribe(Flow.Publisher<T> publisher, int batchSize) {
+        FlowIterator<T> iterator = new FlowIterator<>(batchSize);
+        publisher.subscribe(iterator);
+        return iterator;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(batchSize);
+    }
+
+    @Override
+    public void onNext(T item) {
+        queue.add(item);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        queue.add(new Failure(throwable));
+    }
+
+    @Override
+    public void onComplete() {
+        queue.add(COMPLETE);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new IllegalStateException("Interrumpido esperando el siguiente elemento", ex);
+            }
+        }
+        if (next instanceof Failure failure) {
+            if (failure.cause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (failure.cause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("El publicador terminó con un error", failure.cause());
+        }
+        return next != COMPLETE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T item = (T) next;
+        next = null;
+        if (++consumedSinceRequest == refillSize) {
+            consumedSinceRequest = 0;
+            subscription.request(refillSize);
+        }
+        return item;
+    }
+
+    /**
+     * Cancela la suscripción; los elementos aún no consumidos se descartan.
+     */
+    @Override
+    public void close() {
+        Flow.Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    private record Failure(Throwable cause) {
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.catalogservice.reactive;
+
+import com.example.catalogservice.model.response.ProductResponse;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Publicador que recorre productos por páginas (paginación por clave) según la demanda del suscriptor.
+ *
+ * Solo se consulta una página nueva cuando el suscriptor ha pedido elementos
+ * y quedan menos de una página en el buffer, de modo que nunca hay más de dos
+ * páginas en memoria y la siguiente se lee mientras se entrega la anterior.
+ * Entre página y página no se retiene ninguna conexión.
+ *
+ * Las entregas al suscriptor nunca se solapan: todas pasan por un bucle de
+ * drenado que ejecuta un solo hilo a la vez (el que llamó a request() o el
+ * que completó la consulta de una página).
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+final class KeysetPagePublisher implements Flow.Publisher<ProductResponse> {
+
+    private final Function<Long, CompletableFuture<List<ProductResponse>>> pageLoader;
+    private final int pageSize;
+
+    /**
+     * @param pageLoader Consulta de la página siguiente al ID indicado
+     * @param pageSize Productos por página; una página más corta indica el final
+     */
+    KeysetPagePublisher(Function<Long, CompletableFuture<List<ProductResponse>>> pageLoader, int pageSize) {
+        this.pageLoader = pageLoader;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ProductResponse> subscriber) {
+        KeysetSubscription subscription = new KeysetSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        subscription.drain();
+    }
+
+    private final class KeysetSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ProductResponse> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pendingDrains = new AtomicInteger();
+        private final AtomicReference<List<ProductResponse>> loadedPage = new AtomicReference<>();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+        private volatile boolean cancelled;
+
+        // Solo se usan dentro del bucle de drenado
+        private final ArrayDeque<ProductResponse> buffer = new ArrayDeque<>();
+        private long lastId;
+        private boolean loading;
+        private boolean exhausted;
+        private boolean terminated;
+
+        KeysetSubscription(Flow.Subscriber<? super ProductResponse> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                failure.compareAndSet(null, new IllegalArgumentException("La demanda debe ser positiva: " + n));
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        void drain() {
+            if (pendingDrains.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                drainOnce();
+                missed = pendingDrains.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void drainOnce() {
+            if (terminated || cancelled) {
+                return;
+            }
+            Throwable error = failure.get();
+            if (error != null) {
+                terminated = true;
+                subscriber.onError(error);
+                return;
+            }
+
+            List<ProductResponse> page = loadedPage.getAndSet(null);
+            if (page != null) {
+                loading = false;
+                exhausted = page.size() < pageSize;
+                if (!page.isEmpty()) {
+                    lastId = page.get(page.size() - 1).getId();
+                    buffer.addAll(page);
+                }
+            }
+
+            while (!buffer.isEmpty() && demand.get() > 0 && !cancelled) {
+                subscriber.onNext(buffer.poll());
+                if (demand.get() != Long.MAX_VALUE) {
+                    demand.decrementAndGet();
+                }
+            }
+
+            if (buffer.isEmpty() && exhausted && !cancelled) {
+                terminated = true;
+                subscriber.onComplete();
+            } else if (!loading && !exhausted && !cancelled && buffer.size() < pageSize
+                    && (demand.get() > 0 || !buffer.isEmpty())) {
+                loading = true;
+                pageLoader.apply(lastId).whenComplete((loaded, ex) -> {
+                    if (ex != null) {
+                        failure.compareAndSet(null,
+                                ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+                    } else {
+                        loadedPage.set(loaded);
+                    }
+                    drain();
+                });
+            }
+        }
+    }
+}
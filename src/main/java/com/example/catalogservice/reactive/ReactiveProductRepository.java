@@ -0,0 +1,141 @@
+package com.example.catalogservice.reactive;
+
+import com.example.catalogservice.exception.ServiceOverloadedException;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Contrapartida asíncrona de {@link ProductRepository} para la API reactiva de lectura.
+ *
+ * Las consultas devuelven un CompletableFuture (o un Flow.Publisher para
+ * recorrer el catálogo) en lugar de bloquear al llamante. Por debajo siguen
+ * siendo consultas JDBC, pero se ejecutan en un pool propio con tantos hilos
+ * como conexiones tiene el pool de base de datos: los hilos de Tomcat se
+ * liberan mientras dura la consulta y las peticiones que no caben esperan en
+ * una cola acotada, sin hilo ni conexión. Con la cola llena se responde 503.
+ *
+ * Los recorridos en streaming leen el catálogo por páginas (paginación por
+ * clave) solo a medida que el suscriptor pide más elementos, así que un
+ * cliente lento no retiene ninguna conexión ni acumula el catálogo en memoria.
+ *
+ * Solo existe con {@code catalog.reactive.enabled=true}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.reactive.enabled", havingValue = "true")
+@Slf4j
+public class ReactiveProductRepository {
+
+    private final ProductRepository productRepository;
+    private final ThreadPoolExecutor executor;
+    private final int streamPageSize;
+
+    public ReactiveProductRepository(ProductRepository productRepository,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${catalog.reactive.db-threads:10}") int threads,
+                                     @Value("${catalog.reactive.max-pending:1000}") int maxPending,
+                                     @Value("${catalog.reactive.stream-page-size:500}") int streamPageSize) {
+        this.productRepository = productRepository;
+        this.streamPageSize = streamPageSize;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxPending), runnable -> {
+                    Thread thread = new Thread(runnable, "reactive-db-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "reactive-db");
+        log.info("API reactiva de lectura activada ({} hilos de consulta, {} consultas en espera como máximo)",
+                threads, maxPending);
+    }
+
+    /**
+     * Busca la proyección de un producto por ID.
+     *
+     * @param id ID del producto
+     * @return Producto, si existe
+     */
+    public CompletableFuture<Optional<ProductResponse>> findResponseById(Long id) {
+        return supply(() -> productRepository.findResponseById(id));
+    }
+
+    /**
+     * Obtiene una página del catálogo ordenada por ID.
+     *
+     * @param afterId ID a partir del cual continuar (0 para la primera página)
+     * @param limit Número máximo de productos
+     * @return Productos de la página
+     */
+    public CompletableFuture<List<ProductResponse>> findResponsesAfterId(Long afterId, int limit) {
+        return supply(() -> productRepository.findResponsesAfterId(afterId, Limit.of(limit)));
+    }
+
+    /**
+     * Obtiene una página de una categoría ordenada por ID.
+     *
+     * @param category Categoría
+     * @param afterId ID a partir del cual continuar (0 para la primera página)
+     * @param limit Número máximo de productos
+     * @return Productos de la página
+     */
+    public CompletableFuture<List<ProductResponse>> findResponsesByCategoryAfterId(String category, Long afterId,
+                                                                                  int limit) {
+        return supply(() -> productRepository.findResponsesByCategoryAfterId(category, afterId, Limit.of(limit)));
+    }
+
+    /**
+     * Recorre el catálogo completo, ordenado por ID, a medida que el suscriptor lo pide.
+     *
+     * @return Publicador de productos; cada suscripción hace su propio recorrido
+     */
+    public Flow.Publisher<ProductResponse> streamResponses() {
+        return new KeysetPagePublisher(afterId -> findResponsesAfterId(afterId, streamPageSize), streamPageSize);
+    }
+
+    /**
+     * Recorre una categoría completa, ordenada por ID, a medida que el suscriptor la pide.
+     *
+     * @param category Categoría
+     * @return Publicador de productos; cada suscripción hace su propio recorrido
+     */
+    public Flow.Publisher<ProductResponse> streamResponsesByCategory(String category) {
+        return new KeysetPagePublisher(afterId -> findResponsesByCategoryAfterId(category, afterId, streamPageSize),
+                streamPageSize);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> CompletableFuture<T> supply(Supplier<T> query) {
+        try {
+            return CompletableFuture.supplyAsync(query, executor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(new ServiceOverloadedException(
+                    "Demasiadas consultas en espera, inténtelo de nuevo más tarde", 1));
+        }
+    }
+}
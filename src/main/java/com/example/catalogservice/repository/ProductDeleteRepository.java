@@ -0,0 +1,37 @@
+package com.example.catalogservice.repository;
+
+import com.example.catalogservice.model.response.ProductResponse;
+
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Fragmento de {@link ProductRepository} con el borrado que devuelve la fila eliminada.
+ *
+ * El evento de un borrado necesita el último estado del producto (al menos su
+ * SKU, para invalidar cachés y publicarlo en el feed de cambios). Leerlo antes
+ * de borrar abre una ventana en la que otra escritura puede colarse; aquí la
+ * misma sentencia elimina la fila y la devuelve, sin bloqueos ni reintentos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public interface ProductDeleteRepository {
+
+    /**
+     * Indica si la base de datos permite leer la fila eliminada en la misma sentencia.
+     *
+     * @return true con H2 y PostgreSQL
+     */
+    boolean supportsDeleteReturning();
+
+    /**
+     * Elimina un producto con una sola sentencia y devuelve su último estado.
+     *
+     * @param id ID del producto
+     * @param versions Versiones aceptadas (no vacía), o null para eliminarlo sea cual sea su versión
+     * @return Proyección de la fila eliminada; vacío si no existe o su versión no es ninguna de las indicadas
+     * @throws UnsupportedOperationException si {@link #supportsDeleteReturning()} es false
+     */
+    Optional<ProductResponse> deleteReturningById(Long id, Collection<Long> versions);
+}
@@ -0,0 +1,88 @@
+package com.example.catalogservice.repository;
+
+import com.example.catalogservice.model.response.ProductResponse;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementación con SQL nativo de {@link ProductDeleteRepository}.
+ *
+ * JPQL no permite devolver filas desde un DELETE, así que la sentencia se
+ * escribe para cada base de datos:
+ *
+ * - H2: {@code SELECT ... FROM OLD TABLE (DELETE FROM products WHERE ...)}
+ * - PostgreSQL: {@code DELETE FROM products WHERE ... RETURNING ...}
+ *
+ * JdbcTemplate usa la conexión de la transacción JPA en curso. Como el resto
+ * de fragmentos, Spring Data lo incorpora al proxy de {@link ProductRepository}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class ProductDeleteRepositoryImpl implements ProductDeleteRepository {
+
+    /**
+     * Columnas en el orden del constructor de ProductResponse.
+     */
+    private static final String COLUMNS =
+            "id, sku, name, description, price, stock, category, created_at, updated_at, version";
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile String databaseProduct;
+
+    ProductDeleteRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public boolean supportsDeleteReturning() {
+        String product = databaseProduct();
+        return product.equals("H2") || product.equals("PostgreSQL");
+    }
+
+    @Override
+    public Optional<ProductResponse> deleteReturningById(Long id, Collection<Long> versions) {
+        StringBuilder delete = new StringBuilder("DELETE FROM products WHERE id = ?");
+        List<Object> args = new ArrayList<>();
+        args.add(id);
+        if (versions != null) {
+            delete.append(" AND version IN (").append(String.join(", ", Collections.nCopies(versions.size(), "?")))
+                    .append(')');
+            args.addAll(versions);
+        }
+
+        String sql = switch (databaseProduct()) {
+            case "H2" -> "SELECT " + COLUMNS + " FROM OLD TABLE (" + delete + ")";
+            case "PostgreSQL" -> delete + " RETURNING " + COLUMNS;
+            default -> throw new UnsupportedOperationException(
+                    "DELETE con lectura de la fila eliminada no disponible en " + databaseProduct());
+        };
+        return jdbcTemplate.query(sql, ProductDeleteRepositoryImpl::toResponse, args.toArray()).stream().findFirst();
+    }
+
+    private String databaseProduct() {
+        String product = databaseProduct;
+        if (product == null) {
+            product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                    connection.getMetaData().getDatabaseProductName());
+            databaseProduct = product;
+        }
+        return product;
+    }
+
+    private static ProductResponse toResponse(ResultSet rs, int rowNum) throws SQLException {
+        return new ProductResponse(rs.getLong("id"), rs.getString("sku"), rs.getString("name"),
+                rs.getString("description"), rs.getBigDecimal("price"), rs.getObject("stock", Integer.class),
+                rs.getString("category"), rs.getObject("created_at", LocalDateTime.class),
+                rs.getObject("updated_at", LocalDateTime.class), rs.getLong("version"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.catalogservice.repository;
+
+import com.example.catalogservice.model.response.ProductResponse;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Filtros, orden y posición de una consulta de productos por criterios.
+ *
+ * La paginación es keyset: la posición es el valor de la columna de
+ * ordenación y el ID del último producto entregado, y la consulta continúa
+ * justo después sin recorrer las filas anteriores.
+ *
+ * @param category Categoría exacta (null para todas)
+ * @param minPrice Precio mínimo incluido (null sin límite)
+ * @param maxPrice Precio máximo incluido (null sin límite)
+ * @param inStockOnly Solo productos con stock
+ * @param updatedSince Solo productos modificados desde este instante, incluido (null sin límite)
+ * @param sort Columna de ordenación
+ * @param descending Orden descendente
+ * @param afterValue Valor de la columna de ordenación del último producto entregado (null en la primera página)
+ * @param afterId ID del último producto entregado (null en la primera página)
+ * @param limit Número máximo de productos a devolver
+ * @author Tutorial
+ * @version 1.0
+ */
+public record ProductQuery(String category, BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly,
+                           LocalDateTime updatedSince, SortKey sort, boolean descending,
+                           Comparable<?> afterValue, Long afterId, int limit) {
+
+    public ProductQuery {
+        if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+            throw new IllegalArgumentException("El precio mínimo no puede ser mayor que el máximo");
+        }
+        if (afterId != null && afterValue == null && sort != SortKey.ID) {
+            throw new IllegalArgumentException("La posición debe incluir el valor de la columna de ordenación");
+        }
+    }
+
+    /**
+     * Columnas por las que se puede ordenar. A igualdad de valor se ordena por
+     * ID en la misma dirección, de modo que el orden es total y la posición
+     * identifica una única fila. Cada una tiene un índice que empieza por ella.
+     */
+    public enum SortKey {
+        ID("id", ProductResponse::getId, Long::valueOf),
+        PRICE("price", ProductResponse::getPrice, BigDecimal::new),
+        /**
+         * Solo incluye productos modificados alguna vez: los que nunca se han
+         * modificado no tienen fecha y no ocupan ninguna posición en el orden.
+         */
+        UPDATED_AT("updatedAt", ProductResponse::getUpdatedAt, LocalDateTime::parse);
+
+        private final String attribute;
+        private final Function<ProductResponse, Comparable<?>> extractor;
+        private final Function<String, Comparable<?>> parser;
+
+        SortKey(String attribute, Function<ProductResponse, Comparable<?>> extractor,
+                Function<String, Comparable<?>> parser) {
+            this.attribute = attribute;
+            this.extractor = extractor;
+            this.parser = parser;
+        }
+
+        /**
+         * Nombre del atributo de la entidad Product, que es también el nombre en la API.
+         */
+        public String attribute() {
+            return attribute;
+        }
+
+        /**
+         * Valor de la columna en un producto, para construir la posición de la siguiente página.
+         */
+        public Comparable<?> valueOf(ProductResponse product) {
+            return extractor.apply(product);
+        }
+
+        /**
+         * Convierte el valor guardado en un cursor (con toString) de vuelta a su tipo.
+         *
+         * @throws IllegalArgumentException si el valor no es válido
+         */
+        public Comparable<?> parse(String value) {
+            try {
+                return parser.apply(value);
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("Valor de ordenación inválido: '" + value + "'", ex);
+            }
+        }
+
+        /**
+         * Obtiene la columna a partir de su nombre en la API.
+         *
+         * @throws IllegalArgumentException si la columna no existe
+         */
+        public static SortKey fromParameter(String value) {
+            for (SortKey key : values()) {
+                if (key.attribute.equalsIgnoreCase(value)) {
+                    return key;
+                }
+            }
+            throw new IllegalArgumentException("Campo de ordenación no válido: '" + value
+                    + "' (valores posibles: id, price, updatedAt)");
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.catalogservice.repository;
+
+import com.example.catalogservice.model.response.ProductResponse;
+
+import java.util.List;
+
+/**
+ * Fragmento de {@link ProductRepository} con las consultas por criterios.
+ *
+ * Se implementa con la API Criteria porque la consulta se compone según los
+ * filtros recibidos, y {@code JpaSpecificationExecutor} solo devuelve
+ * entidades gestionadas: aquí se proyecta directamente a ProductResponse,
+ * igual que el resto de consultas de lectura del repositorio.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public interface ProductQueryRepository {
+
+    /**
+     * Busca los productos que cumplen los filtros de la consulta, a partir de su posición.
+     *
+     * @param query Filtros, orden, posición y límite
+     * @return Proyecciones en el orden pedido (como máximo query.limit())
+     */
+    List<ProductResponse> findResponses(ProductQuery query);
+}
@@ -0,0 +1,72 @@
+package com.example.catalogservice.repository;
+
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.ProductResponse;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación con la API Criteria de {@link ProductQueryRepository}.
+ *
+ * Spring Data la detecta por el sufijo Impl y la incorpora al proxy de
+ * {@link ProductRepository}, de modo que pasa también por el control de
+ * admisión de la base de datos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class ProductQueryRepositoryImpl implements ProductQueryRepository {
+
+    private final EntityManager entityManager;
+
+    ProductQueryRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<ProductResponse> findResponses(ProductQuery query) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductResponse> criteria = cb.createQuery(ProductResponse.class);
+        Root<Product> product = criteria.from(Product.class);
+
+        // Mismos argumentos y orden que ProductRepository.PRODUCT_RESPONSE
+        criteria.select(cb.construct(ProductResponse.class,
+                product.get("id"), product.get("sku"), product.get("name"), product.get("description"),
+                product.get("price"), product.get("stock"), product.get("category"),
+                product.get("createdAt"), product.get("updatedAt"), product.get("version")));
+
+        Predicate where = ProductSpecifications.matching(query).toPredicate(product, criteria, cb);
+        if (where != null) {
+            criteria.where(where);
+        }
+
+        // Con la categoría fijada por igualdad, ordenar también por ella no cambia el resultado, pero
+        // hace que el orden coincida con el de los índices (category, price, id) y (category, id) y
+        // H2 lee las filas ya ordenadas en lugar de ordenar todas las de la categoría
+        List<Order> orders = new ArrayList<>();
+        if (query.category() != null && query.sort() != ProductQuery.SortKey.UPDATED_AT) {
+            orders.add(order(cb, product.get("category"), query.descending()));
+        }
+        if (query.sort() != ProductQuery.SortKey.ID) {
+            orders.add(order(cb, product.get(query.sort().attribute()), query.descending()));
+        }
+        orders.add(order(cb, product.get("id"), query.descending()));
+        criteria.orderBy(orders);
+
+        return entityManager.createQuery(criteria)
+                .setMaxResults(query.limit())
+                .getResultList();
+    }
+
+    private static Order order(CriteriaBuilder cb, Path<?> path, boolean descending) {
+        return descending ? cb.desc(path) : cb.asc(path);
+    }
+}
@@ -1,11 +1,25 @@
 package com.example.catalogservice.repository;
 
 import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.CategoryFacetResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interfaz del repositorio para operaciones CRUD en productos.
@@ -20,11 +34,63 @@ import java.util.Optional;
  * - delete(entity): Eliminar una entidad
  * - etc.
  * 
+ * Los métodos de lectura que usan los endpoints devuelven proyecciones
+ * ({@link ProductResponse}) construidas directamente desde el resultado de la
+ * consulta con una expresión "select new": Hibernate no crea entidades
+ * gestionadas ni guarda su instantánea para dirty checking, y el DTO se
+ * serializa sin copias intermedias.
+ * 
+ * Las consultas que se componen según los filtros recibidos están en el
+ * fragmento {@link ProductQueryRepository}, y el borrado que devuelve la fila
+ * eliminada, en {@link ProductDeleteRepository}.
+ * 
  * @author Tutorial
  * @version 1.0
  */
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductQueryRepository,
+        ProductDeleteRepository {
+
+    /**
+     * Expresión JPQL que construye un ProductResponse a partir del alias "p".
+     * El orden de los argumentos debe coincidir con el constructor de ProductResponse.
+     */
+    String PRODUCT_RESPONSE = "new com.example.catalogservice.model.response.ProductResponse("
+            + "p.id, p.sku, p.name, p.description, p.price, p.stock, p.category, p.createdAt, p.updatedAt, p.version)";
+
+    /**
+     * Precio multiplicado por el parámetro :factor y redondeado a céntimos. El
+     * cast explícito evita que Hibernate genere un cast del parámetro sin
+     * precisión, que H2 no acepta.
+     */
+    String SCALED_PRICE = "round(p.price * cast(:factor as BigDecimal(19, 6)), 2)";
+
+    /**
+     * Busca un producto por ID y lo devuelve como proyección.
+     *
+     * @param id ID del producto
+     * @return Optional con la proyección si existe
+     */
+    @Query("select " + PRODUCT_RESPONSE + " from Product p where p.id = :id")
+    Optional<ProductResponse> findResponseById(Long id);
+
+    /**
+     * Busca un producto por SKU y lo devuelve como proyección.
+     *
+     * @param sku Código SKU del producto
+     * @return Optional con la proyección si existe
+     */
+    @Query("select " + PRODUCT_RESPONSE + " from Product p where p.sku = :sku")
+    Optional<ProductResponse> findResponseBySku(String sku);
+
+    /**
+     * Busca las proyecciones de todos los productos cuyo ID esté en la colección.
+     *
+     * @param ids IDs a buscar (el llamador debe trocear colecciones grandes)
+     * @return Proyecciones encontradas (en cualquier orden)
+     */
+    @Query("select " + PRODUCT_RESPONSE + " from Product p where p.id in :ids")
+    List<ProductResponse> findResponsesByIdIn(Collection<Long> ids);
     
     /**
      * Busca un producto por su código SKU.
@@ -44,24 +110,279 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      * @return true si existe, false en caso contrario
      */
     boolean existsBySku(String sku);
+
+    /**
+     * Busca las proyecciones de todos los productos cuyo SKU esté en la colección.
+     *
+     * Genera una única consulta con "sku IN (...)"; el llamador debe trocear
+     * colecciones grandes para no superar los límites de parámetros del driver.
+     *
+     * @param skus Códigos SKU a buscar
+     * @return Proyecciones encontradas (en cualquier orden)
+     */
+    @Query("select " + PRODUCT_RESPONSE + " from Product p where p.sku in :skus")
+    List<ProductResponse> findResponsesBySkuIn(Collection<String> skus);
     
     /**
-     * Busca productos por categoría.
-     * 
+     * Busca productos por categoría usando paginación keyset.
+     *
+     * Usa el índice (category, id): la condición de igualdad sobre la categoría
+     * y el rango sobre el ID se resuelven en el índice, sin ordenar en memoria.
+     *
+     * Con la caché de consultas activada (perfil prod) el resultado se guarda
+     * hasta el siguiente cambio en la tabla de productos.
+     *
      * @param category La categoría a buscar
-     * @return Lista de productos que pertenecen a la categoría
+     * @param id ID del último producto entregado (0 para la primera página)
+     * @param limit Número máximo de productos a devolver
+     * @return Proyecciones de la categoría con ID mayor que el indicado, ordenadas por ID
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select " + PRODUCT_RESPONSE + " from Product p where p.category = :category and p.id > :id order by p.id")
+    List<ProductResponse> findResponsesByCategoryAfterId(String category, Long id, Limit limit);
+
+    /**
+     * Busca productos cuyo SKU empiece por un prefijo usando paginación keyset.
+     *
+     * El prefijo se compara con LIKE 'prefijo%', que puede resolverse sobre el
+     * índice único del SKU. Los comodines del prefijo deben venir escapados con '\'.
+     *
+     * @param prefix Prefijo del SKU, con los comodines escapados
+     * @param id ID del último producto entregado (0 para la primera página)
+     * @param limit Número máximo de productos a devolver
+     * @return Proyecciones con ese prefijo e ID mayor que el indicado, ordenadas por ID
+     */
+    @Query("select " + PRODUCT_RESPONSE + " from Product p "
+            + "where p.sku like concat(:prefix, '%') escape '\\' and p.id > :id order by p.id")
+    List<ProductResponse> findResponsesBySkuPrefixAfterId(String prefix, Long id, Limit limit);
+
+    /**
+     * Busca los productos de la colección modificados en un instante concreto.
+     *
+     * Permite releer solo las filas que cambió una actualización masiva, que
+     * marca todas sus filas con el mismo updatedAt.
+     *
+     * @param ids IDs candidatos (el llamador debe trocear colecciones grandes)
+     * @param updatedAt Marca de tiempo escrita por la actualización
+     * @return Proyecciones de los productos modificados
+     */
+    @Query("select " + PRODUCT_RESPONSE + " from Product p where p.id in :ids and p.updatedAt = :updatedAt")
+    List<ProductResponse> findResponsesByIdInAndUpdatedAt(Collection<Long> ids, LocalDateTime updatedAt);
+
+    /**
+     * Busca los productos creados o modificados después de un instante.
+     *
+     * Lo usa el bus de invalidación para ponerse al día cuando detecta que se
+     * ha perdido mensajes de otra instancia. Los productos modificados se
+     * resuelven con el índice (updated_at, id); los creados y nunca
+     * modificados requieren recorrer la tabla, pero es una operación rara.
+     *
+     * @param since Instante a partir del cual buscar (excluido)
+     * @return Proyecciones de los productos cambiados, ordenadas por ID
+     */
+    @Query("select " + PRODUCT_RESPONSE + " from Product p "
+            + "where p.updatedAt > :since or (p.updatedAt is null and p.createdAt > :since) order by p.id")
+    List<ProductResponse> findResponsesChangedSince(LocalDateTime since);
+
+    /**
+     * Elimina con una sola sentencia todos los productos cuyo ID esté en la colección.
+     *
+     * No carga las entidades ni pasa por los callbacks JPA: quien llama debe
+     * publicar el {@link com.example.catalogservice.event.ProductChangedEvent}.
+     *
+     * @param ids IDs a eliminar (el llamador debe trocear colecciones grandes)
+     * @return Número de filas eliminadas
+     */
+    @Modifying
+    @Query("delete from Product p where p.id in :ids")
+    int deleteByIdIn(Collection<Long> ids);
+
+    /**
+     * Elimina un producto solo si su versión es una de las indicadas.
+     *
+     * Para bases de datos sin {@link #deleteReturningById}: quien llama lee
+     * antes la proyección del producto y la borra condicionada a esa versión.
+     *
+     * @param id ID del producto
+     * @param versions Versiones aceptadas
+     * @return 1 si se eliminó; 0 si no existe o su versión ha cambiado
+     */
+    @Modifying
+    @Query("delete from Product p where p.id = :id and p.version in :versions")
+    int deleteByIdAndVersionIn(Long id, Collection<Long> versions);
+
+    /**
+     * Sustituye los datos de un producto con una sola sentencia e incrementa su versión.
+     *
+     * No lee la fila antes de escribirla: con {@code versions} es una operación
+     * compare-and-set que solo se aplica si la versión actual es una de las
+     * indicadas, sin bloquear la fila entre la lectura del cliente y la
+     * escritura. El SKU no se modifica.
+     *
+     * @param id ID del producto
+     * @param versions Versiones aceptadas
+     * @param name Nuevo nombre
+     * @param description Nueva descripción
+     * @param price Nuevo precio
+     * @param stock Nuevo stock
+     * @param category Nueva categoría
+     * @param updatedAt Marca de tiempo a escribir
+     * @return 1 si se modificó; 0 si no existe o su versión ha cambiado
+     */
+    @Modifying
+    @Query("update Product p set p.name = :name, p.description = :description, p.price = :price, "
+            + "p.stock = :stock, p.category = :category, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.id = :id and p.version in :versions")
+    int replaceByIdAndVersionIn(Long id, Collection<Long> versions, String name, String description,
+                                BigDecimal price, Integer stock, String category, LocalDateTime updatedAt);
+
+    /**
+     * Sustituye los datos de un producto con una sola sentencia, sea cual sea su versión.
+     *
+     * @param id ID del producto
+     * @param name Nuevo nombre
+     * @param description Nueva descripción
+     * @param price Nuevo precio
+     * @param stock Nuevo stock
+     * @param category Nueva categoría
+     * @param updatedAt Marca de tiempo a escribir
+     * @return 1 si se modificó; 0 si no existe
+     */
+    @Modifying
+    @Query("update Product p set p.name = :name, p.description = :description, p.price = :price, "
+            + "p.stock = :stock, p.category = :category, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.id = :id")
+    int replaceById(Long id, String name, String description, BigDecimal price, Integer stock, String category,
+                    LocalDateTime updatedAt);
+
+    /**
+     * Obtiene la versión actual de un producto.
+     *
+     * @param id ID del producto
+     * @return Versión, si el producto existe
+     */
+    @Query("select p.version from Product p where p.id = :id")
+    Optional<Long> findVersionById(Long id);
+
+    /**
+     * Suma una cantidad al stock de los productos indicados, sin bajar de cero.
+     *
+     * Las filas que no cambiarían (stock ya a cero con un ajuste negativo) no se tocan.
+     *
+     * @param ids IDs a actualizar (el llamador debe trocear colecciones grandes)
+     * @param delta Cantidad a sumar (negativa para restar; distinta de cero)
+     * @param updatedAt Marca de tiempo a escribir en las filas modificadas
+     * @return Número de filas modificadas
+     */
+    @Modifying
+    @Query("update Product p set p.stock = case when p.stock + :delta < 0 then 0 else p.stock + :delta end, "
+            + "p.updatedAt = :updatedAt, p.version = p.version + 1 where p.id in :ids and (:delta > 0 or p.stock > 0)")
+    int addStockByIdIn(Collection<Long> ids, int delta, LocalDateTime updatedAt);
+
+    /**
+     * Fija el stock de los productos indicados.
+     *
+     * @param ids IDs a actualizar (el llamador debe trocear colecciones grandes)
+     * @param stock Nuevo stock
+     * @param updatedAt Marca de tiempo a escribir en las filas modificadas
+     * @return Número de filas modificadas (las que ya tenían ese stock no cuentan)
      */
-    List<Product> findByCategory(String category);
+    @Modifying
+    @Query("update Product p set p.stock = :stock, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.id in :ids and p.stock <> :stock")
+    int setStockByIdIn(Collection<Long> ids, int stock, LocalDateTime updatedAt);
+
+    /**
+     * Fija el precio de los productos indicados.
+     *
+     * @param ids IDs a actualizar (el llamador debe trocear colecciones grandes)
+     * @param price Nuevo precio
+     * @param updatedAt Marca de tiempo a escribir en las filas modificadas
+     * @return Número de filas modificadas (las que ya tenían ese precio no cuentan)
+     */
+    @Modifying
+    @Query("update Product p set p.price = :price, p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.id in :ids and p.price <> :price")
+    int setPriceByIdIn(Collection<Long> ids, BigDecimal price, LocalDateTime updatedAt);
+
+    /**
+     * Multiplica el precio de los productos indicados por un factor, redondeando a céntimos.
+     *
+     * Las filas cuyo precio no cambia tras el redondeo, o quedaría en cero, no se tocan.
+     *
+     * @param ids IDs a actualizar (el llamador debe trocear colecciones grandes)
+     * @param factor Factor a aplicar (1.10 para subir un 10 %)
+     * @param updatedAt Marca de tiempo a escribir en las filas modificadas
+     * @return Número de filas modificadas
+     */
+    @Modifying
+    @Query("update Product p set p.price = " + SCALED_PRICE + ", p.updatedAt = :updatedAt, p.version = p.version + 1 "
+            + "where p.id in :ids and " + SCALED_PRICE + " <> p.price and " + SCALED_PRICE + " > 0")
+    int scalePriceByIdIn(Collection<Long> ids, BigDecimal factor, LocalDateTime updatedAt);
+
+    /**
+     * Cuenta los productos de cada categoría con un GROUP BY.
+     *
+     * Solo se usa como respaldo mientras el índice de facetas en memoria se
+     * está construyendo.
+     *
+     * @param minPrice Precio mínimo incluido (null sin límite)
+     * @param maxPrice Precio máximo incluido (null sin límite)
+     * @param inStockOnly Contar solo productos con stock
+     * @return Recuento por categoría, de mayor a menor
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new com.example.catalogservice.model.response.CategoryFacetResponse(p.category, count(p)) "
+            + "from Product p where p.category is not null "
+            + "and (:minPrice is null or p.price >= :minPrice) "
+            + "and (:maxPrice is null or p.price <= :maxPrice) "
+            + "and (:inStockOnly = false or p.stock > 0) "
+            + "group by p.category order by count(p) desc, p.category")
+    List<CategoryFacetResponse> countByCategory(BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly);
     
     /**
      * Busca productos cuyo nombre contenga el texto especificado (case insensitive).
-     * 
-     * La palabra clave "Containing" en el nombre del método crea una 
-     * consulta SQL con LIKE %text%, mientras que "IgnoreCase" hace que
-     * la búsqueda no sea sensible a mayúsculas/minúsculas.
-     * 
-     * @param name Texto a buscar en el nombre del producto
-     * @return Lista de productos que coinciden con la búsqueda
+     *
+     * Genera un LIKE '%texto%' que no puede usar índices y recorre la tabla
+     * completa, por lo que solo se usa como respaldo mientras el índice de
+     * búsqueda en memoria se está construyendo. La paginación acota el
+     * resultado. Los comodines del texto deben venir escapados con '\'.
+     *
+     * @param text Texto a buscar en el nombre del producto, con los comodines escapados
+     * @param pageable Página solicitada
+     * @return Página de proyecciones que coinciden con la búsqueda
+     */
+    @Query(value = "select " + PRODUCT_RESPONSE + " from Product p "
+            + "where lower(p.name) like lower(concat('%', :text, '%')) escape '\\' order by p.id",
+            countQuery = "select count(p) from Product p "
+                    + "where lower(p.name) like lower(concat('%', :text, '%')) escape '\\'")
+    Page<ProductResponse> searchResponsesByName(String text, Pageable pageable);
+
+    /**
+     * Obtiene la siguiente página de productos usando paginación keyset.
+     *
+     * La condición "id > :id" con orden por ID aprovecha el índice de la clave
+     * primaria, por lo que el coste es el mismo para la primera página que para
+     * la página un millón (a diferencia de OFFSET, que recorre las filas saltadas).
+     *
+     * @param id ID del último producto entregado (0 para la primera página)
+     * @param limit Número máximo de productos a devolver
+     * @return Proyecciones con ID mayor que el indicado, ordenadas por ID
+     */
+    @Query("select " + PRODUCT_RESPONSE + " from Product p where p.id > :id order by p.id")
+    List<ProductResponse> findResponsesAfterId(Long id, Limit limit);
+
+    /**
+     * Recorre todos los productos ordenados por ID mediante un cursor JDBC.
+     *
+     * El tamaño de fetch acota las filas que el driver trae en cada viaje a la
+     * base de datos. Al ser proyecciones, las filas no se acumulan en el
+     * contexto de persistencia. Debe consumirse dentro de una transacción y
+     * cerrarse al terminar (try-with-resources).
+     *
+     * @return Stream perezoso de proyecciones
      */
-    List<Product> findByNameContainingIgnoreCase(String name);
-} 
\ No newline at end of file
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select " + PRODUCT_RESPONSE + " from Product p order by p.id")
+    Stream<ProductResponse> streamAllResponses();
+}
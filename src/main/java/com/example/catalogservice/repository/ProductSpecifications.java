@@ -0,0 +1,140 @@
+package com.example.catalogservice.repository;
+
+import com.example.catalogservice.model.Product;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Especificaciones JPA para filtrar productos.
+ *
+ * Cada filtro es una Specification independiente; {@link #matching} combina
+ * las de una {@link ProductQuery} con AND. Las condiciones se escriben sobre
+ * las columnas sin funciones ni conversiones para que la base de datos pueda
+ * resolverlas con los índices de la tabla.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public final class ProductSpecifications {
+
+    /**
+     * Fecha anterior a cualquier modificación posible de un producto.
+     */
+    private static final LocalDateTime NEVER_UPDATED = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Productos de una categoría.
+     */
+    public static Specification<Product> inCategory(String category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    /**
+     * Productos con precio mayor o igual que el indicado.
+     */
+    public static Specification<Product> priceAtLeast(BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    /**
+     * Productos con precio menor o igual que el indicado.
+     */
+    public static Specification<Product> priceAtMost(BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    /**
+     * Productos con stock disponible.
+     */
+    public static Specification<Product> inStock() {
+        return (root, query, cb) -> cb.greaterThan(root.get("stock"), 0);
+    }
+
+    /**
+     * Productos modificados desde un instante, incluido.
+     */
+    public static Specification<Product> updatedSince(LocalDateTime since) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("updatedAt"), since);
+    }
+
+    /**
+     * Productos modificados alguna vez.
+     *
+     * Se expresa como un rango en lugar de "is not null": H2 no usa el índice
+     * para "is not null" y recorrería todas las filas sin fecha, que en el
+     * índice ascendente están al principio.
+     */
+    public static Specification<Product> everUpdated() {
+        return updatedSince(NEVER_UPDATED);
+    }
+
+    /**
+     * Productos posteriores a una posición en el orden (sort, id).
+     *
+     * La condición "(k, id) > (v, lastId)" se expresa como
+     * "k >= v and (k > v or id > lastId)": la primera parte, redundante, es un
+     * rango simple sobre la columna que permite empezar a leer el índice en v
+     * en lugar de recorrerlo desde el principio.
+     *
+     * @param sort Columna de ordenación
+     * @param descending Orden descendente
+     * @param value Valor de la columna del último producto entregado
+     * @param id ID del último producto entregado
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static Specification<Product> after(ProductQuery.SortKey sort, boolean descending,
+                                               Comparable value, Long id) {
+        if (sort == ProductQuery.SortKey.ID) {
+            return (root, query, cb) -> descending
+                    ? cb.lessThan(root.get("id"), id)
+                    : cb.greaterThan(root.get("id"), id);
+        }
+        return (root, query, cb) -> {
+            var key = root.<Comparable>get(sort.attribute());
+            var productId = root.<Long>get("id");
+            return descending
+                    ? cb.and(cb.lessThanOrEqualTo(key, value),
+                            cb.or(cb.lessThan(key, value), cb.lessThan(productId, id)))
+                    : cb.and(cb.greaterThanOrEqualTo(key, value),
+                            cb.or(cb.greaterThan(key, value), cb.greaterThan(productId, id)));
+        };
+    }
+
+    /**
+     * Combina todos los filtros y la posición de una consulta.
+     *
+     * @param query Consulta de productos
+     * @return Especificación con todas las condiciones (sin condiciones si no hay filtros)
+     */
+    public static Specification<Product> matching(ProductQuery query) {
+        List<Specification<Product>> specifications = new ArrayList<>();
+        if (query.category() != null) {
+            specifications.add(inCategory(query.category()));
+        }
+        if (query.minPrice() != null) {
+            specifications.add(priceAtLeast(query.minPrice()));
+        }
+        if (query.maxPrice() != null) {
+            specifications.add(priceAtMost(query.maxPrice()));
+        }
+        if (query.inStockOnly()) {
+            specifications.add(inStock());
+        }
+        if (query.updatedSince() != null) {
+            specifications.add(updatedSince(query.updatedSince()));
+        } else if (query.sort() == ProductQuery.SortKey.UPDATED_AT) {
+            specifications.add(everUpdated());
+        }
+        if (query.afterId() != null) {
+            specifications.add(after(query.sort(), query.descending(), query.afterValue(), query.afterId()));
+        }
+        return Specification.allOf(specifications);
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.catalogservice.search;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.index.ProductIndex;
+import com.example.catalogservice.model.response.CategoryFacetResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recuentos precalculados de productos por categoría para la navegación por facetas.
+ *
+ * Para cada categoría se mantienen el total de productos, el total con stock
+ * y un mapa ordenado precio → recuentos. Así, la consulta sin filtros es una
+ * lectura directa y la filtrada por rango de precio suma solo los precios
+ * distintos del rango, sin recorrer productos ni lanzar un GROUP BY.
+ *
+ * Cada cambio se aplica como delta: se guarda el último estado indexado de
+ * cada producto para poder restar su aportación anterior antes de sumar la nueva.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class CategoryFacetIndex implements ProductIndex {
+
+    private static final Comparator<CategoryFacetResponse> BY_COUNT_DESC =
+            Comparator.comparing(CategoryFacetResponse::getCount).reversed()
+                    .thenComparing(CategoryFacetResponse::getCategory);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Facets facets = new Facets();
+    private volatile boolean ready;
+
+    @Override
+    public String name() {
+        return "facetas de categoría";
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        Facets rebuilt = new Facets();
+        return new Rebuild() {
+            @Override
+            public void accept(ProductResponse product) {
+                rebuilt.add(product);
+            }
+
+            @Override
+            public void complete() {
+                lock.writeLock().lock();
+                try {
+                    facets = rebuilt;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.debug("Facetas de categoría publicadas: {} categorías", rebuilt.categories.size());
+            }
+        };
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ProductResponse product : event.products()) {
+                if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+                    facets.remove(product.getId());
+                } else {
+                    facets.add(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Cuenta los productos de cada categoría que cumplen los filtros.
+     *
+     * @param minPrice Precio mínimo incluido (null sin límite)
+     * @param maxPrice Precio máximo incluido (null sin límite)
+     * @param inStockOnly Contar solo productos con stock
+     * @return Categorías con al menos un producto, de mayor a menor recuento
+     */
+    public List<CategoryFacetResponse> countByCategory(BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly) {
+        List<CategoryFacetResponse> result = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<String, CategoryCounts> category : facets.categories.entrySet()) {
+                long count = category.getValue().count(minPrice, maxPrice, inStockOnly);
+                if (count > 0) {
+                    result.add(new CategoryFacetResponse(category.getKey(), count));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        result.sort(BY_COUNT_DESC);
+        return result;
+    }
+
+    /**
+     * Aportación de un producto a los recuentos.
+     */
+    private record Entry(String category, BigDecimal price, boolean inStock) {
+    }
+
+    /**
+     * Recuentos de todas las categorías. No es segura para hilos; el acceso se
+     * protege desde CategoryFacetIndex.
+     */
+    private static final class Facets {
+
+        private final Map<Long, Entry> entries = new HashMap<>();
+        private final Map<String, CategoryCounts> categories = new HashMap<>();
+
+        void add(ProductResponse product) {
+            remove(product.getId());
+            if (product.getCategory() == null || product.getPrice() == null) {
+                return;
+            }
+            Entry entry = new Entry(product.getCategory(), product.getPrice(),
+                    product.getStock() != null && product.getStock() > 0);
+            entries.put(product.getId(), entry);
+            categories.computeIfAbsent(entry.category(), category -> new CategoryCounts()).update(entry, 1);
+        }
+
+        void remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            CategoryCounts counts = categories.get(entry.category());
+            counts.update(entry, -1);
+            if (counts.total == 0) {
+                categories.remove(entry.category());
+            }
+        }
+    }
+
+    /**
+     * Recuentos de una categoría: totales y desglose por precio.
+     */
+    private static final class CategoryCounts {
+
+        private long total;
+        private long inStock;
+
+        /**
+         * Precio → {productos, productos con stock}. BigDecimal se compara con
+         * compareTo, así que 10.0 y 10.00 comparten entrada.
+         */
+        private final TreeMap<BigDecimal, long[]> byPrice = new TreeMap<>();
+
+        void update(Entry entry, int delta) {
+            total += delta;
+            long[] counts = byPrice.computeIfAbsent(entry.price(), price -> new long[2]);
+            counts[0] += delta;
+            if (entry.inStock()) {
+                inStock += delta;
+                counts[1] += delta;
+            }
+            if (counts[0] == 0) {
+                byPrice.remove(entry.price());
+            }
+        }
+
+        long count(BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly) {
+            if (minPrice == null && maxPrice == null) {
+                return inStockOnly ? inStock : total;
+            }
+            NavigableMap<BigDecimal, long[]> range = byPrice;
+            if (minPrice != null) {
+                range = range.tailMap(minPrice, true);
+            }
+            if (maxPrice != null) {
+                range = range.headMap(maxPrice, true);
+            }
+            int column = inStockOnly ? 1 : 0;
+            long count = 0;
+            for (long[] counts : range.values()) {
+                count += counts[column];
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.example.catalogservice.search;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.index.ProductIndex;
+import com.example.catalogservice.model.response.ProductResponse;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Réplica columnar del catálogo fuera del heap para consultas que recorren muchos productos.
+ *
+ * Cada columna es un buffer directo de primitivos, con una fila por producto:
+ *
+ * - id, precio en céntimos, fecha de creación y de modificación (microsegundos) como long
+ * - stock y categoría (código de diccionario) como int
+ *
+ * Filtrar es un bucle sobre índices de fila que compara primitivos, sin crear
+ * objetos por producto ni hidratar entidades, y el orden se resuelve con un
+ * montículo acotado al límite pedido. Los datos no los recorre el GC: el heap
+ * solo contiene el diccionario de categorías y las referencias a los buffers.
+ *
+ * Los productos borrados se marcan con un código de categoría especial y su
+ * fila se recupera en la siguiente reconstrucción completa. Las consultas usan
+ * el bloqueo de lectura y los cambios el de escritura.
+ *
+ * Se activa con {@code catalog.columnar.enabled=true}.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.columnar.enabled", havingValue = "true")
+@Slf4j
+public class ColumnarProductIndex implements ProductIndex {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Timer scanTimer;
+    private volatile Columns columns = new Columns(INITIAL_CAPACITY);
+    private volatile boolean ready;
+
+    public ColumnarProductIndex(MeterRegistry meterRegistry) {
+        this.scanTimer = Timer.builder("catalog.columnar.scan")
+                .description("Duración de los recorridos del índice columnar")
+                .register(meterRegistry);
+        Gauge.builder("catalog.columnar.rows", this, index -> index.columns.live)
+                .description("Productos en el índice columnar")
+                .register(meterRegistry);
+        Gauge.builder("catalog.columnar.memory", this, index -> index.columns.offHeapBytes())
+                .description("Memoria fuera del heap reservada por el índice columnar")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String name() {
+        return "columnar";
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        Columns rebuilt = new Columns(INITIAL_CAPACITY);
+        return new Rebuild() {
+            @Override
+            public void accept(ProductResponse product) {
+                rebuilt.add(product);
+            }
+
+            @Override
+            public void complete() {
+                lock.writeLock().lock();
+                try {
+                    columns = rebuilt;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.debug("Índice columnar publicado: {} productos, {} categorías, {} bytes fuera del heap",
+                        rebuilt.live, rebuilt.categoryNames.size(), rebuilt.offHeapBytes());
+            }
+        };
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ProductResponse product : event.products()) {
+                if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+                    columns.remove(product.getId());
+                } else {
+                    columns.add(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Devuelve los IDs de los productos que cumplen los filtros, en el orden pedido.
+     *
+     * @param query Filtros, orden y límite
+     * @return IDs de la página y total de productos que cumplen los filtros
+     */
+    public ScanResult scan(ProductScanQuery query) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return columns.scan(query);
+        } finally {
+            lock.readLock().unlock();
+            scanTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Resultado de un recorrido.
+     *
+     * @param ids IDs de los productos, en el orden pedido
+     * @param total Número de productos que cumplen los filtros
+     */
+    public record ScanResult(long[] ids, long total) {
+    }
+
+    /**
+     * Columnas del índice. Un recorrido o una reconstrucción trabajan siempre
+     * sobre la misma instancia; la reconstrucción la sustituye al terminar.
+     */
+    private static final class Columns {
+
+        /**
+         * Código de categoría de las filas borradas.
+         */
+        private static final int DELETED = -1;
+
+        /**
+         * Código de la consulta sin filtro de categoría.
+         */
+        private static final int ANY_CATEGORY = -2;
+
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> categoryNames = new ArrayList<>();
+        private final OffHeapLongIntMap rowsById;
+
+        private LongBuffer ids;
+        private LongBuffer prices;
+        private LongBuffer createdAt;
+        private LongBuffer updatedAt;
+        private IntBuffer stocks;
+        private IntBuffer categories;
+        private int capacity;
+        private int size;
+        private volatile int live;
+
+        private Columns(int capacity) {
+            this.rowsById = new OffHeapLongIntMap(capacity);
+            allocate(capacity);
+        }
+
+        private void add(ProductResponse product) {
+            int row = rowsById.get(product.getId());
+            if (row < 0) {
+                if (size == capacity) {
+                    allocate(capacity * 2);
+                }
+                row = size++;
+                ids.put(row, product.getId());
+                rowsById.put(product.getId(), row);
+                live++;
+            } else if (categories.get(row) == DELETED) {
+                live++;
+            }
+            prices.put(row, toCents(product.getPrice(), RoundingMode.HALF_UP));
+            stocks.put(row, product.getStock() == null ? 0 : product.getStock());
+            categories.put(row, dictionary.computeIfAbsent(product.getCategory(), category -> {
+                categoryNames.add(category);
+                return categoryNames.size() - 1;
+            }));
+            createdAt.put(row, toMicros(product.getCreatedAt()));
+            updatedAt.put(row, toMicros(product.getUpdatedAt()));
+        }
+
+        private void remove(Long id) {
+            int row = rowsById.get(id);
+            if (row >= 0 && categories.get(row) != DELETED) {
+                categories.put(row, DELETED);
+                live--;
+            }
+        }
+
+        private ScanResult scan(ProductScanQuery query) {
+            int category = ANY_CATEGORY;
+            if (query.category() != null) {
+                Integer code = dictionary.get(query.category());
+                if (code == null) {
+                    return new ScanResult(new long[0], 0);
+                }
+                category = code;
+            }
+            long minPrice = query.minPrice() == null ? Long.MIN_VALUE : toCents(query.minPrice(), RoundingMode.CEILING);
+            long maxPrice = query.maxPrice() == null ? Long.MAX_VALUE : toCents(query.maxPrice(), RoundingMode.FLOOR);
+            int minStock = query.minStock() == null ? Integer.MIN_VALUE : query.minStock();
+
+            LongBuffer sortColumn = switch (query.sort()) {
+                case ID -> ids;
+                case PRICE -> prices;
+                case CREATED_AT -> createdAt;
+                case UPDATED_AT -> updatedAt;
+                case STOCK -> null;
+            };
+            TopK top = new TopK(query.limit(), query.descending());
+            long total = 0;
+            for (int row = 0; row < size; row++) {
+                int code = categories.get(row);
+                if (code == DELETED || (category != ANY_CATEGORY && code != category)) {
+                    continue;
+                }
+                long price = prices.get(row);
+                if (price < minPrice || price > maxPrice || stocks.get(row) < minStock) {
+                    continue;
+                }
+                total++;
+                top.offer(sortColumn == null ? stocks.get(row) : sortColumn.get(row), ids.get(row));
+            }
+            return new ScanResult(top.sortedIds(), total);
+        }
+
+        private long offHeapBytes() {
+            return (long) capacity * (4 * Long.BYTES + 2 * Integer.BYTES) + rowsById.offHeapBytes();
+        }
+
+        private void allocate(int newCapacity) {
+            ids = grow(ids, newCapacity);
+            prices = grow(prices, newCapacity);
+            createdAt = grow(createdAt, newCapacity);
+            updatedAt = grow(updatedAt, newCapacity);
+            stocks = grow(stocks, newCapacity);
+            categories = grow(categories, newCapacity);
+            capacity = newCapacity;
+        }
+
+        private LongBuffer grow(LongBuffer old, int newCapacity) {
+            LongBuffer grown = direct(newCapacity * Long.BYTES).asLongBuffer();
+            if (old != null) {
+                grown.put(0, old, 0, size);
+            }
+            return grown;
+        }
+
+        private IntBuffer grow(IntBuffer old, int newCapacity) {
+            IntBuffer grown = direct(newCapacity * Integer.BYTES).asIntBuffer();
+            if (old != null) {
+                grown.put(0, old, 0, size);
+            }
+            return grown;
+        }
+
+        private static ByteBuffer direct(int bytes) {
+            return ByteBuffer.allocateDirect(bytes).order(ByteOrder.nativeOrder());
+        }
+    }
+
+    /**
+     * Montículo acotado sobre arrays de primitivos que conserva los k mejores
+     * valores. La raíz es el peor de los conservados, el que sale al llegar uno mejor.
+     */
+    private static final class TopK {
+
+        private final long[] keys;
+        private final long[] ids;
+        private final boolean descending;
+        private int size;
+
+        private TopK(int limit, boolean descending) {
+            this.keys = new long[limit];
+            this.ids = new long[limit];
+            this.descending = descending;
+        }
+
+        private void offer(long key, long id) {
+            if (size < keys.length) {
+                keys[size] = key;
+                ids[size] = id;
+                siftUp(size++);
+            } else if (size > 0 && better(key, id, keys[0], ids[0])) {
+                keys[0] = key;
+                ids[0] = id;
+                siftDown(0, size);
+            }
+        }
+
+        /**
+         * Vacía el montículo y devuelve los IDs del mejor al peor.
+         */
+        private long[] sortedIds() {
+            long[] result = new long[size];
+            for (int end = size - 1; end >= 0; end--) {
+                result[end] = ids[0];
+                swap(0, end);
+                siftDown(0, end);
+            }
+            return result;
+        }
+
+        private boolean better(long keyA, long idA, long keyB, long idB) {
+            if (keyA != keyB) {
+                return descending ? keyA > keyB : keyA < keyB;
+            }
+            return idA < idB;
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (!better(keys[parent], ids[parent], keys[index], ids[index])) {
+                    return;
+                }
+                swap(index, parent);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index, int length) {
+            while (true) {
+                int worst = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < length && better(keys[worst], ids[worst], keys[left], ids[left])) {
+                    worst = left;
+                }
+                if (right < length && better(keys[worst], ids[worst], keys[right], ids[right])) {
+                    worst = right;
+                }
+                if (worst == index) {
+                    return;
+                }
+                swap(index, worst);
+                index = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long key = keys[a];
+            keys[a] = keys[b];
+            keys[b] = key;
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+        }
+    }
+
+    private static long toCents(BigDecimal price, RoundingMode rounding) {
+        return price == null ? 0 : price.movePointRight(2).setScale(0, rounding).longValueExact();
+    }
+
+    private static long toMicros(LocalDateTime value) {
+        return value == null ? Long.MIN_VALUE : value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+}
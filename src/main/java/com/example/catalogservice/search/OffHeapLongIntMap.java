@@ -0,0 +1,122 @@
+package com.example.catalogservice.search;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+
+/**
+ * Tabla hash de long a int fuera del heap, con direccionamiento abierto y sondeo lineal.
+ *
+ * Sustituye a un {@code HashMap<Long, Integer>} para traducir IDs de producto
+ * a filas del índice columnar: con millones de entradas, un mapa del heap
+ * serían millones de objetos Long, Integer y nodos que el GC tiene que
+ * recorrer. Aquí son dos buffers directos de primitivos.
+ *
+ * La clave 0 marca una posición libre (los IDs de producto empiezan en 1).
+ * No admite borrados: los IDs no se reutilizan, así que la fila de un
+ * producto borrado se marca como borrada en el índice y la entrada se queda.
+ *
+ * No es seguro entre hilos; el índice columnar lo protege con su bloqueo.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class OffHeapLongIntMap {
+
+    private static final float MAX_LOAD = 0.6f;
+
+    private LongBuffer keys;
+    private IntBuffer values;
+    private int mask;
+    private int size;
+
+    OffHeapLongIntMap(int expected) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, (int) (expected / MAX_LOAD)) - 1) << 1));
+    }
+
+    /**
+     * Devuelve el valor asociado a una clave.
+     *
+     * @param key Clave (mayor que 0)
+     * @return Valor, o -1 si la clave no está
+     */
+    int get(long key) {
+        int slot = slot(key);
+        while (true) {
+            long current = keys.get(slot);
+            if (current == key) {
+                return values.get(slot);
+            }
+            if (current == 0) {
+                return -1;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Asocia un valor a una clave, sustituyendo el anterior.
+     *
+     * @param key Clave (mayor que 0)
+     * @param value Valor
+     */
+    void put(long key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Clave no válida: " + key);
+        }
+        if (size + 1 > (mask + 1) * MAX_LOAD) {
+            resize();
+        }
+        int slot = slot(key);
+        while (true) {
+            long current = keys.get(slot);
+            if (current == key) {
+                values.put(slot, value);
+                return;
+            }
+            if (current == 0) {
+                keys.put(slot, key);
+                values.put(slot, value);
+                size++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Memoria fuera del heap ocupada por la tabla, en bytes.
+     */
+    long offHeapBytes() {
+        return (long) (mask + 1) * (Long.BYTES + Integer.BYTES);
+    }
+
+    private void resize() {
+        LongBuffer oldKeys = keys;
+        IntBuffer oldValues = values;
+        allocate((mask + 1) * 2);
+        size = 0;
+        for (int i = 0; i < oldKeys.capacity(); i++) {
+            long key = oldKeys.get(i);
+            if (key != 0) {
+                put(key, oldValues.get(i));
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = ByteBuffer.allocateDirect(capacity * Long.BYTES).order(ByteOrder.nativeOrder()).asLongBuffer();
+        values = ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+        mask = capacity - 1;
+    }
+
+    private int slot(long key) {
+        // Mezcla de bits (fmix64 de MurmurHash3) para repartir IDs consecutivos
+        long hash = key;
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return (int) hash & mask;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.catalogservice.search;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Filtros y orden de un recorrido del índice columnar.
+ *
+ * @param category Categoría exacta (null para todas)
+ * @param minPrice Precio mínimo incluido (null sin límite)
+ * @param maxPrice Precio máximo incluido (null sin límite)
+ * @param minStock Stock mínimo incluido (null sin límite)
+ * @param sort Columna de ordenación
+ * @param descending Orden descendente
+ * @param limit Número máximo de IDs a devolver
+ * @author Tutorial
+ * @version 1.0
+ */
+public record ProductScanQuery(String category, BigDecimal minPrice, BigDecimal maxPrice, Integer minStock,
+                               SortField sort, boolean descending, int limit) {
+
+    /**
+     * Columnas por las que se puede ordenar. A igualdad de valor se ordena por ID ascendente.
+     */
+    public enum SortField {
+        ID,
+        PRICE,
+        STOCK,
+        CREATED_AT,
+        UPDATED_AT;
+
+        /**
+         * Obtiene la columna a partir de su nombre en la API (price, createdAt...).
+         *
+         * @param value Nombre de la columna
+         * @return Columna de ordenación
+         * @throws IllegalArgumentException si la columna no existe
+         */
+        public static SortField fromParameter(String value) {
+            String normalized = value.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+            for (SortField field : values()) {
+                if (field.name().equals(normalized)) {
+                    return field;
+                }
+            }
+            throw new IllegalArgumentException("Campo de ordenación no válido: '" + value
+                    + "' (valores posibles: id, price, stock, createdAt, updatedAt)");
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.catalogservice.search;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.index.ProductIndex;
+import com.example.catalogservice.model.response.ProductResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria para la búsqueda de texto sobre el catálogo.
+ *
+ * Indexa los campos sku, name, category y description. El texto se normaliza
+ * (minúsculas y sin tildes) y se divide en términos por cualquier carácter que
+ * no sea letra o dígito. El diccionario de términos es un mapa ordenado, así
+ * que la búsqueda por prefijo (para autocompletado) es un recorrido de un
+ * rango contiguo del diccionario.
+ *
+ * Relevancia: cada término aporta el peso del campo donde aparece
+ * multiplicado por su IDF (los términos raros pesan más). Las coincidencias
+ * por prefijo valen la mitad que las exactas. Un producto debe coincidir con
+ * todos los términos de la consulta.
+ *
+ * Las consultas usan el bloqueo de lectura y los cambios el de escritura; las
+ * reconstrucciones se hacen sobre una estructura nueva que se publica al final.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ProductSearchIndex implements ProductIndex {
+
+    private static final float SKU_WEIGHT = 4.0f;
+    private static final float NAME_WEIGHT = 3.0f;
+    private static final float CATEGORY_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    /**
+     * Factor aplicado a las coincidencias por prefijo respecto a las exactas.
+     */
+    private static final float PREFIX_FACTOR = 0.5f;
+
+    /**
+     * Longitud mínima de un término de consulta para expandirlo por prefijo.
+     */
+    private static final int MIN_PREFIX_LENGTH = 2;
+
+    /**
+     * Número máximo de términos del diccionario que se expanden por cada prefijo.
+     */
+    private static final int MAX_PREFIX_EXPANSION = 512;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    private volatile boolean ready;
+
+    @Override
+    public String name() {
+        return "búsqueda";
+    }
+
+    @Override
+    public Rebuild startRebuild() {
+        Index rebuilt = new Index();
+        return new Rebuild() {
+            @Override
+            public void accept(ProductResponse product) {
+                rebuilt.add(product);
+            }
+
+            @Override
+            public void complete() {
+                lock.writeLock().lock();
+                try {
+                    index = rebuilt;
+                    ready = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.debug("Índice de búsqueda publicado: {} productos, {} términos",
+                        rebuilt.documents.size(), rebuilt.postings.size());
+            }
+        };
+    }
+
+    @Override
+    public void apply(ProductChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            for (ProductResponse product : event.products()) {
+                if (event.type() == ProductChangedEvent.ChangeType.DELETED) {
+                    index.remove(product.getId());
+                } else {
+                    index.add(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Busca productos que contengan todos los términos de la consulta, ordenados por relevancia.
+     *
+     * @param query Texto de búsqueda
+     * @param offset Número de resultados a saltar
+     * @param limit Número máximo de resultados a devolver
+     * @return Resultados de la página solicitada y total de coincidencias
+     */
+    public SearchResult search(String query, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty()) {
+            return new SearchResult(List.of(), 0);
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Float> scores = null;
+            for (String term : terms) {
+                Map<Long, Float> termScores = index.score(term);
+                scores = scores == null ? termScores : intersect(scores, termScores);
+                if (scores.isEmpty()) {
+                    return new SearchResult(List.of(), 0);
+                }
+            }
+            return new SearchResult(topResults(scores, offset, limit), scores.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Número de productos indexados.
+     *
+     * @return Tamaño del índice
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<ProductResponse> topResults(Map<Long, Float> scores, int offset, int limit) {
+        int window = offset + limit;
+        if (offset >= scores.size()) {
+            return List.of();
+        }
+        // Montículo acotado: solo se ordenan los "window" mejores, no todas las coincidencias
+        Comparator<Map.Entry<Long, Float>> byRelevance = Map.Entry.<Long, Float>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        PriorityQueue<Map.Entry<Long, Float>> top = new PriorityQueue<>(window + 1, byRelevance.reversed());
+        for (Map.Entry<Long, Float> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > window) {
+                top.poll();
+            }
+        }
+        List<Map.Entry<Long, Float>> ranked = new ArrayList<>(top);
+        ranked.sort(byRelevance);
+
+        List<ProductResponse> results = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (int i = offset; i < ranked.size(); i++) {
+            results.add(index.documents.get(ranked.get(i).getKey()).product());
+        }
+        return results;
+    }
+
+    private static Map<Long, Float> intersect(Map<Long, Float> left, Map<Long, Float> right) {
+        Map<Long, Float> smaller = left.size() <= right.size() ? left : right;
+        Map<Long, Float> larger = smaller == left ? right : left;
+        Map<Long, Float> result = new HashMap<>();
+        for (Map.Entry<Long, Float> entry : smaller.entrySet()) {
+            Float other = larger.get(entry.getKey());
+            if (other != null) {
+                result.put(entry.getKey(), entry.getValue() + other);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Normaliza un texto y lo divide en términos.
+     *
+     * @param text Texto a tokenizar (puede ser null)
+     * @return Términos en minúsculas y sin tildes
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Resultado de una búsqueda.
+     *
+     * @param items Productos de la página solicitada, ordenados por relevancia
+     * @param total Número total de productos que coinciden
+     */
+    public record SearchResult(List<ProductResponse> items, long total) {
+    }
+
+    /**
+     * Producto indexado junto con los términos que generó, necesarios para poder eliminarlo.
+     */
+    private record Document(ProductResponse product, Set<String> terms) {
+    }
+
+    /**
+     * Estructura del índice: diccionario ordenado término → (ID → peso) y documentos por ID.
+     * No es segura para hilos; el acceso se protege desde ProductSearchIndex.
+     */
+    private static final class Index {
+
+        private final TreeMap<String, Map<Long, Float>> postings = new TreeMap<>();
+        private final Map<Long, Document> documents = new HashMap<>();
+
+        void add(ProductResponse product) {
+            remove(product.getId());
+
+            Map<String, Float> weights = new HashMap<>();
+            addField(weights, product.getSku(), SKU_WEIGHT);
+            addField(weights, product.getName(), NAME_WEIGHT);
+            addField(weights, product.getCategory(), CATEGORY_WEIGHT);
+            addField(weights, product.getDescription(), DESCRIPTION_WEIGHT);
+
+            for (Map.Entry<String, Float> weight : weights.entrySet()) {
+                postings.computeIfAbsent(weight.getKey(), term -> new HashMap<>())
+                        .put(product.getId(), weight.getValue());
+            }
+            documents.put(product.getId(), new Document(product, weights.keySet()));
+        }
+
+        void remove(Long id) {
+            Document document = documents.remove(id);
+            if (document == null) {
+                return;
+            }
+            for (String term : document.terms()) {
+                Map<Long, Float> docs = postings.get(term);
+                if (docs != null) {
+                    docs.remove(id);
+                    if (docs.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Calcula la puntuación de cada producto para un término de consulta (exacto y por prefijo).
+         */
+        Map<Long, Float> score(String term) {
+            Map<Long, Float> scores = new HashMap<>();
+            Map<Long, Float> exact = postings.get(term);
+            if (exact != null) {
+                accumulate(scores, exact, 1.0f);
+            }
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                NavigableMap<String, Map<Long, Float>> expansions =
+                        postings.subMap(term, false, term + Character.MAX_VALUE, false);
+                int expanded = 0;
+                for (Map<Long, Float> docs : expansions.values()) {
+                    if (++expanded > MAX_PREFIX_EXPANSION) {
+                        break;
+                    }
+                    accumulate(scores, docs, PREFIX_FACTOR);
+                }
+            }
+            return scores;
+        }
+
+        private void accumulate(Map<Long, Float> scores, Map<Long, Float> docs, float factor) {
+            float idf = (float) Math.log(1.0 + (double) documents.size() / docs.size());
+            for (Map.Entry<Long, Float> doc : docs.entrySet()) {
+                // Un producto puntúa por la mejor coincidencia del término, no por la suma de todas
+                scores.merge(doc.getKey(), doc.getValue() * idf * factor, Math::max);
+            }
+        }
+
+        private static void addField(Map<String, Float> weights, String value, float weight) {
+            for (String token : tokenize(value)) {
+                weights.merge(token, weight, Float::sum);
+            }
+        }
+    }
+}
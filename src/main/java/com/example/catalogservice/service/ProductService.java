@@ -1,9 +1,17 @@
 package com.example.catalogservice.service;
 
-import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.request.ProductUpdateRequest;
+import com.example.catalogservice.model.response.CategoryFacetResponse;
+import com.example.catalogservice.model.response.PageResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductQuery;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Interfaz para el servicio de productos.
@@ -11,6 +19,9 @@ import java.util.Optional;
  * Esta interfaz define el contrato de operaciones disponibles
  * para gestionar productos en el catálogo.
  *
+ * Las operaciones de lectura devuelven proyecciones (ProductResponse) en lugar
+ * de entidades, de forma que las lecturas no pasan por el contexto de persistencia.
+ *
  * @author Tutorial
  * @version 1.0
  */
@@ -22,10 +33,129 @@ public interface ProductService {
      * @param id ID del producto a buscar
      * @return Optional con el producto si existe, vacío en caso contrario
      */
-    Optional<Product> getProductById(Long id);
+    Optional<ProductResponse> getProductById(Long id);
+
+    /**
+     * Busca un producto por su código SKU.
+     *
+     * @param sku Código SKU del producto
+     * @return Optional con el producto si existe, vacío en caso contrario
+     */
+    Optional<ProductResponse> getProductBySku(String sku);
+
+    /**
+     * Busca varios productos por ID en una sola operación.
+     *
+     * Los productos presentes en caché no se consultan; el resto se resuelve
+     * con consultas IN troceadas.
+     *
+     * @param ids IDs de los productos a buscar
+     * @return Mapa ID → producto con los productos encontrados
+     */
+    Map<Long, ProductResponse> getProductsByIds(Collection<Long> ids);
+
+    /**
+     * Busca varios productos por SKU en una sola operación.
+     *
+     * @param skus Códigos SKU de los productos a buscar
+     * @return Mapa SKU → producto con los productos encontrados
+     */
+    Map<String, ProductResponse> getProductsBySkus(Collection<String> skus);
+
+    /**
+     * Obtiene una página de productos ordenados por ID (paginación keyset).
+     *
+     * @param afterId ID del último producto de la página anterior (null para la primera)
+     * @param limit Número máximo de productos a devolver
+     * @return Productos con ID mayor que afterId, ordenados por ID
+     */
+    List<ProductResponse> getProductsPage(Long afterId, int limit);
+
+    /**
+     * Recorre todo el catálogo en orden de ID sin cargarlo completo en memoria.
+     *
+     * Cada producto se entrega al consumidor a medida que se lee del cursor JDBC,
+     * de modo que el consumo de memoria no depende del tamaño del catálogo.
+     *
+     * @param consumer Función que recibe cada producto
+     */
+    void streamAllProducts(Consumer<ProductResponse> consumer);
+
+    /**
+     * Busca productos por texto en SKU, nombre, categoría y descripción, ordenados por relevancia.
+     *
+     * Usa el índice de búsqueda en memoria; mientras se está construyendo al
+     * arrancar, recurre a una búsqueda por nombre en la base de datos.
+     *
+     * @param query Texto de búsqueda (admite prefijos para autocompletado)
+     * @param page Número de página (empezando en 0)
+     * @param size Tamaño de página
+     * @return Página de productos encontrados
+     */
+    PageResponse<ProductResponse> searchProducts(String query, int page, int size);
 
-    List<Product> getAllProducts();
+    /**
+     * Obtiene una página de productos de una categoría ordenados por ID (paginación keyset).
+     *
+     * @param category Categoría de los productos
+     * @param afterId ID del último producto de la página anterior (null para la primera)
+     * @param limit Número máximo de productos a devolver
+     * @return Productos de la categoría con ID mayor que afterId, ordenados por ID
+     */
+    List<ProductResponse> getProductsByCategory(String category, Long afterId, int limit);
 
-    void deleteProduct(Long id);
+    /**
+     * Busca productos combinando filtros por categoría, precio, stock y fecha de
+     * modificación, en el orden pedido y a partir de una posición (paginación keyset).
+     *
+     * @param query Filtros, orden, posición y límite
+     * @return Productos en el orden pedido
+     */
+    List<ProductResponse> queryProducts(ProductQuery query);
+
+    /**
+     * Cuenta los productos de cada categoría, opcionalmente filtrados por precio y stock.
+     *
+     * Usa los recuentos precalculados en memoria; mientras se están
+     * construyendo al arrancar, recurre a un GROUP BY en la base de datos.
+     *
+     * @param minPrice Precio mínimo incluido (null sin límite)
+     * @param maxPrice Precio máximo incluido (null sin límite)
+     * @param inStockOnly Contar solo productos con stock
+     * @return Recuento por categoría, de mayor a menor
+     */
+    List<CategoryFacetResponse> getCategoryFacets(BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly);
+
+    /**
+     * Sustituye los datos de un producto.
+     *
+     * La escritura es una única sentencia condicionada a la versión (sin
+     * bloquear la fila entre la lectura del cliente y la escritura): si la
+     * versión actual no es ninguna de las esperadas, no se aplica.
+     *
+     * @param id ID del producto
+     * @param request Nuevos datos del producto
+     * @param expectedVersions Versiones que el cliente da por buenas (If-Match), o null para escribir sin condición
+     * @return Producto actualizado
+     * @throws com.example.catalogservice.exception.ResourceNotFoundException si el producto no existe
+     * @throws com.example.catalogservice.exception.PreconditionFailedException si la versión actual no es la esperada
+     */
+    ProductResponse updateProduct(Long id, ProductUpdateRequest request, Collection<Long> expectedVersions);
+
+    /**
+     * Elimina un producto.
+     *
+     * Con H2 o PostgreSQL una sola sentencia borra la fila y devuelve su
+     * último estado para el evento. En otras bases de datos se lee antes el
+     * producto y, si otra escritura lo cambia entre la lectura y el borrado,
+     * el borrado se reintenta.
+     *
+     * @param id ID del producto
+     * @param expectedVersions Versiones que el cliente da por buenas (If-Match), o null para borrar sin condición
+     * @throws com.example.catalogservice.exception.ResourceNotFoundException si el producto no existe
+     * @throws com.example.catalogservice.exception.PreconditionFailedException si la versión actual no es la esperada
+     * @throws com.example.catalogservice.exception.ConcurrentUpdateException si se agotan los reintentos
+     */
+    void deleteProduct(Long id, Collection<Long> expectedVersions);
 
 }
@@ -1,16 +1,45 @@
 package com.example.catalogservice.service.impl;
 
+import com.example.catalogservice.cache.ProductCache;
+import com.example.catalogservice.concurrency.OptimisticRetry;
+import com.example.catalogservice.concurrency.ProductLookupFlights;
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.example.catalogservice.exception.PreconditionFailedException;
 import com.example.catalogservice.exception.ResourceNotFoundException;
-import com.example.catalogservice.model.Product;
+import com.example.catalogservice.index.ProductExistenceFilter;
+import com.example.catalogservice.model.request.ProductUpdateRequest;
+import com.example.catalogservice.model.response.CategoryFacetResponse;
+import com.example.catalogservice.model.response.PageResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductQuery;
 import com.example.catalogservice.repository.ProductRepository;
+import com.example.catalogservice.search.CategoryFacetIndex;
+import com.example.catalogservice.search.ProductSearchIndex;
 import com.example.catalogservice.service.ProductService;
+import com.example.catalogservice.snapshot.RestoringCatalog;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Implementación del servicio de productos.
@@ -18,24 +47,96 @@ import java.util.Optional;
  * Esta clase implementa la interfaz ProductService y proporciona
  * la lógica de negocio para gestionar productos en el catálogo.
  *
+ * Todos los métodos públicos se miden con el timer "catalog.service",
+ * etiquetado por clase y método.
+ *
  * @author Tutorial
  * @version 1.0
  */
 @Service
+@Timed(value = "catalog.service", description = "Duración de las operaciones del servicio de productos", histogram = true)
 @RequiredArgsConstructor
 @Slf4j
 public class ProductServiceImpl implements ProductService {
 
+    /**
+     * Número máximo de parámetros por consulta IN en las búsquedas por lotes.
+     */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    /**
+     * Posición máxima alcanzable al paginar resultados de búsqueda; evita ordenar
+     * todo el catálogo para páginas muy profundas.
+     */
+    private static final int MAX_SEARCH_RESULT_WINDOW = 10_000;
+
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductLookupFlights lookupFlights;
+    private final ProductSearchIndex productSearchIndex;
+    private final CategoryFacetIndex categoryFacetIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RestoringCatalog restoringCatalog;
+    private final OptimisticRetry optimisticRetry;
+    private final ProductExistenceFilter existenceFilter;
 
     /**
      * {@inheritDoc}
      */
     @Override
     @Transactional(readOnly = true)
-    public List<Product> getAllProducts() {
-        log.info("Obteniendo todos los productos");
-        return productRepository.findAll();
+    public List<ProductResponse> getProductsPage(Long afterId, int limit) {
+        log.debug("Obteniendo página de productos después del ID: {} (límite {})", afterId, limit);
+        return productRepository.findResponsesAfterId(afterId == null ? 0L : afterId, Limit.of(limit));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllProducts(Consumer<ProductResponse> consumer) {
+        log.info("Recorriendo el catálogo completo en modo streaming");
+        try (Stream<ProductResponse> products = productRepository.streamAllResponses()) {
+            products.forEach(consumer);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public PageResponse<ProductResponse> searchProducts(String query, int page, int size) {
+        log.info("Buscando productos con el texto: {} (página {}, tamaño {})", query, page, size);
+
+        if ((long) (page + 1) * size > MAX_SEARCH_RESULT_WINDOW) {
+            throw new IllegalArgumentException(
+                    "Solo se pueden consultar los primeros " + MAX_SEARCH_RESULT_WINDOW + " resultados");
+        }
+
+        if (!productSearchIndex.isReady()) {
+            log.warn("Índice de búsqueda aún no disponible, buscando por nombre en la base de datos");
+            // Escapados, '%' y '_' se buscan literalmente en lugar de coincidir con todo el catálogo
+            Page<ProductResponse> result = productRepository.searchResponsesByName(
+                    escapeLike(query.trim()), PageRequest.of(page, size));
+            return PageResponse.of(result.getContent(), page, size, result.getTotalElements());
+        }
+
+        ProductSearchIndex.SearchResult result = productSearchIndex.search(query, page * size, size);
+        return PageResponse.of(result.items(), page, size, result.total());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<ProductResponse> getProductsByCategory(String category, Long afterId, int limit) {
+        log.debug("Obteniendo productos de la categoría {} después del ID: {} (límite {})", category, afterId, limit);
+        // Sin @Transactional: las peticiones que esperan una consulta idéntica en curso
+        // no deben retener una conexión; la consulta abre su propia transacción de solo lectura
+        long after = afterId == null ? 0L : afterId;
+        return lookupFlights.byCategory(category, after, limit,
+                () -> productRepository.findResponsesByCategoryAfterId(category, after, Limit.of(limit)));
     }
 
     /**
@@ -43,9 +144,62 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Transactional(readOnly = true)
-    public Optional<Product> getProductById(Long id) {
+    public List<ProductResponse> queryProducts(ProductQuery query) {
+        log.debug("Consultando productos por criterios: {}", query);
+        return productRepository.findResponses(query);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<CategoryFacetResponse> getCategoryFacets(BigDecimal minPrice, BigDecimal maxPrice, boolean inStockOnly) {
+        log.info("Calculando facetas de categoría (precio: {} - {}, solo con stock: {})", minPrice, maxPrice, inStockOnly);
+
+        if (!categoryFacetIndex.isReady()) {
+            log.warn("Facetas de categoría aún no disponibles, agrupando en la base de datos");
+            return productRepository.countByCategory(minPrice, maxPrice, inStockOnly);
+        }
+        return categoryFacetIndex.countByCategory(minPrice, maxPrice, inStockOnly);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ProductResponse> getProductById(Long id) {
         log.info("Buscando producto con ID: {}", id);
-        return productRepository.findById(id);
+        // Sin @Transactional: un acierto de caché no debe abrir transacción ni pedir conexión;
+        // en caso de fallo, la consulta ya se ejecuta en su propia transacción de solo lectura.
+        // Mientras se carga la instantánea, los productos aún no cargados se leen de ella
+        Optional<ProductResponse> cached = productCache.getIfPresent(id);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        // Un ID que el filtro descarta no existe: no se consulta la base de datos
+        if (!existenceFilter.mightContainId(id)) {
+            return Optional.empty();
+        }
+        // Los fallos simultáneos del mismo ID comparten una única consulta
+        return lookupFlights.byId(id, () -> productCache.getById(id, key -> productRepository.findResponseById(key)
+                .or(() -> restoringCatalog.findById(key))));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Optional<ProductResponse> getProductBySku(String sku) {
+        log.info("Buscando producto con SKU: {}", sku);
+        Optional<ProductResponse> cached = productCache.getIfPresentBySku(sku);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        if (!existenceFilter.mightContainSku(sku)) {
+            return Optional.empty();
+        }
+        return lookupFlights.bySku(sku, () -> productCache.getBySku(sku, key -> productRepository.findResponseBySku(key)
+                .or(() -> restoringCatalog.findBySku(key))));
     }
 
     /**
@@ -53,15 +207,163 @@ public class ProductServiceImpl implements ProductService {
      */
     @Override
     @Transactional
-    public void deleteProduct(Long id) {
+    public ProductResponse updateProduct(Long id, ProductUpdateRequest request, Collection<Long> expectedVersions) {
+        log.info("Actualizando producto con ID: {}", id);
+
+        // Una sola sentencia condicionada a la versión: no se lee la fila antes de escribirla
+        // ni se bloquea; si no se aplica, se averigua después si falta el producto o ha cambiado
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        int updated;
+        if (expectedVersions == null) {
+            updated = productRepository.replaceById(id, request.getName(), request.getDescription(),
+                    request.getPrice(), request.getStock(), request.getCategory(), now);
+        } else if (expectedVersions.isEmpty()) {
+            updated = 0;
+        } else {
+            updated = productRepository.replaceByIdAndVersionIn(id, expectedVersions, request.getName(),
+                    request.getDescription(), request.getPrice(), request.getStock(), request.getCategory(), now);
+        }
+        if (updated == 0) {
+            throw productRepository.findVersionById(id)
+                    .<RuntimeException>map(version -> new PreconditionFailedException(id, version))
+                    .orElseGet(() -> notFound(id));
+        }
+
+        ProductResponse product = productRepository.findResponseById(id).orElseThrow(() -> notFound(id));
+        eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.UPDATED, List.of(product)));
+        return product;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void deleteProduct(Long id, Collection<Long> expectedVersions) {
         log.info("Eliminando producto con ID: {}", id);
 
-        // Verificamos que el producto exista
-        if (!productRepository.existsById(id)) {
-            log.error("Producto con ID: {} no encontrado", id);
-            throw new ResourceNotFoundException("Producto", "id", id);
+        String operation = "eliminar el producto " + id;
+        if (productRepository.supportsDeleteReturning()) {
+            // Una sola sentencia elimina la fila (condicionada a la versión si hay If-Match) y
+            // devuelve su último estado para el evento: no hay lectura previa ni nada que reintentar.
+            // OptimisticRetry solo aporta la transacción y el turno de admisión
+            optimisticRetry.execute(operation, () -> Optional.of(deleteReturning(id, expectedVersions)));
+            return;
+        }
+
+        // Sin DELETE ... RETURNING se lee la proyección y se borra condicionada a la versión
+        // leída: si otra escritura se cuela entre ambas sentencias el borrado no se aplica y
+        // se repite con la versión nueva, en lugar de publicar un evento con datos obsoletos
+        optimisticRetry.execute(operation, () -> {
+            ProductResponse product = productRepository.findResponseById(id).orElseThrow(() -> notFound(id));
+            if (expectedVersions != null && !expectedVersions.contains(product.getVersion())) {
+                throw new PreconditionFailedException(id, product.getVersion());
+            }
+            if (productRepository.deleteByIdAndVersionIn(id, List.of(product.getVersion())) == 0) {
+                return Optional.empty();
+            }
+            eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.DELETED, List.of(product)));
+            return Optional.of(product);
+        });
+    }
+
+    private ProductResponse deleteReturning(Long id, Collection<Long> expectedVersions) {
+        Optional<ProductResponse> deleted = expectedVersions != null && expectedVersions.isEmpty()
+                ? Optional.empty()
+                : productRepository.deleteReturningById(id, expectedVersions);
+        // Si no se ha borrado, se averigua después si falta el producto o ha cambiado su versión
+        ProductResponse product = deleted.orElseThrow(() -> productRepository.findVersionById(id)
+                .<RuntimeException>map(version -> new PreconditionFailedException(id, version))
+                .orElseGet(() -> notFound(id)));
+        eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.DELETED, List.of(product)));
+        return product;
+    }
+
+    /**
+     * Escapa los comodines de LIKE para que el texto se compare literalmente.
+     */
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private ResourceNotFoundException notFound(Long id) {
+        restoringCatalog.checkRestored(id);
+        log.debug("Producto con ID: {} no encontrado", id);
+        return new ResourceNotFoundException("Producto", "id", id);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<Long, ProductResponse> getProductsByIds(Collection<Long> ids) {
+        log.info("Buscando {} productos por ID", ids.size());
+
+        Map<Long, ProductResponse> found = new HashMap<>(productCache.getAllPresentById(ids));
+        List<Long> pending = new ArrayList<>(new LinkedHashSet<>(ids));
+        pending.removeAll(found.keySet());
+        pending.removeIf(id -> !existenceFilter.mightContainId(id));
+
+        // Los productos se leen sin la carga atómica por clave de la caché: solo se guardan
+        // si no se ha invalidado ninguno de ellos mientras tanto
+        long stamp = productCache.invalidationStamp();
+        for (List<Long> chunk : chunks(pending)) {
+            for (ProductResponse product : productRepository.findResponsesByIdIn(chunk)) {
+                productCache.putIfNotInvalidated(product, stamp);
+                found.put(product.getId(), product);
+            }
         }
+        if (restoringCatalog.isRestoring()) {
+            for (Long id : pending) {
+                if (!found.containsKey(id)) {
+                    restoringCatalog.findById(id).ifPresent(product -> found.put(id, product));
+                }
+            }
+        }
+        log.debug("Búsqueda por lotes de IDs: {} consultados de {}", pending.size(), ids.size());
+        return found;
+    }
 
-        productRepository.deleteById(id);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Map<String, ProductResponse> getProductsBySkus(Collection<String> skus) {
+        log.info("Buscando {} productos por SKU", skus.size());
+
+        Map<String, ProductResponse> found = new HashMap<>(productCache.getAllPresentBySku(skus));
+        List<String> pending = new ArrayList<>(new LinkedHashSet<>(skus));
+        pending.removeAll(found.keySet());
+        pending.removeIf(sku -> !existenceFilter.mightContainSku(sku));
+
+        // Los productos se leen sin la carga atómica por clave de la caché: solo se guardan
+        // si no se ha invalidado ninguno de ellos mientras tanto
+        long stamp = productCache.invalidationStamp();
+        for (List<String> chunk : chunks(pending)) {
+            for (ProductResponse product : productRepository.findResponsesBySkuIn(chunk)) {
+                productCache.putIfNotInvalidated(product, stamp);
+                found.put(product.getSku(), product);
+            }
+        }
+        if (restoringCatalog.isRestoring()) {
+            for (String sku : pending) {
+                if (!found.containsKey(sku)) {
+                    restoringCatalog.findBySku(sku).ifPresent(product -> found.put(sku, product));
+                }
+            }
+        }
+        log.debug("Búsqueda por lotes de SKUs: {} consultados de {}", pending.size(), skus.size());
+        return found;
+    }
+
+    /**
+     * Divide una lista en sublistas de como máximo IN_CLAUSE_CHUNK_SIZE elementos.
+     */
+    private static <T> List<List<T>> chunks(List<T> values) {
+        List<List<T>> chunks = new ArrayList<>();
+        for (int from = 0; from < values.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(values.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, values.size())));
+        }
+        return chunks;
     }
 }
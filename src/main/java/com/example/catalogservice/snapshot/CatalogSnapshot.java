@@ -0,0 +1,396 @@
+package com.example.catalogservice.snapshot;
+
+import com.example.catalogservice.model.response.ProductResponse;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Instantánea binaria del catálogo, proyectada en memoria (mmap) para leerla sin copiarla.
+ *
+ * Formato (big-endian):
+ *
+ * - Cabecera de {@value #HEADER_SIZE} bytes: marca "CATSNAP1", versión,
+ *   número de productos, ID máximo, fecha de creación, longitud y CRC32 del cuerpo
+ * - Cuerpo: un registro por producto en orden de ID, con un byte de campos
+ *   nulos, ID, precio (valor sin escala y escala), stock, fechas en
+ *   microsegundos, versión del registro y los textos como longitud + UTF-8
+ *
+ * Las instantáneas de la versión 1 del formato, sin versión del registro, se
+ * siguen pudiendo leer: sus productos se cargan con versión 0.
+ *
+ * Al abrir se comprueba el CRC del cuerpo completo y se crea un índice de
+ * posiciones por ID (dos arrays ordenados) para las búsquedas puntuales. Los
+ * productos no se materializan hasta que se recorren o se buscan.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public final class CatalogSnapshot {
+
+    static final int HEADER_SIZE = 64;
+    static final int FORMAT_VERSION = 2;
+    private static final int FORMAT_VERSION_WITHOUT_ROW_VERSION = 1;
+    private static final byte[] MAGIC = "CATSNAP1".getBytes(StandardCharsets.US_ASCII);
+
+    private static final int NULL_DESCRIPTION = 1;
+    private static final int NULL_PRICE = 1 << 1;
+    private static final int NULL_STOCK = 1 << 2;
+    private static final int NULL_CATEGORY = 1 << 3;
+    private static final int NULL_CREATED_AT = 1 << 4;
+    private static final int NULL_UPDATED_AT = 1 << 5;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final long productCount;
+    private final long maxId;
+    private final Instant createdAt;
+
+    /**
+     * Desplazamiento de los textos dentro de cada registro (depende de la versión del formato).
+     */
+    private final int stringsOffset;
+
+    /**
+     * IDs en orden y posición de su registro en el fichero.
+     */
+    private final long[] ids;
+    private final int[] positions;
+    private volatile Map<String, Integer> skuIndex;
+
+    private CatalogSnapshot(Path file, MappedByteBuffer buffer, int formatVersion, long productCount, long maxId,
+                            Instant createdAt) {
+        this.file = file;
+        this.stringsOffset = formatVersion == FORMAT_VERSION_WITHOUT_ROW_VERSION ? 38 : 46;
+        this.buffer = buffer;
+        this.productCount = productCount;
+        this.maxId = maxId;
+        this.createdAt = createdAt;
+        this.ids = new long[(int) productCount];
+        this.positions = new int[(int) productCount];
+    }
+
+    /**
+     * Escribe una instantánea nueva y sustituye la anterior de forma atómica.
+     *
+     * @param file Fichero destino
+     * @param source Recorrido de los productos en orden ascendente de ID
+     * @return Número de productos escritos
+     * @throws IOException si no se puede escribir el fichero
+     */
+    public static long write(Path file, Consumer<Consumer<ProductResponse>> source) throws IOException {
+        if (file.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+        }
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long[] stats = {0, 0};
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.position(HEADER_SIZE);
+            CRC32 crc = new CRC32();
+            CountingOutputStream counting = new CountingOutputStream(Channels.newOutputStream(channel));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(counting, crc), 1 << 16));
+            source.accept(product -> {
+                if (product.getId() <= stats[1]) {
+                    throw new IllegalStateException("Los productos de la instantánea deben llegar en orden de ID");
+                }
+                try {
+                    writeProduct(out, product);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                stats[0]++;
+                stats[1] = product.getId();
+            });
+            out.flush();
+            if (counting.count > Integer.MAX_VALUE - HEADER_SIZE) {
+                throw new IllegalStateException("La instantánea supera el tamaño máximo de 2GB");
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            header.put(MAGIC)
+                    .putInt(FORMAT_VERSION)
+                    .putLong(stats[0])
+                    .putLong(stats[1])
+                    .putLong(System.currentTimeMillis())
+                    .putLong(counting.count)
+                    .putInt((int) crc.getValue());
+            header.clear();
+            channel.write(header, 0);
+            channel.force(true);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return stats[0];
+    }
+
+    /**
+     * Abre y valida una instantánea.
+     *
+     * @param file Fichero de la instantánea
+     * @return Instantánea lista para leer
+     * @throws IOException si no se puede leer el fichero
+     * @throws IllegalStateException si el fichero no es una instantánea válida
+     */
+    public static CatalogSnapshot open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE || channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Tamaño de instantánea inválido: " + channel.size() + " bytes");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        byte[] magic = new byte[MAGIC.length];
+        buffer.get(0, magic);
+        int formatVersion = buffer.getInt(8);
+        if (!Arrays.equals(magic, MAGIC)
+                || (formatVersion != FORMAT_VERSION && formatVersion != FORMAT_VERSION_WITHOUT_ROW_VERSION)) {
+            throw new IllegalStateException("El fichero " + file + " no es una instantánea del catálogo (versión "
+                    + FORMAT_VERSION + ")");
+        }
+        long productCount = buffer.getLong(12);
+        long maxId = buffer.getLong(20);
+        Instant createdAt = Instant.ofEpochMilli(buffer.getLong(28));
+        long bodyLength = buffer.getLong(36);
+        int expectedCrc = buffer.getInt(44);
+        if (HEADER_SIZE + bodyLength != buffer.capacity() || productCount > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Instantánea truncada: se esperaban " + (HEADER_SIZE + bodyLength)
+                    + " bytes y hay " + buffer.capacity());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.slice(HEADER_SIZE, (int) bodyLength));
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new IllegalStateException("CRC de la instantánea incorrecto: el fichero está dañado");
+        }
+
+        CatalogSnapshot snapshot = new CatalogSnapshot(file, buffer, formatVersion, productCount, maxId, createdAt);
+        snapshot.indexPositions();
+        return snapshot;
+    }
+
+    /**
+     * Recorre los productos en orden de ID.
+     *
+     * @param consumer Receptor de cada producto
+     */
+    public void forEach(Consumer<ProductResponse> consumer) {
+        for (int position : positions) {
+            consumer.accept(readProduct(position));
+        }
+    }
+
+    /**
+     * Recorre los productos a partir de una posición (en orden de ID).
+     *
+     * @param from Índice del primer producto
+     * @param count Número máximo de productos
+     * @param consumer Receptor de cada producto
+     * @return Índice siguiente al último producto recorrido
+     */
+    public int forEach(int from, int count, Consumer<ProductResponse> consumer) {
+        int end = (int) Math.min(positions.length, (long) from + count);
+        for (int i = from; i < end; i++) {
+            consumer.accept(readProduct(positions[i]));
+        }
+        return end;
+    }
+
+    /**
+     * Busca un producto por ID (búsqueda binaria sobre los IDs ordenados).
+     *
+     * @param id ID del producto
+     * @return Producto o null si no está en la instantánea
+     */
+    public ProductResponse findById(long id) {
+        int index = Arrays.binarySearch(ids, id);
+        return index < 0 ? null : readProduct(positions[index]);
+    }
+
+    /**
+     * Busca un producto por SKU. El índice de SKUs se crea en la primera búsqueda.
+     *
+     * @param sku SKU del producto
+     * @return Producto o null si no está en la instantánea
+     */
+    public ProductResponse findBySku(String sku) {
+        Map<String, Integer> index = skuIndex;
+        if (index == null) {
+            index = new HashMap<>(positions.length * 2);
+            for (int position : positions) {
+                index.put(readProduct(position).getSku(), position);
+            }
+            skuIndex = index;
+        }
+        Integer position = index.get(sku);
+        return position == null ? null : readProduct(position);
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getProductCount() {
+        return productCount;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getSize() {
+        return buffer.capacity();
+    }
+
+    private void indexPositions() {
+        int position = HEADER_SIZE;
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = position;
+            ids[i] = buffer.getLong(position + 1);
+            position = skipProduct(position);
+        }
+    }
+
+    private static void writeProduct(DataOutputStream out, ProductResponse product) throws IOException {
+        int nulls = (product.getDescription() == null ? NULL_DESCRIPTION : 0)
+                | (product.getPrice() == null ? NULL_PRICE : 0)
+                | (product.getStock() == null ? NULL_STOCK : 0)
+                | (product.getCategory() == null ? NULL_CATEGORY : 0)
+                | (product.getCreatedAt() == null ? NULL_CREATED_AT : 0)
+                | (product.getUpdatedAt() == null ? NULL_UPDATED_AT : 0);
+        out.writeByte(nulls);
+        out.writeLong(product.getId());
+        BigDecimal price = product.getPrice() == null ? BigDecimal.ZERO : product.getPrice();
+        BigInteger unscaled = price.unscaledValue();
+        if (unscaled.bitLength() > 63 || price.scale() < 0 || price.scale() > Byte.MAX_VALUE) {
+            throw new IllegalStateException("Precio fuera del rango de la instantánea: " + price);
+        }
+        out.writeLong(unscaled.longValue());
+        out.writeByte(price.scale());
+        out.writeInt(product.getStock() == null ? 0 : product.getStock());
+        out.writeLong(toMicros(product.getCreatedAt()));
+        out.writeLong(toMicros(product.getUpdatedAt()));
+        out.writeLong(product.getVersion() == null ? 0 : product.getVersion());
+        writeString(out, product.getSku());
+        writeString(out, product.getName());
+        writeString(out, product.getDescription());
+        writeString(out, product.getCategory());
+    }
+
+    private ProductResponse readProduct(int position) {
+        int nulls = buffer.get(position);
+        long id = buffer.getLong(position + 1);
+        long unscaledPrice = buffer.getLong(position + 9);
+        int scale = buffer.get(position + 17);
+        int stock = buffer.getInt(position + 18);
+        long createdAt = buffer.getLong(position + 22);
+        long updatedAt = buffer.getLong(position + 30);
+        long version = stringsOffset > 38 ? buffer.getLong(position + 38) : 0;
+        int[] cursor = {position + stringsOffset};
+        String sku = readString(cursor);
+        String name = readString(cursor);
+        String description = readString(cursor);
+        String category = readString(cursor);
+        return ProductResponse.builder()
+                .id(id)
+                .sku(sku)
+                .name(name)
+                .description((nulls & NULL_DESCRIPTION) != 0 ? null : description)
+                .price((nulls & NULL_PRICE) != 0 ? null : BigDecimal.valueOf(unscaledPrice, scale))
+                .stock((nulls & NULL_STOCK) != 0 ? null : stock)
+                .category((nulls & NULL_CATEGORY) != 0 ? null : category)
+                .createdAt((nulls & NULL_CREATED_AT) != 0 ? null : fromMicros(createdAt))
+                .updatedAt((nulls & NULL_UPDATED_AT) != 0 ? null : fromMicros(updatedAt))
+                .version(version)
+                .build();
+    }
+
+    private int skipProduct(int position) {
+        int cursor = position + stringsOffset;
+        for (int i = 0; i < 4; i++) {
+            cursor += Integer.BYTES + buffer.getInt(cursor);
+        }
+        return cursor;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private String readString(int[] cursor) {
+        int length = buffer.getInt(cursor[0]);
+        byte[] bytes = new byte[length];
+        buffer.get(cursor[0] + Integer.BYTES, bytes);
+        cursor[0] += Integer.BYTES + length;
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long toMicros(LocalDateTime value) {
+        if (value == null) {
+            return 0;
+        }
+        return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Cuenta los bytes del cuerpo para la cabecera.
+     */
+    private static final class CountingOutputStream extends OutputStream {
+
+        private final OutputStream delegate;
+        private long count;
+
+        private CountingOutputStream(OutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+    }
+}
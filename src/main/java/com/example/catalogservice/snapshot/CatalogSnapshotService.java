@@ -0,0 +1,309 @@
+package com.example.catalogservice.snapshot;
+
+import com.example.catalogservice.cache.ProductCache;
+import com.example.catalogservice.cache.ProductJsonCache;
+import com.example.catalogservice.concurrency.DatabaseAdmissionControl;
+import com.example.catalogservice.index.ProductIndexManager;
+import com.example.catalogservice.model.Product;
+import com.example.catalogservice.model.response.CatalogSnapshotResponse;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Escritura de instantáneas del catálogo y arranque rápido a partir de ellas.
+ *
+ * Sin instantánea, el catálogo se carga en la base de datos (data.sql,
+ * importaciones) y después los índices se construyen recorriéndola entera.
+ * Con {@code catalog.snapshot.restore=true} y una instantánea en
+ * {@code catalog.snapshot.file}, el arranque:
+ *
+ * 1. Proyecta el fichero en memoria y valida su CRC
+ * 2. Sustituye el contenido de la tabla de productos (solo los datos de
+ *    ejemplo de data.sql en la base de datos en memoria) y avanza la
+ *    secuencia de IDs por encima del ID máximo de la instantánea
+ * 3. Construye los índices en memoria directamente desde la instantánea
+ * 4. Carga los productos en la base de datos en segundo plano, en lotes
+ *    JDBC por orden de ID
+ *
+ * La aplicación queda lista tras el paso 3. Durante la carga, las búsquedas
+ * por ID y SKU que no encuentran el producto en la base de datos lo leen de
+ * la instantánea ({@link RestoringCatalog}) y las escrituras sobre productos
+ * aún no cargados responden 503. Los listados paginados muestran los
+ * productos a medida que se cargan.
+ *
+ * La restauración sustituye la tabla de productos: solo debe activarse con
+ * una base de datos que se crea vacía en cada arranque. Por eso está
+ * desactivada salvo en el perfil dev, el de la base de datos en memoria.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotService implements ApplicationRunner {
+
+    private static final String INSERT_SQL = """
+            INSERT INTO products (id, sku, name, description, price, stock, category, created_at, updated_at, version)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    private static final int[] INSERT_TYPES = {
+            Types.BIGINT, Types.VARCHAR, Types.VARCHAR, Types.VARCHAR, Types.NUMERIC, Types.INTEGER, Types.VARCHAR,
+            Types.TIMESTAMP, Types.TIMESTAMP, Types.BIGINT
+    };
+
+    private final ProductService productService;
+    private final ProductIndexManager indexManager;
+    private final ProductCache productCache;
+    private final ProductJsonCache productJsonCache;
+    private final RestoringCatalog restoringCatalog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DatabaseAdmissionControl admissionControl;
+    private final Path file;
+    private final boolean restore;
+    private final int batchSize;
+
+    private final Timer writeTimer;
+    private final Timer openTimer;
+    private final Timer loadTimer;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private volatile CatalogSnapshotResponse current;
+    private volatile boolean stopping;
+
+    public CatalogSnapshotService(ProductService productService,
+                                  ProductIndexManager indexManager,
+                                  ProductCache productCache,
+                                  ProductJsonCache productJsonCache,
+                                  RestoringCatalog restoringCatalog,
+                                  JdbcTemplate jdbcTemplate,
+                                  TransactionTemplate transactionTemplate,
+                                  DatabaseAdmissionControl admissionControl,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${catalog.snapshot.file:catalog-snapshot.bin}") String file,
+                                  @Value("${catalog.snapshot.restore:false}") boolean restore,
+                                  @Value("${catalog.snapshot.restore-batch-size:1000}") int batchSize) {
+        this.productService = productService;
+        this.indexManager = indexManager;
+        this.productCache = productCache;
+        this.productJsonCache = productJsonCache;
+        this.restoringCatalog = restoringCatalog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.admissionControl = admissionControl;
+        this.file = Path.of(file);
+        this.restore = restore;
+        this.batchSize = batchSize;
+        this.writeTimer = timer(meterRegistry, "write", "Escritura de la instantánea desde la base de datos");
+        this.openTimer = timer(meterRegistry, "open", "Apertura de la instantánea y construcción de los índices al arrancar");
+        this.loadTimer = timer(meterRegistry, "load", "Carga de la instantánea en la base de datos en segundo plano");
+    }
+
+    /**
+     * Escribe una instantánea con el estado actual del catálogo.
+     *
+     * @return Información de la instantánea escrita
+     * @throws com.example.catalogservice.exception.ServiceOverloadedException si aún se está cargando la anterior
+     */
+    public CatalogSnapshotResponse write() {
+        // Durante la carga la base de datos solo tiene parte del catálogo
+        restoringCatalog.checkWritable();
+        writeLock.lock();
+        try {
+            long start = System.nanoTime();
+            long products = CatalogSnapshot.write(file, productService::streamAllProducts);
+            long elapsed = System.nanoTime() - start;
+            writeTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+            current = CatalogSnapshotResponse.builder()
+                    .file(file.toAbsolutePath().toString())
+                    .products(products)
+                    .sizeBytes(Files.size(file))
+                    .createdAt(LocalDateTime.now())
+                    .durationMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                    .restoring(false)
+                    .build();
+            log.info("Instantánea del catálogo escrita en {}: {} productos, {} bytes en {} ms",
+                    current.getFile(), products, current.getSizeBytes(), current.getDurationMs());
+            return current;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir la instantánea del catálogo en " + file, ex);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Información de la última instantánea escrita o restaurada.
+     *
+     * @return Información de la instantánea, o null si no hay ninguna
+     */
+    public CatalogSnapshotResponse getCurrent() {
+        CatalogSnapshotResponse snapshot = current;
+        if (snapshot == null) {
+            return null;
+        }
+        return snapshot.toBuilder().restoring(restoringCatalog.isRestoring()).build();
+    }
+
+    /**
+     * Restaura la instantánea al arrancar, antes de que la aplicación se declare lista.
+     *
+     * Si el fichero no existe o no es válido se arranca normalmente, con los
+     * índices construidos desde la base de datos.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!restore || !Files.exists(file)) {
+            return;
+        }
+        long start = System.nanoTime();
+        CatalogSnapshot snapshot;
+        try {
+            snapshot = CatalogSnapshot.open(file);
+        } catch (IOException | RuntimeException ex) {
+            log.error("No se pudo abrir la instantánea {}; los índices se construyen desde la base de datos", file, ex);
+            return;
+        }
+
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM products", Long.class);
+        jdbcTemplate.update("DELETE FROM products");
+        jdbcTemplate.execute("ALTER SEQUENCE " + Product.ID_SEQUENCE + " RESTART WITH "
+                + (Math.max(snapshot.getMaxId(), maxId == null ? 0 : maxId) + 1));
+        productCache.clear();
+        productJsonCache.clear();
+
+        restoringCatalog.start(snapshot);
+        indexManager.rebuildFrom("la instantánea", snapshot::forEach);
+        long elapsed = System.nanoTime() - start;
+        openTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        current = CatalogSnapshotResponse.builder()
+                .file(file.toAbsolutePath().toString())
+                .products(snapshot.getProductCount())
+                .sizeBytes(snapshot.getSize())
+                .createdAt(LocalDateTime.ofInstant(snapshot.getCreatedAt(), ZoneId.systemDefault()))
+                .durationMs(TimeUnit.NANOSECONDS.toMillis(elapsed))
+                .build();
+        log.info("Instantánea {} restaurada: {} productos disponibles en {} ms; cargando la base de datos en segundo plano",
+                file, snapshot.getProductCount(), current.getDurationMs());
+
+        Thread loader = new Thread(() -> load(snapshot), "catalog-snapshot-restore");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stopping = true;
+    }
+
+    /**
+     * Carga los productos de la instantánea en la base de datos, lote a lote.
+     */
+    private void load(CatalogSnapshot snapshot) {
+        long start = System.nanoTime();
+        int next = 0;
+        long skipped = 0;
+        try {
+            while (next < snapshot.getProductCount() && !stopping) {
+                List<ProductResponse> batch = new ArrayList<>(batchSize);
+                next = snapshot.forEach(next, batchSize, batch::add);
+                skipped += insert(batch);
+                restoringCatalog.restored(batch.get(batch.size() - 1).getId());
+            }
+            long elapsed = System.nanoTime() - start;
+            loadTimer.record(elapsed, TimeUnit.NANOSECONDS);
+            log.info("Instantánea cargada en la base de datos: {} productos en {} ms ({} omitidos por conflicto)",
+                    next, TimeUnit.NANOSECONDS.toMillis(elapsed), skipped);
+        } catch (RuntimeException ex) {
+            log.error("Error cargando la instantánea en la base de datos tras {} productos", next, ex);
+        } finally {
+            restoringCatalog.finish();
+        }
+    }
+
+    /**
+     * Inserta un lote en una transacción. Si falla por un SKU que ya existe
+     * (creado por una importación durante la carga), se inserta fila a fila
+     * y se conservan los productos más recientes.
+     *
+     * @return Productos omitidos
+     */
+    private long insert(List<ProductResponse> batch) {
+        List<Object[]> batchArgs = new ArrayList<>(batch.size());
+        for (ProductResponse product : batch) {
+            batchArgs.add(new Object[]{
+                    product.getId(), product.getSku(), product.getName(), product.getDescription(),
+                    product.getPrice(), product.getStock(), product.getCategory(),
+                    timestamp(product.getCreatedAt()), timestamp(product.getUpdatedAt()),
+                    product.getVersion() == null ? 0L : product.getVersion()
+            });
+        }
+        try {
+            return admitted(() -> {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.batchUpdate(INSERT_SQL, batchArgs, INSERT_TYPES));
+                return 0L;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            long skipped = 0;
+            for (Object[] row : batchArgs) {
+                try {
+                    admitted(() -> (long) jdbcTemplate.update(INSERT_SQL, row));
+                } catch (DataIntegrityViolationException rowEx) {
+                    log.warn("Producto {} (SKU {}) de la instantánea omitido: ya existe en la base de datos", row[0], row[1]);
+                    skipped++;
+                }
+            }
+            return skipped;
+        }
+    }
+
+    private long admitted(Supplier<Long> operation) {
+        try {
+            return admissionControl.execute(operation::get);
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    private static Timer timer(MeterRegistry meterRegistry, String operation, String description) {
+        return Timer.builder("catalog.snapshot")
+                .description(description)
+                .tag("operation", operation)
+                .register(meterRegistry);
+    }
+}
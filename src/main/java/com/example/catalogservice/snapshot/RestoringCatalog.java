@@ -0,0 +1,114 @@
+package com.example.catalogservice.snapshot;
+
+import com.example.catalogservice.exception.ServiceOverloadedException;
+import com.example.catalogservice.model.response.ProductResponse;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Productos de la instantánea que aún no se han cargado en la base de datos.
+ *
+ * Mientras la carga en segundo plano avanza (en orden de ID), las búsquedas
+ * por ID o SKU que no encuentran el producto en la base de datos lo buscan
+ * aquí, de modo que el catálogo completo es consultable desde el arranque.
+ * Solo se devuelven productos con ID posterior al último cargado: los ya
+ * cargados se leen siempre de la base de datos, incluidos sus cambios y
+ * borrados posteriores.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+public class RestoringCatalog {
+
+    /**
+     * Segundos sugeridos a los clientes cuyas escrituras se rechazan durante la carga.
+     */
+    private static final long RETRY_AFTER_SECONDS = 5;
+
+    private volatile CatalogSnapshot snapshot;
+    private volatile long restoredUpTo;
+
+    /**
+     * Indica si hay una carga de la instantánea en curso.
+     *
+     * @return true hasta que todos los productos estén en la base de datos
+     */
+    public boolean isRestoring() {
+        return snapshot != null;
+    }
+
+    /**
+     * Busca por ID un producto de la instantánea pendiente de cargar.
+     *
+     * @param id ID del producto
+     * @return Producto, o vacío si no hay carga en curso o ya está en la base de datos
+     */
+    public Optional<ProductResponse> findById(Long id) {
+        CatalogSnapshot current = snapshot;
+        if (current == null || id <= restoredUpTo) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.findById(id));
+    }
+
+    /**
+     * Busca por SKU un producto de la instantánea pendiente de cargar.
+     *
+     * @param sku SKU del producto
+     * @return Producto, o vacío si no hay carga en curso o ya está en la base de datos
+     */
+    public Optional<ProductResponse> findBySku(String sku) {
+        CatalogSnapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+        ProductResponse product = current.findBySku(sku);
+        return product == null || product.getId() <= restoredUpTo ? Optional.empty() : Optional.of(product);
+    }
+
+    /**
+     * Rechaza las escrituras masivas mientras la carga está en curso.
+     *
+     * Una operación sobre una selección de productos solo vería los ya
+     * cargados; los demás se cargarían después con sus datos anteriores.
+     *
+     * @throws ServiceOverloadedException si la carga no ha terminado
+     */
+    public void checkWritable() {
+        if (isRestoring()) {
+            throw new ServiceOverloadedException(
+                    "El catálogo se está cargando desde la instantánea; inténtelo de nuevo en unos segundos",
+                    RETRY_AFTER_SECONDS);
+        }
+    }
+
+    /**
+     * Rechaza la escritura de un producto que aún no se ha cargado en la base de datos.
+     *
+     * Se usa cuando una escritura no encuentra el producto: en lugar de un 404
+     * se responde 503 si el producto existe en la instantánea.
+     *
+     * @param id ID del producto
+     * @throws ServiceOverloadedException si el producto está pendiente de cargar
+     */
+    public void checkRestored(Long id) {
+        if (findById(id).isPresent()) {
+            checkWritable();
+        }
+    }
+
+    void start(CatalogSnapshot snapshot) {
+        this.restoredUpTo = 0;
+        this.snapshot = snapshot;
+    }
+
+    void restored(long id) {
+        this.restoredUpTo = id;
+    }
+
+    void finish() {
+        this.snapshot = null;
+    }
+}
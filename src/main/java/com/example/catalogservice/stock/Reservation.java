@@ -0,0 +1,26 @@
+package com.example.catalogservice.stock;
+
+import java.time.Instant;
+
+/**
+ * Reserva de stock activa.
+ *
+ * @param id Identificador de la reserva
+ * @param productId ID del producto reservado
+ * @param quantity Cantidad reservada
+ * @param expiresAt Momento a partir del cual la reserva se libera sola
+ * @author Tutorial
+ * @version 1.0
+ */
+public record Reservation(String id, Long productId, int quantity, Instant expiresAt) {
+
+    /**
+     * Comprueba si la reserva ha caducado.
+     *
+     * @param now Momento actual
+     * @return true si ya no se puede confirmar
+     */
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
@@ -0,0 +1,335 @@
+package com.example.catalogservice.stock;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * Registro en disco de las operaciones de reserva, para recuperarlas tras una caída.
+ *
+ * Cada operación se añade como una línea de texto al final del fichero antes
+ * de responder al cliente:
+ *
+ * - {@code R id productId cantidad caducidad}: reserva creada
+ * - {@code C id productId cantidad}: reserva confirmada (pendiente de volcar)
+ * - {@code X id}: reserva liberada o caducada
+ * - {@code P volcado productId cantidad}: cantidad incluida en un volcado, antes de ejecutarlo
+ * - {@code F volcado}: volcado confirmado en la base de datos (marca de volcado)
+ * - {@code S productId cantidad}: pendiente heredado de una compactación
+ *
+ * Al arrancar, el pendiente de cada producto es S + suma de C - suma de las P
+ * con su F, y las reservas activas son las R sin C ni X que aún no han
+ * caducado. La marca F se escribe después de confirmar la transacción de
+ * volcado; si el proceso cae entre ambas, el volcado queda entre los no
+ * confirmados del {@link Snapshot} y StockReservationService comprueba en la
+ * base de datos si llegó a aplicarse, para no descontarlo dos veces.
+ *
+ * Las escrituras llegan a la caché de páginas del sistema operativo en cada
+ * operación (sobreviven a la caída del proceso). Con
+ * {@code catalog.stock.log-fsync=true} se fuerzan además a disco, a costa de
+ * latencia en cada reserva.
+ *
+ * El fichero se compacta cuando supera {@code catalog.stock.log-compact-size}:
+ * se reescribe con solo el estado vivo (S y R) y se sustituye de forma atómica.
+ *
+ * Si {@code catalog.stock.log-file} está vacío el registro está desactivado.
+ * Solo tiene sentido con una base de datos persistente: con H2 en memoria el
+ * stock se reinicia en cada arranque y aplicar el pendiente sería incorrecto.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class ReservationLog {
+
+    private final Path file;
+    private final boolean fsync;
+    private final long compactSize;
+
+    /**
+     * Las operaciones comparten el canal (FileChannel en modo APPEND es seguro
+     * entre hilos); la compactación lo sustituye en exclusiva.
+     */
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private FileChannel channel;
+
+    public ReservationLog(@Value("${catalog.stock.log-file:}") String file,
+                          @Value("${catalog.stock.log-fsync:false}") boolean fsync,
+                          @Value("${catalog.stock.log-compact-size:16MB}") DataSize compactSize) {
+        this.file = file.isBlank() ? null : Path.of(file);
+        this.fsync = fsync;
+        this.compactSize = compactSize.toBytes();
+        if (this.file == null) {
+            log.info("Registro de reservas desactivado: las reservas no se recuperan tras una caída");
+        }
+    }
+
+    /**
+     * Indica si el registro está activo.
+     *
+     * @return true si se escribe en disco
+     */
+    public boolean isEnabled() {
+        return file != null;
+    }
+
+    /**
+     * Lee el registro existente y abre el fichero para seguir escribiendo.
+     *
+     * @param now Momento actual, para descartar reservas caducadas
+     * @return Estado recuperado (vacío si no hay registro)
+     */
+    public Snapshot open(Instant now) {
+        if (file == null) {
+            return new Snapshot(List.of(), Map.of(), Map.of(), List.of());
+        }
+        try {
+            Snapshot recovered = Files.exists(file) ? replay(now) : new Snapshot(List.of(), Map.of(), Map.of(), List.of());
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = openChannel(file);
+            return recovered;
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo abrir el registro de reservas " + file, ex);
+        }
+    }
+
+    /**
+     * Ejecuta una operación que modifica el estado en memoria y lo anota en el registro.
+     *
+     * Las operaciones se ejecutan en paralelo entre sí, pero nunca a la vez que
+     * una compactación: así la instantánea que se compacta incluye o excluye
+     * cada operación por completo (cambio en memoria y línea del registro).
+     *
+     * @param operation Operación a ejecutar
+     * @return Resultado de la operación
+     */
+    <T> T locked(Supplier<T> operation) {
+        if (file == null) {
+            return operation.get();
+        }
+        lock.readLock().lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void reserved(Reservation reservation) {
+        append("R " + reservation.id() + " " + reservation.productId() + " " + reservation.quantity()
+                + " " + reservation.expiresAt().toEpochMilli());
+    }
+
+    void committed(Reservation reservation) {
+        append("C " + reservation.id() + " " + reservation.productId() + " " + reservation.quantity());
+    }
+
+    void released(Reservation reservation) {
+        append("X " + reservation.id());
+    }
+
+    void flushing(String flushId, Map<Long, Long> deltas) {
+        StringBuilder lines = new StringBuilder();
+        deltas.forEach((productId, quantity) -> lines.append("P ").append(flushId).append(' ')
+                .append(productId).append(' ').append(quantity).append('\n'));
+        // Una sola escritura: el volcado se anota completo o no se anota
+        append(lines.substring(0, lines.length() - 1));
+    }
+
+    void flushed(String flushId) {
+        append("F " + flushId);
+    }
+
+    /**
+     * Fuerza a disco lo escrito hasta ahora (tras cada volcado).
+     */
+    void sync() {
+        if (file == null) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            channel.force(false);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reescribe el registro con solo el estado vivo si ha superado el tamaño máximo.
+     *
+     * El estado se obtiene con la compactación en exclusiva, sin operaciones
+     * de {@link #locked} a medias; las que lleguen mientras tanto esperan a que
+     * termine y se anotan en el fichero nuevo.
+     *
+     * @param state Función que devuelve el estado vivo
+     * @param force Compactar aunque no se haya superado el tamaño
+     */
+    void compactIfNeeded(Supplier<Snapshot> state, boolean force) {
+        if (file == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            long size = channel.size();
+            if (!force && size < compactSize) {
+                return;
+            }
+            Snapshot live = state.get();
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                StringBuilder content = new StringBuilder();
+                live.pending().forEach((productId, quantity) -> {
+                    if (quantity != 0) {
+                        content.append("S ").append(productId).append(' ').append(quantity).append('\n');
+                    }
+                });
+                for (Reservation reservation : live.reservations()) {
+                    content.append("R ").append(reservation.id()).append(' ').append(reservation.productId())
+                            .append(' ').append(reservation.quantity()).append(' ')
+                            .append(reservation.expiresAt().toEpochMilli()).append('\n');
+                }
+                ByteBuffer buffer = StandardCharsets.UTF_8.encode(content.toString());
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(true);
+            }
+            channel.close();
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = openChannel(file);
+            log.info("Registro de reservas compactado: {} bytes -> {} bytes", size, channel.size());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo compactar el registro de reservas", ex);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.force(true);
+            channel.close();
+        }
+    }
+
+    private void append(String line) {
+        if (file == null) {
+            return;
+        }
+        ByteBuffer buffer = StandardCharsets.UTF_8.encode(line + "\n");
+        lock.readLock().lock();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo escribir en el registro de reservas", ex);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Snapshot replay(Instant now) throws IOException {
+        Map<String, Reservation> active = new LinkedHashMap<>();
+        Map<Long, Long> pending = new HashMap<>();
+        Map<String, Map<Long, Long>> unconfirmed = new LinkedHashMap<>();
+        List<String> confirmed = new ArrayList<>();
+        int lineNumber = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String[] parts = line.split(" ");
+                try {
+                    switch (parts[0]) {
+                        case "R" -> active.put(parts[1], new Reservation(parts[1], Long.valueOf(parts[2]),
+                                Integer.parseInt(parts[3]), Instant.ofEpochMilli(Long.parseLong(parts[4]))));
+                        case "C" -> {
+                            active.remove(parts[1]);
+                            pending.merge(Long.valueOf(parts[2]), Long.parseLong(parts[3]), Long::sum);
+                        }
+                        case "X" -> active.remove(parts[1]);
+                        case "P" -> unconfirmed.computeIfAbsent(parts[1], flushId -> new HashMap<>())
+                                .merge(Long.valueOf(parts[2]), Long.parseLong(parts[3]), Long::sum);
+                        case "F" -> {
+                            if (parts.length == 3) {
+                                // Formato anterior, sin identificador de volcado: F productId cantidad
+                                pending.merge(Long.valueOf(parts[1]), -Long.parseLong(parts[2]), Long::sum);
+                            } else {
+                                Map<Long, Long> flushed = unconfirmed.remove(parts[1]);
+                                confirmed.add(parts[1]);
+                                if (flushed != null) {
+                                    flushed.forEach((productId, quantity) -> pending.merge(productId, -quantity, Long::sum));
+                                }
+                            }
+                        }
+                        case "S" -> pending.merge(Long.valueOf(parts[1]), Long.parseLong(parts[2]), Long::sum);
+                        default -> throw new IllegalArgumentException("tipo desconocido");
+                    }
+                } catch (RuntimeException ex) {
+                    // Normalmente, la última línea a medio escribir cuando se cayó el proceso
+                    log.warn("Línea {} del registro de reservas ignorada: '{}'", lineNumber, line);
+                }
+            }
+        }
+        pending.values().removeIf(quantity -> quantity == 0);
+        List<Reservation> reservations = new ArrayList<>();
+        for (Reservation reservation : active.values()) {
+            if (!reservation.isExpired(now)) {
+                reservations.add(reservation);
+            }
+        }
+        log.info("Registro de reservas leído: {} líneas, {} reservas activas ({} caducadas), {} productos con stock pendiente de volcar, {} volcados sin confirmar",
+                lineNumber, reservations.size(), active.size() - reservations.size(), pending.size(), unconfirmed.size());
+        return new Snapshot(reservations, pending, unconfirmed, confirmed);
+    }
+
+    private static FileChannel openChannel(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Estado vivo de las reservas: el recuperado al arrancar o el que se escribe al compactar.
+     *
+     * @param reservations Reservas activas no caducadas
+     * @param pending Cantidad confirmada pendiente de volcar por producto, incluida la de los volcados sin confirmar
+     * @param unconfirmedFlushes Volcados sin marca de confirmación: cantidad por producto de cada uno
+     * @param confirmedFlushes Volcados con marca de confirmación
+     */
+    public record Snapshot(List<Reservation> reservations, Map<Long, Long> pending,
+                           Map<String, Map<Long, Long>> unconfirmedFlushes, List<String> confirmedFlushes) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.catalogservice.stock;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Contador de stock en memoria de un producto, actualizado sin bloqueos.
+ *
+ * El estado es inmutable y se sustituye con compareAndSet: cuando muchos
+ * hilos reservan el mismo producto a la vez, ninguno espera a otro y nunca se
+ * pierde una actualización. Como la comprobación de disponibilidad y el
+ * descuento forman parte del mismo CAS, no se puede reservar más de lo
+ * disponible.
+ *
+ * Disponible = stock en base de datos - reservado - confirmado pendiente de volcar.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class StockCounter {
+
+    private final AtomicReference<State> state;
+
+    StockCounter(long dbStock, long pending) {
+        this.state = new AtomicReference<>(new State(dbStock, 0, pending));
+    }
+
+    /**
+     * Reserva una cantidad si hay disponible suficiente.
+     *
+     * @param quantity Cantidad a reservar
+     * @return true si se reservó, false si no hay disponible suficiente
+     */
+    boolean tryReserve(int quantity) {
+        while (true) {
+            State current = state.get();
+            if (current.available() < quantity) {
+                return false;
+            }
+            if (state.compareAndSet(current, new State(current.dbStock, current.reserved + quantity, current.pending))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devuelve al disponible una cantidad reservada (liberación o caducidad).
+     *
+     * @param quantity Cantidad reservada
+     */
+    void release(int quantity) {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current,
+                new State(current.dbStock, current.reserved - quantity, current.pending)));
+    }
+
+    /**
+     * Convierte una cantidad reservada en confirmada pendiente de volcar a la base de datos.
+     *
+     * @param quantity Cantidad reservada
+     */
+    void commit(int quantity) {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current,
+                new State(current.dbStock, current.reserved - quantity, current.pending + quantity)));
+    }
+
+    /**
+     * Descuenta del pendiente una cantidad ya volcada a la base de datos.
+     *
+     * El nuevo stock de la base de datos llega antes por {@link #syncDbStock},
+     * con el evento de la transacción de volcado: mientras tanto el disponible
+     * queda por debajo del real, nunca por encima.
+     *
+     * @param quantity Cantidad volcada
+     */
+    void flushed(long quantity) {
+        State current;
+        do {
+            current = state.get();
+        } while (!state.compareAndSet(current,
+                new State(current.dbStock, current.reserved, current.pending - quantity)));
+    }
+
+    /**
+     * Actualiza el stock conocido de la base de datos tras una escritura confirmada.
+     *
+     * @param dbStock Stock actual en la base de datos
+     */
+    void syncDbStock(long dbStock) {
+        State current;
+        do {
+            current = state.get();
+        } while (current.dbStock != dbStock
+                && !state.compareAndSet(current, new State(dbStock, current.reserved, current.pending)));
+    }
+
+    /**
+     * Estado actual del contador.
+     *
+     * @return Instantánea coherente de los tres valores
+     */
+    State snapshot() {
+        return state.get();
+    }
+
+    /**
+     * Estado del contador.
+     *
+     * @param dbStock Último stock conocido en la base de datos
+     * @param reserved Cantidad reservada y aún no confirmada ni liberada
+     * @param pending Cantidad confirmada que aún no se ha descontado en la base de datos
+     */
+    record State(long dbStock, long reserved, long pending) {
+
+        long available() {
+            return dbStock - reserved - pending;
+        }
+    }
+}
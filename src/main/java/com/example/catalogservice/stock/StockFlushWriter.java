@@ -0,0 +1,167 @@
+package com.example.catalogservice.stock;
+
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vuelca a la tabla de productos el stock confirmado por las reservas.
+ *
+ * Todas las cantidades pendientes se descuentan en una única transacción con
+ * un lote JDBC de sentencias condicionales:
+ *
+ * {@code UPDATE products SET stock = stock - ? WHERE id = ? AND stock >= ?}
+ *
+ * La condición es la última garantía contra vender de más: si el stock de la
+ * base de datos cambió por otra vía (importación, actualización masiva) y ya
+ * no cubre lo vendido, la fila no se toca. En ese caso el stock se deja a
+ * cero y se devuelve la diferencia como sobreventa: las ventas ya están
+ * confirmadas y quien llama debe avisar de ella.
+ *
+ * Con el registro de reservas activo, cada volcado inserta su identificador en
+ * {@code stock_flushes} dentro de la misma transacción. Al recuperar tras una
+ * caída, un volcado anotado en el registro sin marca de confirmación se da por
+ * aplicado solo si su fila existe: así nunca se descuenta dos veces. Las filas
+ * se borran en el volcado siguiente, cuando la marca ya está en disco.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Component
+@Slf4j
+public class StockFlushWriter {
+
+    private static final String DECREMENT_SQL =
+            "UPDATE products SET stock = stock - ?, updated_at = ?, version = version + 1 WHERE id = ? AND stock >= ?";
+
+    private static final String EXHAUST_SQL =
+            "UPDATE products SET stock = 0, updated_at = ?, version = version + 1 WHERE id = ? AND stock > 0";
+
+    private static final String CREATE_FLUSHES_TABLE_SQL = """
+            CREATE TABLE IF NOT EXISTS stock_flushes (
+                flush_id VARCHAR(36) PRIMARY KEY,
+                flushed_at TIMESTAMP NOT NULL
+            )
+            """;
+
+    private static final String INSERT_FLUSH_SQL = "INSERT INTO stock_flushes (flush_id, flushed_at) VALUES (?, ?)";
+
+    private static final String DELETE_FLUSH_SQL = "DELETE FROM stock_flushes WHERE flush_id = ?";
+
+    /**
+     * Número máximo de IDs por consulta IN al releer los productos modificados.
+     */
+    private static final int IN_CLAUSE_CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public StockFlushWriter(JdbcTemplate jdbcTemplate,
+                            ProductRepository productRepository,
+                            ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.productRepository = productRepository;
+        this.eventPublisher = eventPublisher;
+        jdbcTemplate.execute(CREATE_FLUSHES_TABLE_SQL);
+    }
+
+    /**
+     * Descuenta del stock las cantidades indicadas.
+     *
+     * Publica un {@link ProductChangedEvent} con el estado final de los
+     * productos modificados, que llega a los contadores de reservas antes de
+     * que este método devuelva.
+     *
+     * @param deltas Cantidad a descontar por ID de producto (todas positivas)
+     * @param flushId Identificador del volcado que se guarda con él (null si no se registra)
+     * @param confirmedFlushIds Volcados anteriores ya confirmados en el registro, cuyas filas se borran
+     * @return Unidades vendidas que la base de datos ya no podía cubrir, por ID de producto (vacío si ninguna)
+     */
+    @Transactional
+    public Map<Long, Long> apply(Map<Long, Long> deltas, String flushId, Collection<String> confirmedFlushIds) {
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Timestamp timestamp = Timestamp.valueOf(now);
+
+        if (flushId != null) {
+            jdbcTemplate.update(INSERT_FLUSH_SQL, flushId, timestamp);
+        }
+        if (!confirmedFlushIds.isEmpty()) {
+            jdbcTemplate.batchUpdate(DELETE_FLUSH_SQL, confirmedFlushIds.stream()
+                    .map(confirmed -> new Object[]{confirmed})
+                    .toList());
+        }
+
+        List<Long> ids = new ArrayList<>(deltas.keySet());
+        List<Object[]> batchArgs = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            long delta = deltas.get(id);
+            batchArgs.add(new Object[]{delta, timestamp, id, delta});
+        }
+        int[] counts = jdbcTemplate.batchUpdate(DECREMENT_SQL, batchArgs);
+
+        Map<Long, Long> oversold = new LinkedHashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) {
+                long units = exhaust(ids.get(i), deltas.get(ids.get(i)), timestamp);
+                if (units > 0) {
+                    oversold.put(ids.get(i), units);
+                }
+            }
+        }
+
+        List<ProductResponse> updated = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            updated.addAll(productRepository.findResponsesByIdInAndUpdatedAt(
+                    ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size())), now));
+        }
+        if (!updated.isEmpty()) {
+            eventPublisher.publishEvent(new ProductChangedEvent(ChangeType.UPDATED, updated));
+        }
+        return oversold;
+    }
+
+    /**
+     * Indica si un volcado llegó a confirmarse en la base de datos.
+     *
+     * @param flushId Identificador del volcado
+     * @return true si su transacción se confirmó y su fila aún no se ha borrado
+     */
+    public boolean isApplied(String flushId) {
+        Integer count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM stock_flushes WHERE flush_id = ?",
+                Integer.class, flushId);
+        return count != null && count > 0;
+    }
+
+    /**
+     * Deja a cero el stock de un producto cuyo stock ya no cubre lo vendido.
+     *
+     * @return Unidades vendidas sin stock en la base de datos
+     */
+    private long exhaust(Long id, long delta, Timestamp timestamp) {
+        List<Integer> stock = jdbcTemplate.queryForList("SELECT stock FROM products WHERE id = ?", Integer.class, id);
+        if (stock.isEmpty()) {
+            log.warn("Producto {} eliminado con {} unidades vendidas pendientes de descontar", id, delta);
+            return 0;
+        }
+        long current = stock.get(0) == null ? 0 : stock.get(0);
+        jdbcTemplate.update(EXHAUST_SQL, timestamp, id);
+        log.debug("Producto {}: vendidas {} unidades con stock {} en la base de datos", id, delta, current);
+        return delta - current;
+    }
+}
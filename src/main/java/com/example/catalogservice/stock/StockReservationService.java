@@ -0,0 +1,510 @@
+package com.example.catalogservice.stock;
+
+import com.example.catalogservice.concurrency.DatabaseAdmissionControl;
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.example.catalogservice.exception.InsufficientStockException;
+import com.example.catalogservice.exception.ResourceNotFoundException;
+import com.example.catalogservice.exception.ServiceOverloadedException;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.model.response.StockResponse;
+import com.example.catalogservice.repository.ProductRepository;
+import com.example.catalogservice.snapshot.RestoringCatalog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reservas de stock con contadores en memoria y volcado periódico a la base de datos.
+ *
+ * El flujo de compra reserva unidades, y después confirma la reserva (venta) o
+ * la libera. Las reservas no confirmadas caducan solas pasado su TTL.
+ *
+ * - Cada producto tiene un {@link StockCounter} que se actualiza con CAS: los
+ *   productos muy demandados no serializan a los compradores en bloqueos de
+ *   fila ni pierden actualizaciones, y no se puede reservar más de lo
+ *   disponible.
+ * - Las confirmaciones se acumulan por producto y cada
+ *   {@code catalog.stock.flush-interval} se descuentan de la tabla en un único
+ *   lote ({@link StockFlushWriter}). El campo stock de los productos va por
+ *   detrás del stock real como mucho un intervalo; el disponible se consulta
+ *   en GET /products/{id}/stock.
+ * - Cada operación se anota en el {@link ReservationLog} antes de responder,
+ *   y al arrancar se recuperan las reservas activas y las ventas no volcadas.
+ *
+ * Los contadores siguen los cambios de stock hechos por otras vías
+ * (importaciones, actualizaciones masivas) a través de {@link ProductChangedEvent}.
+ * Un contador solo se crea si ningún cambio del producto se ha confirmado
+ * entre la lectura de su stock y su creación: si no, partiría de un stock
+ * obsoleto que ningún evento posterior corregiría.
+ *
+ * Lo que los contadores garantizan es que las reservas aceptadas nunca
+ * superan el último stock confirmado en la base de datos. Si otra vía baja
+ * después ese stock por debajo de lo ya reservado o vendido, las reservas
+ * aceptadas se mantienen: el volcado deja el stock a cero, lo cuenta en
+ * {@code catalog.stock.oversold} y avisa de los productos afectados.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+@Service
+@Slf4j
+public class StockReservationService implements SmartInitializingSingleton {
+
+    private final ProductRepository productRepository;
+    private final StockFlushWriter flushWriter;
+    private final ReservationLog reservationLog;
+    private final DatabaseAdmissionControl admissionControl;
+    private final RestoringCatalog restoringCatalog;
+    private final Duration defaultTtl;
+    private final Duration maxTtl;
+
+    /**
+     * Franjas de IDs para la secuencia de cambios de stock (potencia de 2).
+     */
+    private static final int CHANGE_STRIPES = 1024;
+
+    private final Map<Long, StockCounter> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Cambios confirmados por franja de IDs, tengan contador o no sus productos.
+     * counter() la compara antes y después de leer el stock de la base de datos.
+     */
+    private final AtomicLongArray changeSequence = new AtomicLongArray(CHANGE_STRIPES);
+    private final Map<String, Reservation> reservations = new ConcurrentHashMap<>();
+    private final Lock flushLock = new ReentrantLock();
+
+    /**
+     * Volcados ya marcados como confirmados en el registro, cuyas filas de
+     * {@code stock_flushes} se borran en el siguiente volcado. Protegido por flushLock.
+     */
+    private final List<String> confirmedFlushIds = new ArrayList<>();
+
+    private final Counter reservedCount;
+    private final Counter rejectedCount;
+    private final Counter committedCount;
+    private final Counter releasedCount;
+    private final Counter expiredCount;
+    private final Counter oversoldUnits;
+    private final Timer flushTimer;
+
+    public StockReservationService(ProductRepository productRepository,
+                                   StockFlushWriter flushWriter,
+                                   ReservationLog reservationLog,
+                                   DatabaseAdmissionControl admissionControl,
+                                   RestoringCatalog restoringCatalog,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${catalog.stock.reservation-ttl:10m}") Duration defaultTtl,
+                                   @Value("${catalog.stock.max-reservation-ttl:1h}") Duration maxTtl) {
+        this.productRepository = productRepository;
+        this.flushWriter = flushWriter;
+        this.reservationLog = reservationLog;
+        this.admissionControl = admissionControl;
+        this.restoringCatalog = restoringCatalog;
+        this.defaultTtl = defaultTtl;
+        this.maxTtl = maxTtl;
+
+        this.reservedCount = reservationCounter(meterRegistry, "reserved");
+        this.rejectedCount = reservationCounter(meterRegistry, "rejected");
+        this.committedCount = reservationCounter(meterRegistry, "committed");
+        this.releasedCount = reservationCounter(meterRegistry, "released");
+        this.expiredCount = reservationCounter(meterRegistry, "expired");
+        this.oversoldUnits = Counter.builder("catalog.stock.oversold")
+                .description("Unidades vendidas que la base de datos ya no podía cubrir al volcar")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("catalog.stock.flush")
+                .description("Duración de cada volcado de stock confirmado a la base de datos")
+                .register(meterRegistry);
+        Gauge.builder("catalog.stock.reservations.active", reservations, Map::size)
+                .description("Reservas de stock activas")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recupera el registro de reservas una vez creados todos los beans (y cargados
+     * los datos iniciales), antes de que el servidor empiece a aceptar peticiones.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        ReservationLog.Snapshot recovered = reservationLog.open(Instant.now());
+        Map<Long, Long> recoveredPending = resolveUnconfirmedFlushes(recovered);
+        recoveredPending.forEach((productId, pending) -> productRepository.findResponseById(productId)
+                .ifPresentOrElse(
+                        product -> counters.put(productId, new StockCounter(stockOf(product), pending)),
+                        () -> log.warn("Producto {} eliminado con {} unidades vendidas sin volcar; se descartan",
+                                productId, pending)));
+        for (Reservation reservation : recovered.reservations()) {
+            try {
+                if (counter(reservation.productId()).tryReserve(reservation.quantity())) {
+                    reservations.put(reservation.id(), reservation);
+                } else {
+                    log.warn("Reserva {} descartada al recuperar: ya no hay stock disponible", reservation.id());
+                }
+            } catch (ResourceNotFoundException ex) {
+                log.warn("Reserva {} descartada al recuperar: el producto {} ya no existe",
+                        reservation.id(), reservation.productId());
+            }
+        }
+        reservationLog.compactIfNeeded(this::liveState, true);
+        if (reservationLog.isEnabled()) {
+            log.info("Reservas recuperadas: {} activas, {} productos con ventas pendientes de volcar",
+                    reservations.size(), recoveredPending.size());
+        }
+    }
+
+    /**
+     * Descuenta del pendiente recuperado los volcados que se confirmaron en la
+     * base de datos aunque el proceso cayó antes de anotarlo en el registro.
+     *
+     * @return Pendiente de volcar por producto
+     */
+    private Map<Long, Long> resolveUnconfirmedFlushes(ReservationLog.Snapshot recovered) {
+        Map<Long, Long> pending = new HashMap<>(recovered.pending());
+        // Las filas de los volcados ya marcados se borran en el primer volcado
+        confirmedFlushIds.addAll(recovered.confirmedFlushes());
+        recovered.unconfirmedFlushes().forEach((flushId, deltas) -> {
+            if (flushWriter.isApplied(flushId)) {
+                deltas.forEach((productId, quantity) -> pending.merge(productId, -quantity, Long::sum));
+                confirmedFlushIds.add(flushId);
+                log.info("Volcado {} confirmado en la base de datos sin marca en el registro: no se repite", flushId);
+            } else {
+                log.info("Volcado {} no llegó a confirmarse: su stock sigue pendiente", flushId);
+            }
+        });
+        pending.values().removeIf(quantity -> quantity <= 0);
+        return pending;
+    }
+
+    /**
+     * Reserva unidades de un producto.
+     *
+     * @param productId ID del producto
+     * @param quantity Unidades a reservar
+     * @param ttl Tiempo hasta que la reserva se libera sola (null para el valor por defecto)
+     * @return Reserva creada
+     * @throws InsufficientStockException si no hay unidades disponibles suficientes
+     */
+    public Reservation reserve(Long productId, int quantity, Duration ttl) {
+        if (quantity <= 0) {
+            throw new IllegalArgumentException("La cantidad debe ser mayor que cero");
+        }
+        Duration effectiveTtl = ttl == null ? defaultTtl : ttl;
+        if (effectiveTtl.isNegative() || effectiveTtl.isZero() || effectiveTtl.compareTo(maxTtl) > 0) {
+            throw new IllegalArgumentException("El TTL de la reserva debe estar entre 1 segundo y " + maxTtl.toSeconds() + " segundos");
+        }
+
+        StockCounter counter = counter(productId);
+        Reservation reservation = reservationLog.locked(() -> {
+            if (!counter.tryReserve(quantity)) {
+                return null;
+            }
+            Reservation created = new Reservation(UUID.randomUUID().toString(), productId, quantity,
+                    Instant.now().plus(effectiveTtl));
+            reservations.put(created.id(), created);
+            try {
+                reservationLog.reserved(created);
+            } catch (RuntimeException ex) {
+                reservations.remove(created.id());
+                counter.release(quantity);
+                throw ex;
+            }
+            return created;
+        });
+
+        if (reservation == null) {
+            rejectedCount.increment();
+            throw new InsufficientStockException(productId, quantity, Math.max(counter.snapshot().available(), 0));
+        }
+        reservedCount.increment();
+        log.debug("Reserva {} creada: {} unidad(es) del producto {}", reservation.id(), quantity, productId);
+        return reservation;
+    }
+
+    /**
+     * Confirma una reserva: sus unidades quedan vendidas y se descontarán de la base de datos.
+     *
+     * @param reservationId ID de la reserva
+     * @return Reserva confirmada
+     * @throws ResourceNotFoundException si la reserva no existe, ya se cerró o ha caducado
+     */
+    public Reservation commit(String reservationId) {
+        Reservation reservation = reservationLog.locked(() -> {
+            Reservation removed = reservations.remove(reservationId);
+            if (removed == null) {
+                return null;
+            }
+            StockCounter counter = counters.get(removed.productId());
+            if (removed.isExpired(Instant.now()) || counter == null) {
+                releaseRemoved(removed, counter);
+                expiredCount.increment();
+                return null;
+            }
+            counter.commit(removed.quantity());
+            reservationLog.committed(removed);
+            return removed;
+        });
+        if (reservation == null) {
+            throw new ResourceNotFoundException("Reserva", "id", reservationId);
+        }
+        committedCount.increment();
+        log.debug("Reserva {} confirmada", reservationId);
+        return reservation;
+    }
+
+    /**
+     * Libera una reserva: sus unidades vuelven a estar disponibles.
+     *
+     * @param reservationId ID de la reserva
+     * @return Reserva liberada
+     * @throws ResourceNotFoundException si la reserva no existe o ya se cerró
+     */
+    public Reservation release(String reservationId) {
+        Reservation reservation = reservationLog.locked(() -> {
+            Reservation removed = reservations.remove(reservationId);
+            if (removed != null) {
+                releaseRemoved(removed, counters.get(removed.productId()));
+            }
+            return removed;
+        });
+        if (reservation == null) {
+            throw new ResourceNotFoundException("Reserva", "id", reservationId);
+        }
+        releasedCount.increment();
+        log.debug("Reserva {} liberada", reservationId);
+        return reservation;
+    }
+
+    /**
+     * Estado del stock de un producto según los contadores de reservas.
+     *
+     * @param productId ID del producto
+     * @return Stock en base de datos, reservado, pendiente de volcar y disponible
+     */
+    public StockResponse getStock(Long productId) {
+        StockCounter.State state = counter(productId).snapshot();
+        return StockResponse.builder()
+                .productId(productId)
+                .stock(state.dbStock())
+                .reserved(state.reserved())
+                .pending(state.pending())
+                .available(Math.max(state.available(), 0))
+                .build();
+    }
+
+    /**
+     * Libera las reservas caducadas.
+     */
+    @Scheduled(fixedDelayString = "${catalog.stock.expiry-interval:PT5S}")
+    public void expireReservations() {
+        Instant now = Instant.now();
+        int expired = 0;
+        for (Reservation reservation : reservations.values()) {
+            if (reservation.isExpired(now) && Boolean.TRUE.equals(reservationLog.locked(() -> {
+                if (!reservations.remove(reservation.id(), reservation)) {
+                    return false;
+                }
+                releaseRemoved(reservation, counters.get(reservation.productId()));
+                return true;
+            }))) {
+                expired++;
+            }
+        }
+        if (expired > 0) {
+            expiredCount.increment(expired);
+            log.info("{} reserva(s) caducada(s) liberada(s)", expired);
+        }
+    }
+
+    /**
+     * Descuenta de la base de datos las unidades confirmadas desde el último volcado.
+     */
+    @Scheduled(fixedDelayString = "${catalog.stock.flush-interval:PT1S}")
+    public void flush() {
+        // El volcado de parada puede coincidir con uno programado: dos volcados a la vez
+        // leerían el mismo pendiente y lo descontarían dos veces
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void flushPending() {
+        Map<Long, Long> deltas = new HashMap<>();
+        counters.forEach((productId, counter) -> {
+            long pending = counter.snapshot().pending();
+            if (pending > 0) {
+                deltas.put(productId, pending);
+            }
+        });
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // El volcado se anota antes de ejecutarlo, para poder comprobar tras una caída si llegó a confirmarse
+        String flushId = reservationLog.isEnabled() ? UUID.randomUUID().toString() : null;
+        if (flushId != null) {
+            reservationLog.locked(() -> {
+                reservationLog.flushing(flushId, deltas);
+                return null;
+            });
+        }
+        List<String> obsolete = List.copyOf(confirmedFlushIds);
+
+        long start = System.nanoTime();
+        Map<Long, Long> oversold;
+        try {
+            oversold = admissionControl.execute(() -> flushWriter.apply(deltas, flushId, obsolete));
+        } catch (ServiceOverloadedException ex) {
+            log.warn("Base de datos saturada, el volcado de stock se reintentará en el próximo ciclo");
+            return;
+        } catch (RuntimeException | Error ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new IllegalStateException(ex);
+        } finally {
+            flushTimer.record(Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        reservationLog.locked(() -> {
+            deltas.forEach((productId, delta) -> {
+                StockCounter counter = counters.get(productId);
+                if (counter != null) {
+                    counter.flushed(delta);
+                }
+            });
+            if (flushId != null) {
+                reservationLog.flushed(flushId);
+            }
+            return null;
+        });
+        reservationLog.sync();
+        confirmedFlushIds.removeAll(obsolete);
+        if (flushId != null) {
+            confirmedFlushIds.add(flushId);
+        }
+        if (!oversold.isEmpty()) {
+            oversoldUnits.increment(oversold.values().stream().mapToLong(Long::longValue).sum());
+            log.warn("Sobreventa al volcar: el stock en base de datos no cubría las ventas confirmadas; "
+                    + "se deja a cero. Unidades sin cubrir por producto: {}", oversold);
+        }
+        log.debug("Stock volcado para {} producto(s)", deltas.size());
+
+        reservationLog.compactIfNeeded(this::liveState, false);
+    }
+
+    /**
+     * Vuelca lo pendiente al parar la aplicación, mientras la base de datos sigue disponible.
+     */
+    @PreDestroy
+    public void shutdown() {
+        try {
+            flush();
+        } catch (RuntimeException ex) {
+            log.error("No se pudo volcar el stock pendiente al parar; se recuperará del registro", ex);
+        }
+    }
+
+    /**
+     * Mantiene los contadores al día con los cambios de stock confirmados por cualquier vía.
+     *
+     * @param event Evento de cambio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        for (ProductResponse product : event.products()) {
+            // La secuencia avanza antes de buscar el contador: un counter() que leyó el stock
+            // antes de este cambio o lo ve aquí y vuelve a leer, o ya creó el contador y
+            // computeIfPresent (que espera a su compute) lo encuentra
+            changeSequence.incrementAndGet(stripe(product.getId()));
+            if (event.type() == ChangeType.DELETED) {
+                counters.remove(product.getId());
+            } else {
+                long stock = stockOf(product);
+                counters.computeIfPresent(product.getId(), (id, counter) -> {
+                    counter.syncDbStock(stock);
+                    return counter;
+                });
+            }
+        }
+    }
+
+    private StockCounter counter(Long productId) {
+        int stripe = stripe(productId);
+        while (true) {
+            StockCounter counter = counters.get(productId);
+            if (counter != null) {
+                return counter;
+            }
+            // La consulta se hace fuera del mapa para no bloquear otros productos; si dos
+            // hilos la hacen a la vez, se queda el primer contador
+            long sequence = changeSequence.get(stripe);
+            long stock = productRepository.findResponseById(productId)
+                    .map(StockReservationService::stockOf)
+                    .orElseThrow(() -> {
+                        restoringCatalog.checkRestored(productId);
+                        return new ResourceNotFoundException("Producto", "id", productId);
+                    });
+            StockCounter created = new StockCounter(stock, 0);
+            counter = counters.compute(productId, (id, existing) ->
+                    existing != null || changeSequence.get(stripe) != sequence ? existing : created);
+            if (counter != null) {
+                return counter;
+            }
+            // Se confirmó un cambio en la franja entre la lectura y la creación: el stock
+            // leído puede estar obsoleto y su evento ya no encontraría el contador
+        }
+    }
+
+    /**
+     * Devuelve las unidades de una reserva ya retirada del mapa y lo anota en el registro.
+     */
+    private void releaseRemoved(Reservation reservation, StockCounter counter) {
+        if (counter != null) {
+            counter.release(reservation.quantity());
+        }
+        reservationLog.released(reservation);
+    }
+
+    private ReservationLog.Snapshot liveState() {
+        Map<Long, Long> pending = new HashMap<>();
+        counters.forEach((productId, counter) -> pending.put(productId, counter.snapshot().pending()));
+        return new ReservationLog.Snapshot(new ArrayList<>(reservations.values()), pending, Map.of(), List.of());
+    }
+
+    private static int stripe(Long productId) {
+        return Long.hashCode(productId) & (CHANGE_STRIPES - 1);
+    }
+
+    private static long stockOf(ProductResponse product) {
+        return product.getStock() == null ? 0 : product.getStock();
+    }
+
+    private static Counter reservationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("catalog.stock.reservations")
+                .description("Operaciones de reserva de stock por resultado")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.catalogservice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codificador de cursores opacos para la paginación keyset.
+ *
+ * El cursor contiene la clave del último elemento entregado, codificada en
+ * Base64 URL-safe con un prefijo de versión. Los clientes deben tratarlo como
+ * un valor opaco: el formato interno puede cambiar sin previo aviso.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public final class CursorCodec {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    /**
+     * Codifica los valores de la clave de paginación en un cursor opaco.
+     *
+     * @param parts Valores que forman la clave del último elemento
+     * @return Cursor opaco
+     */
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder(VERSION);
+        for (Object part : parts) {
+            raw.append(SEPARATOR).append(part);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica un cursor opaco en los valores de su clave.
+     *
+     * @param cursor Cursor recibido del cliente
+     * @param expectedParts Número de valores que debe contener el cursor
+     * @return Valores de la clave en el mismo orden en que se codificaron
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static String[] decode(String cursor, int expectedParts) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] tokens = raw.split("\\" + SEPARATOR, -1);
+            if (tokens.length != expectedParts + 1 || !VERSION.equals(tokens[0])) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            String[] parts = new String[expectedParts];
+            System.arraycopy(tokens, 1, parts, 0, expectedParts);
+            return parts;
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", ex);
+        }
+    }
+
+    /**
+     * Decodifica un cursor que contiene únicamente un ID.
+     *
+     * @param cursor Cursor recibido del cliente (puede ser null)
+     * @return ID del último elemento entregado, o null si no hay cursor
+     * @throws IllegalArgumentException si el cursor no es válido
+     */
+    public static Long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(decode(cursor, 1)[0]);
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("Cursor de paginación inválido", ex);
+        }
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.catalogservice.wire;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.ObjectCodec;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.base.GeneratorBase;
+import com.fasterxml.jackson.core.json.JsonWriteContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generador de Jackson que escribe CBOR (RFC 8949) en lugar de texto JSON.
+ *
+ * Cubre lo que producen las respuestas del servicio: objetos y arrays de
+ * longitud indefinida (se cierran con el byte de "break", igual que hace el
+ * módulo CBOR de Jackson al escribir en streaming), cadenas UTF-8, enteros,
+ * decimales exactos (etiqueta 4: exponente y mantisa), números de coma
+ * flotante, booleanos, nulos y datos binarios. La salida sin formato (raw)
+ * no tiene sentido en un formato binario y no se admite.
+ *
+ * La serialización la sigue haciendo el ObjectMapper de la aplicación, así
+ * que los nombres de campo, las fechas y la inclusión de nulos son los mismos
+ * que en JSON.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class CborGenerator extends GeneratorBase {
+
+    private static final int MAJOR_UNSIGNED = 0;
+    private static final int MAJOR_NEGATIVE = 1;
+    private static final int MAJOR_BYTES = 2;
+    private static final int MAJOR_TEXT = 3;
+    private static final int MAJOR_ARRAY = 4;
+    private static final int MAJOR_TAG = 6;
+
+    private static final int INDEFINITE_ARRAY = 0x9F;
+    private static final int INDEFINITE_MAP = 0xBF;
+    private static final int BREAK = 0xFF;
+    private static final int FALSE = 0xF4;
+    private static final int TRUE = 0xF5;
+    private static final int NULL = 0xF6;
+    private static final int FLOAT32 = 0xFA;
+    private static final int FLOAT64 = 0xFB;
+
+    private static final int TAG_POSITIVE_BIGNUM = 2;
+    private static final int TAG_NEGATIVE_BIGNUM = 3;
+    private static final int TAG_DECIMAL_FRACTION = 4;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int position;
+
+    CborGenerator(ObjectCodec codec, OutputStream out) {
+        super(0, codec);
+        this.out = out;
+    }
+
+    @Override
+    public void writeStartArray() throws IOException {
+        _verifyValueWrite("start an array");
+        _writeContext = _writeContext.createChildArrayContext();
+        writeByte(INDEFINITE_ARRAY);
+    }
+
+    @Override
+    public void writeEndArray() throws IOException {
+        if (!_writeContext.inArray()) {
+            _reportError("Current context not Array but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        writeByte(BREAK);
+    }
+
+    @Override
+    public void writeStartObject() throws IOException {
+        _verifyValueWrite("start an object");
+        _writeContext = _writeContext.createChildObjectContext();
+        writeByte(INDEFINITE_MAP);
+    }
+
+    @Override
+    public void writeEndObject() throws IOException {
+        if (!_writeContext.inObject()) {
+            _reportError("Current context not Object but " + _writeContext.typeDesc());
+        }
+        _writeContext = _writeContext.clearAndGetParent();
+        writeByte(BREAK);
+    }
+
+    @Override
+    public void writeFieldName(String name) throws IOException {
+        if (_writeContext.writeFieldName(name) == JsonWriteContext.STATUS_EXPECT_VALUE) {
+            _reportError("Can not write a field name, expecting a value");
+        }
+        writeText(name);
+    }
+
+    @Override
+    public void writeFieldName(SerializableString name) throws IOException {
+        if (_writeContext.writeFieldName(name.getValue()) == JsonWriteContext.STATUS_EXPECT_VALUE) {
+            _reportError("Can not write a field name, expecting a value");
+        }
+        // Los serializadores de Jackson guardan los nombres de campo ya codificados en UTF-8
+        byte[] utf8 = name.asUnquotedUTF8();
+        writeHead(MAJOR_TEXT, utf8.length);
+        writeBytes(utf8, 0, utf8.length);
+    }
+
+    @Override
+    public void writeString(String text) throws IOException {
+        if (text == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite(WRITE_STRING);
+        writeText(text);
+    }
+
+    @Override
+    public void writeString(char[] text, int offset, int len) throws IOException {
+        writeString(new String(text, offset, len));
+    }
+
+    @Override
+    public void writeRawUTF8String(byte[] text, int offset, int length) throws IOException {
+        writeUTF8String(text, offset, length);
+    }
+
+    @Override
+    public void writeUTF8String(byte[] text, int offset, int length) throws IOException {
+        _verifyValueWrite(WRITE_STRING);
+        writeHead(MAJOR_TEXT, length);
+        writeBytes(text, offset, length);
+    }
+
+    @Override
+    public void writeRaw(String text) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(String text, int offset, int len) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(char[] text, int offset, int len) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeRaw(char c) throws IOException {
+        _reportUnsupportedOperation();
+    }
+
+    @Override
+    public void writeBinary(Base64Variant variant, byte[] data, int offset, int len) throws IOException {
+        if (data == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite(WRITE_BINARY);
+        writeHead(MAJOR_BYTES, len);
+        writeBytes(data, offset, len);
+    }
+
+    @Override
+    public void writeNumber(int value) throws IOException {
+        _verifyValueWrite(WRITE_NUMBER);
+        writeInteger(value);
+    }
+
+    @Override
+    public void writeNumber(long value) throws IOException {
+        _verifyValueWrite(WRITE_NUMBER);
+        writeInteger(value);
+    }
+
+    @Override
+    public void writeNumber(BigInteger value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite(WRITE_NUMBER);
+        writeBigInteger(value);
+    }
+
+    @Override
+    public void writeNumber(double value) throws IOException {
+        _verifyValueWrite(WRITE_NUMBER);
+        ensureCapacity(9);
+        buffer[position++] = (byte) FLOAT64;
+        putLong(Double.doubleToLongBits(value));
+    }
+
+    @Override
+    public void writeNumber(float value) throws IOException {
+        _verifyValueWrite(WRITE_NUMBER);
+        ensureCapacity(5);
+        buffer[position++] = (byte) FLOAT32;
+        putInt(Float.floatToIntBits(value));
+    }
+
+    @Override
+    public void writeNumber(BigDecimal value) throws IOException {
+        if (value == null) {
+            writeNull();
+            return;
+        }
+        _verifyValueWrite(WRITE_NUMBER);
+        // Fracción decimal: [exponente, mantisa], con valor = mantisa * 10^exponente
+        writeHead(MAJOR_TAG, TAG_DECIMAL_FRACTION);
+        writeHead(MAJOR_ARRAY, 2);
+        writeInteger(-(long) value.scale());
+        BigInteger mantissa = value.unscaledValue();
+        if (mantissa.bitLength() < Long.SIZE) {
+            writeInteger(mantissa.longValue());
+        } else {
+            writeBigInteger(mantissa);
+        }
+    }
+
+    @Override
+    public void writeNumber(String encodedValue) throws IOException {
+        // Números que el serializador ya trae como texto: se conservan tal cual
+        writeString(encodedValue);
+    }
+
+    @Override
+    public void writeBoolean(boolean state) throws IOException {
+        _verifyValueWrite(WRITE_BOOLEAN);
+        writeByte(state ? TRUE : FALSE);
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        _verifyValueWrite(WRITE_NULL);
+        writeByte(NULL);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!isClosed()) {
+            flushBuffer();
+            super.close();
+        }
+    }
+
+    @Override
+    protected void _releaseBuffers() {
+    }
+
+    @Override
+    protected void _verifyValueWrite(String typeMsg) throws IOException {
+        if (_writeContext.writeValue() == JsonWriteContext.STATUS_EXPECT_NAME) {
+            _reportError("Can not " + typeMsg + ", expecting field name");
+        }
+    }
+
+    private void writeText(String text) throws IOException {
+        byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+        writeHead(MAJOR_TEXT, utf8.length);
+        writeBytes(utf8, 0, utf8.length);
+    }
+
+    private void writeInteger(long value) throws IOException {
+        if (value >= 0) {
+            writeHead(MAJOR_UNSIGNED, value);
+        } else {
+            writeHead(MAJOR_NEGATIVE, -1 - value);
+        }
+    }
+
+    private void writeBigInteger(BigInteger value) throws IOException {
+        if (value.bitLength() < Long.SIZE) {
+            writeInteger(value.longValue());
+            return;
+        }
+        // Bignum: cadena de bytes big-endian con el valor (o -1 - valor si es negativo)
+        boolean negative = value.signum() < 0;
+        BigInteger magnitude = negative ? value.negate().subtract(BigInteger.ONE) : value;
+        byte[] bytes = magnitude.toByteArray();
+        int offset = bytes[0] == 0 ? 1 : 0;
+        writeHead(MAJOR_TAG, negative ? TAG_NEGATIVE_BIGNUM : TAG_POSITIVE_BIGNUM);
+        writeHead(MAJOR_BYTES, bytes.length - offset);
+        writeBytes(bytes, offset, bytes.length - offset);
+    }
+
+    /**
+     * Escribe la cabecera de un elemento: tipo mayor y argumento con la longitud mínima.
+     */
+    private void writeHead(int major, long argument) throws IOException {
+        ensureCapacity(9);
+        int type = major << 5;
+        if (argument < 24) {
+            buffer[position++] = (byte) (type | (int) argument);
+        } else if (argument <= 0xFF) {
+            buffer[position++] = (byte) (type | 24);
+            buffer[position++] = (byte) argument;
+        } else if (argument <= 0xFFFF) {
+            buffer[position++] = (byte) (type | 25);
+            buffer[position++] = (byte) (argument >> 8);
+            buffer[position++] = (byte) argument;
+        } else if (argument <= 0xFFFF_FFFFL) {
+            buffer[position++] = (byte) (type | 26);
+            putInt((int) argument);
+        } else {
+            buffer[position++] = (byte) (type | 27);
+            putLong(argument);
+        }
+    }
+
+    private void writeByte(int value) throws IOException {
+        ensureCapacity(1);
+        buffer[position++] = (byte) value;
+    }
+
+    private void writeBytes(byte[] data, int offset, int length) throws IOException {
+        if (length > BUFFER_SIZE) {
+            flushBuffer();
+            out.write(data, offset, length);
+            return;
+        }
+        ensureCapacity(length);
+        System.arraycopy(data, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void putInt(int value) {
+        buffer[position++] = (byte) (value >> 24);
+        buffer[position++] = (byte) (value >> 16);
+        buffer[position++] = (byte) (value >> 8);
+        buffer[position++] = (byte) value;
+    }
+
+    private void putLong(long value) {
+        putInt((int) (value >> 32));
+        putInt((int) value);
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > BUFFER_SIZE) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
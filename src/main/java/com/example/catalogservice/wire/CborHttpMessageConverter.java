@@ -0,0 +1,51 @@
+package com.example.catalogservice.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Convertidor de Spring MVC que escribe las respuestas en CBOR cuando el cliente lo pide.
+ *
+ * Solo escribe: las peticiones se siguen aceptando en JSON. Usa el mismo
+ * ObjectMapper que el convertidor JSON, de modo que ambas representaciones
+ * tienen exactamente los mismos campos.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public class CborHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private final ObjectMapper objectMapper;
+
+    public CborHttpMessageConverter(ObjectMapper objectMapper) {
+        super(WireFormat.CBOR.mediaType());
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        // Los cuerpos ya serializados (bytes o texto) los escriben sus propios convertidores
+        return !byte[].class.equals(clazz) && !CharSequence.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("No se admiten peticiones en CBOR", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, HttpOutputMessage outputMessage) throws IOException {
+        WireFormat.CBOR.write(objectMapper, value, outputMessage.getBody());
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.catalogservice.wire;
+
+import java.util.Set;
+
+/**
+ * Codificaciones de contenido (Content-Encoding) de las respuestas ya serializadas.
+ *
+ * Las respuestas que se cachean guardan sus copias comprimidas, así que aquí
+ * solo se decide cuál enviar según la cabecera Accept-Encoding del cliente.
+ * zstd comprime algo más que gzip y descomprime bastante más rápido, por lo
+ * que se prefiere cuando el cliente acepta ambas con la misma calidad.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public enum ContentCoding {
+
+    IDENTITY("identity", ""),
+    GZIP("gzip", "-gz"),
+    ZSTD("zstd", "-zst");
+
+    private final String token;
+    private final String etagSuffix;
+
+    ContentCoding(String token, String etagSuffix) {
+        this.token = token;
+        this.etagSuffix = etagSuffix;
+    }
+
+    /**
+     * Valor de la cabecera Content-Encoding.
+     *
+     * @return Nombre de la codificación
+     */
+    public String token() {
+        return token;
+    }
+
+    /**
+     * Distingue el ETag de una representación del de la misma representación con otra codificación.
+     *
+     * RFC 9110 exige validadores fuertes distintos para cada Content-Encoding:
+     * con el mismo ETag, una caché o una petición de rangos podría mezclar
+     * bytes comprimidos y sin comprimir.
+     *
+     * @param etag ETag entre comillas de la representación sin comprimir
+     * @return ETag entre comillas de la representación con esta codificación
+     */
+    public String etag(String etag) {
+        if (etagSuffix.isEmpty()) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + etagSuffix + "\"";
+    }
+
+    /**
+     * Elige la codificación de la respuesta entre las disponibles.
+     *
+     * Se usa la de mayor calidad (q) que acepte el cliente; "q=0" la rechaza.
+     * Si no acepta ninguna de las disponibles se envía sin comprimir.
+     *
+     * @param acceptEncoding Valor de la cabecera Accept-Encoding (puede ser null)
+     * @param available Codificaciones con copia comprimida para esta respuesta
+     * @return Codificación elegida
+     */
+    public static ContentCoding negotiate(String acceptEncoding, Set<ContentCoding> available) {
+        if (acceptEncoding == null || available.isEmpty()) {
+            return IDENTITY;
+        }
+        ContentCoding best = IDENTITY;
+        double bestQuality = 0;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            ContentCoding candidate = fromToken(parts[0].trim());
+            if (candidate == null || candidate == IDENTITY || !available.contains(candidate)) {
+                continue;
+            }
+            double quality = quality(parts);
+            if (quality > bestQuality || (quality == bestQuality && quality > 0 && candidate == ZSTD)) {
+                best = candidate;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+
+    private static ContentCoding fromToken(String token) {
+        for (ContentCoding coding : values()) {
+            if (coding.token.equalsIgnoreCase(token)) {
+                return coding;
+            }
+        }
+        return null;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
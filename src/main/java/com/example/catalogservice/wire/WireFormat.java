@@ -0,0 +1,139 @@
+package com.example.catalogservice.wire;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+/**
+ * Formatos de serialización de las respuestas, negociados con la cabecera Accept.
+ *
+ * JSON es el formato por defecto. CBOR (RFC 8949) es la alternativa binaria
+ * para los clientes internos: mismo modelo de datos y mismos nombres de campo
+ * que el JSON (se genera con el mismo ObjectMapper), pero sin el coste de
+ * escribir y parsear texto, con los números en binario y los precios como
+ * fracciones decimales exactas (etiqueta 4).
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+public enum WireFormat {
+
+    JSON(MediaType.APPLICATION_JSON, "") {
+        @Override
+        public void write(ObjectMapper objectMapper, Object value, OutputStream out) throws IOException {
+            objectMapper.writeValue(out, value);
+        }
+    },
+
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor") {
+        @Override
+        public void write(ObjectMapper objectMapper, Object value, OutputStream out) throws IOException {
+            try (CborGenerator generator = new CborGenerator(objectMapper, out)) {
+                objectMapper.writeValue(generator, value);
+            }
+        }
+    };
+
+    private final MediaType mediaType;
+    private final String etagSuffix;
+
+    WireFormat(MediaType mediaType, String etagSuffix) {
+        this.mediaType = mediaType;
+        this.etagSuffix = etagSuffix;
+    }
+
+    /**
+     * Tipo de contenido con el que se envían las respuestas en este formato.
+     *
+     * @return Media type
+     */
+    public MediaType mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Serializa un valor en este formato.
+     *
+     * @param objectMapper ObjectMapper de la aplicación (módulos, fechas, inclusión de nulos)
+     * @param value Valor a serializar
+     * @param out Destino de los bytes; no se cierra
+     * @throws IOException Si falla la escritura
+     */
+    public abstract void write(ObjectMapper objectMapper, Object value, OutputStream out) throws IOException;
+
+    /**
+     * Serializa un valor en este formato a un array de bytes.
+     *
+     * @param objectMapper ObjectMapper de la aplicación
+     * @param value Valor a serializar
+     * @return Bytes serializados
+     * @throws IOException Si falla la serialización
+     */
+    public byte[] toBytes(ObjectMapper objectMapper, Object value) throws IOException {
+        if (this == JSON) {
+            return objectMapper.writeValueAsBytes(value);
+        }
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(1024);
+        write(objectMapper, value, buffer);
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Distingue el ETag de una representación del de la misma versión en otro formato.
+     *
+     * Los ETags fuertes deben cambiar con la representación, no solo con el
+     * contenido: una caché intermedia no puede servir CBOR a quien pidió JSON.
+     *
+     * @param etag ETag entre comillas de la versión del contenido
+     * @return ETag entre comillas de esta representación
+     */
+    public String etag(String etag) {
+        if (etagSuffix.isEmpty()) {
+            return etag;
+        }
+        return etag.substring(0, etag.length() - 1) + etagSuffix + "\"";
+    }
+
+    /**
+     * Elige el formato de la respuesta según la cabecera Accept.
+     *
+     * Se queda con el formato de mayor calidad (q) entre los que acepta el
+     * cliente; los comodines cuentan como JSON. Sin cabecera, con una cabecera
+     * mal formada o sin ningún formato conocido se responde en JSON.
+     *
+     * @param accept Valor de la cabecera Accept (puede ser null)
+     * @return Formato de la respuesta
+     */
+    public static WireFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> mediaTypes;
+        try {
+            mediaTypes = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return JSON;
+        }
+        WireFormat best = JSON;
+        double bestQuality = -1;
+        for (MediaType mediaType : mediaTypes) {
+            double quality = mediaType.getQualityValue();
+            if (quality <= bestQuality || quality == 0) {
+                continue;
+            }
+            if (CBOR.mediaType.equalsTypeAndSubtype(mediaType)) {
+                best = CBOR;
+                bestQuality = quality;
+            } else if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                best = JSON;
+                bestQuality = quality;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.catalogservice.stock;
+
+import com.example.catalogservice.concurrency.DatabaseAdmissionControl;
+import com.example.catalogservice.event.ProductChangedEvent;
+import com.example.catalogservice.event.ProductChangedEvent.ChangeType;
+import com.example.catalogservice.exception.InsufficientStockException;
+import com.example.catalogservice.model.response.ProductResponse;
+import com.example.catalogservice.model.response.StockResponse;
+import com.example.catalogservice.repository.ProductRepository;
+import com.example.catalogservice.snapshot.RestoringCatalog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Pruebas de concurrencia de {@link StockReservationService}.
+ *
+ * La base de datos se simula con un mapa de stock por producto: cada cambio de
+ * stock se "confirma" en el mapa y después se publica su evento, como haría
+ * una escritura real tras el commit.
+ *
+ * @author Tutorial
+ * @version 1.0
+ */
+class StockReservationServiceTest {
+
+    private final Map<Long, Long> dbStock = new ConcurrentHashMap<>();
+    private final Map<Long, Runnable> afterRead = new ConcurrentHashMap<>();
+    private StockReservationService service;
+
+    @BeforeEach
+    void setUp() {
+        ProductRepository productRepository = mock(ProductRepository.class);
+        when(productRepository.findResponseById(anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            Long stock = dbStock.get(id);
+            // Ventana entre la lectura y la creación del contador
+            Runnable hook = afterRead.remove(id);
+            if (hook != null) {
+                hook.run();
+            } else {
+                LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(50_000));
+            }
+            return Optional.ofNullable(stock).map(value -> product(id, value));
+        });
+
+        service = new StockReservationService(productRepository,
+                mock(StockFlushWriter.class),
+                new ReservationLog("", false, DataSize.ofMegabytes(16)),
+                mock(DatabaseAdmissionControl.class),
+                mock(RestoringCatalog.class),
+                new SimpleMeterRegistry(),
+                Duration.ofMinutes(10),
+                Duration.ofHours(1));
+    }
+
+    @Test
+    void cambioConfirmadoEntreLecturaYCreacionDelContadorNoSePierde() {
+        dbStock.put(1L, 10L);
+        afterRead.put(1L, () -> updateStock(1L, 2));
+
+        assertThatThrownBy(() -> service.reserve(1L, 3, null)).isInstanceOf(InsufficientStockException.class);
+        assertThat(service.getStock(1L).getStock()).isEqualTo(2L);
+        service.reserve(1L, 2, null);
+        assertThat(service.getStock(1L).getAvailable()).isZero();
+    }
+
+    @Test
+    void reservasConcurrentesConCambiosDeStockNoSuperanElStockEnBaseDeDatos() throws Exception {
+        int rounds = 300;
+        int reservers = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(reservers + 1);
+        try {
+            for (long id = 1; id <= rounds; id++) {
+                long productId = id;
+                dbStock.put(productId, 10L);
+                CyclicBarrier start = new CyclicBarrier(reservers + 1);
+                AtomicBoolean updated = new AtomicBoolean();
+
+                List<Future<?>> tasks = new ArrayList<>();
+                tasks.add(executor.submit(() -> {
+                    start.await();
+                    updateStock(productId, 3);
+                    updated.set(true);
+                    return null;
+                }));
+                for (int r = 0; r < reservers; r++) {
+                    tasks.add(executor.submit(() -> {
+                        start.await();
+                        // Crea el contador mientras el stock cambia; solo se reserva una vez
+                        // confirmado el cambio, para que todo lo reservado deba caber en él
+                        service.getStock(productId);
+                        while (!updated.get()) {
+                            Thread.onSpinWait();
+                        }
+                        boolean commit = false;
+                        while (true) {
+                            try {
+                                Reservation reservation = service.reserve(productId, 1, null);
+                                if (commit) {
+                                    service.commit(reservation.id());
+                                }
+                                commit = !commit;
+                            } catch (InsufficientStockException ex) {
+                                return null;
+                            }
+                        }
+                    }));
+                }
+                for (Future<?> task : tasks) {
+                    task.get(30, TimeUnit.SECONDS);
+                }
+
+                StockResponse stock = service.getStock(productId);
+                assertThat(stock.getStock()).as("stock conocido del producto %d", productId)
+                        .isEqualTo(dbStock.get(productId));
+                assertThat(stock.getReserved() + stock.getPending()).as("reservado + pendiente del producto %d", productId)
+                        .isLessThanOrEqualTo(dbStock.get(productId));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Confirma un nuevo stock en la "base de datos" y publica su evento.
+     */
+    private void updateStock(Long id, long stock) {
+        dbStock.put(id, stock);
+        service.onProductChanged(new ProductChangedEvent(ChangeType.UPDATED, List.of(product(id, stock))));
+    }
+
+    private static ProductResponse product(Long id, long stock) {
+        return ProductResponse.builder()
+                .id(id)
+                .sku("SKU-" + id)
+                .stock((int) stock)
+                .version(0L)
+                .build();
+    }
+}